@@ -1,4 +1,5 @@
 import adapters.controllers.*;
+import adapters.display_data.not_ended_display_data.GameDisplayDataCache;
 import adapters.presenters.*;
 import adapters.view_models.PdViewModel;
 import adapters.view_models.PgeViewModel;
@@ -16,11 +17,19 @@ import entities.display_name_checkers.DisplayNameChecker;
 import entities.display_name_checkers.DisplayNameCheckerBasic;
 import entities.games.GameFactory;
 import entities.games.GameFactoryRegular;
+import entities.games.GameRegular;
+import frameworks_drivers.journal.MappedGameJournal;
 import frameworks_drivers.repository.in_memory.InMemoryCommentsRepo;
 import frameworks_drivers.repository.in_memory.InMemoryStoryRepo;
 import frameworks_drivers.repository.in_memory.InMemoryTitlesRepo;
 import usecases.comment_as_guest.CagInteractor;
+import usecases.ExecutionEngine;
+import usecases.GameActors;
+import usecases.GameSnapshots;
+import usecases.Lane;
+import usecases.TickLagMonitor;
 import usecases.ThreadRegister;
+import usecases.TickWheel;
 import usecases.disconnecting.DcInteractor;
 import usecases.get_all_titles.GatInteractor;
 import usecases.get_latest_stories.GlsInteractor;
@@ -30,12 +39,20 @@ import usecases.join_public_lobby.JplInteractor;
 import usecases.like_story.LsInteractor;
 import usecases.pull_data.PdInteractor;
 import usecases.pull_game_ended.PgeInteractor;
+import usecases.recover_games.RecInteractor;
 import usecases.shutdown_server.SsInteractor;
 import usecases.sort_players.SpInteractor;
 import usecases.submit_word.SwInteractor;
 import usecases.suggest_title.StInteractor;
 import usecases.upvote_title.UtInteractor;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Orchestrator. Contains only a main method which boots up
  * the server.
@@ -44,15 +61,54 @@ public class Main {
 
     /**
      * Builds the clean arch structure and initializes it.
+     * <br><br>
+     * The execution engine which runs the use cases is chosen with the system properties
+     * <code>engine</code> (THREAD_PER_TASK, POOLED or VIRTUAL, default THREAD_PER_TASK) and
+     * <code>engine.poolSize</code> (only used by POOLED).
+     * <br><br>
+     * Story browsing use cases run on their own lane, isolated from the gameplay use cases, which is
+     * configured with <code>browsing.poolSize</code>, <code>browsing.deferOnLag</code> (whether browsing
+     * is held back while game ticks lag, default true), <code>browsing.maxDeferMillis</code> and
+     * <code>lag.budgetMillis</code> (how late a game tick may run before it counts as lag)
+     * <br><br>
+     * Players are sorted into games every <code>matchmaking.periodMillis</code>, and right away when
+     * enough players joined, with joins within <code>matchmaking.coalesceMillis</code> sorted together.
+     * The lobby hosts up to <code>lobby.maxGames</code> concurrent games (default 16). With
+     * <code>lobby.actorMode</code> set to true, every game processes its use cases as messages on its own
+     * mailbox instead of engaging its lock, on a pool of <code>lobby.actorPoolSize</code> threads.
+     * The game ticks and sort passes share a timing wheel with a resolution of <code>timer.tickMillis</code>,
+     * running them on <code>timer.poolSize</code> threads. A turn lasts <code>game.turnMillis</code>,
+     * and a game seats up to <code>game.maxPlayers</code> players (default 8). Game updates carry only
+     * what changed, with a full snapshot every <code>pullData.snapshotEvery</code> updates (1 for
+     * snapshots only)
+     * <br><br>
+     * The running games are recorded in a journal in the directory <code>journal.dir</code> (default
+     * journal, empty for none), which is written every <code>journal.flushMillis</code> and compacted
+     * every <code>journal.checkpointMillis</code>, and the games in it are hosted and run again on startup
      * @param args Command line arguments (currently none necessary)
      */
     public static void main (String[] args) {
         PdViewModel pdViewM = new PdViewModel();
         PgeViewModel pgeViewM = new PgeViewModel();
 
-        ThreadRegister register = new ThreadRegister();
+        ExecutionEngine.Mode engineMode = ExecutionEngine.Mode.valueOf(
+                System.getProperty("engine", ExecutionEngine.Mode.THREAD_PER_TASK.name()).toUpperCase());
+        int poolSize = Integer.getInteger("engine.poolSize", 4 * Runtime.getRuntime().availableProcessors());
+        ThreadRegister register = new ThreadRegister(
+                ExecutionEngine.create(engineMode, poolSize, Thread.NORM_PRIORITY + 2));
+
+        TickLagMonitor lagMonitor = new TickLagMonitor(Long.getLong("lag.budgetMillis", 250));
+        int browsingPoolSize = Integer.getInteger("browsing.poolSize",
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        boolean deferBrowsingOnLag = Boolean.parseBoolean(System.getProperty("browsing.deferOnLag", "true"));
+        Lane browsingLane = new Lane("browsing", ExecutionEngine.pooled(browsingPoolSize, Thread.MIN_PRIORITY),
+                deferBrowsingOnLag ? lagMonitor : null, Long.getLong("browsing.maxDeferMillis", 2000));
 
-        PdPresenter pdPresenter = new PdPresenter(pdViewM);
+        // The state of a game is snapshot, and converted for display, once per change, however many
+        // use cases and presenters report it
+        GameSnapshots snapshots = new GameSnapshots();
+        GameDisplayDataCache displays = new GameDisplayDataCache();
+        PdPresenter pdPresenter = new PdPresenter(pdViewM, displays);
         PgePresenter pgePresenter = new PgePresenter(pgeViewM);
 
         // Create desired checkers for injection
@@ -73,32 +129,88 @@ public class Main {
 
         // Factory which accepts ALL display names with at least 3 characters (temporary)
         PlayerFactory playerFac = new PlayerFactory(displayChecker);
-        GameFactory gameFac = new GameFactoryRegular(statistics);
+        // Turns may be shorter than a second for a rapid game
+        GameFactory gameFac = new GameFactoryRegular(statistics, Duration.ofMillis(Long.getLong("game.turnMillis",
+                TimeUnit.SECONDS.toMillis(GameRegular.REGULAR_GAME_SECONDS_PER_TURN))));
 
         // Inject particular factories into LobbyManager
-        LobbyManager manager = new LobbyManager(playerFac, gameFac);
+        LobbyManager manager = new LobbyManager(playerFac, gameFac, Integer.getInteger("lobby.maxGames", 16));
 
-        // Start up sort players
-        PdInteractor pd = new PdInteractor(pdPresenter);
+        // Actor mode is opt-in, by default every game is guarded by its lock
+        GameActors actors = null;
+        if (Boolean.getBoolean("lobby.actorMode")) {
+            actors = new GameActors(ExecutionEngine.pooled(
+                    Integer.getInteger("lobby.actorPoolSize", Runtime.getRuntime().availableProcessors()),
+                    Thread.NORM_PRIORITY + 2));
+        }
+
+        // Updates only carry what changed in the game, with a full snapshot every so often
+        PdInteractor pd = new PdInteractor(pdPresenter,
+                Integer.getInteger("pullData.snapshotEvery", PdInteractor.DEFAULT_SNAPSHOT_EVERY), snapshots);
         PgeInteractor pge = new PgeInteractor(pgePresenter, storyRepo);
-        SpInteractor sp = new SpInteractor(manager, pge, pd);
-        sp.startTimer();
+        // Start up sort players
+        SpInteractor sp = new SpInteractor(manager, pge, pd, lagMonitor,
+                Long.getLong("matchmaking.periodMillis", SpInteractor.DEFAULT_SORT_PERIOD_MILLIS),
+                Long.getLong("matchmaking.coalesceMillis", SpInteractor.DEFAULT_COALESCE_MILLIS), actors);
+        // The waiting players are split into games of this size rather than all joining one game
+        sp.setGameSettings(Map.of(GameFactory.MAX_PLAYERS, Integer.getInteger("game.maxPlayers", 8)));
+        // Every game tick and sort pass runs on one shared wheel, not on a timer thread per game
+        TickWheel wheel = new TickWheel(Long.getLong("timer.tickMillis", TickWheel.DEFAULT_TICK_MILLIS),
+                ExecutionEngine.pooled(Integer.getInteger("timer.poolSize", 2), Thread.NORM_PRIORITY + 2));
+        sp.startTimer(wheel);
+
+        // The games which were running when the server stopped run again, and the running games are
+        // recorded from now on. Opt-in: off unless journal.dir names the directory of the journal,
+        // e.g. -Djournal.dir=journal
+        String journalDir = System.getProperty("journal.dir", "");
+        if (!journalDir.isEmpty()) {
+            MappedGameJournal journal;
+            try {
+                journal = new MappedGameJournal(Path.of(journalDir),
+                        Long.getLong("journal.flushMillis", MappedGameJournal.DEFAULT_FLUSH_MILLIS),
+                        MappedGameJournal.DEFAULT_SEGMENT_BYTES);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(journal::close));
+            RecInteractor rec = new RecInteractor(manager, journal, actors);
+            for (LobbyManager.HostedGame hosted : rec.recoverGames()) {
+                sp.resumeGame(hosted);
+            }
+            rec.startCheckpoints(wheel, Long.getLong("journal.checkpointMillis",
+                    RecInteractor.DEFAULT_CHECKPOINT_PERIOD_MILLIS));
+        }
 
         // Use cases called by users
 
         CagInteractor cag = new CagInteractor(commentsRepo, commentChecker, displayChecker, register);
-        DcInteractor dc = new DcInteractor(manager, register);
+        DcInteractor dc = new DcInteractor(manager, register, actors);
         GlsInteractor gls = new GlsInteractor(storyRepo, register);
         GmlsInteractor gmls = new GmlsInteractor(storyRepo, register);
         GscInteractor gsc = new GscInteractor(commentsRepo, register);
         GatInteractor gat = new GatInteractor(titlesRepo, register);
-        JplInteractor jpl = new JplInteractor(manager, register);
+        JplInteractor jpl = new JplInteractor(manager, register, actors, snapshots);
         LsInteractor ls = new LsInteractor(storyRepo, register);
         SsInteractor ss = new SsInteractor(register);
-        SwInteractor sw = new SwInteractor(manager, register);
+        SwInteractor sw = new SwInteractor(manager, register, actors);
         StInteractor st = new StInteractor(titlesRepo, titleChecker, register);
         UtInteractor ut = new UtInteractor(titlesRepo, register);
 
+        // Browsing the stories never shares threads with gameplay
+        register.setLane(GlsInteractor.GlsThread.class, browsingLane);
+        register.setLane(GmlsInteractor.GmlsThread.class, browsingLane);
+        register.setLane(GscInteractor.GscThread.class, browsingLane);
+        register.setLane(GatInteractor.GatThread.class, browsingLane);
+
+        // Admission limits, so that bursts of browsing can't starve the game loop
+        int browsingLimit = Runtime.getRuntime().availableProcessors();
+        register.setAdmissionLimit(GlsInteractor.GlsThread.class, browsingLimit, 4 * browsingLimit);
+        register.setAdmissionLimit(GmlsInteractor.GmlsThread.class, browsingLimit, 4 * browsingLimit);
+        register.setAdmissionLimit(GscInteractor.GscThread.class, browsingLimit, 4 * browsingLimit);
+        register.setAdmissionLimit(GatInteractor.GatThread.class, browsingLimit, 4 * browsingLimit);
+        register.setAdmissionLimit(JplInteractor.JplThread.class, 1024, 256);
+        register.setAdmissionLimit(SwInteractor.SwThread.class, 256, 1024);
+
         // Controllers
         CagController cagController = new CagController(cag);
         DcController dcController = new DcController(dc);
@@ -106,7 +218,7 @@ public class Main {
         GlsController glsController = new GlsController(gls);
         GmlsController gmlsController = new GmlsController(gmls);
         GscController gscController = new GscController(gsc);
-        JplController jplController = new JplController(jpl);
+        JplController jplController = new JplController(jpl, displays);
         LsController lsController = new LsController(ls);
         SsController ssController = new SsController(ss);
         SwController swController = new SwController(sw);
@@ -4,6 +4,9 @@ import adapters.presenters.CagPresenter;
 import adapters.view_models.CagViewModel;
 import usecases.comment_as_guest.CagInputBoundary;
 import usecases.comment_as_guest.CagInputData;
+import usecases.comment_as_guest.CagOutputData;
+
+import java.util.concurrent.CompletableFuture;
 
 public class CagController {
 
@@ -29,4 +32,16 @@ public class CagController {
         inputBoundary.commentAsGuest(inputData, pres);
         return viewM;
     }
+
+    /**
+     * Non-blocking version of <code>commentAsGuest</code>: no thread waits for the
+     * output, the returned future is completed with it instead
+     * @param displayName chosen display name of the guest who wrote the comment
+     * @param comment the comment the guest wrote
+     * @param storyId the unique id of the story the comment is under
+     * @return Future of the output of this use case
+     */
+    public CompletableFuture<CagOutputData> commentAsGuestAsync(String displayName, String comment, int storyId) {
+        return inputBoundary.commentAsGuest(new CagInputData(displayName, comment, storyId));
+    }
 }
@@ -4,6 +4,9 @@ import adapters.presenters.DcPresenter;
 import adapters.view_models.DcViewModel;
 import usecases.disconnecting.DcInputBoundary;
 import usecases.disconnecting.DcInputData;
+import usecases.disconnecting.DcOutputData;
+
+import java.util.concurrent.CompletableFuture;
 
 public class DcController {
 
@@ -29,4 +32,14 @@ public class DcController {
         dc.disconnect(new DcInputData(playerId), pres);
         return viewM;
     }
+
+    /**
+     * Non-blocking version of <code>disconnect</code>: no thread waits for the
+     * output, the returned future is completed with it instead
+     * @param playerId ID of the player who is disconnecting
+     * @return Future of the output of this use case
+     */
+    public CompletableFuture<DcOutputData> disconnectAsync(String playerId) {
+        return dc.disconnect(new DcInputData(playerId));
+    }
 }
@@ -4,6 +4,9 @@ import adapters.presenters.GatPresenter;
 import adapters.view_models.GatViewModel;
 import usecases.get_all_titles.GatInputBoundary;
 import usecases.get_all_titles.GatInputData;
+import usecases.get_all_titles.GatOutputData;
+
+import java.util.concurrent.CompletableFuture;
 
 public class GatController {
     private GatInputBoundary gat;
@@ -26,4 +29,14 @@ public class GatController {
         GatPresenter pres = new GatPresenter(viewM);
         gat.getAllTitles(inp, pres);
     }
+
+    /**
+     * Non-blocking version of <code>getAllTitles</code>: no thread waits for the
+     * output, the returned future is completed with it instead
+     * @param storyId the ID of the story for which we want to get all titles
+     * @return Future of the output of this use case
+     */
+    public CompletableFuture<GatOutputData> getAllTitlesAsync(int storyId) {
+        return gat.getAllTitles(new GatInputData(storyId));
+    }
 }
@@ -5,6 +5,9 @@ import adapters.view_models.GlsViewModel;
 import adapters.view_models.ViewModel;
 import usecases.get_latest_stories.GlsInputBoundary;
 import usecases.get_latest_stories.GlsInputData;
+import usecases.get_latest_stories.GlsOutputData;
+
+import java.util.concurrent.CompletableFuture;
 
 public class GlsController {
 
@@ -33,4 +36,14 @@ public class GlsController {
 
         return viewM;
     }
+
+    /**
+     * Non-blocking version of <code>getLatestStories</code>: no thread waits for the
+     * output, the returned future is completed with it instead
+     * @param numToget number of the latest stories to get
+     * @return Future of the output of this use case
+     */
+    public CompletableFuture<GlsOutputData> getLatestStoriesAsync(Integer numToget) {
+        return gls.getLatestStories(new GlsInputData(numToget));
+    }
 }
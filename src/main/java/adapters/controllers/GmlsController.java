@@ -5,6 +5,9 @@ import adapters.view_models.GmlsViewModel;
 import usecases.get_most_liked_stories.GmlsInputBoundary;
 import usecases.get_most_liked_stories.GmlsInputData;
 import usecases.get_most_liked_stories.GmlsOutputBoundary;
+import usecases.get_most_liked_stories.GmlsOutputData;
+
+import java.util.concurrent.CompletableFuture;
 
 public class GmlsController {
     GmlsInputBoundary gmls;
@@ -33,4 +36,15 @@ public class GmlsController {
         gmls.getMostLikedStories(inputData, pres);
         return viewM;
     }
+
+    /**
+     * Non-blocking version of <code>getMostLikedStories</code>: no thread waits for the
+     * output, the returned future is completed with it instead
+     * @param lowerRangeInclusive rank of the first story to get
+     * @param upperRangeExclusive rank after the last story to get
+     * @return Future of the output of this use case
+     */
+    public CompletableFuture<GmlsOutputData> getMostLikedStoriesAsync(int lowerRangeInclusive, int upperRangeExclusive) {
+        return gmls.getMostLikedStories(new GmlsInputData(lowerRangeInclusive, upperRangeExclusive));
+    }
 }
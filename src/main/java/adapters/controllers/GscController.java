@@ -4,6 +4,9 @@ import adapters.presenters.GscPresenter;
 import adapters.view_models.GscViewModel;
 import usecases.get_story_comments.GscInputBoundary;
 import usecases.get_story_comments.GscInputData;
+import usecases.get_story_comments.GscOutputData;
+
+import java.util.concurrent.CompletableFuture;
 
 public class GscController {
 
@@ -28,4 +31,14 @@ public class GscController {
         GscPresenter pres = new GscPresenter(viewM);
         inputBoundary.getStoryComments(inputData, pres);
     }
+
+    /**
+     * Non-blocking version of <code>getStoryComments</code>: no thread waits for the
+     * output, the returned future is completed with it instead
+     * @param storyId id of the story go get comments from
+     * @return Future of the output of this use case
+     */
+    public CompletableFuture<GscOutputData> getStoryCommentsAsync(int storyId) {
+        return inputBoundary.getStoryComments(new GscInputData(storyId));
+    }
 }
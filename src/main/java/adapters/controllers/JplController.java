@@ -1,19 +1,35 @@
 package adapters.controllers;
 
+import adapters.display_data.not_ended_display_data.GameDisplayDataCache;
 import adapters.presenters.JplPresenter;
 import adapters.view_models.JplViewModel;
+import org.jetbrains.annotations.Nullable;
 import usecases.join_public_lobby.JplInputBoundary;
 import usecases.join_public_lobby.JplInputData;
+import usecases.join_public_lobby.JplOutputDataJoinedGame;
+
+import java.util.concurrent.CompletableFuture;
 
 public class JplController {
     private final JplInputBoundary jpl;
 
+    @Nullable
+    private final GameDisplayDataCache displays;
+
     /**
      * Take in and set an instance of the input boundary that
      * is intended to be called by users from the view
      */
-    public JplController (JplInputBoundary jpl) {
+    public JplController (JplInputBoundary jpl) { this(jpl, null); }
+
+    /**
+     * @param jpl Input boundary that is intended to be called by users from the view
+     * @param displays Display data of the games, shared by the presenters, or null for each
+     *                 presenter to keep its own
+     */
+    public JplController (JplInputBoundary jpl, @Nullable GameDisplayDataCache displays) {
         this.jpl = jpl;
+        this.displays = displays;
     }
 
     /**
@@ -24,8 +40,20 @@ public class JplController {
      */
     public JplViewModel joinPublicLobby (String playerId, String displayName) {
         JplViewModel viewM = new JplViewModel();
-        JplPresenter pres = new JplPresenter(viewM);
+        JplPresenter pres = new JplPresenter(viewM, displays);
         jpl.joinPublicLobby(new JplInputData(displayName, playerId), pres);
         return viewM;
     }
+
+    /**
+     * Non-blocking version of <code>joinPublicLobby</code>: no thread waits for the player to be
+     * sorted into a game, the returned future is completed with the game instead. It is
+     * cancelled if the player cancels their pool waiting
+     * @param playerId Unique ID of player never previously used
+     * @param displayName Desired display name, may be duplicated
+     * @return Future of the output of this use case
+     */
+    public CompletableFuture<JplOutputDataJoinedGame> joinPublicLobbyAsync(String playerId, String displayName) {
+        return jpl.joinPublicLobby(new JplInputData(displayName, playerId));
+    }
 }
@@ -4,6 +4,9 @@ import adapters.presenters.LsPresenter;
 import adapters.view_models.LsViewModel;
 import usecases.like_story.LsInputBoundary;
 import usecases.like_story.LsInputData;
+import usecases.like_story.LsOutputData;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The controller for the "like-story" use case
@@ -33,4 +36,13 @@ public class LsController {
         return viewM;
     }
 
+    /**
+     * Non-blocking version of <code>likeStory</code>: no thread waits for the
+     * output, the returned future is completed with it instead
+     * @param storyId the id of the story to like
+     * @return Future of the output of this use case
+     */
+    public CompletableFuture<LsOutputData> likeStoryAsync(int storyId) {
+        return inputBoundary.likeStory(new LsInputData(storyId));
+    }
 }
@@ -4,6 +4,9 @@ import adapters.presenters.StPresenter;
 import adapters.view_models.StViewModel;
 import usecases.suggest_title.StInputBoundary;
 import usecases.suggest_title.StInputData;
+import usecases.suggest_title.StOutputData;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The controller for the Suggested Title use case. Builds input data from user input and uses it to call the method
@@ -35,4 +38,15 @@ public class StController {
         st.suggestTitle(inp, pres);
         return viewM;
     }
+
+    /**
+     * Non-blocking version of <code>suggestTitle</code>: no thread waits for the
+     * output, the returned future is completed with it instead
+     * @param storyId the ID of the story the title is suggested for
+     * @param suggestedTitle the suggested title
+     * @return Future of the output of this use case
+     */
+    public CompletableFuture<StOutputData> suggestTitleAsync(int storyId, String suggestedTitle) {
+        return st.suggestTitle(new StInputData(suggestedTitle, storyId));
+    }
 }
@@ -4,6 +4,9 @@ import adapters.presenters.SwPresenter;
 import adapters.view_models.SwViewModel;
 import usecases.submit_word.SwInputBoundary;
 import usecases.submit_word.SwInputData;
+import usecases.submit_word.SwOutputData;
+
+import java.util.concurrent.CompletableFuture;
 
 public class SwController {
 
@@ -30,4 +33,15 @@ public class SwController {
         sw.submitWord(new SwInputData(word, playerId), presenter);
         return viewM;
     }
+
+    /**
+     * Non-blocking version of <code>submitWord</code>: no thread waits for the
+     * output, the returned future is completed with it instead
+     * @param playerId Unique ID of player never previously used
+     * @param word Word that the player is submitting
+     * @return Future of the output of this use case
+     */
+    public CompletableFuture<SwOutputData> submitWordAsync(String playerId, String word) {
+        return sw.submitWord(new SwInputData(word, playerId));
+    }
 }
@@ -4,6 +4,9 @@ import adapters.presenters.UtPresenter;
 import adapters.view_models.UtViewModel;
 import usecases.upvote_title.UtInputBoundary;
 import usecases.upvote_title.UtInputData;
+import usecases.upvote_title.UtOutputData;
+
+import java.util.concurrent.CompletableFuture;
 
 public class UtController {
     private UtInputBoundary ut;
@@ -26,4 +29,15 @@ public class UtController {
         UtPresenter pres = new UtPresenter(viewM);
         ut.upvoteTitle(inputData, pres);
     }
+
+    /**
+     * Non-blocking version of <code>upvoteTitle</code>: no thread waits for the
+     * output, the returned future is completed with it instead
+     * @param storyId the ID of the story for which a particular title is to be upvoted
+     * @param titleToUpvote the title for this story that is to be upvoted
+     * @return Future of the output of this use case
+     */
+    public CompletableFuture<UtOutputData> upvoteTitleAsync(int storyId, String titleToUpvote) {
+        return ut.upvoteTitle(new UtInputData(storyId, titleToUpvote));
+    }
 }
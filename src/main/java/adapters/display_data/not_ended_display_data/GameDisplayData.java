@@ -28,6 +28,16 @@ public class GameDisplayData {
         this.secondsLeftInTurn = secondsLeftInTurn;
     }
 
+    /**
+     * @param storyString the story
+     * @param secondsLeftInTurn the seconds left in the current turn
+     * @return Display data of the same players and turn, with another story and timer. The players
+     * are shared with this display data rather than copied
+     */
+    public @NotNull GameDisplayData withStory(@NotNull String storyString, int secondsLeftInTurn) {
+        return new GameDisplayData(players, currentPlayerTurn, storyString, secondsLeftInTurn);
+    }
+
     private @NotNull PlayerDisplayData[] getPlayers() { return players; }
 
     private @NotNull PlayerDisplayData getCurrentPlayerTurn() { return currentPlayerTurn; }
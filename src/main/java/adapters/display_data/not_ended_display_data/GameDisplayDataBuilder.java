@@ -1,5 +1,6 @@
 package adapters.display_data.not_ended_display_data;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -7,7 +8,7 @@ import java.util.List;
  */
 public class GameDisplayDataBuilder {
 
-    private List<PlayerDisplayData> players;
+    private final List<PlayerDisplayData> players = new ArrayList<>();
     private PlayerDisplayData curTurnPlayer;
     private int secondsLeftInTurn;
     private String storyString;
@@ -0,0 +1,93 @@
+package adapters.display_data.not_ended_display_data;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import usecases.GameDTO;
+import usecases.PlayerDTO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The display data of the latest snapshot of each game, shared by the presenters which display
+ * games. The same snapshot is only converted once, and the display data of a newer snapshot shares
+ * its players with the display data before it while the players and the turn did not change
+ * <br><br>
+ * <h2>Thread Safety:</h2>
+ * <p> Thread safe </p>
+ */
+public class GameDisplayDataCache {
+
+    /**
+     * Most games whose display data is kept, the least recently displayed is dropped beyond
+     */
+    public static final int MAX_GAMES = 1024;
+
+    /**
+     * Display data of a snapshot, with the IDs of its players
+     */
+    public static class Entry {
+        private final GameDTO snapshot;
+        private final GameDisplayData display;
+        private final List<String> playerIds;
+
+        private Entry(GameDTO snapshot, GameDisplayData display, List<String> playerIds) {
+            this.snapshot = snapshot;
+            this.display = display;
+            this.playerIds = playerIds;
+        }
+
+        public @NotNull GameDisplayData getDisplay() { return display; }
+
+        /**
+         * @return Unmodifiable list of the IDs of the players in the game
+         */
+        public @NotNull List<String> getPlayerIds() { return playerIds; }
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_GAMES;
+        }
+    };
+
+    /**
+     * @param gameId ID the lobby hosts the game under, null if it isn't hosted by a lobby
+     * @param g Snapshot of the game
+     * @return Display data of the snapshot
+     */
+    public @NotNull Entry of(@Nullable String gameId, @NotNull GameDTO g) {
+        Entry previous;
+        synchronized (entries) {
+            previous = entries.get(gameId);
+        }
+        if (previous != null && previous.snapshot == g) {
+            return previous;
+        }
+
+        Entry entry;
+        if (previous != null && previous.snapshot.getPlayers() == g.getPlayers()
+                && previous.snapshot.getCurrentTurnPlayerId().equals(g.getCurrentTurnPlayerId())) {
+            entry = new Entry(g, previous.display.withStory(g.getStory(), g.getSecondsLeftCurrentTurn()),
+                    previous.playerIds);
+        } else {
+            GameDisplayDataBuilder builder = new GameDisplayDataBuilder();
+            List<String> playerIds = new ArrayList<>(g.getPlayers().size());
+            for (PlayerDTO p : g.getPlayers()) {
+                builder.addPlayer(p.getPlayerId(), p.getDisplayName(),
+                        p.getPlayerId().equals(g.getCurrentTurnPlayerId()));
+                playerIds.add(p.getPlayerId());
+            }
+            builder.setSecondsLeftInTurn(g.getSecondsLeftCurrentTurn()).setStoryString(g.getStory());
+            entry = new Entry(g, builder.build(), Collections.unmodifiableList(playerIds));
+        }
+        synchronized (entries) {
+            entries.put(gameId, entry);
+        }
+        return entry;
+    }
+}
@@ -1,9 +1,8 @@
 package adapters.presenters;
 
-import adapters.display_data.not_ended_display_data.GameDisplayDataBuilder;
+import adapters.display_data.not_ended_display_data.GameDisplayDataCache;
 import adapters.view_models.JplViewModel;
-import usecases.GameDTO;
-import usecases.PlayerDTO;
+import org.jetbrains.annotations.Nullable;
 import usecases.Response;
 import usecases.join_public_lobby.JplOutputBoundary;
 import usecases.join_public_lobby.JplOutputDataJoinedGame;
@@ -15,10 +14,21 @@ public class JplPresenter implements JplOutputBoundary {
 
     private final JplViewModel viewM;
 
+    private final GameDisplayDataCache displays;
+
+    /**
+     * @param viewM Instance of the view model to write to
+     */
+    public JplPresenter (JplViewModel viewM) { this(viewM, null); }
+
     /**
      * @param viewM Instance of the view model to write to
+     * @param displays Display data of the games, shared with other presenters, or null to keep its own
      */
-    public JplPresenter (JplViewModel viewM) { this.viewM = viewM; }
+    public JplPresenter (JplViewModel viewM, @Nullable GameDisplayDataCache displays) {
+        this.viewM = viewM;
+        this.displays = displays == null ? new GameDisplayDataCache() : displays;
+    }
 
     /**
      * Notify the view model that a player with a particular ID was added to the pool,
@@ -37,14 +47,8 @@ public class JplPresenter implements JplOutputBoundary {
      */
     @Override
     public void inGame(JplOutputDataJoinedGame dataJoinedGame) {
-        GameDTO g = dataJoinedGame.getGameData();
-        GameDisplayDataBuilder builder = new GameDisplayDataBuilder();
-        for (PlayerDTO p : g.getPlayers()) {
-            builder.addPlayer(p.getPlayerId(), p.getDisplayName(),
-                    p.getPlayerId().equals(g.getCurrentTurnPlayerId()));
-        }
-        builder.setSecondsLeftInTurn(g.getSecondsLeftCurrentTurn()).setStoryString(g.getStory());
-        viewM.setGameDisplay(builder.build());
+        // Players joining the same game at once share its display data
+        viewM.setGameDisplay(displays.of(dataJoinedGame.getGameId(), dataJoinedGame.getGameData()).getDisplay());
     }
 
     /**
@@ -1,34 +1,185 @@
 package adapters.presenters;
 
+import adapters.display_data.not_ended_display_data.GameDisplayData;
 import adapters.display_data.not_ended_display_data.GameDisplayDataBuilder;
+import adapters.display_data.not_ended_display_data.GameDisplayDataCache;
 import adapters.view_models.PdViewModel;
+import org.jetbrains.annotations.Nullable;
 import usecases.GameDTO;
+import usecases.GameDeltaDTO;
 import usecases.PlayerDTO;
 import usecases.pull_data.PdOutputBoundary;
 import usecases.pull_data.PdOutputData;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 public class PdPresenter implements PdOutputBoundary {
 
+    /**
+     * Game state a delta applies to, from the last snapshot and the deltas since
+     */
+    private static class GameState {
+        private long version;
+        private String story;
+        private final Map<String, String> displayNameOfPlayer = new LinkedHashMap<>();
+        private String currentTurnPlayerId;
+        private GameDisplayData display;
+        private List<String> playerIds;
+    }
+
     private final PdViewModel viewM;
 
+    private final GameDisplayDataCache displays;
+
+    /**
+     * State of each game updates arrive about, by game ID, until the game ends. Only the players
+     * are kept when the updates are not versioned, to tell who left the game
+     */
+    private final Map<String, GameState> games = Collections.synchronizedMap(new HashMap<>());
+
     /**
      * @param viewM Instance of the view model to write to
      */
-    public PdPresenter (PdViewModel viewM) { this.viewM = viewM; }
+    public PdPresenter (PdViewModel viewM) { this(viewM, null); }
 
     /**
-     * Update the view model's state of the current game
+     * @param viewM Instance of the view model to write to
+     * @param displays Display data of the games, shared with other presenters, or null to keep its own
+     */
+    public PdPresenter (PdViewModel viewM, @Nullable GameDisplayDataCache displays) {
+        this.viewM = viewM;
+        this.displays = displays == null ? new GameDisplayDataCache() : displays;
+    }
+
+    /**
+     * Update the view model's state of the current game, and of the game of each of its players.
+     * A delta which doesn't follow the last version seen of its game is dropped, the game catches
+     * up with the next snapshot
      * @param d PdOutputData
      */
     @Override
     public void updateGameInfo(PdOutputData d) {
-        GameDTO g = d.getGameInfo();
-        GameDisplayDataBuilder builder = new GameDisplayDataBuilder();
+        String gameId = d.getGameId();
+        if (d.isSnapshot()) {
+            GameDisplayDataCache.Entry entry = displays.of(gameId, d.getGameInfo());
+            List<String> left = Collections.emptyList();
+            if (gameId != null) {
+                GameState previous = games.get(gameId);
+                if (previous != null) {
+                    left = leftPlayerIds(previous.playerIds, entry.getPlayerIds());
+                }
+                if (d.getVersion() > 0) {
+                    games.put(gameId, fromSnapshot(d.getGameInfo(), entry, d.getVersion()));
+                } else if (previous == null) {
+                    GameState state = new GameState();
+                    state.playerIds = entry.getPlayerIds();
+                    games.put(gameId, state);
+                } else {
+                    previous.playerIds = entry.getPlayerIds();
+                }
+            }
+            viewM.setGameState(gameId, entry.getPlayerIds(), entry.getDisplay());
+            if (!left.isEmpty()) {
+                viewM.removePlayers(gameId, left);
+            }
+            return;
+        }
+
+        GameState state = games.get(gameId);
+        if (state == null || state.version + 1 != d.getVersion()) {
+            return;
+        }
+        apply(state, d.getGameDelta());
+        state.version = d.getVersion();
+        viewM.setGameState(gameId, state.playerIds, state.display);
+        if (!d.getGameDelta().getLeftPlayerIds().isEmpty()) {
+            viewM.removePlayers(gameId, d.getGameDelta().getLeftPlayerIds());
+        }
+    }
+
+    /**
+     * @param before IDs of the players in the game before
+     * @param after IDs of the players in the game now
+     * @return IDs of the players who left the game
+     */
+    private static List<String> leftPlayerIds(List<String> before, List<String> after) {
+        // The display data shares its players with the one before while they did not change
+        if (before == after) {
+            return Collections.emptyList();
+        }
+        List<String> left = new ArrayList<>();
+        for (String playerId : before) {
+            if (!after.contains(playerId)) {
+                left.add(playerId);
+            }
+        }
+        return left;
+    }
+
+    /**
+     * Forget the state of the game, no more updates arrive about it, and that its players are in it
+     * @param d PdOutputData with the final snapshot of the game
+     */
+    @Override
+    public void gameEnded(PdOutputData d) {
+        List<String> playerIds = new ArrayList<>();
+        for (PlayerDTO p : d.getGameInfo().getPlayers()) {
+            playerIds.add(p.getPlayerId());
+        }
+        if (d.getGameId() != null) {
+            GameState state = games.remove(d.getGameId());
+            if (state != null) {
+                playerIds.addAll(leftPlayerIds(state.playerIds, playerIds));
+            }
+        }
+        viewM.removeGame(d.getGameId(), playerIds);
+    }
+
+    private static GameState fromSnapshot(GameDTO g, GameDisplayDataCache.Entry entry, long version) {
+        GameState state = new GameState();
+        state.version = version;
+        state.story = g.getStory();
         for (PlayerDTO p : g.getPlayers()) {
-            builder.addPlayer(p.getPlayerId(), p.getDisplayName(),
-                    p.getPlayerId().equals(g.getCurrentTurnPlayerId()));
+            state.displayNameOfPlayer.put(p.getPlayerId(), p.getDisplayName());
+        }
+        state.currentTurnPlayerId = g.getCurrentTurnPlayerId();
+        state.display = entry.getDisplay();
+        state.playerIds = entry.getPlayerIds();
+        return state;
+    }
+
+    private static void apply(GameState state, GameDeltaDTO delta) {
+        if (!delta.getAppendedStory().isEmpty()) {
+            state.story = state.story + delta.getAppendedStory();
+        }
+        if (delta.getJoinedPlayers().isEmpty() && delta.getLeftPlayerIds().isEmpty()
+                && delta.getCurrentTurnPlayerId() == null) {
+            // Same players and turn, so the display data shares its players with the one before
+            state.display = state.display.withStory(state.story, delta.getSecondsLeftCurrentTurn());
+            return;
+        }
+
+        for (String playerId : delta.getLeftPlayerIds()) {
+            state.displayNameOfPlayer.remove(playerId);
+        }
+        for (PlayerDTO p : delta.getJoinedPlayers()) {
+            state.displayNameOfPlayer.put(p.getPlayerId(), p.getDisplayName());
+        }
+        if (delta.getCurrentTurnPlayerId() != null) {
+            state.currentTurnPlayerId = delta.getCurrentTurnPlayerId();
+        }
+
+        GameDisplayDataBuilder builder = new GameDisplayDataBuilder();
+        for (Map.Entry<String, String> p : state.displayNameOfPlayer.entrySet()) {
+            builder.addPlayer(p.getKey(), p.getValue(), p.getKey().equals(state.currentTurnPlayerId));
         }
-        builder.setSecondsLeftInTurn(g.getSecondsLeftCurrentTurn()).setStoryString(g.getStory());
-        viewM.setCurrentGameState(builder.build());
+        builder.setSecondsLeftInTurn(delta.getSecondsLeftCurrentTurn()).setStoryString(state.story);
+        state.display = builder.build();
+        state.playerIds = Collections.unmodifiableList(new ArrayList<>(state.displayNameOfPlayer.keySet()));
     }
 }
@@ -2,14 +2,15 @@ package adapters.presenters;
 
 import adapters.view_models.SsViewModel;
 import usecases.Response;
-import usecases.shutdown_server.SsOutputBoundary;
+import usecases.shutdown_server.SsDrainOutputBoundary;
+import usecases.shutdown_server.SsOutputData;
 
 import static usecases.Response.ResCode.SHUTTING_DOWN;
 
 /**
  * The presenter for the "shutdown-server" use case
  */
-public class SsPresenter implements SsOutputBoundary {
+public class SsPresenter implements SsDrainOutputBoundary {
 
     private final SsViewModel viewModel;
 
@@ -20,6 +21,15 @@ public class SsPresenter implements SsOutputBoundary {
         this.viewModel = viewModel;
     }
 
+    /**
+     * Passes the use cases which had to be interrupted in a critical section to the view model
+     * @param data Result of draining the running use cases
+     */
+    @Override
+    public void outputDrainReport(SsOutputData data) {
+        viewModel.setStillBlocking(data.getStillBlocking());
+    }
+
     /**
      * Notifies the view model that all threads are terminated, and the server is ready to shut down
      */
@@ -4,10 +4,24 @@ import adapters.display_data.not_ended_display_data.GameDisplayData;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 public class PdViewModel extends ViewModel {
 
     private GameDisplayData currentGameState = null;
 
+    /**
+     * State of each game, by the ID the lobby hosts it under, null for a game not hosted by a lobby
+     */
+    private final Map<String, GameDisplayData> gameStateOfGame = new HashMap<>();
+
+    /**
+     * ID of the game each player is in, by player ID
+     */
+    private final Map<String, String> gameOfPlayer = new HashMap<>();
+
     public void setCurrentGameState(@NotNull GameDisplayData d) {
         lock.lock();
         currentGameState = d;
@@ -15,6 +29,77 @@ public class PdViewModel extends ViewModel {
         lock.unlock();
     }
 
+    /**
+     * Sets the state of a game not hosted by a lobby, which becomes the current game state as well
+     * @param playerIds IDs of the players in the game
+     * @param d State of the game
+     */
+    public void setGameState(@NotNull Collection<String> playerIds, @NotNull GameDisplayData d) {
+        setGameState(null, playerIds, d);
+    }
+
+    /**
+     * Sets the state of a game, which becomes the current game state as well
+     * @param gameId ID the lobby hosts the game under, null if it isn't hosted by a lobby
+     * @param playerIds IDs of the players in the game
+     * @param d State of the game
+     */
+    public void setGameState(@Nullable String gameId, @NotNull Collection<String> playerIds,
+                             @NotNull GameDisplayData d) {
+        lock.lock();
+        currentGameState = d;
+        gameStateOfGame.put(gameId, d);
+        for (String playerId : playerIds) {
+            gameOfPlayer.put(playerId, gameId);
+        }
+        condition.signal();
+        lock.unlock();
+    }
+
+    /**
+     * Forgets that the players are in the game, as they left it. A player who joined another
+     * game meanwhile stays in that game
+     * @param gameId ID the lobby hosts the game under, null if it isn't hosted by a lobby
+     * @param playerIds IDs of the players who left the game
+     */
+    public void removePlayers(@Nullable String gameId, @NotNull Collection<String> playerIds) {
+        lock.lock();
+        for (String playerId : playerIds) {
+            gameOfPlayer.remove(playerId, gameId);
+        }
+        lock.unlock();
+    }
+
+    /**
+     * Forgets the state of a game which ended, and that its players are in it
+     * @param gameId ID the lobby hosts the game under, null if it isn't hosted by a lobby
+     * @param playerIds IDs of the players who were in the game
+     */
+    public void removeGame(@Nullable String gameId, @NotNull Collection<String> playerIds) {
+        lock.lock();
+        gameStateOfGame.remove(gameId);
+        for (String playerId : playerIds) {
+            gameOfPlayer.remove(playerId, gameId);
+        }
+        lock.unlock();
+    }
+
+    /**
+     * Unlike the current game state, the state is dropped once the player left the game or it ended
+     * @param playerId ID of a player
+     * @return State of the game the player is in, null if they are in no game
+     */
+    @Nullable
+    public GameDisplayData getGameStateOfPlayer(String playerId) {
+        GameDisplayData out = null;
+        lock.lock();
+        if (gameOfPlayer.containsKey(playerId)) {
+            out = gameStateOfGame.get(gameOfPlayer.get(playerId));
+        }
+        lock.unlock();
+        return out;
+    }
+
     /**
      * null only if there has not ever been a game started yet. Once a game starts, this object
      * will be updated continuously, but even once a game ends, the object will not be set to null
@@ -1,8 +1,30 @@
 package adapters.view_models;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public class SsViewModel extends ViewModel {
 
     private boolean shutdown = false;
+    private Map<String, Integer> stillBlocking = new HashMap<>();
+
+    public void setStillBlocking(Map<String, Integer> stillBlocking) {
+        lock.lock();
+        this.stillBlocking = new HashMap<>(stillBlocking);
+        lock.unlock();
+    }
+
+    /**
+     * @return Number of threads of every use case which were interrupted during a critical section
+     * because they did not finish it before the shutdown deadline
+     */
+    public Map<String, Integer> getStillBlocking() {
+        Map<String, Integer> out;
+        lock.lock();
+        out = new HashMap<>(stillBlocking);
+        lock.unlock();
+        return out;
+    }
 
     public void setShutdown() {
         lock.lock();
@@ -0,0 +1,24 @@
+package entities;
+
+import entities.games.Game;
+import entities.games.GameJournal;
+
+/**
+ * Journal of the games a lobby hosts, see GameJournal
+ */
+public interface LobbyJournal {
+
+    /**
+     * Records the whole state of a game which the lobby started hosting
+     * @param gameId ID the lobby hosts the game under
+     * @param game The game, which must not change during the call
+     * @return Journal of the changes to the game from now on
+     */
+    GameJournal gameHosted(String gameId, Game game);
+
+    /**
+     * Records that the lobby stopped hosting a game, which is not rebuilt anymore
+     * @param gameId ID the lobby hosted the game under
+     */
+    void gameRemoved(String gameId);
+}
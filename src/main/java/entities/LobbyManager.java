@@ -3,18 +3,38 @@ package entities;
 import entities.games.Game;
 import entities.games.GameFactory;
 import exceptions.*;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Timer;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Core entity which keeps track of all the games which are running
  * Every use case has access to an instance of this shared game state
+ * <br><br>
+ * The lobby hosts up to <code>maxGames</code> games at once, keyed by game ID. Every hosted game
+ * has its own lock, so use cases touching different games never wait for each other. Requests
+ * concerning a player (adding a word, removing the player from their game) are routed to the
+ * game the player is in
+ * <br><br>
+ * The methods which don't take a game or a player (e.g. isGameNull, setGame, switchTurn) act on
+ * the game which was hosted most recently. With a single game, as by default, this is the game,
+ * and every game the lobby hosts in turn shares one game lock, see getGameLock
+ * <br><br>
+ * <h2>Player pool:</h2>
+ * <p> Waiting players are indexed by player ID in the order they joined, so joining, cancelling
+ * and looking a player up take constant time. Every pool method engages the pool lock itself,
+ * compound actions on the pool still need the pool lock engaged around them </p>
+ * <h2>Lock order:</h2>
+ * <p> Player pool lock, then games lock, then the lock of a hosted game, then PlayerPoolListener locks </p>
  */
 public class LobbyManager {
 
@@ -28,10 +48,19 @@ public class LobbyManager {
     public static class PlayerObserverLink {
         private final Player player;
         private final PlayerPoolListener playerPoolListener;
+        private final long joinedPoolNanos;
 
         public PlayerObserverLink (Player p, PlayerPoolListener o) {
             this.player = p;
             this.playerPoolListener = o;
+            this.joinedPoolNanos = System.nanoTime();
+        }
+
+        /**
+         * @return When the player joined the pool, as given by <code>System.nanoTime</code>
+         */
+        public long getJoinedPoolNanos() {
+            return this.joinedPoolNanos;
         }
 
         public Player getPlayer() {
@@ -43,25 +72,120 @@ public class LobbyManager {
         }
     }
 
-    private final List<PlayerObserverLink> playerPool;
-    private volatile Game game;
+    /**
+     * A game hosted by the lobby, together with its ID and the lock guarding its state
+     */
+    public static class HostedGame {
+        private final String gameId;
+        private final Game game;
+        private final Lock lock;
+        /**
+         * IDs of the players routed to the game, kept along with the index of the lobby, so that
+         * they can be forgotten without reading the players off the game
+         */
+        private final Set<String> playerIds;
+
+        public HostedGame (String gameId, Game game, Lock lock) {
+            this.gameId = gameId;
+            this.game = game;
+            this.lock = lock;
+            this.playerIds = ConcurrentHashMap.newKeySet();
+        }
+
+        public String getGameId() {
+            return this.gameId;
+        }
+
+        public Game getGame() {
+            return this.game;
+        }
+
+        /**
+         * @return the lock which must be engaged around every access to the state of the game
+         */
+        public Lock getLock() {
+            return this.lock;
+        }
+    }
+
+    /**
+     * What came of adding a word, see tryAddCheckedWord. Every outcome but ADDED matches the
+     * exception addCheckedWord throws for it
+     */
+    public enum WordOutcome {
+        ADDED,
+        GAME_DOESNT_EXIST,
+        PLAYER_NOT_FOUND,
+        OUT_OF_TURN,
+        INVALID_WORD
+    }
+
+    /**
+     * Players waiting to be sorted into a game by player ID, in the order they joined
+     */
+    private final Map<String, PlayerObserverLink> playerPool;
+    private final Map<String, HostedGame> games;
+    private final Map<String, HostedGame> gameOfPlayer;
+    private final AtomicLong gameIds;
+    private final int maxGames;
+
+    /**
+     * The game which was hosted most recently, null if the lobby hosts no game
+     */
+    private volatile HostedGame latest;
     private final GameFactory gameFac;
     private final PlayerFactory playerFac;
-    private final Timer sortPlayersTimer;
+    /**
+     * Created on first use, since sort players driven by a shared timer never needs it
+     */
+    private Timer sortPlayersTimer;
     private final Lock playerPoolLock;
-    private final Lock gameLock;
+    private final Lock gamesLock;
+
+    /**
+     * Lock shared by the games of a lobby which hosts a single game at a time, null otherwise
+     */
+    private final Lock singleGameLock;
+
+    /**
+     * Called whenever a player joins the pool while they could be sorted right away, null if
+     * nobody listens
+     */
+    private volatile Runnable poolReadyListener;
+
+    /**
+     * Where the hosted games are recorded, null if they aren't
+     */
+    @Nullable
+    private volatile LobbyJournal journal;
 
     /**
      * @param playerFac Inject a factory to determine how players are made
      * @param gameFac Inject a factory to determine how games are made
      */
     public LobbyManager (PlayerFactory playerFac, GameFactory gameFac) {
+        this(playerFac, gameFac, 1);
+    }
+
+    /**
+     * @param playerFac Inject a factory to determine how players are made
+     * @param gameFac Inject a factory to determine how games are made
+     * @param maxGames How many games the lobby may host at once
+     */
+    public LobbyManager (PlayerFactory playerFac, GameFactory gameFac, int maxGames) {
+        if (maxGames < 1) {
+            throw new IllegalArgumentException("The lobby must be able to host at least one game");
+        }
         this.gameFac = gameFac;
         this.playerFac = playerFac;
-        this.playerPool = new CopyOnWriteArrayList<>();
-        this.sortPlayersTimer = new Timer(true);
+        this.maxGames = maxGames;
+        this.playerPool = new LinkedHashMap<>();
+        this.games = new ConcurrentHashMap<>();
+        this.gameOfPlayer = new ConcurrentHashMap<>();
+        this.gameIds = new AtomicLong();
         this.playerPoolLock = new ReentrantLock();
-        this.gameLock = new ReentrantLock();
+        this.gamesLock = new ReentrantLock();
+        this.singleGameLock = maxGames == 1 ? new ReentrantLock() : null;
     }
 
     /**
@@ -72,13 +196,22 @@ public class LobbyManager {
      */
     public boolean isGameRunning () { return !(isGameNull() || isGameEnded()); }
 
+    /**
+     * <h2>Thread Safety:</h2>
+     * <p> NOT Thread Safe, engages no locks </p>
+     * <p> Engage the lock of the hosted game surrounding use as appropriate </p>
+     * @param hosted a game hosted by this lobby
+     * @return If the game has not yet ended
+     */
+    public boolean isGameRunning (HostedGame hosted) { return !hosted.getGame().isTimerStopped(); }
+
     /**
      * <h2>Thread Safety:</h2>
      * <p> NOT Thread Safe, engages no locks </p>
      * <p> Engage game lock surrounding use as appropriate </p>
      * @return If a game instance is null, meaning, no game exists
      */
-    public boolean isGameNull () { return game == null; }
+    public boolean isGameNull () { return latest == null; }
 
     /**
      * <h2>Thread Safety:</h2>
@@ -87,7 +220,7 @@ public class LobbyManager {
      * @return If a game exists but has ended, meaning, the final timer
      * iteration has finished executing
      */
-    public boolean isGameEnded () { return game.isTimerStopped(); }
+    public boolean isGameEnded () { return latest.getGame().isTimerStopped(); }
 
     /**
      * Wrapper for switchTurn
@@ -96,7 +229,18 @@ public class LobbyManager {
      * <p> Engage game lock surrounding use as appropriate </p>
      */
     public boolean switchTurn() {
-        return game.switchTurn();
+        return latest.getGame().switchTurn();
+    }
+
+    /**
+     * Wrapper for switchTurn of a hosted game
+     * <h2>Thread Safety:</h2>
+     * <p> NOT Thread Safe, engages no locks </p>
+     * <p> Engage the lock of the hosted game surrounding use as appropriate </p>
+     * @param hosted a game hosted by this lobby
+     */
+    public boolean switchTurn(HostedGame hosted) {
+        return hosted.getGame().switchTurn();
     }
 
     /**
@@ -110,23 +254,98 @@ public class LobbyManager {
         if (isGameRunning()) {
             throw new GameRunningException("Cannot set game to null while game is still running");
         }
-        this.game = null;
+        HostedGame hosted = latest;
+        if (hosted != null) {
+            removeGame(hosted);
+        }
+    }
+
+    /**
+     * Stops hosting a game which has ended, forgets which players were in it, and releases
+     * the IDs of the players who were still in it, so that they may be used again
+     * <h2>Thread Safety:</h2>
+     * <p> NOT Thread Safe, engages no locks </p>
+     * <p> Engage games lock surrounding use as appropriate </p>
+     * @param hosted the game to stop hosting
+     * @throws GameRunningException if the game is still running
+     */
+    public void removeGame (HostedGame hosted) throws GameRunningException {
+        if (isGameRunning(hosted)) {
+            throw new GameRunningException("Cannot stop hosting a game while it is still running");
+        }
+        games.remove(hosted.getGameId());
+        LobbyJournal j = journal;
+        if (j != null) {
+            hosted.getGame().setJournal(null);
+            j.gameRemoved(hosted.getGameId());
+        }
+        // The players who left the game were already forgotten, see removePlayerFromGame. Their IDs
+        // come from the index, since in actor mode the players of the game belong to its mailbox
+        for (String playerId : hosted.playerIds) {
+            unroute(playerId, hosted);
+            playerFac.releasePlayerId(playerId);
+        }
+        if (latest == hosted) {
+            latest = games.values().stream().findAny().orElse(null);
+        }
     }
 
     /**
      * Called to start the timer upon SP initialization
-     * @return the timer which repeatedly sorts the players
+     * @return the timer which repeatedly sorts the players, and sorts them right away when woken
+     * up by the pool ready listener, unless sort players runs on a shared TickWheel
      */
-    public Timer getSortPlayersTimer () { return this.sortPlayersTimer; }
+    public synchronized Timer getSortPlayersTimer () {
+        if (this.sortPlayersTimer == null) {
+            this.sortPlayersTimer = new Timer(true);
+        }
+        return this.sortPlayersTimer;
+    }
 
     /**
      * <h2>Thread Safety:</h2>
-     * <p> NOT Thread Safe, engages no locks </p>
+     * <p> Engages the pool lock </p>
      * <p> Engage pool lock surrounding use as appropriate </p>
-     * @return a shallow copy of the player pool
+     * @return a shallow copy of the player pool, in the order the players joined
      */
     public List<PlayerObserverLink> getPool () {
-        return new ArrayList<>(playerPool);
+        playerPoolLock.lock();
+        try {
+            return new ArrayList<>(playerPool.values());
+        } finally {
+            playerPoolLock.unlock();
+        }
+    }
+
+    /**
+     * <h2>Thread Safety:</h2>
+     * <p> Engages the pool lock </p>
+     * @return How many players are waiting in the pool
+     */
+    public int getPoolSize () {
+        playerPoolLock.lock();
+        try {
+            return playerPool.size();
+        } finally {
+            playerPoolLock.unlock();
+        }
+    }
+
+    /**
+     * Removes every player from the pool, without notifying their PlayerPoolListeners
+     * <h2>Thread Safety:</h2>
+     * <p> Engages the pool lock </p>
+     * @return The removed links, in the order the players joined
+     */
+    public List<PlayerObserverLink> drainPool () {
+        playerPoolLock.lock();
+        try {
+            List<PlayerObserverLink> drained = new ArrayList<>(playerPool.values());
+            playerPool.clear();
+            return drained;
+        } finally {
+            playerPoolLock.unlock();
+        }
     }
 
     /**
@@ -141,6 +360,24 @@ public class LobbyManager {
      * @throws GameDoesntExistException if the game isn't running, in which case, player can't join it
      */
     public void removeFromPoolJoin (Player p) throws PlayerNotFoundException, GameDoesntExistException {
+        removeFromPoolJoin(latest, p);
+    }
+
+    /**
+     * Remove a player from the pool and call the linked PlayerPoolListener's
+     * onJoinHostedGame method, indicating that the player has joined the given game
+     * <br><br>
+     * <h2>Thread Safety:</h2>
+     * <p> NOT Thread Safe, engages no locks </p>
+     * <p> Engage pool lock, the lock of the hosted game AND PlayerPoolListener lock for player p
+     * surrounding use as appropriate </p>
+     * @param hosted The game the player joined, null if there is none
+     * @param p Player you would like to remove
+     * @throws PlayerNotFoundException if the player was not found in the pool
+     * @throws GameDoesntExistException if the game isn't running, in which case, player can't join it
+     */
+    public void removeFromPoolJoin (HostedGame hosted, Player p) throws PlayerNotFoundException,
+            GameDoesntExistException {
         PlayerObserverLink l = getLinkFromPlayer(p);
 
         // This error should not happen unless use case logic is broken
@@ -150,25 +387,28 @@ public class LobbyManager {
             );
         }
 
-        if (!isGameRunning()) {
+        if (hosted == null || !isGameRunning(hosted)) {
             throw new GameDoesntExistException("Game is either null or has ended. Players cannot join it");
         }
         // Below this, we assume that l is in pool and game is running. We assume a proper
         // lock architecture that ensures that this assumption cannot change from another thread
 
         // Removes the link from pool
-        playerPool.remove(l);
+        removeLink(l);
 
         // Passes game to the corresponding listener
-        l.playerPoolListener.onJoinGamePlayer(game);
+        l.playerPoolListener.onJoinHostedGame(hosted);
 
     }
 
     /**
-     * This method removes all the players from the pool
+     * Removes a link from the pool
+     * @param l the link to remove
      */
-    private void clearPool() {
-        playerPool.clear();
+    private void removeLink(PlayerObserverLink l) {
+        playerPoolLock.lock();
+        playerPool.remove(l.getPlayer().getPlayerId(), l);
+        playerPoolLock.unlock();
     }
 
     /**
@@ -179,14 +419,53 @@ public class LobbyManager {
      * it IS thread safe with regards to PlayerPoolListener callbacks
      */
     public void removeAllFromPoolJoin() {
-        for(PlayerObserverLink playerObserverLink: playerPool) {
+        removeAllFromPoolJoin(latest);
+    }
+
+    /**
+     * This method removes all the players from the pool and notifies their
+     * corresponding PlayerPoolListeners that the players were added to the given game,
+     * which must already contain them (e.g. because it was made with newGameFromPool)
+     * Note that this method is NOT thread safe with regards to pool and game, however,
+     * it IS thread safe with regards to PlayerPoolListener callbacks
+     * @param hosted The game the players joined
+     */
+    public void removeAllFromPoolJoin(HostedGame hosted) {
+        notifyJoined(hosted, drainPool());
+    }
+
+    /**
+     * Removes the given players from the pool and notifies their corresponding
+     * PlayerPoolListeners that the players were added to the given game, which must
+     * already contain them (e.g. because it was made with newGameFromPool)
+     * Note that this method is NOT thread safe with regards to the game, however,
+     * it IS thread safe with regards to pool and PlayerPoolListener callbacks
+     * @param hosted The game the players joined
+     * @param joined Links of the players who joined it
+     */
+    public void removeFromPoolJoin(HostedGame hosted, List<PlayerObserverLink> joined) {
+        for (PlayerObserverLink playerObserverLink : joined) {
+            removeLink(playerObserverLink);
+        }
+        notifyJoined(hosted, joined);
+    }
+
+    /**
+     * Routes the players to the game they joined and calls back their listeners, each under its lock
+     */
+    private void notifyJoined(HostedGame hosted, List<PlayerObserverLink> joined) {
+        for(PlayerObserverLink playerObserverLink: joined) {
             // We need to lock the critical section for every player
             Lock lock = playerObserverLink.getPlayerPoolListener().getLock();
             lock.lock();
-            playerObserverLink.playerPoolListener.onJoinGamePlayer(this.game);
+            if (hosted != null) {
+                route(playerObserverLink.getPlayer().getPlayerId(), hosted);
+                playerObserverLink.playerPoolListener.onJoinHostedGame(hosted);
+            } else {
+                playerObserverLink.playerPoolListener.onJoinGamePlayer(null);
+            }
             lock.unlock();
         }
-        this.clearPool();
     }
 
     /**
@@ -194,10 +473,9 @@ public class LobbyManager {
      * Note that this method is NOT THREAD SAFE AT ALL! It engages no locks
      */
     public void removeAllFromPoolCancel() {
-        for(PlayerObserverLink playerObserverLink: playerPool) {
+        for(PlayerObserverLink playerObserverLink: drainPool()) {
             playerObserverLink.playerPoolListener.onCancelPlayer();
         }
-        this.clearPool();
     }
 
     /**
@@ -210,7 +488,170 @@ public class LobbyManager {
             throw new GameRunningException(
                     "Trying to set an existing game");
         }
-        this.game = game;
+        if (game != null) {
+            addGame(game);
+        }
+    }
+
+    /**
+     * Hosts a game under a new game ID, routing the players already in it to it
+     * <h2>Thread Safety:</h2>
+     * <p> NOT Thread Safe, engages no locks </p>
+     * <p> Engage games lock surrounding use as appropriate </p>
+     * @param game Game to host
+     * @return The hosted game
+     * @throws GameRunningException if the lobby already hosts as many games as it may
+     */
+    public HostedGame addGame (Game game) throws GameRunningException {
+        if (games.size() >= maxGames) {
+            throw new GameRunningException(maxGames == 1 ? "Trying to set an existing game" :
+                    "The lobby already hosts " + maxGames + " games");
+        }
+        return host("game-" + gameIds.incrementAndGet(), game);
+    }
+
+    /**
+     * Hosts a game rebuilt after the server stopped under the ID it had, e.g. from a journal.
+     * The IDs of its players are reserved, and new games get IDs after it
+     * <h2>Thread Safety:</h2>
+     * <p> NOT Thread Safe, engages no locks </p>
+     * <p> Engage games lock surrounding use as appropriate </p>
+     * @param gameId ID the game was hosted under
+     * @param game Game to host, see newGame
+     * @return The hosted game
+     * @throws GameRunningException if the lobby already hosts as many games as it may, or a game with that ID
+     */
+    public HostedGame restoreGame (String gameId, Game game) throws GameRunningException {
+        if (games.size() >= maxGames) {
+            throw new GameRunningException("The lobby already hosts " + maxGames + " games");
+        }
+        if (games.containsKey(gameId)) {
+            throw new GameRunningException("The lobby already hosts " + gameId);
+        }
+        if (gameId.startsWith("game-")) {
+            try {
+                long n = Long.parseLong(gameId.substring("game-".length()));
+                gameIds.accumulateAndGet(n, Math::max);
+            } catch (NumberFormatException ignored) {
+                // Not an ID the lobby would give, so it can't collide with one
+            }
+        }
+        for (Player p : game.getPlayers()) {
+            playerFac.reservePlayerId(p.getPlayerId());
+        }
+        return host(gameId, game);
+    }
+
+    private HostedGame host (String gameId, Game game) {
+        HostedGame hosted = new HostedGame(gameId, game,
+                singleGameLock != null ? singleGameLock : new ReentrantLock());
+        LobbyJournal j = journal;
+        if (j != null) {
+            // Not shared yet, so nothing changes the game while it is recorded
+            game.setJournal(j.gameHosted(gameId, game));
+        }
+        games.put(hosted.getGameId(), hosted);
+        for (Player p : game.getPlayers()) {
+            route(p.getPlayerId(), hosted);
+        }
+        latest = hosted;
+        return hosted;
+    }
+
+    /**
+     * Records the games hosted from now on in a journal, along with every change to them
+     * @param journal The journal, or null to stop recording the games hosted from now on
+     */
+    public void setJournal (@Nullable LobbyJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * @param gameId ID of a game
+     * @return The hosted game with that ID, null if the lobby doesn't host it
+     */
+    public HostedGame getHostedGame (String gameId) {
+        return games.get(gameId);
+    }
+
+    /**
+     * @return The games the lobby currently hosts, in no particular order
+     */
+    public List<HostedGame> getHostedGames () {
+        return new ArrayList<>(games.values());
+    }
+
+    /**
+     * @return How many games the lobby currently hosts
+     */
+    public int getGameCount () {
+        return games.size();
+    }
+
+    /**
+     * @return How many games the lobby may host at once
+     */
+    public int getMaxGames () {
+        return maxGames;
+    }
+
+    /**
+     * Finds the game a player is in. Players are routed through an index, which is updated
+     * whenever players join or leave games through this lobby. Players added to a game behind
+     * the lobby's back are not found
+     * <h2>Thread Safety:</h2>
+     * <p> Thread Safe, engages no locks </p>
+     * @param playerId ID of the player
+     * @return The game the player is in
+     * @throws GameDoesntExistException if the lobby hosts no game
+     * @throws PlayerNotFoundException if the player is in none of the hosted games
+     */
+    public HostedGame getGameOfPlayer (String playerId) throws GameDoesntExistException, PlayerNotFoundException {
+        HostedGame hosted = findGameOfPlayer(playerId);
+        if (hosted != null) {
+            return hosted;
+        }
+        if (games.isEmpty()) {
+            throw new GameDoesntExistException("Game does not exist.");
+        }
+        throw new PlayerNotFoundException("Player with id " + playerId + " is not in any game");
+    }
+
+    /**
+     * Like getGameOfPlayer, without an exception if the player is in no game, e.g. for the hot path
+     * of a use case which rejects many requests. Only looks at the index, see getGameOfPlayer
+     * <h2>Thread Safety:</h2>
+     * <p> Thread Safe, engages no locks </p>
+     * @param playerId ID of the player
+     * @return The game the player is in, null if the player is in none of the hosted games
+     */
+    @Nullable
+    public HostedGame findGameOfPlayer (String playerId) {
+        HostedGame hosted = gameOfPlayer.get(playerId);
+        // The game may have stopped being hosted while its players are still being forgotten
+        if (hosted != null && games.get(hosted.getGameId()) == hosted) {
+            return hosted;
+        }
+        return null;
+    }
+
+    /**
+     * Routes requests concerning the player to the game, see findGameOfPlayer
+     */
+    private void route (String playerId, HostedGame hosted) {
+        hosted.playerIds.add(playerId);
+        HostedGame previous = gameOfPlayer.put(playerId, hosted);
+        if (previous != null && previous != hosted) {
+            previous.playerIds.remove(playerId);
+        }
+    }
+
+    /**
+     * Stops routing requests concerning the player to the game, unless they are routed to another one
+     */
+    private void unroute (String playerId, HostedGame hosted) {
+        hosted.playerIds.remove(playerId);
+        gameOfPlayer.remove(playerId, hosted);
     }
 
     /**
@@ -219,7 +660,7 @@ public class LobbyManager {
      */
     public ArrayList<Player> getPlayersFromPool() {
         ArrayList<Player> players = new ArrayList<>();
-        for(PlayerObserverLink playerObserverLink : playerPool)
+        for(PlayerObserverLink playerObserverLink : getPool())
             players.add(playerObserverLink.player);
         return players;
     }
@@ -235,20 +676,92 @@ public class LobbyManager {
      */
     public void addWord (String word, String playerId) throws GameDoesntExistException, PlayerNotFoundException,
             OutOfTurnException, InvalidWordException {
-        if (!this.isGameRunning()) {
-            throw new GameDoesntExistException(
-                    "The game you are trying to add word to does not exist");
+        addWord(getGameOfPlayer(playerId), word, playerId);
+    }
+
+    /**
+     * Add word from the current-turn player to the story of the given game
+     * <h2>Thread Safety:</h2>
+     * <p> NOT Thread Safe, engages no locks </p>
+     * <p> Engage the lock of the hosted game surrounding use as appropriate </p>
+     * @param hosted Game the player is in, see getGameOfPlayer
+     * @param word String to add to the story
+     * @param playerId String of the player who attempts to submit a word
+     * @throws GameDoesntExistException if game has ended
+     * @throws PlayerNotFoundException if player cannot be found
+     * @throws OutOfTurnException if this is not our player's turn
+     * @throws InvalidWordException if the word is not valid
+     */
+    public void addWord (HostedGame hosted, String word, String playerId) throws GameDoesntExistException,
+            PlayerNotFoundException, OutOfTurnException, InvalidWordException {
+        addCheckedWord(hosted, word, hosted.getGame().checkWord(word), playerId);
+    }
+
+    /**
+     * Add word from the current-turn player to the story of the given game, once the word was
+     * checked by Game.checkWord. The word may be checked before the lock of the game is engaged,
+     * so that only the turn checks and the append happen under it
+     * <h2>Thread Safety:</h2>
+     * <p> NOT Thread Safe, engages no locks </p>
+     * <p> Engage the lock of the hosted game surrounding use as appropriate </p>
+     * @param hosted Game the player is in, see getGameOfPlayer
+     * @param word String the player submitted
+     * @param checkedWord What checkWord returned for the word, null if it is not valid
+     * @param playerId String of the player who attempts to submit a word
+     * @throws GameDoesntExistException if game has ended
+     * @throws PlayerNotFoundException if player cannot be found
+     * @throws OutOfTurnException if this is not our player's turn
+     * @throws InvalidWordException if the word is not valid
+     */
+    public void addCheckedWord (HostedGame hosted, String word, @Nullable String checkedWord, String playerId)
+            throws GameDoesntExistException, PlayerNotFoundException, OutOfTurnException, InvalidWordException {
+        switch (tryAddCheckedWord(hosted, word, checkedWord, playerId)) {
+            case GAME_DOESNT_EXIST:
+                throw new GameDoesntExistException(
+                        "The game you are trying to add word to does not exist");
+            case PLAYER_NOT_FOUND:
+                throw new PlayerNotFoundException(
+                        "The player you are trying to add word is not found int the game");
+            case OUT_OF_TURN:
+                throw new OutOfTurnException(
+                        "Trying to submit a word out of turn");
+            case INVALID_WORD:
+                throw new InvalidWordException("The word is not valid!");
+            default:
+                break;
         }
-        if (this.game.getPlayerById(playerId) == null) {
-            throw new PlayerNotFoundException(
-                    "The player you are trying to add word is not found int the game");
+    }
+
+    /**
+     * Like addCheckedWord, but tells why the word was not added by its outcome rather than by an
+     * exception, so that rejecting a word allocates nothing
+     * <h2>Thread Safety:</h2>
+     * <p> NOT Thread Safe, engages no locks </p>
+     * <p> Engage the lock of the hosted game surrounding use as appropriate </p>
+     * @param hosted Game the player is in, see findGameOfPlayer
+     * @param word String the player submitted
+     * @param checkedWord What checkWord returned for the word, null if it is not valid
+     * @param playerId String of the player who attempts to submit a word
+     * @return ADDED if the word was added, otherwise why it wasn't
+     */
+    public WordOutcome tryAddCheckedWord (HostedGame hosted, String word, @Nullable String checkedWord,
+                                          String playerId) {
+        Game game = hosted.getGame();
+        if (!isGameRunning(hosted)) {
+            return WordOutcome.GAME_DOESNT_EXIST;
+        }
+        Player author = game.getPlayerById(playerId);
+        if (author == null) {
+            return WordOutcome.PLAYER_NOT_FOUND;
         }
-        if (!this.game.getCurrentTurnPlayer().getPlayerId().equals(playerId)) {
-            throw new OutOfTurnException(
-                    "Trying to submit a word out of turn");
+        if (!game.getCurrentTurnPlayer().getPlayerId().equals(playerId)) {
+            return WordOutcome.OUT_OF_TURN;
         }
-        Player author = this.game.getPlayerById(playerId);
-        this.game.addWord(word, author);
+        if (checkedWord == null) {
+            return WordOutcome.INVALID_WORD;
+        }
+        game.addCheckedWord(word, checkedWord, author);
+        return WordOutcome.ADDED;
     }
 
     /**
@@ -256,13 +769,33 @@ public class LobbyManager {
      * @param settings Map<String, Integer> String to add to the story
      */
     public Game newGameFromPool (Map<String, Integer> settings) {
+        return newGameFromPool(settings, getPool());
+    }
+
+    /**
+     * Create a game based on the provided settings with some of the players from the pool,
+     * which stay in the pool until they are told about the game, see removeFromPoolJoin
+     * @param settings Settings of the game, e.g. GameFactory.MAX_PLAYERS, may be null
+     * @param waiting Links of the players to start the game with
+     */
+    public Game newGameFromPool (Map<String, Integer> settings, List<PlayerObserverLink> waiting) {
         List<Player> initialPlayers = new ArrayList<>();
-        for (PlayerObserverLink pol : this.playerPool) {
+        for (PlayerObserverLink pol : waiting) {
             initialPlayers.add(pol.getPlayer());
         }
         return this.gameFac.createGame(settings, initialPlayers);
     }
 
+    /**
+     * Create a game based on the provided settings with players who are not in the pool, e.g.
+     * players of a game rebuilt after the server stopped
+     * @param settings Settings of the game, e.g. GameFactory.MAX_PLAYERS, may be null
+     * @param players Players to start the game with, in turn order
+     */
+    public Game newGame (Map<String, Integer> settings, List<Player> players) {
+        return this.gameFac.createGame(settings, players);
+    }
+
     /**
      * Removes a PlayerObserverLink from the pool via its player
      * Notice that this method is not thread-safe AT ALL! It engages no locks
@@ -274,7 +807,7 @@ public class LobbyManager {
         if (pol == null) {
             throw new PlayerNotFoundException("Player not found");
         }
-        playerPool.remove(pol);
+        removeLink(pol);
         pol.playerPoolListener.onCancelPlayer();
 
     }
@@ -286,13 +819,12 @@ public class LobbyManager {
      * @throws PlayerNotFoundException when p is not in the game
      */
     public void removePlayerFromGame(Player p) throws GameDoesntExistException, PlayerNotFoundException {
-        if (game == null) {
-            throw new GameDoesntExistException("Game does not exist");
-        }
-        if (game.getPlayerById(p.getPlayerId()) == null) {
+        HostedGame hosted = getGameOfPlayer(p.getPlayerId());
+        if (hosted.getGame().getPlayerById(p.getPlayerId()) == null) {
             throw new PlayerNotFoundException("Player to remove is not in game");
         }
-        game.removePlayer(p);
+        hosted.getGame().removePlayer(p);
+        unroute(p.getPlayerId(), hosted);
     }
 
     /**
@@ -302,10 +834,28 @@ public class LobbyManager {
      * @throws GameDoesntExistException when the game doesn't exist
      */
     public boolean addPlayerToGame(Player p) throws GameDoesntExistException {
-        if (game == null) {
+        return addPlayerToGame(latest, p);
+    }
+
+    /**
+     * Adds a player to a hosted game
+     * <h2>Thread Safety:</h2>
+     * <p> NOT Thread Safe, engages no locks </p>
+     * <p> Engage the lock of the hosted game surrounding use as appropriate </p>
+     * @param hosted the game, null if there is none
+     * @param p the player to be added
+     * @return if the player was successfully added
+     * @throws GameDoesntExistException when the game doesn't exist
+     */
+    public boolean addPlayerToGame(HostedGame hosted, Player p) throws GameDoesntExistException {
+        if (hosted == null) {
             throw new GameDoesntExistException("Game does not exist");
         }
-        return game.addPlayer(p);
+        boolean added = hosted.getGame().addPlayer(p);
+        if (added) {
+            route(p.getPlayerId(), hosted);
+        }
+        return added;
     }
 
     /**
@@ -319,18 +869,28 @@ public class LobbyManager {
         return playerFac.createPlayer(displayName, id);
     }
 
+    /**
+     * Releases the ID of a player who left the server, so that a new player may use it
+     * @param playerId the ID to release
+     * @return if the ID was in use
+     */
+    public boolean releasePlayerId(String playerId) {
+        return playerFac.releasePlayerId(playerId);
+    }
+
     /**
      * Helper method to find a PlayerObserverLink in the playerPool via its player
+     * This method engages the playerPoolLock lock
      * @param p the player in the PlayerObserverLink
      * @return the PlayerObserverLink containing player p, null if there isn't one
      */
     public PlayerObserverLink getLinkFromPlayer(Player p){
-        for (PlayerObserverLink pol : playerPool) {
-            if (pol.getPlayer().equals(p)) {
-                return pol;
-            }
+        playerPoolLock.lock();
+        try {
+            return playerPool.get(p.getPlayerId());
+        } finally {
+            playerPoolLock.unlock();
         }
-        return null;
     }
 
     /**
@@ -342,8 +902,26 @@ public class LobbyManager {
     public void addPlayerToPool (Player p, PlayerPoolListener o) {
         playerPoolLock.lock();
         PlayerObserverLink pol = new PlayerObserverLink(p, o);
-        this.playerPool.add(pol);
+        this.playerPool.put(p.getPlayerId(), pol);
+        // A new game can start, or the player can join a hosted game
+        boolean ready = playerPool.size() >= PLAYERS_TO_START_GAME || !games.isEmpty();
         playerPoolLock.unlock();
+
+        // Notified outside the pool lock, the listener only has to schedule the sorting
+        Runnable listener = poolReadyListener;
+        if (ready && listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Sets the listener which is called whenever a player joins the pool while players could be
+     * sorted into a game: either the pool reached PLAYERS_TO_START_GAME, or a game is hosted.
+     * The listener is called by the joining thread and must not block
+     * @param listener The listener, or null to remove it
+     */
+    public void setPoolReadyListener (Runnable listener) {
+        this.poolReadyListener = listener;
     }
 
     /**
@@ -354,18 +932,35 @@ public class LobbyManager {
      * Note that this method is not thread safe AT ALL (no locks engaged)
      *
      * @param p Player you wish to transfer from pool to the game
+     * @return If the game accepted the player
+     * @throws GameDoesntExistException If game is null
+     * @throws PlayerNotFoundException If player was not found in the pool
+     */
+    public boolean addPlayerToGameRemoveFromPool (Player p) throws
+            GameDoesntExistException, PlayerNotFoundException {
+        return addPlayerToGameRemoveFromPool(latest, p);
+    }
+
+    /**
+     * Same as addPlayerToGameRemoveFromPool(Player), for the given hosted game
+     * Note that this method is not thread safe AT ALL (no locks engaged)
+     *
+     * @param hosted Game the player should join, null if there is none
+     * @param p Player you wish to transfer from pool to the game
+     * @return If the game accepted the player
      * @throws GameDoesntExistException If game is null
      * @throws PlayerNotFoundException If player was not found in the pool
      */
-    public void addPlayerToGameRemoveFromPool (Player p) throws
+    public boolean addPlayerToGameRemoveFromPool (HostedGame hosted, Player p) throws
             GameDoesntExistException, PlayerNotFoundException {
         // Throws GameDoesntExist if game is null
-        boolean success = addPlayerToGame(p);
+        boolean success = addPlayerToGame(hosted, p);
 
         // Throws GameDoesntExist or PlayerNotFound
         if (success) {
-            removeFromPoolJoin(p);
+            removeFromPoolJoin(hosted, p);
         }
+        return success;
     }
 
     /**
@@ -373,16 +968,31 @@ public class LobbyManager {
      * @return an arraylist of players
      */
     public List<Player> getPlayersFromGame () throws GameDoesntExistException {
-        if (this.isGameNull()){
+        HostedGame hosted = latest;
+        if (hosted == null){
             throw new GameDoesntExistException("Game does not exist.");
         }
-        return new ArrayList<>(game.getPlayers());
+        return new ArrayList<>(hosted.getGame().getPlayers());
     }
 
     /**
-     * @return the lock associated with the game reference
+     * @return the lock associated with which games are hosted. The state of each game is
+     * guarded by the lock of the hosted game instead
+     */
+    public Lock getGamesLock() { return gamesLock; }
+
+    /**
+     * Meant for lobbies hosting a single game at a time, whose games all share this lock
+     * @return the lock associated with the game reference. In a lobby hosting several games,
+     * the lock of the game which was hosted most recently, or the games lock if there is none
      */
-    public Lock getGameLock() { return gameLock; }
+    public Lock getGameLock() {
+        if (singleGameLock != null) {
+            return singleGameLock;
+        }
+        HostedGame hosted = latest;
+        return hosted == null ? gamesLock : hosted.getLock();
+    }
 
     /**
      * @return the lock associated with the player pool list
@@ -392,5 +1002,5 @@ public class LobbyManager {
     /**
      * @return the player whose turn it is
      */
-    public Player getCurrentTurnPlayer() { return this.game.getCurrentTurnPlayer(); }
+    public Player getCurrentTurnPlayer() { return this.latest.getGame().getCurrentTurnPlayer(); }
 }
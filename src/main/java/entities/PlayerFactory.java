@@ -4,14 +4,24 @@ import entities.display_name_checkers.DisplayNameChecker;
 import exceptions.IdInUseException;
 import exceptions.InvalidDisplayNameException;
 
-import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Factory for creating players
+ * <br><br>
+ * Player IDs are reserved in a registry when a player is created, and must be released once
+ * the player leaves (disconnects, or their game ends), so that the ID can be used again
+ * <br><br>
+ * <h2>Thread Safety:</h2>
+ * <p>
+ *     Thread safe: the registry is a concurrent set, an ID is reserved and checked for use
+ *     in one atomic step, so two threads can't create players with the same ID
+ * </p>
  */
 public class PlayerFactory {
 
-    private final ArrayList<String> idsInUse;
+    private final Set<String> idsInUse;
     private final DisplayNameChecker displayChecker;
 
     /**
@@ -20,7 +30,7 @@ public class PlayerFactory {
      */
     public PlayerFactory(DisplayNameChecker nameChecker) {
         displayChecker = nameChecker;
-        idsInUse = new ArrayList<>();
+        idsInUse = ConcurrentHashMap.newKeySet();
     }
 
     /**
@@ -32,13 +42,46 @@ public class PlayerFactory {
     public Player createPlayer(String newName, String newPlayerId) throws
             IdInUseException, InvalidDisplayNameException {
         newName = newName.trim();
-        if (idsInUse.contains(newPlayerId)) {
+        if (!idsInUse.add(newPlayerId)) {
             throw new IdInUseException("ID " + newPlayerId + " already in use.");
         } else if (!displayChecker.checkValid(newName)) {
+            idsInUse.remove(newPlayerId);
             throw new InvalidDisplayNameException("Display name " + newName + " is not valid.");
         }
 
-        idsInUse.add(newPlayerId);
         return new Player(newName, newPlayerId);
     }
+
+    /**
+     * Reserves the ID of a player who was created before, e.g. in a game rebuilt from a journal
+     * @param playerId the ID to reserve
+     * @return if the ID was free
+     */
+    public boolean reservePlayerId(String playerId) {
+        return idsInUse.add(playerId);
+    }
+
+    /**
+     * Releases the ID of a player who left, so that a new player may use it
+     * @param playerId the ID to release
+     * @return if the ID was in use
+     */
+    public boolean releasePlayerId(String playerId) {
+        return idsInUse.remove(playerId);
+    }
+
+    /**
+     * @param playerId an ID
+     * @return if a player currently uses the ID
+     */
+    public boolean isIdInUse(String playerId) {
+        return idsInUse.contains(playerId);
+    }
+
+    /**
+     * @return how many IDs are currently in use
+     */
+    public int getIdsInUseCount() {
+        return idsInUse.size();
+    }
 }
@@ -16,6 +16,15 @@ public interface PlayerPoolListener {
      */
     void onJoinGamePlayer (Game game);
 
+    /**
+     * Called by sortPlayers thread when a player has been sorted into
+     * a game the lobby hosts, so that the listener needn't look the game up
+     * @param hosted The game that the player has been sorted into, as the lobby hosts it
+     */
+    default void onJoinHostedGame (LobbyManager.HostedGame hosted) {
+        onJoinGamePlayer(hosted.getGame());
+    }
+
     /**
      * Called if the player cancelled their waiting by the cancelPlayer
      * method in LobbyManager
@@ -1,18 +1,68 @@
 package entities;
 
 import exceptions.InvalidWordException;
+import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
 /**
  * Story that is made up of words
+ * <br><br>
+ * The words are not kept as objects, but in columns: the text of the story in a single buffer,
+ * where every word is followed by a space, the start of every word in the text, and the author of
+ * every word as an index into the authors of the story. The words are ASCII, so the buffer takes
+ * a byte per character. The words of one author are chained together, so that going through them
+ * skips the words of the other authors
+ * <br><br>
+ * The text of the story is cached until the next word is added, and a suffix of the text (e.g.
+ * the words added since the last update) only copies the new words
  */
 public class Story {
 
-    private final List<Word> words;
+    private static final int NO_WORD = -1;
+
     private final WordFactory wordFactory;
+    private final StringBuilder text;
+    private int wordCount;
+
+    /**
+     * Where every word starts in the text
+     */
+    private int[] wordStarts;
+
+    /**
+     * Index of the author of every word, into authors
+     */
+    private int[] authorOf;
+
+    /**
+     * Index of the next word by the same author as every word, NO_WORD for their last word
+     */
+    private int[] nextByAuthor;
+
+    /**
+     * Every player who wrote a word of the story, in the order they first did
+     */
+    private final List<Player> authors;
+    private final Map<String, Integer> authorIndexOf;
+
+    /**
+     * First word, last word and count of words of every author
+     */
+    private int[] firstWordBy;
+    private int[] lastWordBy;
+    private int[] wordCountBy;
+
+    /**
+     * The text as a string, null until it is asked for after a word was added
+     */
+    private String rendered;
 
     /**
      Constructor for the Story
@@ -20,7 +70,16 @@ public class Story {
      */
     public Story(WordFactory wordFactory) {
         this.wordFactory = wordFactory;
-        this.words = new ArrayList<>();
+        this.text = new StringBuilder();
+        this.wordStarts = new int[16];
+        this.authorOf = new int[16];
+        this.nextByAuthor = new int[16];
+        this.authors = new ArrayList<>();
+        this.authorIndexOf = new HashMap<>();
+        this.firstWordBy = new int[4];
+        this.lastWordBy = new int[4];
+        this.wordCountBy = new int[4];
+        this.rendered = "";
     }
 
     /**
@@ -30,18 +89,168 @@ public class Story {
      */
     public Story(WordFactory wordFactory, Word[] words) {
         this(wordFactory);
-        this.words.addAll(Arrays.asList(words));
+        for (Word word : words) {
+            append(word.getWord(), word.getAuthor());
+        }
     }
 
     /**
      * Adds the word to the story if it is valid
      * @param word the word that we need to add
      * @param author the author of the word
+     * @return the word as it was added
      * @throws InvalidWordException if the word is invalid
      */
-    public void addWord(String word, Player author) throws InvalidWordException {
-        Word newWord = wordFactory.create(word, author);
-        this.words.add(newWord);
+    public String addWord(String word, Player author) throws InvalidWordException {
+        Word checked = wordFactory.create(word, author);
+        append(checked.getWord(), author);
+        return checked.getWord();
+    }
+
+    /**
+     * Checks if the word is valid, without adding it. Thread safe
+     * @param word the word that we need to check
+     * @return the word as it would be added to the story if it is valid, null otherwise
+     */
+    public String checkWord(String word) {
+        return wordFactory.check(word);
+    }
+
+    /**
+     * Adds a word which was already checked by checkWord
+     * @param checkedWord the word returned by checkWord
+     * @param author the author of the word
+     */
+    public void addCheckedWord(String checkedWord, Player author) {
+        // Trimmed, as a Word would be
+        append(checkedWord.trim(), author);
+    }
+
+    private void append(String word, Player author) {
+        if (wordCount == wordStarts.length) {
+            int capacity = wordStarts.length * 2;
+            wordStarts = Arrays.copyOf(wordStarts, capacity);
+            authorOf = Arrays.copyOf(authorOf, capacity);
+            nextByAuthor = Arrays.copyOf(nextByAuthor, capacity);
+        }
+        int a = authorIndex(author);
+        wordStarts[wordCount] = text.length();
+        authorOf[wordCount] = a;
+        nextByAuthor[wordCount] = NO_WORD;
+        if (wordCountBy[a] == 0) {
+            firstWordBy[a] = wordCount;
+        } else {
+            nextByAuthor[lastWordBy[a]] = wordCount;
+        }
+        lastWordBy[a] = wordCount;
+        wordCountBy[a]++;
+        wordCount++;
+        text.append(word).append(' ');
+        rendered = null;
+    }
+
+    /**
+     * @return Index of the author, who is added to the authors if they didn't write a word yet
+     */
+    private int authorIndex(Player author) {
+        Integer a = authorIndexOf.get(author.getPlayerId());
+        if (a != null) {
+            return a;
+        }
+        a = authors.size();
+        if (a == wordCountBy.length) {
+            int capacity = wordCountBy.length * 2;
+            firstWordBy = Arrays.copyOf(firstWordBy, capacity);
+            lastWordBy = Arrays.copyOf(lastWordBy, capacity);
+            wordCountBy = Arrays.copyOf(wordCountBy, capacity);
+        }
+        authors.add(author);
+        authorIndexOf.put(author.getPlayerId(), a);
+        return a;
+    }
+
+    /**
+     * @return How many words the story has
+     */
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    /**
+     * @param index Index of the word, from 0 to the word count
+     * @return The word
+     */
+    public String getWord(int index) {
+        if (index < 0 || index >= wordCount) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int end = index + 1 == wordCount ? text.length() : wordStarts[index + 1];
+        // Without the space which follows the word
+        return text.substring(wordStarts[index], end - 1);
+    }
+
+    /**
+     * @param index Index of the word, from 0 to the word count
+     * @return The author of the word
+     */
+    public Player getAuthor(int index) {
+        if (index < 0 || index >= wordCount) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return authors.get(authorOf[index]);
+    }
+
+    /**
+     * @param author A player
+     * @return How many words of the story the player wrote
+     */
+    public int getWordCountBy(Player author) {
+        Integer a = authorIndexOf.get(author.getPlayerId());
+        return a == null ? 0 : wordCountBy[a];
+    }
+
+    /**
+     * The words of the story by one author, in order. Each step goes straight to the next word by the
+     * author, whatever number of words the other authors wrote in between. Words added while going
+     * through them may or may not be included
+     * @param author A player
+     * @return The words of the story which the player wrote
+     */
+    public Iterable<String> getWordsBy(Player author) {
+        Integer a = authorIndexOf.get(author.getPlayerId());
+        int first = a == null || wordCountBy[a] == 0 ? NO_WORD : firstWordBy[a];
+        return () -> new Iterator<>() {
+            private int next = first;
+
+            @Override
+            public boolean hasNext() {
+                return next != NO_WORD;
+            }
+
+            @Override
+            public @NotNull String next() {
+                if (next == NO_WORD) {
+                    throw new NoSuchElementException();
+                }
+                String word = getWord(next);
+                next = nextByAuthor[next];
+                return word;
+            }
+        };
+    }
+
+    /**
+     * @param fromWord Index of the first word, e.g. the word count at the previous update
+     * @return The text of the story from that word on, empty if the story has no more words
+     */
+    public String textSince(int fromWord) {
+        if (fromWord <= 0) {
+            return toString();
+        }
+        if (fromWord >= wordCount) {
+            return "";
+        }
+        return text.substring(wordStarts[fromWord]);
     }
 
     /**
@@ -49,12 +258,9 @@ public class Story {
      */
     @Override
     public String toString() {
-        StringBuilder builder = new StringBuilder();
-
-        for (Word word: words) {
-            builder.append(word.getWord());
-            builder.append(" ");
+        if (rendered == null) {
+            rendered = text.toString();
         }
-        return builder.toString();
+        return rendered;
     }
 }
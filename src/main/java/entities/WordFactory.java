@@ -18,6 +18,16 @@ public class WordFactory {
         this.validityChecker = v;
     }
 
+    /**
+     * Checks the string representation of a word, without creating the word. Thread safe, the
+     * validity checkers keep no state
+     * @param word string representation of the word
+     * @return the word as it would be added to the story if it is valid, null otherwise
+     */
+    public String check(String word) {
+        return validityChecker.isValid(word);
+    }
+
     /**
      * Checks if string representation of the word is valid using validity checker
      * @param word string representation of the word
@@ -26,7 +36,7 @@ public class WordFactory {
      * @throws InvalidWordException if its string representation is not valid
      */
     public Word create(String word, Player author) throws InvalidWordException {
-        String checkedWord = validityChecker.isValid(word);
+        String checkedWord = check(word);
         if(checkedWord == null)
             throw new InvalidWordException("The word is not valid!");
         return new Word(checkedWord, author);
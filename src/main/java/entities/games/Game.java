@@ -12,6 +12,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import util.RecursiveSymboledIntegerHashMap;
 
+import java.time.Duration;
 import java.util.*;
 
 /**
@@ -37,16 +38,40 @@ public abstract class Game implements GameReadOnly {
 
     private final Story story;
 
-    private final Timer gameTimer;
+    /**
+     * Created on first use, since games driven by a shared timer never need a thread of their own
+     */
+    private Timer gameTimer;
 
     private boolean timerStopped;
 
-    private final int secondsPerTurn;
+    private final long nanosPerTurn;
+
+    /**
+     * Whether the turns are timed by deadline, see startTurnClock
+     */
+    private boolean turnClockStarted;
+
+    /**
+     * When the current turn is over, in System.nanoTime, once the turn clock started
+     */
+    private long turnDeadlineNanos;
+
+    /**
+     * How many players the game seats at most, see setMaxPlayers
+     */
+    private int maxPlayers;
     private final Statistic<?>[] statistics;
     private final AllPlayerNamesStatistic authorNames;
     private final PerPlayerIntStatistic[] playerStatistics;
     protected int secondsLeftInCurrentTurn;
 
+    /**
+     * Where the changes to the game are recorded, null if they aren't
+     */
+    @Nullable
+    private GameJournal journal;
+
     /**
      * Constructor for a Game with statistics to track
      * @param secondsPerTurn The amount of seconds for each turn
@@ -55,10 +80,25 @@ public abstract class Game implements GameReadOnly {
      */
     public Game(int secondsPerTurn, ValidityCheckerFacade v,
                 PerPlayerIntStatistic[] playerStatsToTrack) {
+        this(Duration.ofSeconds(secondsPerTurn), v, playerStatsToTrack);
+    }
+
+    /**
+     * Constructor for a Game with statistics to track, and turns which may last less than a second
+     * @param turnLength How long each turn lasts
+     * @param v The validity checker (to check if a word is valid)
+     * @param playerStatsToTrack Statistics to track during game for each player
+     */
+    public Game(Duration turnLength, ValidityCheckerFacade v,
+                PerPlayerIntStatistic[] playerStatsToTrack) {
+        if (turnLength.isNegative() || turnLength.isZero()) {
+            throw new IllegalArgumentException("A turn must last some time, got " + turnLength);
+        }
         this.story = new Story(new WordFactory(v));
-        this.secondsPerTurn = secondsPerTurn;
-        this.gameTimer = new Timer(true);
+        this.nanosPerTurn = turnLength.toNanos();
+        this.turnClockStarted = false;
         this.timerStopped = false;
+        this.maxPlayers = Integer.MAX_VALUE;
         playerStatistics = playerStatsToTrack;
         authorNames = new AllPlayerNamesStatistic();
 
@@ -88,6 +128,22 @@ public abstract class Game implements GameReadOnly {
         return story.toString();
     }
 
+    /**
+     * @return How many words the story has
+     */
+    public int getStoryWordCount() {
+        return story.getWordCount();
+    }
+
+    /**
+     * @param fromWord Index of the first word, e.g. the word count at the previous update
+     * @return The story from that word on, which only costs as much as the words since
+     */
+    @NotNull
+    public String getStoryStringSince(int fromWord) {
+        return story.textSince(fromWord);
+    }
+
     /**
      * Thin wrapper to add a word to the story
      * @param word Word string to be added
@@ -95,13 +151,90 @@ public abstract class Game implements GameReadOnly {
      */
     public void addWord(@NotNull String word,
                         @NotNull Player author) throws InvalidWordException {
-        story.addWord(word, author);
+        String added = story.addWord(word, author);
         // The above method throws an exception. Thus, the statistics
         // below are only notified if the above call succeeds
 
         for (Statistic<?> s: statistics) {
             s.onSubmitWord(word, author);
         }
+        if (journal != null) {
+            journal.wordAdded(word, added, author);
+        }
+    }
+
+    /**
+     * Checks a word against the validity checker of the game, without adding it. Thread safe,
+     * so the word may be checked before the lock of the game is engaged
+     * @param word Word string to check
+     * @return The word as it would be added to the story if it is valid, null otherwise
+     */
+    @Nullable
+    public String checkWord(@NotNull String word) {
+        return story.checkWord(word);
+    }
+
+    /**
+     * Adds a word which was already checked by checkWord to the story
+     * @param word Word string as submitted
+     * @param checkedWord The word returned by checkWord for it
+     * @param author Player who submitted this word
+     */
+    public void addCheckedWord(@NotNull String word, @NotNull String checkedWord,
+                               @NotNull Player author) {
+        story.addCheckedWord(checkedWord, author);
+        for (Statistic<?> s: statistics) {
+            s.onSubmitWord(word, author);
+        }
+        if (journal != null) {
+            journal.wordAdded(word, checkedWord.trim(), author);
+        }
+    }
+
+    /**
+     * @param index Index of a word of the story, from 0 to the word count
+     * @return The word, as it was added
+     */
+    @NotNull
+    public String getStoryWord(int index) {
+        return story.getWord(index);
+    }
+
+    /**
+     * @param index Index of a word of the story, from 0 to the word count
+     * @return The player who wrote the word, who may have left the game since
+     */
+    @NotNull
+    public Player getStoryWordAuthor(int index) {
+        return story.getAuthor(index);
+    }
+
+    /**
+     * Records every change to the game from now on in a journal
+     * @param journal The journal, or null to stop recording the changes
+     */
+    public void setJournal(@Nullable GameJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * To be called by addPlayer once a player was added
+     * @param player The player
+     */
+    protected void playerAdded(Player player) {
+        if (journal != null) {
+            journal.playerAdded(player);
+        }
+    }
+
+    /**
+     * To be called by removePlayer once a player was removed
+     * @param player The player
+     */
+    protected void playerRemoved(Player player) {
+        if (journal != null) {
+            journal.playerRemoved(player);
+        }
     }
 
     /**
@@ -126,9 +259,51 @@ public abstract class Game implements GameReadOnly {
 
     /**
      * @return Returns how many seconds is given for every player per turn (therefore, every player gets the same
-     * amount of time every turn)
+     * amount of time every turn). Turns shorter than a whole number of seconds are rounded up
+     */
+    public int getSecondsPerTurn() {return secondsLeftAt(nanosPerTurn);}
+
+    /**
+     * @return How long every turn lasts
+     */
+    public Duration getTurnLength() {return Duration.ofNanos(nanosPerTurn);}
+
+    /**
+     * Starts timing the turns by deadline: the current turn lasts one turn length from now, and every
+     * switch of turn gives the next player one turn length from the moment of the switch. Before this
+     * is called, the seconds left in the turn are only counted down by whoever sets them
+     * @param nowNanos The current System.nanoTime
+     */
+    public void startTurnClock(long nowNanos) {
+        this.turnClockStarted = true;
+        this.turnDeadlineNanos = nowNanos + nanosPerTurn;
+        this.secondsLeftInCurrentTurn = getSecondsPerTurn();
+    }
+
+    /**
+     * @return If the turns are timed by deadline
      */
-    public int getSecondsPerTurn() {return secondsPerTurn;}
+    public boolean isTurnClockStarted() {return turnClockStarted;}
+
+    /**
+     * @return When the current turn is over, in System.nanoTime. Only meaningful once the turn clock started
+     */
+    public long getTurnDeadlineNanos() {return turnDeadlineNanos;}
+
+    /**
+     * Updates the displayed seconds left in the turn from its deadline
+     * @param nowNanos The current System.nanoTime
+     */
+    public void updateSecondsLeft(long nowNanos) {
+        this.secondsLeftInCurrentTurn = secondsLeftAt(turnDeadlineNanos - nowNanos);
+    }
+
+    /**
+     * @return Whole seconds, rounded up, in the given nanoseconds, 0 if they are not positive
+     */
+    private static int secondsLeftAt(long nanos) {
+        return nanos <= 0 ? 0 : (int) ((nanos - 1) / 1_000_000_000L + 1);
+    }
 
     /**
      * @return Returns how many seconds are left for the current turn, or null if game timer not yet started
@@ -153,10 +328,16 @@ public abstract class Game implements GameReadOnly {
     }
 
     /**
-     * @return Returns the game timer which is used by the use case layer
+     * @return Returns the game timer which is used by the use case layer, unless the game
+     * is driven by a timer shared with the other games
      */
     @NotNull
-    public Timer getGameTimer() {return this.gameTimer;}
+    public synchronized Timer getGameTimer() {
+        if (this.gameTimer == null) {
+            this.gameTimer = new Timer(true);
+        }
+        return this.gameTimer;
+    }
 
     /**
      * Called from the run game use case timer task to notify, after timer cancellation, when the last
@@ -172,7 +353,30 @@ public abstract class Game implements GameReadOnly {
     public boolean isTimerStopped() {return timerStopped;}
 
     /**
-     * @return a shallow copy of all the present players in the game
+     * Limits how many players the game seats. Games which honour the limit refuse players in
+     * addPlayer once they are full. Unlimited by default
+     * @param maxPlayers How many players the game seats at most
+     */
+    public void setMaxPlayers(int maxPlayers) {
+        if (maxPlayers < 1) {
+            throw new IllegalArgumentException("A game must seat at least one player, got " + maxPlayers);
+        }
+        this.maxPlayers = maxPlayers;
+    }
+
+    /**
+     * @return How many players the game seats at most
+     */
+    public int getMaxPlayers() {return maxPlayers;}
+
+    /**
+     * @return How many more players the game seats
+     */
+    public int getOpenSeats() {return Math.max(0, maxPlayers - getPlayers().size());}
+
+    /**
+     * @return all the present players in the game, which may be a read-only view of them. Copy it
+     * to keep the players beyond the game lock
      */
     @NotNull
     public abstract Collection<Player> getPlayers();
@@ -237,6 +441,12 @@ public abstract class Game implements GameReadOnly {
     public boolean switchTurn() {
         boolean output = switchTurnLogic();
 
+        // The next player gets a whole turn from now
+        if (output && turnClockStarted) {
+            turnDeadlineNanos = System.nanoTime() + nanosPerTurn;
+            secondsLeftInCurrentTurn = getSecondsPerTurn();
+        }
+
         // Notify statistics if turn was successfully switched
         if (output) {
             for (Statistic<?> s: statistics) {
@@ -244,6 +454,9 @@ public abstract class Game implements GameReadOnly {
                         getCurrentTurnPlayer(), getSecondsLeftInCurrentTurn()
                 );
             }
+            if (journal != null) {
+                journal.turnSwitched();
+            }
         }
         return output;
     }
@@ -12,6 +12,11 @@ import java.util.Map;
  */
 public abstract class GameFactory {
 
+    /**
+     * Setting for how many players a created game seats at most, see Game.setMaxPlayers
+     */
+    public static final String MAX_PLAYERS = "maxPlayers";
+
     private final PerPlayerIntStatistic[] perPlayerIntStatistics;
 
     /**
@@ -36,6 +41,19 @@ public abstract class GameFactory {
      */
     public abstract Game createGame(Map<String, Integer> settings, Collection<Player> initialPlayers);
 
+    /**
+     * Applies the settings every type of game understands to a created game
+     * @param game The created game
+     * @param settings The settings it was created with, may be null
+     * @return the game
+     */
+    protected Game applySettings(Game game, Map<String, Integer> settings) {
+        if (settings != null && settings.containsKey(MAX_PLAYERS)) {
+            game.setMaxPlayers(settings.get(MAX_PLAYERS));
+        }
+        return game;
+    }
+
     protected PerPlayerIntStatistic[] getPerPlayerIntStatistics() {
         return perPlayerIntStatistics;
     }
@@ -3,6 +3,7 @@ package entities.games;
 import entities.Player;
 import entities.statistics.PerPlayerIntStatistic;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.Map;
@@ -13,23 +14,37 @@ import java.util.Queue;
  */
 public class GameFactoryRegular extends GameFactory {
 
+    private final Duration turnLength;
+
     /**
      * @param perPlayerIntStatistics Player statistics you'd like to track
      */
     public GameFactoryRegular(PerPlayerIntStatistic[] perPlayerIntStatistics) {
+        this(perPlayerIntStatistics, Duration.ofSeconds(GameRegular.REGULAR_GAME_SECONDS_PER_TURN));
+    }
+
+    /**
+     * @param perPlayerIntStatistics Player statistics you'd like to track
+     * @param turnLength How long each turn of the created games lasts, e.g. less than a second for rapid games
+     */
+    public GameFactoryRegular(PerPlayerIntStatistic[] perPlayerIntStatistics, Duration turnLength) {
         super(perPlayerIntStatistics);
+        this.turnLength = turnLength;
     }
 
-    public GameFactoryRegular() {}
+    public GameFactoryRegular() {
+        this.turnLength = Duration.ofSeconds(GameRegular.REGULAR_GAME_SECONDS_PER_TURN);
+    }
 
     /**
-     * Accepting any settings, create the appropriate game instance of the GameRegular
-     * @param settings A map of strings to integer settings
+     * Create the appropriate game instance of the GameRegular
+     * @param settings A map of strings to integer settings, e.g. MAX_PLAYERS, or null
      * @param initialPlayers A list of initial players
      * @return the created game instance
      */
     public Game createGame(Map<String, Integer> settings, Collection<Player> initialPlayers) {
         Queue<Player> queueOfInitialPlayers = new LinkedList<>(initialPlayers);
-        return new GameRegular(queueOfInitialPlayers, getPerPlayerIntStatistics());
+        Game game = new GameRegular(queueOfInitialPlayers, getPerPlayerIntStatistics(), turnLength);
+        return applySettings(game, settings);
     }
 }
@@ -0,0 +1,33 @@
+package entities.games;
+
+import entities.Player;
+
+/**
+ * Receives every change to a game, in the order they happen, so that the game can be rebuilt
+ * after the server stopped unexpectedly. Called under the lock of the game, or on its mailbox,
+ * so implementations must return quickly and leave the writing to another thread
+ */
+public interface GameJournal {
+
+    /**
+     * @param player Player who joined the game
+     */
+    void playerAdded(Player player);
+
+    /**
+     * @param player Player who left the game
+     */
+    void playerRemoved(Player player);
+
+    /**
+     * @param word Word as it was submitted
+     * @param checkedWord Word as it was added to the story
+     * @param author Player who submitted the word
+     */
+    void wordAdded(String word, String checkedWord, Player author);
+
+    /**
+     * The turn passed to the next player
+     */
+    void turnSwitched();
+}
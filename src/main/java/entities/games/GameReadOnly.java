@@ -23,7 +23,7 @@ public interface GameReadOnly {
     String getStoryString ();
 
     /**
-     * @return shallow copy of all players currently in the game
+     * @return all players currently in the game, possibly as a read-only view
      */
     @NotNull
     Collection<Player> getPlayers ();
@@ -6,9 +6,8 @@ import entities.validity_checkers.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.Collection;
-import java.util.LinkedList;
 import java.util.Queue;
 
 /**
@@ -17,26 +16,36 @@ import java.util.Queue;
 public class GameRegular extends Game {
 
     public static int REGULAR_GAME_SECONDS_PER_TURN = 15;
-    private final Queue<Player> players;
-    private static final PunctuationValidityChecker puncValidityCheckerRegular =
-            new PunctuationValidityCheckerRegular();
-    private static final WordValidityChecker wordValidityCheckerRegular =
-            new WordValidityCheckerRegular();
-    public static final ValidityCheckerFacade v = new ValidityCheckerFacade(
-            puncValidityCheckerRegular, wordValidityCheckerRegular);
+    private final PlayerRing players;
+    /**
+     * Accepts the same words as the regular punctuation and word validity checkers, without regexes
+     */
+    public static final ValidityCheckerFacade v = new ValidityCheckerFacadeScanner();
 
     /**
      * Constructor for GameRegular
      * @param initialPlayers The initial players in this GameRegular
      */
     public GameRegular(Queue<Player> initialPlayers, PerPlayerIntStatistic[] playerStats) {
-        super(REGULAR_GAME_SECONDS_PER_TURN, v, playerStats);
-        players = new LinkedList<>(initialPlayers);
+        this(initialPlayers, playerStats, Duration.ofSeconds(REGULAR_GAME_SECONDS_PER_TURN));
     }
 
+    /**
+     * Constructor for GameRegular with a custom turn length, e.g. less than a second for a rapid game
+     * @param initialPlayers The initial players in this GameRegular
+     * @param turnLength How long each turn lasts
+     */
+    public GameRegular(Queue<Player> initialPlayers, PerPlayerIntStatistic[] playerStats, Duration turnLength) {
+        super(turnLength, v, playerStats);
+        players = new PlayerRing(initialPlayers);
+    }
+
+    /**
+     * @return a read-only view of the players in turn order
+     */
     @Override
     public @NotNull Collection<Player> getPlayers() {
-        return new ArrayList<>(players);
+        return players.view();
     }
 
     /**
@@ -52,7 +61,7 @@ public class GameRegular extends Game {
      */
     @Override
     public Player getPlayerById(String playerId) {
-        return players.stream().filter(p -> p.getPlayerId().equals(playerId)).findAny().orElse(null);
+        return players.get(playerId);
     }
 
     /**
@@ -62,37 +71,48 @@ public class GameRegular extends Game {
      */
     @Override
     public boolean removePlayer(Player playerToRemove) {
-        return players.remove(playerToRemove);
+        boolean removed = players.remove(playerToRemove);
+        if (removed) {
+            playerRemoved(playerToRemove);
+        }
+        return removed;
     }
 
     /**
-     * Adds the player specified to this GameRegular instance
+     * Adds the player specified to this GameRegular instance, unless it is full
      * @param playerToAdd The Player to be added
      * @return if the player was successfully added
      */
     @Override
     public boolean addPlayer(Player playerToAdd) {
-        return players.add(playerToAdd);
+        if (players.size() >= getMaxPlayers()) {
+            return false;
+        }
+        boolean added = players.add(playerToAdd);
+        if (added) {
+            playerAdded(playerToAdd);
+        }
+        return added;
     }
 
     /**
-     * Moves the player whose turn it currently is from the front of the list of players to the back
+     * Moves the player whose turn it currently is from the front of the turn order to the back
      * It is now the new player in the front's turn
      * @return if the turn switch was successful
      */
     @Override
     protected boolean switchTurnLogic() {
         setSecondsLeftInCurrentTurn(getSecondsPerTurn());
-        return players.add(players.remove());
+        return players.rotate();
     }
 
     /**
-     * @return the first player in the player list
+     * @return the first player in the turn order
      */
     @Override
     @Nullable
     public Player getCurrentTurnPlayer() {
-        return players.peek();
+        return players.current();
     }
 
     /**
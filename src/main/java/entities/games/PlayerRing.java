@@ -0,0 +1,227 @@
+package entities.games;
+
+import entities.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * The players of a game in turn order, as an array ring with a cursor on the player whose turn it
+ * is, and an index from player ID to slot. Getting the current player, rotating the turn, looking
+ * a player up by ID and removing a player take constant time (rotating amortized), however many
+ * players the game has.
+ * <br><br>
+ * Players occupy the slots from the cursor to the end of the ring, in turn order. Rotating moves
+ * the current player from the cursor to the end. Removing a player empties its slot, and the
+ * cursor skips empty slots as it reaches them, so every emptied slot is skipped only once.
+ * The ring grows, and drops the empty slots, when a player is added to a full ring.
+ * <br><br>
+ * <h2>Thread Safety:</h2>
+ * <p> NOT Thread Safe, guarded by the lock of the game like the rest of the game state </p>
+ */
+public class PlayerRing {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final Map<String, Integer> slotOf;
+    private final Collection<Player> view;
+    private Player[] slots;
+
+    /**
+     * Slot of the current player, and the slot after the last player, both before masking
+     */
+    private int cursor;
+    private int end;
+    private int size;
+    private int modCount;
+
+    /**
+     * Constructor for PlayerRing
+     * @param initialPlayers The players, in turn order
+     */
+    public PlayerRing(Collection<Player> initialPlayers) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < initialPlayers.size()) {
+            capacity <<= 1;
+        }
+        this.slots = new Player[capacity];
+        this.slotOf = new HashMap<>();
+        this.view = new View();
+        for (Player p : initialPlayers) {
+            add(p);
+        }
+    }
+
+    /**
+     * @return Number of players in the ring
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The player whose turn it is, null if there are no players
+     */
+    @Nullable
+    public Player current() {
+        return size == 0 ? null : slots[mask(cursor)];
+    }
+
+    /**
+     * Moves the current player to the end of the turn order
+     * @return If there was a player to move
+     */
+    public boolean rotate() {
+        if (size == 0) {
+            return false;
+        }
+        Player p = slots[mask(cursor)];
+        slots[mask(cursor)] = null;
+        cursor++;
+        place(p, end++);
+        skipEmpty();
+        modCount++;
+        return true;
+    }
+
+    /**
+     * @param playerId ID of the searched player
+     * @return The player with that ID, null if it is not in the ring
+     */
+    @Nullable
+    public Player get(String playerId) {
+        Integer slot = slotOf.get(playerId);
+        return slot == null ? null : slots[slot];
+    }
+
+    /**
+     * Adds a player at the end of the turn order
+     * @param p The player to add
+     * @return If the player was added, false if a player with the same ID is already in the ring
+     */
+    public boolean add(Player p) {
+        if (slotOf.containsKey(p.getPlayerId())) {
+            return false;
+        }
+        if (end - cursor == slots.length) {
+            grow();
+        }
+        place(p, end++);
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Removes a player, keeping the others in turn order
+     * @param p The player to remove
+     * @return If the player was in the ring
+     */
+    public boolean remove(Player p) {
+        Integer slot = slotOf.remove(p.getPlayerId());
+        if (slot == null) {
+            return false;
+        }
+        slots[slot] = null;
+        size--;
+        modCount++;
+        if (size == 0) {
+            cursor = end;
+        } else {
+            skipEmpty();
+        }
+        return true;
+    }
+
+    /**
+     * @return A read-only view of the players in turn order, which follows the changes to the ring.
+     * Copy it to keep the players beyond the game lock
+     */
+    @NotNull
+    public Collection<Player> view() {
+        return view;
+    }
+
+    private int mask(int position) {
+        return position & (slots.length - 1);
+    }
+
+    private void place(Player p, int position) {
+        slots[mask(position)] = p;
+        slotOf.put(p.getPlayerId(), mask(position));
+    }
+
+    private void skipEmpty() {
+        while (cursor != end && slots[mask(cursor)] == null) {
+            cursor++;
+        }
+    }
+
+    /**
+     * Copies the players to the front of a ring twice as big, or as big if half the slots were empty
+     */
+    private void grow() {
+        Player[] old = slots;
+        int oldCursor = cursor;
+        int oldEnd = end;
+        slots = new Player[size * 2 > old.length ? old.length * 2 : old.length];
+        cursor = 0;
+        end = 0;
+        for (int i = oldCursor; i != oldEnd; i++) {
+            Player p = old[i & (old.length - 1)];
+            if (p != null) {
+                place(p, end++);
+            }
+        }
+    }
+
+    private class View extends AbstractCollection<Player> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Player && get(((Player) o).getPlayerId()) != null;
+        }
+
+        @Override
+        public @NotNull Iterator<Player> iterator() {
+            return new Iterator<>() {
+                private final int expectedModCount = modCount;
+                private int position = cursor;
+                private int left = size;
+
+                @Override
+                public boolean hasNext() {
+                    return left > 0;
+                }
+
+                @Override
+                public Player next() {
+                    if (left == 0) {
+                        throw new NoSuchElementException();
+                    }
+                    if (modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    Player p;
+                    while ((p = slots[mask(position++)]) == null) {
+                        // Skip the slots of removed players
+                    }
+                    left--;
+                    return p;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package entities.validity_checkers;
+
+/**
+ * Punctuation validity checker for the regular game mode, which accepts the same punctuation as
+ * PunctuationValidityCheckerRegular, checking each character once rather than matching regexes
+ */
+public class PunctuationValidityCheckerScanner implements PunctuationValidityChecker {
+
+    private static final int PUNC_LENGTH = 3;
+
+    /**
+     * Verifies punctuation is valid by basic criteria. Accepts punctuation combinations
+     * which consist of a single character from {, ; : -}. Accepts punctuation which
+     * consists of any number of periods, or !? combinations. Any valid punctuation longer than 3
+     * characters gets trimmed to 3 characters by cutting off the rest
+     * @param punctuation the punctuation to validate (trimmed)
+     * @return valid punctuation, or if not valid, null
+     */
+    @Override
+    public String isPunctuationValid(String punctuation) {
+        int validLength = scan(punctuation, 0, punctuation.length());
+        if (validLength < 0) {
+            return null;
+        }
+        return validLength == punctuation.length() ? punctuation : punctuation.substring(0, validLength);
+    }
+
+    /**
+     * Checks the punctuation between two indices of a string, without copying it. Punctuation
+     * longer than 3 characters is cut short, and only the part which is kept is checked
+     * @param s the string the punctuation is in
+     * @param from index of the first character of the punctuation
+     * @param to index after the last character of the punctuation
+     * @return how many characters of the punctuation are kept, -1 if it is not valid
+     */
+    static int scan(String s, int from, int to) {
+        int length = to - from;
+        if (length == 0) {
+            return 0;
+        }
+        char first = s.charAt(from);
+        if (first == ',' || first == ';' || first == ':' || first == '-') {
+            return length == 1 ? 1 : -1;
+        }
+        int kept = Math.min(length, PUNC_LENGTH);
+        boolean periods = first == '.';
+        for (int i = from; i < from + kept; i++) {
+            char c = s.charAt(i);
+            if (periods ? c != '.' : c != '!' && c != '?') {
+                return -1;
+            }
+        }
+        return kept;
+    }
+}
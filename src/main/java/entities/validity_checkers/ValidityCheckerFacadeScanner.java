@@ -0,0 +1,63 @@
+package entities.validity_checkers;
+
+/**
+ * Validity Checker of words for the regular game mode, which accepts and changes words like a
+ * ValidityCheckerFacade of the regular punctuation and word validity checkers. The expression is
+ * checked where it is, by the indices of its parts, so the only string created is the valid word,
+ * and none at all if the expression is valid as it is
+ */
+public class ValidityCheckerFacadeScanner extends ValidityCheckerFacade {
+
+    /**
+     * Constructor for ValidityCheckerFacadeScanner
+     */
+    public ValidityCheckerFacadeScanner() {
+        super(new PunctuationValidityCheckerScanner(), new WordValidityCheckerScanner());
+    }
+
+    /**
+     * Checks whether the word is valid, making modifications if possible
+     * @param wordExpression the word we need to check
+     * @return the valid word if valid, null otherwise
+     */
+    @Override
+    public String isValid(String wordExpression) {
+        // Trimmed as String.trim would
+        int start = 0;
+        int end = wordExpression.length();
+        while (start < end && wordExpression.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && wordExpression.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int space = wordExpression.indexOf(' ', start);
+        if (space < 0 || space >= end) {
+            int word = WordValidityCheckerScanner.scan(wordExpression, start, end);
+            if (word < 0) {
+                return null;
+            }
+            return start == 0 && word == wordExpression.length() ? wordExpression
+                    : wordExpression.substring(start, start + word);
+        }
+
+        // The punctuation before the first space, and the word after it, each trimmed
+        int puncEnd = space;
+        while (puncEnd > start && wordExpression.charAt(puncEnd - 1) <= ' ') {
+            puncEnd--;
+        }
+        int wordStart = space + 1;
+        while (wordStart < end && wordExpression.charAt(wordStart) <= ' ') {
+            wordStart++;
+        }
+        int punc = PunctuationValidityCheckerScanner.scan(wordExpression, start, puncEnd);
+        int word = punc < 0 ? -1 : WordValidityCheckerScanner.scan(wordExpression, wordStart, end);
+        if (word < 0) {
+            return null;
+        }
+        return new StringBuilder(punc + word)
+                .append(wordExpression, start, start + punc)
+                .append(wordExpression, wordStart, wordStart + word)
+                .toString();
+    }
+}
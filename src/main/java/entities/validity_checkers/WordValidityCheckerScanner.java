@@ -0,0 +1,47 @@
+package entities.validity_checkers;
+
+/**
+ * Word validity checker for the regular game mode, which accepts the same words as
+ * WordValidityCheckerRegular, checking each character once rather than matching a regex
+ */
+public class WordValidityCheckerScanner implements WordValidityChecker {
+
+    private static final int WORD_LENGTH = 22;
+
+    /**
+     * Verifies word is valid based on game mode regular criteria
+     * Makes changes to the word if error is forgivable
+     * @param word the word to validate (trimmed)
+     * @return valid word, or if not valid, null
+     */
+    @Override
+    public String isWordValid(String word) {
+        int validLength = scan(word, 0, word.length());
+        if (validLength < 0) {
+            return null;
+        }
+        return validLength == word.length() ? word : word.substring(0, validLength);
+    }
+
+    /**
+     * Checks the word between two indices of a string, without copying it. A word longer than
+     * the longest word allowed is cut short, and only the part which is kept is checked
+     * @param s the string the word is in
+     * @param from index of the first character of the word
+     * @param to index after the last character of the word
+     * @return how many characters of the word are kept, -1 if it is not valid
+     */
+    static int scan(String s, int from, int to) {
+        int length = Math.min(to - from, WORD_LENGTH);
+        if (length <= 0) {
+            return -1;
+        }
+        for (int i = from; i < from + length; i++) {
+            char c = s.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z'))) {
+                return -1;
+            }
+        }
+        return length;
+    }
+}
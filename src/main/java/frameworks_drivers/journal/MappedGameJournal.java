@@ -0,0 +1,539 @@
+package frameworks_drivers.journal;
+
+import usecases.PlayerDTO;
+import usecases.recover_games.RecGameData;
+import usecases.recover_games.RecGatewayJournal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Journal of the hosted games in append-only segment files, journal-NNNNNN.log, which are memory
+ * mapped
+ * <br><br>
+ * Recording a change only queues it, so the game lock is held no longer than it takes to allocate
+ * the record. A flusher thread writes the queued records every flush period, and forces them to
+ * the disk once per batch rather than once per record (group commit). A change is thus lost if
+ * the server stops before the next flush, at most a flush period after it was recorded
+ * <br><br>
+ * Every record is written as its length, the CRC32 of its content and its content. Reading stops
+ * at the end of what was written to a segment, where the length is 0, and at a record which was
+ * only partly written as the server stopped, whose CRC32 doesn't match. A checkpoint starts a new
+ * segment, and deletes the segments before it once every game was saved in it
+ * <br><br>
+ * <h2>Thread Safety:</h2>
+ * <p> Thread safe. The records are queued without locks, and written under the lock of the journal </p>
+ */
+public class MappedGameJournal implements RecGatewayJournal, AutoCloseable {
+
+    /**
+     * How often the queued records are written, in milliseconds
+     */
+    public static final long DEFAULT_FLUSH_MILLIS = 20;
+
+    /**
+     * How big a segment is, unless a single record needs more
+     */
+    public static final int DEFAULT_SEGMENT_BYTES = 16 << 20;
+
+    private static final byte SAVE = 1;
+    private static final byte REMOVED = 2;
+    private static final byte PLAYER_ADDED = 3;
+    private static final byte PLAYER_REMOVED = 4;
+    private static final byte WORD = 5;
+    private static final byte TURN = 6;
+    private static final byte BEGIN_CHECKPOINT = 7;
+    private static final byte END_CHECKPOINT = 8;
+
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+
+    /**
+     * Length and CRC32 of a record
+     */
+    private static final int HEADER_BYTES = 8;
+
+    /**
+     * A queued record. Which of the fields are set depends on the type
+     */
+    private static final class Record {
+        private final byte type;
+        private final String gameId;
+        private final String a;
+        private final String b;
+        private final String c;
+        private final RecGameData game;
+
+        private Record(byte type, String gameId, String a, String b, String c, RecGameData game) {
+            this.type = type;
+            this.gameId = gameId;
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.game = game;
+        }
+    }
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final ConcurrentLinkedQueue<Record> queued;
+    private final Thread flusher;
+    private volatile boolean closed;
+
+    /**
+     * Set if writing failed, after which nothing is recorded anymore
+     */
+    private volatile IOException failure;
+
+    // Guarded by the lock of the journal
+    private long nextSegment;
+    private MappedByteBuffer mapped;
+
+    /**
+     * First segment of the checkpoint in progress, 0 if no checkpoint is in progress
+     */
+    private long checkpointSegment;
+    private ByteBuffer scratch;
+    private final CRC32 crc;
+
+    private final AtomicLong recordsWritten;
+    private final AtomicLong batches;
+
+    /**
+     * @param directory Directory of the segments, created if it doesn't exist
+     * @throws IOException if the directory can't be read
+     */
+    public MappedGameJournal(Path directory) throws IOException {
+        this(directory, DEFAULT_FLUSH_MILLIS, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * @param directory Directory of the segments, created if it doesn't exist
+     * @param flushMillis How often the queued records are written, which bounds how many are lost if the
+     *                    server stops
+     * @param segmentBytes How big a segment is, unless a single record needs more
+     * @throws IOException if the directory can't be read
+     */
+    public MappedGameJournal(Path directory, long flushMillis, int segmentBytes) throws IOException {
+        if (flushMillis <= 0 || segmentBytes <= HEADER_BYTES) {
+            throw new IllegalArgumentException("Flush period and segment size must be positive");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentBytes = segmentBytes;
+        this.queued = new ConcurrentLinkedQueue<>();
+        this.scratch = ByteBuffer.allocate(4096);
+        this.crc = new CRC32();
+        this.recordsWritten = new AtomicLong();
+        this.batches = new AtomicLong();
+        List<Long> segments = segments();
+        // Never appended to, since the last one may end with a record which was partly written
+        this.nextSegment = segments.isEmpty() ? 1 : segments.get(segments.size() - 1) + 1;
+
+        long flushNanos = TimeUnit.MILLISECONDS.toNanos(flushMillis);
+        this.flusher = new Thread(() -> {
+            while (!closed) {
+                LockSupport.parkNanos(flushNanos);
+                try {
+                    flush();
+                } catch (UncheckedIOException e) {
+                    failure = e.getCause();
+                    queued.clear();
+                    // Nothing is recorded from now on, which must not go unnoticed
+                    Thread.currentThread().getUncaughtExceptionHandler()
+                            .uncaughtException(Thread.currentThread(), e);
+                    return;
+                }
+            }
+        }, "journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    private void record(byte type, String gameId, String a, String b, String c, RecGameData game) {
+        if (failure == null) {
+            queued.add(new Record(type, gameId, a, b, c, game));
+        }
+    }
+
+    @Override
+    public void saveGame(RecGameData game) {
+        record(SAVE, game.getGameId(), null, null, null, game);
+    }
+
+    @Override
+    public void gameRemoved(String gameId) {
+        record(REMOVED, gameId, null, null, null, null);
+    }
+
+    @Override
+    public void playerAdded(String gameId, String playerId, String displayName) {
+        record(PLAYER_ADDED, gameId, playerId, displayName, null, null);
+    }
+
+    @Override
+    public void playerRemoved(String gameId, String playerId) {
+        record(PLAYER_REMOVED, gameId, playerId, null, null, null);
+    }
+
+    @Override
+    public void wordAdded(String gameId, String word, String checkedWord, String authorId) {
+        // Most words are added as they were submitted, which is then written once
+        record(WORD, gameId, word, word.equals(checkedWord) ? null : checkedWord, authorId, null);
+    }
+
+    @Override
+    public void turnSwitched(String gameId) {
+        record(TURN, gameId, null, null, null, null);
+    }
+
+    /**
+     * @throws UncheckedIOException if writing failed before, after which nothing is recorded anymore
+     */
+    @Override
+    public void beginCheckpoint() {
+        IOException e = failure;
+        if (e != null) {
+            throw new UncheckedIOException("The journal stopped recording since writing failed", e);
+        }
+        record(BEGIN_CHECKPOINT, null, null, null, null, null);
+    }
+
+    @Override
+    public void endCheckpoint() {
+        record(END_CHECKPOINT, null, null, null, null, null);
+    }
+
+    /**
+     * Writes every queued record, and forces them to the disk
+     * @throws UncheckedIOException if they can't be written
+     */
+    @Override
+    public synchronized void flush() {
+        try {
+            boolean wrote = false;
+            Record r;
+            while ((r = queued.poll()) != null) {
+                write(r);
+                wrote = true;
+            }
+            if (wrote && mapped != null) {
+                mapped.force();
+                batches.incrementAndGet();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Stops the flusher, and writes the records queued until now
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure == null) {
+            flush();
+        }
+    }
+
+    /**
+     * @return The error writing failed with, null if it didn't
+     */
+    public IOException getFailure() {
+        return failure;
+    }
+
+    /**
+     * @return How many records were written
+     */
+    public long getRecordsWritten() {
+        return recordsWritten.get();
+    }
+
+    /**
+     * @return How many times written records were forced to the disk
+     */
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    private void write(Record r) throws IOException {
+        if (r.type == BEGIN_CHECKPOINT) {
+            // The games are saved in a new segment, so the ones before can be deleted afterwards
+            closeSegment();
+            checkpointSegment = nextSegment;
+            return;
+        }
+        if (r.type == END_CHECKPOINT) {
+            // The saved games must be on the disk before what they replace is deleted
+            if (mapped != null) {
+                mapped.force();
+            }
+            for (long segment : segments()) {
+                if (segment < checkpointSegment) {
+                    Files.deleteIfExists(segmentPath(segment));
+                }
+            }
+            checkpointSegment = 0;
+            return;
+        }
+
+        scratch.clear();
+        scratch.put(r.type);
+        putString(r.gameId);
+        if (r.type == SAVE) {
+            putGame(r.game);
+        } else {
+            putString(r.a);
+            putString(r.b);
+            putString(r.c);
+        }
+        scratch.flip();
+        int length = scratch.remaining();
+        if (mapped == null || mapped.remaining() < HEADER_BYTES + length) {
+            openSegment(HEADER_BYTES + length);
+        }
+        crc.reset();
+        crc.update(scratch.duplicate());
+        mapped.putInt(length);
+        mapped.putInt((int) crc.getValue());
+        mapped.put(scratch);
+        recordsWritten.incrementAndGet();
+    }
+
+    private void putGame(RecGameData game) {
+        ensure(12);
+        scratch.putInt(game.getMaxPlayers());
+        scratch.putInt(game.getDisplayNames().size());
+        for (Map.Entry<String, String> name : game.getDisplayNames().entrySet()) {
+            putString(name.getKey());
+            putString(name.getValue());
+        }
+        ensure(4);
+        scratch.putInt(game.getPlayers().size());
+        for (PlayerDTO p : game.getPlayers()) {
+            putString(p.getPlayerId());
+        }
+        ensure(4);
+        scratch.putInt(game.getWordCount());
+        for (int i = 0; i < game.getWordCount(); i++) {
+            String word = game.getWord(i);
+            String checkedWord = game.getCheckedWord(i);
+            putString(word);
+            putString(word.equals(checkedWord) ? null : checkedWord);
+            putString(game.getAuthorId(i));
+        }
+    }
+
+    private void putString(String s) {
+        if (s == null) {
+            ensure(4);
+            scratch.putInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        ensure(4 + bytes.length);
+        scratch.putInt(bytes.length);
+        scratch.put(bytes);
+    }
+
+    /**
+     * Grows the scratch buffer, if needed, so that it has room for more bytes
+     */
+    private void ensure(int bytes) {
+        if (scratch.remaining() < bytes) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(2 * scratch.capacity(), scratch.position() + bytes));
+            scratch.flip();
+            bigger.put(scratch);
+            scratch = bigger;
+        }
+    }
+
+    private void openSegment(int atLeastBytes) throws IOException {
+        closeSegment();
+        Path path = segmentPath(nextSegment++);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid once the channel is closed
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentBytes, atLeastBytes));
+        }
+    }
+
+    private void closeSegment() {
+        if (mapped != null) {
+            mapped.force();
+            mapped = null;
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%s%06d%s", PREFIX, segment, SUFFIX));
+    }
+
+    /**
+     * @return The numbers of the segments in the directory, in order
+     */
+    private List<Long> segments() throws IOException {
+        List<Long> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(path -> {
+                String name = path.getFileName().toString();
+                if (name.startsWith(PREFIX) && name.endsWith(SUFFIX)) {
+                    try {
+                        segments.add(Long.parseLong(name.substring(PREFIX.length(),
+                                name.length() - SUFFIX.length())));
+                    } catch (NumberFormatException ignored) {
+                        // Not a segment
+                    }
+                }
+            });
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    /**
+     * Reads back the segments which were in the directory when the journal was created
+     * @return The games which were hosted when the server stopped, in the order they were hosted
+     * @throws UncheckedIOException if the segments can't be read
+     */
+    @Override
+    public List<RecGameData> readGames() {
+        Map<String, RecGameData> games = new LinkedHashMap<>();
+        try {
+            long last;
+            synchronized (this) {
+                last = nextSegment;
+            }
+            for (long segment : segments()) {
+                if (segment < last) {
+                    readSegment(segmentPath(segment), games);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new ArrayList<>(games.values());
+    }
+
+    private void readSegment(Path path, Map<String, RecGameData> games) throws IOException {
+        ByteBuffer segment;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        CRC32 check = new CRC32();
+        while (segment.remaining() >= HEADER_BYTES) {
+            int length = segment.getInt();
+            int expected = segment.getInt();
+            if (length <= 0 || length > segment.remaining()) {
+                // The end of what was written, or a length which was partly written
+                return;
+            }
+            ByteBuffer record = segment.slice(segment.position(), length);
+            check.reset();
+            check.update(record.duplicate());
+            if ((int) check.getValue() != expected) {
+                // Partly written as the server stopped
+                return;
+            }
+            segment.position(segment.position() + length);
+            apply(record, games);
+        }
+    }
+
+    private static void apply(ByteBuffer record, Map<String, RecGameData> games) {
+        byte type = record.get();
+        String gameId = getString(record);
+        if (type == SAVE) {
+            games.put(gameId, getGame(gameId, record));
+            return;
+        }
+        if (type == REMOVED) {
+            games.remove(gameId);
+            return;
+        }
+        RecGameData game = games.get(gameId);
+        if (game == null) {
+            // A change to a game which was removed, or saved in a segment a checkpoint deleted
+            return;
+        }
+        String a = getString(record);
+        String b = getString(record);
+        String c = getString(record);
+        switch (type) {
+            case PLAYER_ADDED:
+                game.addPlayer(new PlayerDTO(b, a));
+                break;
+            case PLAYER_REMOVED:
+                game.removePlayer(a);
+                break;
+            case WORD:
+                game.addWord(a, b == null ? a : b, c);
+                break;
+            case TURN:
+                game.switchTurn();
+                break;
+            default:
+                // Unknown record, written by a newer server
+                break;
+        }
+    }
+
+    private static RecGameData getGame(String gameId, ByteBuffer record) {
+        RecGameData game = new RecGameData(gameId, record.getInt());
+        Map<String, String> displayNames = new LinkedHashMap<>();
+        int names = record.getInt();
+        for (int i = 0; i < names; i++) {
+            String playerId = getString(record);
+            displayNames.put(playerId, getString(record));
+        }
+        int players = record.getInt();
+        for (int i = 0; i < players; i++) {
+            String playerId = getString(record);
+            game.addPlayer(new PlayerDTO(displayNames.get(playerId), playerId));
+        }
+        for (Map.Entry<String, String> name : displayNames.entrySet()) {
+            game.addFormerPlayer(new PlayerDTO(name.getValue(), name.getKey()));
+        }
+        int words = record.getInt();
+        for (int i = 0; i < words; i++) {
+            String word = getString(record);
+            String checkedWord = getString(record);
+            game.addWord(word, checkedWord == null ? word : checkedWord, getString(record));
+        }
+        return game;
+    }
+
+    private static String getString(ByteBuffer record) {
+        int length = record.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,196 @@
+package usecases;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Decides on which threads the use case tasks (see InterruptibleThread) are run.
+ * The engine is chosen once at startup in Main and injected into the ThreadRegister,
+ * which submits every registered use case to it.
+ * <br><br>
+ * <h2>Modes:</h2>
+ * <ul>
+ *     <li> THREAD_PER_TASK - a new platform thread is started for every use case.
+ *     This is the original behaviour of the server </li>
+ *     <li> POOLED - use cases are queued onto a bounded pool of platform threads.
+ *     Note that a waiting Join Public Lobby use case occupies a pool thread while the
+ *     player sits in the pool, so the pool must be sized with that in mind </li>
+ *     <li> VIRTUAL - one virtual thread per use case. Only available when the server
+ *     runs on Java 21 or newer, since the project itself targets Java 17 </li>
+ * </ul>
+ * Platform thread engines may be given a thread priority, so that a lane of use cases
+ * (see Lane) can be favoured over another one. Virtual threads ignore priorities
+ */
+public class ExecutionEngine {
+
+    /**
+     * The available execution modes
+     */
+    public enum Mode {
+        THREAD_PER_TASK,
+        POOLED,
+        VIRTUAL
+    }
+
+    private final Mode mode;
+    private final Executor executor;
+
+    /**
+     * The executor service backing the engine, or null if the engine
+     * does not own any threads (thread per task)
+     */
+    @Nullable
+    private final ExecutorService service;
+
+    private ExecutionEngine(Mode mode, Executor executor, @Nullable ExecutorService service) {
+        this.mode = mode;
+        this.executor = executor;
+        this.service = service;
+    }
+
+    /**
+     * @return An engine which starts a new platform thread for every task
+     */
+    public static ExecutionEngine threadPerTask() {
+        return new ExecutionEngine(Mode.THREAD_PER_TASK, task -> new Thread(task).start(), null);
+    }
+
+    /**
+     * @param priority Priority of the started threads
+     * @return An engine which starts a new platform thread with the given priority for every task
+     */
+    public static ExecutionEngine threadPerTask(int priority) {
+        checkPriority(priority);
+        return new ExecutionEngine(Mode.THREAD_PER_TASK, task -> {
+            Thread thread = new Thread(task);
+            thread.setPriority(priority);
+            thread.start();
+        }, null);
+    }
+
+    /**
+     * @param poolSize Number of platform threads in the pool
+     * @return An engine which runs every task on a fixed size pool of platform threads
+     */
+    public static ExecutionEngine pooled(int poolSize) {
+        return pooled(poolSize, Thread.NORM_PRIORITY);
+    }
+
+    /**
+     * @param poolSize Number of platform threads in the pool
+     * @param priority Priority of the pool threads
+     * @return An engine which runs every task on a fixed size pool of platform threads
+     */
+    public static ExecutionEngine pooled(int poolSize, int priority) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("Pool size must be positive, got " + poolSize);
+        }
+        checkPriority(priority);
+        ThreadFactory defaults = Executors.defaultThreadFactory();
+        ExecutorService pool = Executors.newFixedThreadPool(poolSize, task -> {
+            Thread thread = defaults.newThread(task);
+            thread.setPriority(priority);
+            return thread;
+        });
+        return new ExecutionEngine(Mode.POOLED, pool, pool);
+    }
+
+    private static void checkPriority(int priority) {
+        if (priority < Thread.MIN_PRIORITY || priority > Thread.MAX_PRIORITY) {
+            throw new IllegalArgumentException("Invalid thread priority " + priority);
+        }
+    }
+
+    /**
+     * @return An engine which runs every task on its own virtual thread
+     * @throws UnsupportedOperationException if the running JVM has no virtual threads
+     */
+    public static ExecutionEngine virtualThreadPerTask() {
+        ExecutorService virtual;
+        try {
+            // Looked up reflectively so that the project still compiles against Java 17
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            virtual = (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or newer", e);
+        }
+        return new ExecutionEngine(Mode.VIRTUAL, virtual, virtual);
+    }
+
+    /**
+     * @return If the running JVM can create a VIRTUAL engine
+     */
+    public static boolean isVirtualSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Convenience method for choosing the engine from configuration
+     * @param mode Desired execution mode
+     * @param poolSize Number of pool threads, only used by the POOLED mode
+     * @return The created engine
+     */
+    public static ExecutionEngine create(Mode mode, int poolSize) {
+        switch (mode) {
+            case POOLED:
+                return pooled(poolSize);
+            case VIRTUAL:
+                return virtualThreadPerTask();
+            default:
+                return threadPerTask();
+        }
+    }
+
+    /**
+     * Convenience method for choosing the engine from configuration
+     * @param mode Desired execution mode
+     * @param poolSize Number of pool threads, only used by the POOLED mode
+     * @param priority Priority of the platform threads, ignored by the VIRTUAL mode
+     * @return The created engine
+     */
+    public static ExecutionEngine create(Mode mode, int poolSize, int priority) {
+        switch (mode) {
+            case POOLED:
+                return pooled(poolSize, priority);
+            case VIRTUAL:
+                return virtualThreadPerTask();
+            default:
+                return threadPerTask(priority);
+        }
+    }
+
+    /**
+     * Runs the task asynchronously according to the mode of this engine
+     * @param task The task to run
+     */
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    /**
+     * Stops accepting new tasks. Already submitted tasks are still run. Does nothing
+     * for the thread per task mode since it doesn't own any threads
+     */
+    public void shutdown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    /**
+     * @return The mode of this engine
+     */
+    public Mode getMode() {
+        return mode;
+    }
+}
@@ -0,0 +1,147 @@
+package usecases;
+
+import entities.LobbyManager;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The actor execution mode of the hosted games. Instead of engaging the lock of its game, every
+ * use case that changes a game (submit word, disconnecting, join public lobby, sort players and
+ * the ticks of run game) posts a message to the mailbox of the game. The messages of one game are
+ * processed one at a time and in order, so they need no lock, while the messages of different
+ * games are processed in parallel on the shared ExecutionEngine
+ * <br><br>
+ * Actor mode is opt-in: use cases given no GameActors engage the lock of the game as before.
+ * Messages must never engage the pool lock or the games lock, since sort players waits on
+ * mailboxes while holding them. The messages of players (submit word, disconnecting) are use case
+ * threads registered to run on the mailbox, see ThreadRegister.registerThread, so that they are
+ * admitted within the limits of their use case, and drained or told about the shutdown
+ * <br><br>
+ * <h2>Thread Safety:</h2>
+ * <p> Thread safe </p>
+ */
+public class GameActors {
+
+    /**
+     * Most messages a mailbox processes before giving its engine thread to another mailbox
+     */
+    private static final int MAX_BATCH = 64;
+
+    private final ExecutionEngine engine;
+    private final Map<String, Mailbox> mailboxes;
+    private final AtomicLong messages;
+
+    /**
+     * @param engine The engine the mailboxes process their messages on
+     */
+    public GameActors(ExecutionEngine engine) {
+        this.engine = engine;
+        this.mailboxes = new ConcurrentHashMap<>();
+        this.messages = new AtomicLong();
+    }
+
+    /**
+     * The mailbox of a single game. While it has messages, exactly one engine task drains it
+     */
+    public class Mailbox implements Executor {
+
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        /**
+         * Posts a message, which is processed after every message posted before it
+         * @param message The message
+         */
+        @Override
+        public void execute(Runnable message) {
+            queue.add(message);
+            messages.incrementAndGet();
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                engine.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Runnable message;
+                int processed = 0;
+                while (processed < MAX_BATCH && (message = queue.poll()) != null) {
+                    processed++;
+                    try {
+                        message.run();
+                    } catch (RuntimeException e) {
+                        // A broken message must not stop the game from processing the next ones
+                        Thread.currentThread().getUncaughtExceptionHandler()
+                                .uncaughtException(Thread.currentThread(), e);
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+            }
+            // A message may have been posted after the last poll but before the flag was cleared
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        /**
+         * @return Number of messages waiting to be processed
+         */
+        public int getBacklog() {
+            return queue.size();
+        }
+    }
+
+    /**
+     * @param hosted A game hosted by the lobby
+     * @return The mailbox of the game, created on first use
+     */
+    public Mailbox of(LobbyManager.HostedGame hosted) {
+        return mailboxes.computeIfAbsent(hosted.getGameId(), id -> new Mailbox());
+    }
+
+    /**
+     * Posts a message to the mailbox of the game and blocks until it has been processed
+     * @param hosted A game hosted by the lobby
+     * @param message The message, its result is the reply
+     * @return The reply of the message
+     */
+    public <T> T ask(LobbyManager.HostedGame hosted, Supplier<T> message) {
+        return CompletableFuture.supplyAsync(message, of(hosted)).join();
+    }
+
+    /**
+     * Forgets the mailbox of a game the lobby no longer hosts. Since the lobby doesn't route
+     * players to the game anymore, no more messages are expected for it
+     * @param gameId ID of the game
+     */
+    public void retire(String gameId) {
+        mailboxes.remove(gameId);
+    }
+
+    /**
+     * @return Number of games with a mailbox
+     */
+    public int getActorCount() {
+        return mailboxes.size();
+    }
+
+    /**
+     * @return Number of messages posted to all the mailboxes so far
+     */
+    public long getMessageCount() {
+        return messages.get();
+    }
+}
@@ -5,17 +5,21 @@ import entities.games.Game;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * A data transfer object for a Game entity. Contains data from a Game
  * object which is necessary to display game state information to client players.
  * This object represents a single snapshot of the game state and becomes outdated
- * over time as the game progresses.
+ * over time as the game progresses. It is immutable, so a snapshot can be shared by every
+ * use case and presenter which needs the game state, see GameSnapshots.
  */
 public class GameDTO {
 
+    private final long version;
     private final String story;
-    private final ArrayList<PlayerDTO> players;
+    private final List<PlayerDTO> players;
     private final String currentTurnPlayerId;
     private final int secondsLeftCurrentTurn;
 
@@ -29,16 +33,40 @@ public class GameDTO {
      */
     public GameDTO (String story, Collection<Player> players,
                     String currentTurnPlayerId, int secondsLeftCurrentTurn) {
+        this(0, story, toPlayerDTOs(players), currentTurnPlayerId, secondsLeftCurrentTurn);
+    }
+
+    /**
+     * Create a game data transfer object from parts which may be shared with other versions
+     * of the game state
+     * @param version Version of the game state, 0 if it isn't versioned
+     * @param story String of the current full story of the game entity being represented
+     * @param players Unmodifiable list of the players in the game, which is not copied
+     * @param currentTurnPlayerId id of player whose turn it is in the game
+     * @param secondsLeftCurrentTurn seconds remaining in current turn
+     */
+    public GameDTO (long version, String story, List<PlayerDTO> players,
+                    String currentTurnPlayerId, int secondsLeftCurrentTurn) {
+        this.version = version;
         this.story = story;
+        this.players = players;
         this.currentTurnPlayerId = currentTurnPlayerId;
         this.secondsLeftCurrentTurn = secondsLeftCurrentTurn;
+    }
 
-        this.players = new ArrayList<>();
+    private static List<PlayerDTO> toPlayerDTOs (Collection<Player> players) {
+        List<PlayerDTO> out = new ArrayList<>(players.size());
         for (Player p: players) {
-            this.players.add(new PlayerDTO(p.getDisplayName(), p.getPlayerId()));
+            out.add(new PlayerDTO(p.getDisplayName(), p.getPlayerId()));
         }
+        return Collections.unmodifiableList(out);
     }
 
+    /**
+     * @return Version of the game state, increasing with every change to it, 0 if it isn't versioned
+     */
+    public long getVersion() { return version; }
+
     /**
      * @return String of the story in this game state data
      */
@@ -55,9 +83,9 @@ public class GameDTO {
     public String getCurrentTurnPlayerId() { return currentTurnPlayerId; }
 
     /**
-     * @return List of players who were in the game in this game state data
+     * @return Unmodifiable list of players who were in the game in this game state data
      */
-    public ArrayList<PlayerDTO> getPlayers() { return players; }
+    public List<PlayerDTO> getPlayers() { return players; }
 
     /**
      * Convenience method for building a GameDTO from a Game Object
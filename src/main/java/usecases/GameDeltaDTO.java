@@ -0,0 +1,72 @@
+package usecases;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A data transfer object for the changes to a Game entity since the previous update about it.
+ * Applied in order on top of the last GameDTO snapshot of the game, it gives the current game
+ * state. Parts of the game which did not change are empty, or null for the current turn player.
+ */
+public class GameDeltaDTO {
+
+    private final String appendedStory;
+    private final List<PlayerDTO> joinedPlayers;
+    private final List<String> leftPlayerIds;
+    @Nullable
+    private final String currentTurnPlayerId;
+    private final int secondsLeftCurrentTurn;
+
+    /**
+     * @param appendedStory Text of the words added to the story since the previous update, empty if none
+     * @param joinedPlayers Players who joined the game since the previous update
+     * @param leftPlayerIds IDs of the players who left the game since the previous update
+     * @param currentTurnPlayerId ID of the player whose turn it is, null if the turn did not change
+     * @param secondsLeftCurrentTurn Seconds remaining in the current turn
+     */
+    public GameDeltaDTO (@NotNull String appendedStory, @NotNull List<PlayerDTO> joinedPlayers,
+                         @NotNull List<String> leftPlayerIds, @Nullable String currentTurnPlayerId,
+                         int secondsLeftCurrentTurn) {
+        this.appendedStory = appendedStory;
+        this.joinedPlayers = joinedPlayers;
+        this.leftPlayerIds = leftPlayerIds;
+        this.currentTurnPlayerId = currentTurnPlayerId;
+        this.secondsLeftCurrentTurn = secondsLeftCurrentTurn;
+    }
+
+    /**
+     * @return Text of the words added to the story since the previous update, empty if none
+     */
+    public @NotNull String getAppendedStory() { return appendedStory; }
+
+    /**
+     * @return Players who joined the game since the previous update, in turn order
+     */
+    public @NotNull List<PlayerDTO> getJoinedPlayers() { return joinedPlayers; }
+
+    /**
+     * @return IDs of the players who left the game since the previous update
+     */
+    public @NotNull List<String> getLeftPlayerIds() { return leftPlayerIds; }
+
+    /**
+     * @return ID of the player whose turn it is, null if the turn did not change
+     */
+    @Nullable
+    public String getCurrentTurnPlayerId() { return currentTurnPlayerId; }
+
+    /**
+     * @return Seconds left in current turn
+     */
+    public int getSecondsLeftCurrentTurn() { return secondsLeftCurrentTurn; }
+
+    /**
+     * @return Whether nothing but the timer changed since the previous update
+     */
+    public boolean isTimerOnly() {
+        return appendedStory.isEmpty() && joinedPlayers.isEmpty() && leftPlayerIds.isEmpty()
+                && currentTurnPlayerId == null;
+    }
+}
@@ -0,0 +1,102 @@
+package usecases;
+
+import entities.Player;
+import entities.games.Game;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The latest snapshot of each game, shared by the use cases which report the game state (pull
+ * data, join public lobby). A new GameDTO is only made when the game changed since the latest
+ * snapshot, under the next version, and it shares with the snapshot before it every part which
+ * did not change: the story string, the list of players and each PlayerDTO
+ * <br><br>
+ * <h2>Thread Safety:</h2>
+ * <p> Thread safe across games. A game must not be snapshot concurrently, so engage the game lock,
+ * or run on the mailbox of the game, surrounding use </p>
+ */
+public class GameSnapshots {
+
+    /**
+     * The latest snapshot of a game, and the PlayerDTO of each of its players
+     */
+    private static class Latest {
+        private GameDTO snapshot;
+        private Map<String, PlayerDTO> playerOfId = new HashMap<>();
+    }
+
+    /**
+     * Weak, so that the snapshot of a game is dropped along with the game once it ended
+     */
+    private final Map<Game, Latest> latest = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * @param game The game, which must not change while it is snapshot
+     * @return The snapshot of the current state of the game, the same object as the previous call
+     * if the game did not change since
+     */
+    public @NotNull GameDTO of(Game game) {
+        Latest l = latest.get(game);
+        if (l == null) {
+            l = new Latest();
+            latest.put(game, l);
+        }
+        GameDTO previous = l.snapshot;
+
+        String story = game.getStoryString();
+        String currentTurnPlayerId = game.getCurrentTurnPlayer().getPlayerId();
+        int secondsLeft = game.getSecondsLeftInCurrentTurn();
+        List<PlayerDTO> players = previous != null && samePlayers(previous.getPlayers(), game.getPlayers())
+                ? previous.getPlayers() : players(l, game.getPlayers());
+
+        if (previous != null && previous.getStory().equals(story) && previous.getPlayers() == players
+                && previous.getCurrentTurnPlayerId().equals(currentTurnPlayerId)
+                && previous.getSecondsLeftCurrentTurn() == secondsLeft) {
+            return previous;
+        }
+        long version = previous == null ? 1 : previous.getVersion() + 1;
+        // The story is only copied when a word was added, since the game keeps it rendered
+        l.snapshot = new GameDTO(version, story, players, currentTurnPlayerId, secondsLeft);
+        return l.snapshot;
+    }
+
+    private static boolean samePlayers(List<PlayerDTO> snapshot, Collection<Player> players) {
+        if (snapshot.size() != players.size()) {
+            return false;
+        }
+        Iterator<PlayerDTO> s = snapshot.iterator();
+        for (Player p : players) {
+            PlayerDTO dto = s.next();
+            if (!dto.getPlayerId().equals(p.getPlayerId()) || !dto.getDisplayName().equals(p.getDisplayName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return New list of the players, with the PlayerDTO of the players who were in the game before
+     */
+    private static List<PlayerDTO> players(Latest l, Collection<Player> players) {
+        List<PlayerDTO> out = new ArrayList<>(players.size());
+        Map<String, PlayerDTO> playerOfId = new HashMap<>();
+        for (Player p : players) {
+            PlayerDTO dto = l.playerOfId.get(p.getPlayerId());
+            if (dto == null || !dto.getDisplayName().equals(p.getDisplayName())) {
+                dto = new PlayerDTO(p.getDisplayName(), p.getPlayerId());
+            }
+            out.add(dto);
+            playerOfId.put(p.getPlayerId(), dto);
+        }
+        l.playerOfId = playerOfId;
+        return Collections.unmodifiableList(out);
+    }
+}
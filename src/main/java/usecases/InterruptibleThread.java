@@ -1,18 +1,54 @@
 package usecases;
 
+import org.jetbrains.annotations.Nullable;
 import usecases.shutdown_server.SsOutputBoundary;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * The base abstract class for all the use case threads
+ * The base abstract class for all the use case threads.
+ * <br><br>
+ * Despite the name, a use case "thread" is a task: the ThreadRegister hands it to its
+ * ExecutionEngine, which decides which thread actually runs it. While the task runs,
+ * the executing thread is remembered so that <code>interrupt</code> reaches it. A task
+ * that is interrupted before it starts running does not run its logic at all
+ * <br><br>
+ * While <code>blockInterrupt</code> is true, the use case is in a critical section (e.g. a
+ * DB write) and the shutdown drain waits for it before interrupting. Use cases start
+ * in a critical section
  */
-public abstract class InterruptibleThread extends Thread {
+public abstract class InterruptibleThread implements Runnable {
 
     protected final AtomicBoolean blockInterrupt = new AtomicBoolean(true);
     protected final ThreadRegister register;
     protected final SsOutputBoundary outputBoundary;
 
+    /**
+     * Guards <code>runner</code>, <code>started</code> and <code>interrupted</code> so that
+     * an interrupt can never reach a pooled thread after it has moved on to another task
+     */
+    private final Lock runnerLock = new ReentrantLock();
+    private Thread runner;
+    private boolean started;
+    private boolean interrupted;
+
+    /**
+     * Latch of the shutdown drain waiting for this use case, null if no drain started yet
+     */
+    private volatile CountDownLatch drainLatch;
+    private final AtomicBoolean drained = new AtomicBoolean(false);
+    private volatile boolean finished;
+
+    /**
+     * Where the register runs this task, null for the engine of the register or the lane of its use case
+     */
+    @Nullable
+    private volatile Executor executor;
+
     public InterruptibleThread(ThreadRegister register, SsOutputBoundary outputBoundary) {
         this.register = register;
         this.outputBoundary = outputBoundary;
@@ -21,10 +57,16 @@ public abstract class InterruptibleThread extends Thread {
     @Override
     public void run() {
         try {
+            bindRunner();
             threadLogic();
         } catch (InterruptedException exception) {
-            register.removeThread(this);
             outputBoundary.outputShutdownServer();
+        } finally {
+            unbindRunner();
+            finished = true;
+            signalDrained();
+            // However the use case finished, it no longer needs to be stopped
+            register.removeThread(this);
         }
     }
 
@@ -34,11 +76,112 @@ public abstract class InterruptibleThread extends Thread {
     protected abstract void threadLogic() throws InterruptedException;
 
     /**
-     * Sets the <code>blockInterrupt</code> field to the given value
+     * Interrupts the thread currently running this task. If the task hasn't started yet,
+     * it will be interrupted as soon as it starts
+     */
+    public void interrupt() {
+        runnerLock.lock();
+        interrupted = true;
+        if (runner != null) {
+            runner.interrupt();
+        }
+        runnerLock.unlock();
+    }
+
+    /**
+     * Called by the shutdown drain. Counts down the latch once this use case can be
+     * interrupted safely: it is not in a critical section, it finished, or it has not started
+     * yet. A use case which has not started yet is cancelled right away, since it would only be
+     * interrupted once it starts anyway
+     * @param latch Latch the drain waits on
+     */
+    void drainInto(CountDownLatch latch) {
+        drainLatch = latch;
+
+        runnerLock.lock();
+        boolean notStarted = !started;
+        if (notStarted) {
+            interrupted = true;
+        }
+        runnerLock.unlock();
+
+        if (notStarted || finished || !blockInterrupt.get()) {
+            signalDrained();
+        }
+    }
+
+    /**
+     * @param executor Where the register runs this task instead of the engine or the lane of its use case
+     */
+    void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @return Where the register runs this task, null for the engine of the register or the lane of its use case
+     */
+    @Nullable
+    Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * @return If this use case signalled the shutdown drain that it can be interrupted
+     */
+    boolean isDrained() {
+        return drained.get();
+    }
+
+    /**
+     * Counts down the drain latch, at most once, if a drain started
+     */
+    private void signalDrained() {
+        CountDownLatch latch = drainLatch;
+        if (latch != null && drained.compareAndSet(false, true)) {
+            latch.countDown();
+        }
+    }
+
+    /**
+     * Remembers the current thread as the one running this task
+     * @throws InterruptedException if the task was interrupted before it started running
+     */
+    private void bindRunner() throws InterruptedException {
+        runnerLock.lock();
+        try {
+            started = true;
+            if (interrupted) {
+                throw new InterruptedException("Use case was interrupted before it started");
+            }
+            runner = Thread.currentThread();
+        } finally {
+            runnerLock.unlock();
+        }
+    }
+
+    /**
+     * Forgets the running thread and clears its interrupt status, so that a reused
+     * pool thread doesn't carry this task's interrupt into the next one
+     */
+    private void unbindRunner() {
+        runnerLock.lock();
+        if (runner == Thread.currentThread()) {
+            runner = null;
+            Thread.interrupted();
+        }
+        runnerLock.unlock();
+    }
+
+    /**
+     * Sets the <code>blockInterrupt</code> field to the given value. Lowering it
+     * lets a waiting shutdown drain move on
      * @param value The value to be set
      */
     public void setBlockInterrupt(boolean value) {
         blockInterrupt.set(value);
+        if (!value) {
+            signalDrained();
+        }
     }
 
     /**
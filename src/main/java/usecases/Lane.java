@@ -0,0 +1,186 @@
+package usecases;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An execution lane: a named ExecutionEngine which the ThreadRegister runs a group of use cases
+ * on, so that the groups don't share threads. E.g. gameplay use cases (submit word, join public
+ * lobby, disconnecting) run on one lane and story browsing use cases on another one, with
+ * fewer, lower priority threads, so that heavy browsing traffic can't occupy the threads
+ * word submissions need
+ * <br><br>
+ * A lane may defer its work while the game timer ticks lag (see TickLagMonitor): tasks are
+ * held back until the ticks are back within their budget, or until they were held back for
+ * <code>maxDeferMillis</code>, whichever comes first
+ * <br><br>
+ * <h2>Thread Safety:</h2>
+ * <p>
+ *     Only lanes which defer engage their lock. Since the monitor switches state before
+ *     notifying the lane, a task is either run right away or released by the recovery
+ * </p>
+ */
+public class Lane {
+
+    private final String name;
+    private final ExecutionEngine engine;
+
+    /**
+     * Monitor the lane defers on, null if the lane never defers
+     */
+    @Nullable
+    private final TickLagMonitor lagMonitor;
+    private final long maxDeferMillis;
+    private final Queue<Runnable> deferred;
+    private final Lock deferredLock;
+    @Nullable
+    private final Timer deferTimer;
+    private boolean releaseScheduled;
+    private boolean shutDown;
+    private long deferredTotal;
+
+    /**
+     * Initiates a lane which never defers its work
+     * @param name Name of the lane, for metrics
+     * @param engine The engine running the tasks of the lane
+     */
+    public Lane(String name, ExecutionEngine engine) {
+        this(name, engine, null, 0);
+    }
+
+    /**
+     * @param name Name of the lane, for metrics
+     * @param engine The engine running the tasks of the lane
+     * @param lagMonitor Monitor to defer work on while it is lagging, null to never defer
+     * @param maxDeferMillis The longest a task is deferred for, even if the lag persists
+     */
+    public Lane(String name, ExecutionEngine engine, @Nullable TickLagMonitor lagMonitor, long maxDeferMillis) {
+        this.name = name;
+        this.engine = engine;
+        this.lagMonitor = lagMonitor;
+        this.maxDeferMillis = maxDeferMillis;
+        this.deferred = new ArrayDeque<>();
+        this.deferredLock = new ReentrantLock();
+        this.releaseScheduled = false;
+        this.shutDown = false;
+        this.deferredTotal = 0;
+        if (lagMonitor != null) {
+            this.deferTimer = new Timer(true);
+            lagMonitor.addRecoveryListener(this::releaseDeferred);
+        } else {
+            this.deferTimer = null;
+        }
+    }
+
+    /**
+     * Runs the task on the engine of the lane, or defers it if the lane defers while
+     * the game ticks lag and they currently do
+     * @param task The task to run
+     */
+    public void execute(Runnable task) {
+        if (lagMonitor == null) {
+            engine.execute(task);
+            return;
+        }
+
+        deferredLock.lock();
+        try {
+            if (shutDown || (!lagMonitor.isLagging() && deferred.isEmpty())) {
+                engine.execute(task);
+                return;
+            }
+            deferred.add(task);
+            deferredTotal++;
+            if (!releaseScheduled) {
+                releaseScheduled = true;
+                deferTimer.schedule(new TimerTask() {
+                    @Override
+                    public void run() {
+                        releaseDeferred();
+                    }
+                }, maxDeferMillis);
+            }
+        } finally {
+            deferredLock.unlock();
+        }
+    }
+
+    /**
+     * Runs every deferred task, in the order they were deferred
+     */
+    private void releaseDeferred() {
+        deferredLock.lock();
+        try {
+            releaseScheduled = false;
+            List<Runnable> released = new ArrayList<>(deferred);
+            deferred.clear();
+            for (Runnable task : released) {
+                engine.execute(task);
+            }
+        } finally {
+            deferredLock.unlock();
+        }
+    }
+
+    /**
+     * Runs the deferred tasks, so that they report the shutdown, and shuts the engine down
+     */
+    public void shutdown() {
+        if (lagMonitor != null) {
+            deferredLock.lock();
+            shutDown = true;
+            deferredLock.unlock();
+            releaseDeferred();
+            deferTimer.cancel();
+        }
+        engine.shutdown();
+    }
+
+    /**
+     * @return Name of the lane
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The engine running the tasks of the lane
+     */
+    public ExecutionEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * @return Number of tasks currently held back because of lag
+     */
+    public int getDeferredCount() {
+        if (lagMonitor == null) {
+            return 0;
+        }
+        deferredLock.lock();
+        int count = deferred.size();
+        deferredLock.unlock();
+        return count;
+    }
+
+    /**
+     * @return Number of tasks held back because of lag so far
+     */
+    public long getDeferredTotal() {
+        if (lagMonitor == null) {
+            return 0;
+        }
+        deferredLock.lock();
+        long total = deferredTotal;
+        deferredLock.unlock();
+        return total;
+    }
+}
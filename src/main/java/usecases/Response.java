@@ -4,6 +4,7 @@ import exceptions.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Response object created by use cases to send to the presenter. Has inner
@@ -44,10 +45,19 @@ public class Response {
         TITLE_ALREADY_SUGGESTED,
         STORY_NOT_FOUND,
         SHUTTING_DOWN,
-        TITLE_NOT_FOUND
+        TITLE_NOT_FOUND,
+        OVERLOADED
     }
 
-    private final String message;
+    /**
+     * The description, null until it is rendered if it is rendered lazily
+     */
+    private String message;
+
+    /**
+     * Renders the description, null if it was given
+     */
+    private final Supplier<String> render;
     private final ResCode code;
 
     /**
@@ -58,12 +68,26 @@ public class Response {
     public Response (ResCode code, String message) {
         this.code = code;
         this.message = message;
+        this.render = null;
+    }
+
+    private Response (ResCode code, Supplier<String> render) {
+        this.code = code;
+        this.render = render;
     }
 
     /**
      * @return response description message
      */
-    public String getMessage() { return message; }
+    public String getMessage() {
+        String m = message;
+        if (m == null && render != null) {
+            // Threads which ask at once may each render it, to the same string
+            m = render.get();
+            message = m;
+        }
+        return m;
+    }
 
     /**
      * @return response code
@@ -84,6 +108,17 @@ public class Response {
         return new Response(resultCode, m);
     }
 
+    /**
+     * Create a response whose description is only rendered if it is asked for, e.g. the reply to a
+     * request which is rejected so often that formatting every description would cost
+     * @param code response code from enum
+     * @param message Renders the description, at most once per thread which asks for it
+     * @return The response
+     */
+    public static Response lazy (ResCode code, Supplier<String> message) {
+        return new Response(code, message);
+    }
+
     /**
      * @param m Description of success
      * @return A response with success code
@@ -99,4 +134,18 @@ public class Response {
     public static Response getFailure (String m) {
         return new Response(Response.ResCode.FAIL, m);
     }
+
+    /**
+     * @return A response with SHUTTING_DOWN code
+     */
+    public static Response getShuttingDown () {
+        return new Response(ResCode.SHUTTING_DOWN, "Server shutting down");
+    }
+
+    /**
+     * @return A response with OVERLOADED code, for requests shed by admission control
+     */
+    public static Response getOverloaded () {
+        return new Response(ResCode.OVERLOADED, "Server is overloaded, please try again later");
+    }
 }
@@ -0,0 +1,89 @@
+package usecases;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads: while a value is being loaded for a key, every other
+ * use case thread asking for the same key waits for that load and shares its result instead of
+ * loading the value again. Once the load finishes, the next request for the key loads afresh,
+ * so results are never older than the requests sharing them
+ * <br><br>
+ * The shared value is handed to every waiting thread as is, so it must not be mutated
+ * <br><br>
+ * <h2>Thread Safety:</h2>
+ * <p>
+ *     Lock free: in flight loads live in a concurrent map, the first thread to put its load
+ *     there for a key performs it, and removes it once the value is published
+ * </p>
+ * @param <K> Key identifying identical reads
+ * @param <V> Value read
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight;
+    private final AtomicLong loads;
+    private final AtomicLong shared;
+
+    public SingleFlight() {
+        this.inFlight = new ConcurrentHashMap<>();
+        this.loads = new AtomicLong();
+        this.shared = new AtomicLong();
+    }
+
+    /**
+     * Loads the value for the key, or waits for the load already in flight for it
+     * @param key Key identifying the read
+     * @param loader Performs the read, only called if no load is in flight for the key
+     * @return The loaded value, possibly shared with other threads
+     * @throws InterruptedException if the thread is interrupted while waiting for another thread's load
+     */
+    public V load(K key, Supplier<V> loader) throws InterruptedException {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+
+        if (existing != null) {
+            shared.incrementAndGet();
+            try {
+                return existing.get();
+            } catch (ExecutionException e) {
+                // The loader failed, so fail the same way it did
+                Throwable cause = e.getCause();
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw (RuntimeException) cause;
+            }
+        }
+
+        loads.incrementAndGet();
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * @return How many times a value was actually loaded
+     */
+    public long getLoadCount() {
+        return loads.get();
+    }
+
+    /**
+     * @return How many requests were served by another request's load
+     */
+    public long getSharedCount() {
+        return shared.get();
+    }
+}
@@ -1,72 +1,512 @@
 package usecases;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * The thread register keeps track of all the running non-daemon threads and is
  * primarily used by the "shutdown-server" use case
+ * <br><br>
+ * <h2>Thread Safety:</h2>
+ * <p>
+ *     Registering and removing threads is lock free and O(1): threads live in a concurrent
+ *     set and every thread removes itself once it finishes, however it finishes. Only
+ *     <code>stopThreads</code> engages the shutting down lock. A thread registered
+ *     concurrently with <code>stopThreads</code> is either rejected or seen (and interrupted)
+ *     by it, since the register adds the thread before checking the shutting down flag while
+ *     <code>stopThreads</code> sets the flag before looking at the threads. A thread which passed
+ *     that check just before <code>stopThreads</code> shut the engine down is rejected by the
+ *     engine, and then removed from the register as if it never was admitted
+ * </p>
+ * <h2>Admission Control:</h2>
+ * <p>
+ *     A use case may be given an admission limit: at most so many of its threads run at once,
+ *     at most so many more wait in a bounded queue for a running one to finish, and any beyond
+ *     that are rejected as OVERLOADED. Use cases without a limit are always admitted. Only
+ *     use cases with a limit engage that limit's lock
+ * </p>
+ * <h2>Execution Lanes:</h2>
+ * <p>
+ *     Use cases run on the engine of the register unless they were assigned to a Lane, which
+ *     then runs them on its own engine instead, isolated from the other use cases. A thread may
+ *     also be registered to run on an executor of its own, e.g. the mailbox of a game in actor
+ *     mode, and is then admitted and drained like any other
+ * </p>
  */
 public class ThreadRegister {
 
-    private final List<InterruptibleThread> runningThreads;
-    private boolean shuttingDown;
+    /**
+     * Outcome of registering a thread
+     */
+    public enum Admission {
+        /**
+         * The thread was registered and is running or waiting in its use case's queue
+         */
+        ADMITTED,
+        /**
+         * The use case is at its admission limit and its queue is full. The thread was not registered
+         */
+        OVERLOADED,
+        /**
+         * The server is shutting down. The thread was not registered
+         */
+        SHUTTING_DOWN
+    }
+
+    /**
+     * What an admission limit decided for a thread
+     */
+    private enum Slot {
+        RUN,
+        QUEUE,
+        REJECT
+    }
+
+    /**
+     * Concurrency limit and bounded waiting queue of a single use case
+     */
+    private static class AdmissionLimit {
+        private final int maxRunning;
+        private final int maxQueued;
+        private final Queue<InterruptibleThread> queue;
+        private final Lock lock;
+        private int running;
+        private long rejected;
+
+        public AdmissionLimit(int maxRunning, int maxQueued) {
+            this.maxRunning = maxRunning;
+            this.maxQueued = maxQueued;
+            this.queue = new ArrayDeque<>();
+            this.lock = new ReentrantLock();
+        }
+
+        /**
+         * @return If the thread may run now, was queued, or was rejected
+         */
+        public Slot admit(InterruptibleThread thread) {
+            lock.lock();
+            try {
+                if (running < maxRunning) {
+                    running++;
+                    return Slot.RUN;
+                }
+                if (queue.size() < maxQueued) {
+                    queue.add(thread);
+                    return Slot.QUEUE;
+                }
+                rejected++;
+                return Slot.REJECT;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Frees the slot of a finished thread
+         * @return the next queued thread, which takes over the slot, or null if none is waiting
+         */
+        public InterruptibleThread release() {
+            lock.lock();
+            InterruptibleThread next = queue.poll();
+            if (next == null) {
+                running--;
+            }
+            lock.unlock();
+            return next;
+        }
+
+        /**
+         * Removes a queued thread which never got to run
+         * @return If the thread was still queued, false if it was already taken off the queue to run
+         */
+        public boolean cancelQueued(InterruptibleThread thread) {
+            lock.lock();
+            boolean result = queue.remove(thread);
+            lock.unlock();
+            return result;
+        }
+
+        /**
+         * Empties the queue. The threads are counted as running
+         * @return the threads which were queued
+         */
+        public List<InterruptibleThread> drainQueue() {
+            lock.lock();
+            List<InterruptibleThread> queued = new ArrayList<>(queue);
+            queue.clear();
+            running += queued.size();
+            lock.unlock();
+            return queued;
+        }
+
+        public int getQueueDepth() {
+            lock.lock();
+            int depth = queue.size();
+            lock.unlock();
+            return depth;
+        }
+
+        public long getRejected() {
+            lock.lock();
+            long out = rejected;
+            lock.unlock();
+            return out;
+        }
+    }
+
+    private final Set<InterruptibleThread> runningThreads;
+    private final Map<Class<? extends InterruptibleThread>, AtomicInteger> inFlightCounts;
+    private final Map<Class<? extends InterruptibleThread>, AdmissionLimit> admissionLimits;
+    private final Map<Class<? extends InterruptibleThread>, Lane> lanes;
+    private final List<Runnable> shutdownListeners;
+    private volatile boolean shuttingDown;
     private final Lock shuttingDownLock;
+    private final ExecutionEngine engine;
 
     /**
-     * Initiates the thread register
+     * Initiates the thread register which starts a new thread for every use case
      */
     public ThreadRegister() {
-        this.runningThreads = new ArrayList<>();
+        this(ExecutionEngine.threadPerTask());
+    }
+
+    /**
+     * Initiates the thread register
+     * @param engine The engine which runs the registered use cases
+     */
+    public ThreadRegister(ExecutionEngine engine) {
+        this.runningThreads = ConcurrentHashMap.newKeySet();
+        this.inFlightCounts = new ConcurrentHashMap<>();
+        this.admissionLimits = new ConcurrentHashMap<>();
+        this.lanes = new ConcurrentHashMap<>();
+        this.shutdownListeners = new CopyOnWriteArrayList<>();
         this.shuttingDown = false;
         this.shuttingDownLock = new ReentrantLock();
+        this.engine = engine;
+    }
+
+
+    /**
+     * Limits how many threads of a use case may run at once. Meant to be called at startup,
+     * before threads of the use case are registered
+     * @param useCase Class of the use case thread, e.g. <code>SwInteractor.SwThread.class</code>
+     * @param maxRunning How many threads of the use case may run at once
+     * @param maxQueued How many more threads of the use case may wait for a running one to finish
+     *                  before new ones are rejected as OVERLOADED
+     */
+    public void setAdmissionLimit(Class<? extends InterruptibleThread> useCase, int maxRunning, int maxQueued) {
+        if (maxRunning < 1 || maxQueued < 0) {
+            throw new IllegalArgumentException("A use case must be allowed to run at least one thread");
+        }
+        admissionLimits.put(useCase, new AdmissionLimit(maxRunning, maxQueued));
+    }
+
+    /**
+     * Runs the threads of a use case on the given lane instead of the engine of the register.
+     * Meant to be called at startup, before threads of the use case are registered
+     * @param useCase Class of the use case thread, e.g. <code>GlsInteractor.GlsThread.class</code>
+     * @param lane The lane to run the use case on. The register shuts it down in <code>stopThreads</code>
+     */
+    public void setLane(Class<? extends InterruptibleThread> useCase, Lane lane) {
+        lanes.put(useCase, lane);
+    }
+
+    /**
+     * Runs the listener in <code>stopThreads</code>, once the running threads were drained and
+     * interrupted. Meant for use cases which leave work waiting without a thread, e.g. players waiting
+     * in the pool, so that they hear about the shutdown. Threads registered by the listener are
+     * refused as SHUTTING_DOWN
+     * @param listener Called once, by the thread which stops the threads
+     */
+    public void addShutdownListener(Runnable listener) {
+        shutdownListeners.add(listener);
+    }
+
+    /**
+     * Runs the thread on its own executor if it was registered with one, else on the lane of its
+     * use case, or on the engine of the register if it has none
+     */
+    private void execute(InterruptibleThread thread) {
+        Executor executor = thread.getExecutor();
+        if (executor != null) {
+            executor.execute(thread);
+            return;
+        }
+        Lane lane = lanes.get(thread.getClass());
+        if (lane == null) {
+            engine.execute(thread);
+        } else {
+            lane.execute(thread);
+        }
     }
 
+    /**
+     * Runs the thread, unless the engine, or the lane of its use case, was shut down in the meantime,
+     * in which case the thread is removed from the register without running
+     * @return If the thread was handed over to run
+     */
+    private boolean tryExecute(InterruptibleThread thread) {
+        try {
+            execute(thread);
+            return true;
+        } catch (RejectedExecutionException e) {
+            removeThread(thread);
+            return false;
+        }
+    }
 
     /**
-     * Adds an interruptible thread to the list
+     * Adds an interruptible thread to the register and submits it to the execution engine, or
+     * queues it if its use case is at its admission limit
      * @param thread The thread to be added
+     * @return If the thread was admitted, or why it was not
      */
-    public boolean registerThread(InterruptibleThread thread) {
-        boolean result = false;
-        this.shuttingDownLock.lock();
-        // I think that this boolean flag might be redundant
-        if (!shuttingDown) {
-            this.runningThreads.add(thread);
-            thread.start();
-            result = true;
+    public Admission registerThread(InterruptibleThread thread) {
+        if (shuttingDown) {
+            return Admission.SHUTTING_DOWN;
         }
-        this.shuttingDownLock.unlock();
-        return result;
+
+        // Registered before asking for a slot, since a queued thread may be started, and may
+        // finish, as soon as it is queued. Its removeThread must find it to free the slot
+        runningThreads.add(thread);
+        inFlightCounts.computeIfAbsent(thread.getClass(), k -> new AtomicInteger()).incrementAndGet();
+
+        AdmissionLimit limit = admissionLimits.get(thread.getClass());
+        // Without a limit, every thread may run right away
+        Slot slot = limit == null ? Slot.RUN : limit.admit(thread);
+        if (slot == Slot.REJECT) {
+            deregister(thread);
+            return Admission.OVERLOADED;
+        }
+
+        // Shutdown might have started after the first check, and might have missed this thread
+        if (shuttingDown) {
+            if (slot == Slot.RUN) {
+                removeThread(thread);
+            } else if (limit.cancelQueued(thread)) {
+                deregister(thread);
+            } else {
+                // A finishing thread or stopThreads already took it off the queue and started it
+                return Admission.ADMITTED;
+            }
+            return Admission.SHUTTING_DOWN;
+        }
+        if (slot == Slot.RUN && !tryExecute(thread)) {
+            // stopThreads shut the engine down since the check above
+            return Admission.SHUTTING_DOWN;
+        }
+        return Admission.ADMITTED;
+    }
+
+    /**
+     * Adds an interruptible thread to the register like <code>registerThread(thread)</code>, but runs
+     * it on the given executor once admitted, e.g. the mailbox of the game it changes in actor mode
+     * @param thread The thread to be added
+     * @param executor Where the thread runs, instead of the engine or the lane of its use case
+     * @return If the thread was admitted, or why it was not
+     */
+    public Admission registerThread(InterruptibleThread thread, Executor executor) {
+        thread.setExecutor(executor);
+        return registerThread(thread);
     }
 
     /**
-     * Removes the interruptible thread from the list
+     * Removes the interruptible thread from the register. Called by every registered
+     * thread once it finishes. If the use case of the thread has an admission limit, the next
+     * queued thread of the use case is started
      * @param thread The thread to be removed
+     * @return If the thread was registered
      */
     public boolean removeThread(InterruptibleThread thread) {
-        shuttingDownLock.lock();
-        boolean result = this.runningThreads.remove(thread);
-        shuttingDownLock.unlock();
+        boolean result = deregister(thread);
+        if (result) {
+            AdmissionLimit limit = admissionLimits.get(thread.getClass());
+            if (limit != null) {
+                InterruptibleThread next = limit.release();
+                if (next != null && !tryExecute(next)) {
+                    // Nobody waits for the admission of a queued thread, so it reports the shutdown itself
+                    next.outputBoundary.outputShutdownServer();
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes the thread from the running threads and in flight counts
+     * @return If the thread was registered
+     */
+    private boolean deregister(InterruptibleThread thread) {
+        boolean result = runningThreads.remove(thread);
+        if (result) {
+            inFlightCounts.get(thread.getClass()).decrementAndGet();
+        }
         return result;
     }
 
     /**
-     * Stops all the thread. If a thread has a flag <code>blockInterrupt</code> set to <code>false</code>,
-     * this method spin waits until it is true. Notices that is this flag is never set to false,
-     * the server will never be shut down
+     * @return If the server is shutting down, in which case no more threads are admitted
+     */
+    public boolean isShuttingDown() {
+        return shuttingDown;
+    }
+
+    /**
+     * @return Number of registered threads which have not finished yet
+     */
+    public int getRunningCount() {
+        return runningThreads.size();
+    }
+
+    /**
+     * @param useCase Class of the use case thread, e.g. <code>SwInteractor.SwThread.class</code>
+     * @return Number of threads of this use case which are registered and have not finished yet
+     */
+    public int getInFlightCount(Class<? extends InterruptibleThread> useCase) {
+        AtomicInteger count = inFlightCounts.get(useCase);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * @return A snapshot of the number of unfinished threads of every use case
+     * that was ever registered, keyed by the simple name of the use case thread class
+     */
+    public Map<String, Integer> getInFlightCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Map.Entry<Class<? extends InterruptibleThread>, AtomicInteger> entry : inFlightCounts.entrySet()) {
+            counts.put(entry.getKey().getSimpleName(), entry.getValue().get());
+        }
+        return counts;
+    }
+
+    /**
+     * @param useCase Class of the use case thread
+     * @return Number of threads of this use case waiting for a free slot, 0 if it has no admission limit
+     */
+    public int getQueueDepth(Class<? extends InterruptibleThread> useCase) {
+        AdmissionLimit limit = admissionLimits.get(useCase);
+        return limit == null ? 0 : limit.getQueueDepth();
+    }
+
+    /**
+     * @param useCase Class of the use case thread
+     * @return Number of threads of this use case rejected as OVERLOADED so far
+     */
+    public long getRejectedCount(Class<? extends InterruptibleThread> useCase) {
+        AdmissionLimit limit = admissionLimits.get(useCase);
+        return limit == null ? 0 : limit.getRejected();
+    }
+
+    /**
+     * @return A snapshot of the queue depth of every use case with an admission limit,
+     * keyed by the simple name of the use case thread class
+     */
+    public Map<String, Integer> getQueueDepths() {
+        Map<String, Integer> depths = new HashMap<>();
+        for (Map.Entry<Class<? extends InterruptibleThread>, AdmissionLimit> entry : admissionLimits.entrySet()) {
+            depths.put(entry.getKey().getSimpleName(), entry.getValue().getQueueDepth());
+        }
+        return depths;
+    }
+
+    /**
+     * @return A snapshot of the rejection count of every use case with an admission limit,
+     * keyed by the simple name of the use case thread class
+     */
+    public Map<String, Long> getRejectedCounts() {
+        Map<String, Long> rejections = new HashMap<>();
+        for (Map.Entry<Class<? extends InterruptibleThread>, AdmissionLimit> entry : admissionLimits.entrySet()) {
+            rejections.put(entry.getKey().getSimpleName(), entry.getValue().getRejected());
+        }
+        return rejections;
+    }
+
+    /**
+     * Stops all the threads, waiting as long as it takes for them to leave their critical sections.
+     * See <code>stopThreads(long, TimeUnit)</code>
      */
     public void stopThreads() {
+        stopThreads(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops all the threads:
+     * <ol>
+     *     <li> New threads are no longer admitted </li>
+     *     <li> All the threads are drained in parallel: the method waits, up to the deadline, until
+     *     every thread has either finished or set its <code>blockInterrupt</code> flag to false.
+     *     Threads which have not started yet are cancelled right away </li>
+     *     <li> Every thread is interrupted, whether it left its critical section or not </li>
+     *     <li> The shutdown listeners are run </li>
+     *     <li> Threads still waiting in admission queues are started, so that they report the shutdown </li>
+     *     <li> The lanes, which start the threads they deferred, and the execution engine are shut down </li>
+     * </ol>
+     * If the calling thread is interrupted while waiting, the drain stops waiting early
+     * @param timeout How long to wait for critical sections to finish
+     * @param unit Unit of the timeout
+     * @return The number of threads of every use case which were still in a critical section at the
+     * deadline and got interrupted anyway, keyed by the simple name of the use case thread class.
+     * Empty if every thread was drained in time
+     */
+    public Map<String, Integer> stopThreads(long timeout, TimeUnit unit) {
         shuttingDownLock.lock();
-        shuttingDown = true;
-        for (InterruptibleThread thread: runningThreads) {
-            while (thread.blockInterrupt.get()) {
-                Thread.onSpinWait();
+        try {
+            shuttingDown = true;
+
+            List<InterruptibleThread> draining = new ArrayList<>(runningThreads);
+            CountDownLatch drained = new CountDownLatch(draining.size());
+            for (InterruptibleThread thread : draining) {
+                thread.drainInto(drained);
+            }
+
+            boolean interrupted = false;
+            try {
+                drained.await(timeout, unit);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+
+            Map<String, Integer> stillBlocking = new HashMap<>();
+            for (InterruptibleThread thread : draining) {
+                if (!thread.isDrained()) {
+                    stillBlocking.merge(thread.getClass().getSimpleName(), 1, Integer::sum);
+                }
+                thread.interrupt();
+            }
+            for (Runnable listener : shutdownListeners) {
+                listener.run();
+            }
+            for (AdmissionLimit limit : admissionLimits.values()) {
+                for (InterruptibleThread queued : limit.drainQueue()) {
+                    execute(queued);
+                }
+            }
+            for (Lane lane : new HashSet<>(lanes.values())) {
+                lane.shutdown();
+            }
+            engine.shutdown();
+
+            if (interrupted) {
+                Thread.currentThread().interrupt();
             }
-            thread.interrupt();
+            return stillBlocking;
+        } finally {
+            shuttingDownLock.unlock();
         }
-        shuttingDownLock.unlock();
     }
 }
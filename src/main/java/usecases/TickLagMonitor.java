@@ -0,0 +1,97 @@
+package usecases;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Watches how late the game timer ticks (see RgInteractor.RgTask) run compared to when
+ * they were scheduled. A tick which runs later than the lag budget puts the monitor in the
+ * lagging state, the next tick within the budget takes it out of it again
+ * <br><br>
+ * Lanes which defer while lagging (see Lane) hold their work back while the monitor is
+ * lagging, and are notified through a recovery listener once it is not anymore
+ * <br><br>
+ * <h2>Thread Safety:</h2>
+ * <p>
+ *     Ticks may be recorded concurrently, e.g. by the timers of several games. Recovery
+ *     listeners are called on the thread recording the tick which ended the lag, after
+ *     the state was switched, so they must be short
+ * </p>
+ */
+public class TickLagMonitor {
+
+    private final long lagBudgetMillis;
+    private final List<Runnable> recoveryListeners;
+    private final AtomicLong lagEvents;
+    private volatile boolean lagging;
+    private volatile long lastLagMillis;
+
+    /**
+     * @param lagBudgetMillis How late a tick may run before the game is considered lagging
+     */
+    public TickLagMonitor(long lagBudgetMillis) {
+        if (lagBudgetMillis < 0) {
+            throw new IllegalArgumentException("Lag budget must not be negative");
+        }
+        this.lagBudgetMillis = lagBudgetMillis;
+        this.recoveryListeners = new CopyOnWriteArrayList<>();
+        this.lagEvents = new AtomicLong();
+        this.lagging = false;
+        this.lastLagMillis = 0;
+    }
+
+    /**
+     * Records a game timer tick
+     * @param lagMillis How much later than scheduled the tick ran
+     */
+    public void recordTick(long lagMillis) {
+        lastLagMillis = lagMillis;
+        if (lagMillis > lagBudgetMillis) {
+            if (!lagging) {
+                lagging = true;
+                lagEvents.incrementAndGet();
+            }
+        } else if (lagging) {
+            lagging = false;
+            for (Runnable listener : recoveryListeners) {
+                listener.run();
+            }
+        }
+    }
+
+    /**
+     * @param listener Called every time the monitor stops lagging
+     */
+    public void addRecoveryListener(Runnable listener) {
+        recoveryListeners.add(listener);
+    }
+
+    /**
+     * @return If the last recorded tick ran later than the lag budget
+     */
+    public boolean isLagging() {
+        return lagging;
+    }
+
+    /**
+     * @return Lag of the last recorded tick, in milliseconds
+     */
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+
+    /**
+     * @return How many times the monitor started lagging
+     */
+    public long getLagEvents() {
+        return lagEvents.get();
+    }
+
+    /**
+     * @return How late a tick may run before the game is considered lagging, in milliseconds
+     */
+    public long getLagBudgetMillis() {
+        return lagBudgetMillis;
+    }
+}
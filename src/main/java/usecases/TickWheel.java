@@ -0,0 +1,280 @@
+package usecases;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+/**
+ * A hashed timing wheel shared by the whole server: it drives the ticks of every running game and
+ * the sort players passes, instead of a java.util.Timer (and so a thread) per game.
+ * <br><br>
+ * A single ticker thread advances the wheel every <code>tickMillis</code>. The wheel has a fixed
+ * number of buckets, and a task lands in the bucket of its deadline, with the number of full turns
+ * of the wheel left before it is due. Due tasks are run on the ExecutionEngine of the wheel, so
+ * a slow task (e.g. a game tick waiting for its game lock) never holds back the others.
+ * <br><br>
+ * Periodic tasks run at a fixed rate: every deadline is the previous one plus the period, so
+ * late runs don't push the following ones back. Tasks are given the time they were scheduled
+ * for, in milliseconds since the epoch, like <code>TimerTask.scheduledExecutionTime</code>
+ * <br><br>
+ * <h2>Thread Safety:</h2>
+ * <p>
+ *     Thread safe. Newly scheduled tasks are handed to the ticker thread through a queue, and
+ *     only the ticker thread touches the buckets. A cancelled task is never run again, although
+ *     a run that started before the cancellation may still be in progress
+ * </p>
+ */
+public class TickWheel {
+
+    /**
+     * Resolution of the wheel, in milliseconds
+     */
+    public static final long DEFAULT_TICK_MILLIS = 10;
+
+    /**
+     * Number of buckets, a power of 2. With the default resolution a turn of the wheel takes
+     * about 5 seconds, so game ticks never wait more than one turn
+     */
+    private static final int WHEEL_SIZE = 512;
+
+    private final long tickNanos;
+    private final ExecutionEngine engine;
+    private final Queue<Handle>[] buckets;
+    private final Queue<Handle> pending;
+    private final Thread ticker;
+    private final long startNanos;
+    private final long startMillis;
+    private final AtomicInteger scheduled;
+    private final AtomicLong fired;
+    private final AtomicLong totalLateNanos;
+    private final AtomicLong maxLateNanos;
+    private volatile boolean shutDown;
+
+    /**
+     * Only touched by the ticker thread
+     */
+    private long tick;
+
+    /**
+     * A task scheduled on the wheel
+     */
+    public class Handle {
+        private final LongConsumer task;
+        private final long periodNanos;
+        private volatile boolean cancelled;
+
+        /**
+         * Deadline in nanoseconds since the wheel started. Set before the handle is handed to
+         * the ticker thread, and only touched by it afterwards
+         */
+        private long deadline;
+        private long rounds;
+
+        private Handle(LongConsumer task, long deadline, long periodNanos) {
+            this.task = task;
+            this.deadline = deadline;
+            this.periodNanos = periodNanos;
+        }
+
+        /**
+         * Stops the task from being run again
+         * @return If the task was not cancelled before
+         */
+        public boolean cancel() {
+            if (cancelled) {
+                return false;
+            }
+            cancelled = true;
+            return true;
+        }
+
+        /**
+         * @return If the task was cancelled
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * Starts a wheel with the default resolution
+     * @param engine The engine the due tasks are run on
+     */
+    public TickWheel(ExecutionEngine engine) {
+        this(DEFAULT_TICK_MILLIS, engine);
+    }
+
+    /**
+     * Starts a wheel
+     * @param tickMillis Resolution of the wheel, tasks run at most this late when the engine keeps up
+     * @param engine The engine the due tasks are run on
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TickWheel(long tickMillis, ExecutionEngine engine) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive, got " + tickMillis);
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.engine = engine;
+        this.buckets = new Queue[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.scheduled = new AtomicInteger();
+        this.fired = new AtomicLong();
+        this.totalLateNanos = new AtomicLong();
+        this.maxLateNanos = new AtomicLong();
+        this.shutDown = false;
+        this.tick = 0;
+        this.startNanos = System.nanoTime();
+        this.startMillis = System.currentTimeMillis();
+        this.ticker = new Thread(this::runTicker, "tick-wheel");
+        this.ticker.setDaemon(true);
+        this.ticker.start();
+    }
+
+    /**
+     * Schedules a task to run once
+     * @param task The task, given the time it was scheduled for
+     * @param delayMillis How long from now the task runs
+     * @return The handle to cancel the task with
+     */
+    public Handle schedule(LongConsumer task, long delayMillis) {
+        return schedule(task, delayMillis, 0);
+    }
+
+    /**
+     * Schedules a task to run at a fixed rate
+     * @param task The task, given the time it was scheduled for
+     * @param delayMillis How long from now the task first runs
+     * @param periodMillis Time between the runs of the task, or 0 to run it once
+     * @return The handle to cancel the task with
+     */
+    public Handle schedule(LongConsumer task, long delayMillis, long periodMillis) {
+        if (delayMillis < 0 || periodMillis < 0) {
+            throw new IllegalArgumentException("Delay and period must not be negative");
+        }
+        if (shutDown) {
+            throw new IllegalStateException("The wheel was shut down");
+        }
+        long deadline = System.nanoTime() - startNanos + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        Handle handle = new Handle(task, deadline, TimeUnit.MILLISECONDS.toNanos(periodMillis));
+        scheduled.incrementAndGet();
+        pending.add(handle);
+        return handle;
+    }
+
+    private void runTicker() {
+        while (!shutDown) {
+            long tickEnd = (tick + 1) * tickNanos;
+            long sleep;
+            while ((sleep = tickEnd - (System.nanoTime() - startNanos)) > 0) {
+                LockSupport.parkNanos(sleep);
+                if (shutDown) {
+                    return;
+                }
+            }
+            transferPending();
+            expire(buckets[(int) (tick & (WHEEL_SIZE - 1))]);
+            tick++;
+        }
+    }
+
+    /**
+     * Places the newly scheduled tasks in their buckets
+     */
+    private void transferPending() {
+        Handle handle;
+        while ((handle = pending.poll()) != null) {
+            if (handle.cancelled) {
+                scheduled.decrementAndGet();
+                continue;
+            }
+            // Due in the tick that ends at or after the deadline, but never in a tick that has passed
+            long dueTick = Math.max(tick, (handle.deadline + tickNanos - 1) / tickNanos - 1);
+            handle.rounds = (dueTick - tick) / WHEEL_SIZE;
+            buckets[(int) (dueTick & (WHEEL_SIZE - 1))].add(handle);
+        }
+    }
+
+    /**
+     * Runs the tasks of the bucket which are due in this turn of the wheel
+     */
+    private void expire(Queue<Handle> bucket) {
+        for (int i = bucket.size(); i > 0; i--) {
+            Handle handle = bucket.remove();
+            if (handle.cancelled) {
+                scheduled.decrementAndGet();
+            } else if (handle.rounds > 0) {
+                handle.rounds--;
+                bucket.add(handle);
+            } else {
+                fire(handle);
+            }
+        }
+    }
+
+    private void fire(Handle handle) {
+        long deadline = handle.deadline;
+        long scheduledMillis = startMillis + TimeUnit.NANOSECONDS.toMillis(deadline);
+        engine.execute(() -> {
+            if (handle.cancelled) {
+                return;
+            }
+            long late = Math.max(0, System.nanoTime() - startNanos - deadline);
+            fired.incrementAndGet();
+            totalLateNanos.addAndGet(late);
+            maxLateNanos.accumulateAndGet(late, Math::max);
+            handle.task.accept(scheduledMillis);
+        });
+        if (handle.periodNanos > 0) {
+            handle.deadline += handle.periodNanos;
+            pending.add(handle);
+        } else {
+            scheduled.decrementAndGet();
+        }
+    }
+
+    /**
+     * Stops the ticker thread. Tasks that are due are not run anymore, the engine is left running
+     */
+    public void shutdown() {
+        shutDown = true;
+        LockSupport.unpark(ticker);
+    }
+
+    /**
+     * @return Number of tasks on the wheel, cancelled ones included until the wheel drops them
+     */
+    public int getScheduledCount() {
+        return scheduled.get();
+    }
+
+    /**
+     * @return Number of task runs so far
+     */
+    public long getFiredCount() {
+        return fired.get();
+    }
+
+    /**
+     * @return Average of how late the task runs started, in milliseconds
+     */
+    public double getAverageLateMillis() {
+        long runs = fired.get();
+        return runs == 0 ? 0 : totalLateNanos.get() / 1e6 / runs;
+    }
+
+    /**
+     * @return The latest a task run started, in milliseconds
+     */
+    public double getMaxLateMillis() {
+        return maxLateNanos.get() / 1e6;
+    }
+}
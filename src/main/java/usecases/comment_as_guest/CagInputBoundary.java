@@ -1,5 +1,9 @@
 package usecases.comment_as_guest;
 
+import usecases.Response;
+
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Input boundary for Comment As Guest use case
  */
@@ -12,4 +16,26 @@ public interface CagInputBoundary {
      * @param pres output boundary for this use case
      */
     void commentAsGuest(CagInputData data, CagOutputBoundary pres);
+
+    /**
+     * Non-blocking variant, for callers which don't want a presenter: the returned future is
+     * completed with the outcome of posting the comment, or with a SHUTTING_DOWN response if the server shuts down
+     * @param data Input data for this use case
+     * @return Future of the output of this use case
+     */
+    default CompletableFuture<CagOutputData> commentAsGuest(CagInputData data) {
+        CompletableFuture<CagOutputData> future = new CompletableFuture<>();
+        commentAsGuest(data, new CagOutputBoundary() {
+            @Override
+            public void commentAsGuestOutput(CagOutputData output) {
+                future.complete(output);
+            }
+
+            @Override
+            public void outputShutdownServer() {
+                future.complete(new CagOutputData(Response.getShuttingDown()));
+            }
+        });
+        return future;
+    }
 }
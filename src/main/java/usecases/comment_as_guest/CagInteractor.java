@@ -101,9 +101,11 @@ public class CagInteractor implements CagInputBoundary {
      */
     public void commentAsGuest(CagInputData data, CagOutputBoundary pres) {
         InterruptibleThread thread = new CagThread(data, pres);
-        boolean success = register.registerThread(thread);
-        if (!success) {
+        ThreadRegister.Admission admission = register.registerThread(thread);
+        if (admission == ThreadRegister.Admission.SHUTTING_DOWN) {
             pres.outputShutdownServer();
+        } else if (admission == ThreadRegister.Admission.OVERLOADED) {
+            pres.commentAsGuestOutput(new CagOutputData(Response.getOverloaded()));
         }
     }
 
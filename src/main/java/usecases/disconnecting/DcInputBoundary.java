@@ -1,5 +1,9 @@
 package usecases.disconnecting;
 
+import usecases.Response;
+
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Input Boundary interface for Disconnecting Use Case
  * It is implemented by DcInteractor
@@ -13,4 +17,26 @@ public interface DcInputBoundary {
      * @param pres output boundary for this use case
      */
     void disconnect(DcInputData data, DcOutputBoundary pres);
+
+    /**
+     * Non-blocking variant, for callers which don't want a presenter: the returned future is
+     * completed with the outcome of the disconnection, or with a SHUTTING_DOWN response if the server shuts down
+     * @param data Input data for this use case
+     * @return Future of the output of this use case
+     */
+    default CompletableFuture<DcOutputData> disconnect(DcInputData data) {
+        CompletableFuture<DcOutputData> future = new CompletableFuture<>();
+        disconnect(data, new DcOutputBoundary() {
+            @Override
+            public void hasDisconnected(DcOutputData output) {
+                future.complete(output);
+            }
+
+            @Override
+            public void outputShutdownServer() {
+                future.complete(new DcOutputData(Response.getShuttingDown(), data.getPlayerId()));
+            }
+        });
+        return future;
+    }
 }
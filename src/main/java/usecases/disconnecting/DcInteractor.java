@@ -5,6 +5,8 @@ import entities.Player;
 import entities.PlayerPoolListener;
 import exceptions.GameDoesntExistException;
 import exceptions.PlayerNotFoundException;
+import org.jetbrains.annotations.Nullable;
+import usecases.GameActors;
 import usecases.InterruptibleThread;
 import usecases.Response;
 import usecases.ThreadRegister;
@@ -17,7 +19,6 @@ import java.util.concurrent.locks.Lock;
 public class DcInteractor implements DcInputBoundary {
     private final LobbyManager lm;
     private final Lock playerPoolLock;
-    private final Lock gameLock;
 
     /**
      * The ThreadRegister that keeps track of all the running use case threads
@@ -25,15 +26,30 @@ public class DcInteractor implements DcInputBoundary {
      */
     private final ThreadRegister register;
 
+    /**
+     * Mailboxes of the games in actor mode, null if the game locks are engaged instead
+     */
+    @Nullable
+    private final GameActors actors;
+
     /**
      * Constructor for DcInteractor
      * @param lm Lobby Manager
      */
     public DcInteractor(LobbyManager lm, ThreadRegister register) {
+        this(lm, register, null);
+    }
+
+    /**
+     * Constructor for DcInteractor
+     * @param lm Lobby Manager
+     * @param actors Mailboxes of the games to post the leaving players to, or null to engage the game locks
+     */
+    public DcInteractor(LobbyManager lm, ThreadRegister register, @Nullable GameActors actors) {
         this.lm = lm;
         this.playerPoolLock = lm.getPlayerPoolLock();
-        this.gameLock = lm.getGameLock();
         this.register = register;
+        this.actors = actors;
     }
 
     /**
@@ -44,8 +60,11 @@ public class DcInteractor implements DcInputBoundary {
     @Override
     public void disconnect(DcInputData data, DcOutputBoundary pres) {
         InterruptibleThread dcThread = this.new DcThread(data.getPlayerId(), pres);
-        if (!register.registerThread(dcThread)) {
+        ThreadRegister.Admission admission = register.registerThread(dcThread);
+        if (admission == ThreadRegister.Admission.SHUTTING_DOWN) {
             pres.outputShutdownServer();
+        } else if (admission == ThreadRegister.Admission.OVERLOADED) {
+            pres.hasDisconnected(new DcOutputData(Response.getOverloaded(), data.getPlayerId()));
         }
     }
 
@@ -85,6 +104,9 @@ public class DcInteractor implements DcInputBoundary {
 
             PlayerPoolListener playerListener = null;
 
+            // Game the player is leaving in actor mode, null otherwise
+            LobbyManager.HostedGame leftGame = null;
+
             try {
                 // If player was not in pool, throw exception, run catch, and release pool in finally block
                 if(playerLink == null) {
@@ -98,33 +120,28 @@ public class DcInteractor implements DcInputBoundary {
                 // if player isn't in pool so no need to check contains explicitly
                 lm.removeFromPoolCancel(playerToDisconnect);
             } catch (PlayerNotFoundException ignored) {
-                gameLock.lock();
                 try {
                     // In this catch block, we know player was not in the pool. However, we don't know if the player
-                    // is in the game. We try to see if the player is in the game using .contains, which uses .equals,
-                    // so only playerIDs are compared. If the game is null, GameDoesntExistException is thrown.
-                    if (lm.getPlayersFromGame().contains(playerToDisconnect)){
-                        // The player is in the game. We then check if it's the player's turn.
-                        // If it is, then we switch the turn so play can continue.
-                        if (lm.getCurrentTurnPlayer().getPlayerId().equals(this.playerId)) {
-                            // Switch turn returns a boolean of whether switch turn succeeded.
-                            // In this case, it should succeed! If game makes it fail for whatever reason
-                            // then we have an issue. TODO: Perhaps switch turn should not be allowed to fail
-                            lm.switchTurn();
+                    // is in a game. The lobby routes the player to their game, if no game is hosted,
+                    // GameDoesntExistException is thrown, if the player is in none, PlayerNotFoundException.
+                    LobbyManager.HostedGame hosted = lm.getGameOfPlayer(this.playerId);
+                    if (actors != null) {
+                        // Posted once the pool is released, the game replies from its mailbox
+                        leftGame = hosted;
+                    } else {
+                        Lock gameLock = hosted.getLock();
+                        gameLock.lock();
+                        try {
+                            response = leaveGame(hosted, playerToDisconnect);
+                        } finally {
+                            gameLock.unlock();
                         }
-                        // Now try to remove player from game.
-                        lm.removePlayerFromGame(playerToDisconnect);
-                    }
-                    else {
-                        throw new PlayerNotFoundException("Player is not present in the pool or the game.");
                     }
 
                 } catch (PlayerNotFoundException | GameDoesntExistException e) {
                     // In both PlayerNotFound & GameDoesntExist, player was
                     // not found to be in the game, so respond with fail
                     response = Response.fromException(e, "Player not found");
-                } finally {
-                    gameLock.unlock();
                 }
             }
             finally {
@@ -134,8 +151,78 @@ public class DcInteractor implements DcInputBoundary {
                 playerPoolLock.unlock();
             }
 
-            DcOutputData outputData = new DcOutputData(response, playerId);
-            pres.hasDisconnected(outputData);
+            if (leftGame != null) {
+                // Admitted and drained on shutdown like the threads which engage the game lock
+                InterruptibleThread leaveThread = new DcLeaveThread(leftGame, playerToDisconnect, pres);
+                ThreadRegister.Admission admission = register.registerThread(leaveThread, actors.of(leftGame));
+                if (admission == ThreadRegister.Admission.SHUTTING_DOWN) {
+                    pres.outputShutdownServer();
+                } else if (admission == ThreadRegister.Admission.OVERLOADED) {
+                    pres.hasDisconnected(new DcOutputData(Response.getOverloaded(), playerId));
+                }
+            } else {
+                respond(playerId, response, pres);
+            }
         }
     }
+
+    /**
+     * Actor mode: thread which removes the player from their game, run on the mailbox of the game
+     */
+    public class DcLeaveThread extends InterruptibleThread {
+        private final LobbyManager.HostedGame hosted;
+        private final Player playerToDisconnect;
+        private final DcOutputBoundary pres;
+
+        /**
+         * @param hosted The game the player is leaving
+         * @param playerToDisconnect The player
+         * @param pres output boundary for this use case
+         */
+        public DcLeaveThread(LobbyManager.HostedGame hosted, Player playerToDisconnect, DcOutputBoundary pres) {
+            super(DcInteractor.this.register, pres);
+            this.hosted = hosted;
+            this.playerToDisconnect = playerToDisconnect;
+            this.pres = pres;
+        }
+
+        @Override
+        public void threadLogic() {
+            respond(playerToDisconnect.getPlayerId(), leaveGame(hosted, playerToDisconnect), pres);
+        }
+    }
+
+    /**
+     * Removes the player from the hosted game, passing the turn on first if it was theirs.
+     * Engage the lock of the game, or run on its mailbox, surrounding use
+     * @return The response to the disconnecting player
+     */
+    private Response leaveGame(LobbyManager.HostedGame hosted, Player playerToDisconnect) {
+        try {
+            // The player is in the game. We then check if it's the player's turn.
+            // If it is, then we switch the turn so play can continue.
+            if (hosted.getGame().getCurrentTurnPlayer().getPlayerId().equals(playerToDisconnect.getPlayerId())) {
+                // Switch turn returns a boolean of whether switch turn succeeded.
+                // In this case, it should succeed! If game makes it fail for whatever reason
+                // then we have an issue. TODO: Perhaps switch turn should not be allowed to fail
+                lm.switchTurn(hosted);
+            }
+            // Now try to remove player from game. Throws PlayerNotFound if the player
+            // left the game before its lock was engaged
+            lm.removePlayerFromGame(playerToDisconnect);
+            return Response.getSuccessful("Disconnecting was successful.");
+        } catch (PlayerNotFoundException | GameDoesntExistException e) {
+            return Response.fromException(e, "Player not found");
+        }
+    }
+
+    private void respond(String playerId, Response response, DcOutputBoundary pres) {
+        // The player left, so their ID may be used again
+        if (response.getCode() == Response.ResCode.SUCCESS) {
+            lm.releasePlayerId(playerId);
+        }
+
+        DcOutputData outputData = new DcOutputData(response, playerId);
+        pres.hasDisconnected(outputData);
+    }
 }
@@ -1,5 +1,9 @@
 package usecases.get_all_titles;
 
+import usecases.Response;
+
+import java.util.concurrent.CompletableFuture;
+
 /**
  * The input boundary for the get all titles use case. It is used to initiate the use case.
  */
@@ -10,4 +14,26 @@ public interface GatInputBoundary {
      * @param data  the input data for this use case
      */
     void getAllTitles(GatInputData data, GatOutputBoundary pres);
+
+    /**
+     * Non-blocking variant, for callers which don't want a presenter: the returned future is
+     * completed with the suggested titles, or with a SHUTTING_DOWN response if the server shuts down
+     * @param data Input data for this use case
+     * @return Future of the output of this use case
+     */
+    default CompletableFuture<GatOutputData> getAllTitles(GatInputData data) {
+        CompletableFuture<GatOutputData> future = new CompletableFuture<>();
+        getAllTitles(data, new GatOutputBoundary() {
+            @Override
+            public void putSuggestedTitles(GatOutputData output) {
+                future.complete(output);
+            }
+
+            @Override
+            public void outputShutdownServer() {
+                future.complete(new GatOutputData(null, Response.getShuttingDown()));
+            }
+        });
+        return future;
+    }
 }
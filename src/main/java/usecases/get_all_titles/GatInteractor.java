@@ -1,7 +1,10 @@
 package usecases.get_all_titles;
 
+import org.jetbrains.annotations.Nullable;
 import usecases.InterruptibleThread;
 import usecases.RepoRes;
+import usecases.Response;
+import usecases.SingleFlight;
 import usecases.ThreadRegister;
 import usecases.TitleRepoData;
 import usecases.shutdown_server.SsOutputBoundary;
@@ -15,14 +18,32 @@ public class GatInteractor implements GatInputBoundary{
     private final ThreadRegister register;
 
     /**
-     * Constructor for the Interactor.
+     * Concurrent requests for the same story share one read of its titles, null if they don't
+     */
+    @Nullable
+    private final SingleFlight<Integer, RepoRes<TitleRepoData>> titles;
+
+    /**
+     * Constructor for the Interactor, which coalesces concurrent requests for the same story.
      * @param repo      the repository for this use case: implements the Gateway interface method to get all titles
      *                  for a specified story in this repo
      * @param register  a ThreadRegister object that records all the threads that are running at a particular time.
      */
     public GatInteractor(GatGatewayTitles repo, ThreadRegister register) {
+        this(repo, register, true);
+    }
+
+    /**
+     * Constructor for the Interactor.
+     * @param repo      the repository for this use case: implements the Gateway interface method to get all titles
+     *                  for a specified story in this repo
+     * @param register  a ThreadRegister object that records all the threads that are running at a particular time.
+     * @param coalesce  if concurrent requests for the same story should share one repository read
+     */
+    public GatInteractor(GatGatewayTitles repo, ThreadRegister register, boolean coalesce) {
         this.repo = repo;
         this.register = register;
+        this.titles = coalesce ? new SingleFlight<>() : null;
     }
 
     /**
@@ -49,14 +70,17 @@ public class GatInteractor implements GatInputBoundary{
          * Implementation of the threadLogic() method in the InterruptibleThread interface. This method carries out
          * all the processes in the Get All Titles use case, and is called from within the run() method for GatThread
          * which is inherited from InterruptibleThread. The processes carried out in this method are:
-         * 1. Retrieve all suggested titles from the repository using the getAllTitles() method
+         * 1. Retrieve all suggested titles from the repository using the getAllTitles() method, or share the
+         *    retrieval already in flight for the same story
          * 2. Construct an output data object that contains the response and the suggested titles (which can be
          *    null in the case of a failed request)
          * 3. Pass the output data to the presenter, which updates the view model using method putSuggestedTitles()
          */
-        public void threadLogic(){
+        public void threadLogic() throws InterruptedException {
             int storyId = data.getStoryId();
-            RepoRes<TitleRepoData> suggestedTitles = repo.getAllTitles(storyId);
+            // The titles may be shared with other requests for the same story
+            RepoRes<TitleRepoData> suggestedTitles = titles == null ? repo.getAllTitles(storyId)
+                    : titles.load(storyId, () -> repo.getAllTitles(storyId));
 
             // Passes along Repo fail response if it failed
             if (!suggestedTitles.isSuccess()) {
@@ -80,7 +104,11 @@ public class GatInteractor implements GatInputBoundary{
     @Override
     public void getAllTitles(GatInputData data, GatOutputBoundary pres){
         InterruptibleThread thread = new GatThread(data, pres);
-        boolean success = register.registerThread(thread);
-        if (!success){pres.outputShutdownServer();}
+        ThreadRegister.Admission admission = register.registerThread(thread);
+        if (admission == ThreadRegister.Admission.SHUTTING_DOWN) {
+            pres.outputShutdownServer();
+        } else if (admission == ThreadRegister.Admission.OVERLOADED) {
+            pres.putSuggestedTitles(new GatOutputData(null, Response.getOverloaded()));
+        }
     }
 }
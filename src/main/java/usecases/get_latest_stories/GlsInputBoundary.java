@@ -1,5 +1,9 @@
 package usecases.get_latest_stories;
 
+import usecases.Response;
+
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Input Boundary Interface for Get Latest Stories use-case.
  * Implemented by GlsInteractor
@@ -12,4 +16,26 @@ public interface GlsInputBoundary {
      * @param pres output boundary for this use case
      */
     void getLatestStories(GlsInputData data, GlsOutputBoundary pres);
+
+    /**
+     * Non-blocking variant, for callers which don't want a presenter: the returned future is
+     * completed with the latest stories, or with a SHUTTING_DOWN response if the server shuts down
+     * @param data Input data for this use case
+     * @return Future of the output of this use case
+     */
+    default CompletableFuture<GlsOutputData> getLatestStories(GlsInputData data) {
+        CompletableFuture<GlsOutputData> future = new CompletableFuture<>();
+        getLatestStories(data, new GlsOutputBoundary() {
+            @Override
+            public void putStories(GlsOutputData output) {
+                future.complete(output);
+            }
+
+            @Override
+            public void outputShutdownServer() {
+                future.complete(new GlsOutputData(null, Response.getShuttingDown()));
+            }
+        });
+        return future;
+    }
 }
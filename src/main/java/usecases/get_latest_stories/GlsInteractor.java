@@ -1,11 +1,13 @@
 package usecases.get_latest_stories;
 
+import org.jetbrains.annotations.Nullable;
 import usecases.*;
 
 import java.util.Arrays;
 
 /**
- * Interactor for Get Latest Stories use-case
+ * Interactor for Get Latest Stories use-case. Concurrent requests are coalesced (see SingleFlight):
+ * whatever number of stories they ask for, they share one read and sort of all the stories
  */
 public class GlsInteractor implements GlsInputBoundary{
 
@@ -17,20 +19,57 @@ public class GlsInteractor implements GlsInputBoundary{
      */
     private final ThreadRegister register;
 
+    private static final String ALL_STORIES = "all";
+
     /**
-     * Constructor for GlsInteractor
+     * Concurrent requests share one read and sort of all the stories, null if they don't
+     */
+    @Nullable
+    private final SingleFlight<String, StoryRepoData[]> sortedStories;
+
+    /**
+     * Constructor for GlsInteractor, which coalesces concurrent requests
      * @param repo GlsGateway used by this interactor
      */
     public GlsInteractor(GlsGatewayStory repo, ThreadRegister register) {
+        this(repo, register, true);
+    }
+
+    /**
+     * Constructor for GlsInteractor
+     * @param repo GlsGateway used by this interactor
+     * @param coalesce If concurrent requests should share one repository read and sort
+     */
+    public GlsInteractor(GlsGatewayStory repo, ThreadRegister register, boolean coalesce) {
         this.repo = repo;
         this.register = register;
+        this.sortedStories = coalesce ? new SingleFlight<>() : null;
+    }
+
+    /**
+     * Reads all the stories and sorts them, latest first
+     * @return The sorted stories, or null if the DB failed to get them
+     */
+    @Nullable
+    private StoryRepoData[] readSortedStories() {
+        RepoRes<StoryRepoData> res = repo.getAllStories();
+        if (!res.isSuccess()) {
+            return null;
+        }
+        // toArray can't produce a null pointer if res code is success
+        StoryRepoData[] stories = res.getRows().toArray(new StoryRepoData[0]);
+        Arrays.sort(stories);
+        return stories;
     }
 
     @Override
     public void getLatestStories(GlsInputData data, GlsOutputBoundary pres) {
         InterruptibleThread thread = new GlsThread(data, pres);
-        if (!register.registerThread(thread)) {
+        ThreadRegister.Admission admission = register.registerThread(thread);
+        if (admission == ThreadRegister.Admission.SHUTTING_DOWN) {
             pres.outputShutdownServer();
+        } else if (admission == ThreadRegister.Admission.OVERLOADED) {
+            pres.putStories(new GlsOutputData(null, Response.getOverloaded()));
         }
     }
 
@@ -53,38 +92,32 @@ public class GlsInteractor implements GlsInputBoundary{
         }
 
         @Override
-        public void threadLogic() {
-            RepoRes<StoryRepoData> res = repo.getAllStories();
+        public void threadLogic() throws InterruptedException {
+            // The sorted stories may be shared with other requests, so they are copied, never changed
+            StoryRepoData[] stories = sortedStories == null ? readSortedStories()
+                    : sortedStories.load(ALL_STORIES, GlsInteractor.this::readSortedStories);
 
             // DB Failed to get stories
-            if (!res.isSuccess()) {
+            if (stories == null) {
                 pres.putStories(new GlsOutputData(null,
                         Response.getFailure("DB Failed to get stories")));
             }
 
             // DB Successfully retrieved stories
             else {
-                // toArray can't produce a null pointer if res code is success
-                StoryRepoData[] stories = res.getRows().toArray(new StoryRepoData[0]);
-
-                Arrays.sort(stories);
-
                 if (data.getNumToGet() != null && data.getNumToGet() <= stories.length){
 
-                    StoryRepoData[] stories2 = new StoryRepoData[data.getNumToGet()];
-                    if (data.getNumToGet() >= 0) System.arraycopy(stories, 0, stories2, 0, data.getNumToGet());
+                    StoryRepoData[] stories2 = Arrays.copyOf(stories, data.getNumToGet());
                     GlsOutputData outputData2 = new GlsOutputData(Arrays.asList(stories2),
                             Response.getSuccessful("Succesfully got stories"));
                     pres.putStories(outputData2);
                 }
                 else{
-                    GlsOutputData outputData1 = new GlsOutputData(Arrays.asList(stories),
+                    GlsOutputData outputData1 = new GlsOutputData(Arrays.asList(stories.clone()),
                             Response.getSuccessful("Successfully got stories"));
                     pres.putStories(outputData1);
                 }
             }
-
-
         }
     }
 }
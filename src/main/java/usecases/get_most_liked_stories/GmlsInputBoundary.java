@@ -1,5 +1,9 @@
 package usecases.get_most_liked_stories;
 
+import usecases.Response;
+
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Defines the abstract method to begin the Get Most Liked Stories use case
  */
@@ -11,4 +15,26 @@ public interface GmlsInputBoundary {
      * @param pres output boundary for this use case
      */
     void getMostLikedStories (GmlsInputData data, GmlsOutputBoundary pres);
+
+    /**
+     * Non-blocking variant, for callers which don't want a presenter: the returned future is
+     * completed with the most liked stories, or with a SHUTTING_DOWN response if the server shuts down
+     * @param data Input data for this use case
+     * @return Future of the output of this use case
+     */
+    default CompletableFuture<GmlsOutputData> getMostLikedStories(GmlsInputData data) {
+        CompletableFuture<GmlsOutputData> future = new CompletableFuture<>();
+        getMostLikedStories(data, new GmlsOutputBoundary() {
+            @Override
+            public void putStories(GmlsOutputData output) {
+                future.complete(output);
+            }
+
+            @Override
+            public void outputShutdownServer() {
+                future.complete(new GmlsOutputData(null, Response.getShuttingDown()));
+            }
+        });
+        return future;
+    }
 }
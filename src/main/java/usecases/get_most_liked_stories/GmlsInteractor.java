@@ -1,5 +1,6 @@
 package usecases.get_most_liked_stories;
 
+import org.jetbrains.annotations.Nullable;
 import usecases.*;
 
 import java.util.Arrays;
@@ -14,14 +15,34 @@ public class GmlsInteractor implements GmlsInputBoundary {
      */
     private final ThreadRegister register;
 
+    private static final String ALL_STORIES = "all";
+
     /**
-     * Constructor for use case interactor
+     * Concurrent requests share one read and sort of all the stories, null if they don't
+     */
+    @Nullable
+    private final SingleFlight<String, StoryRepoData[]> sortedStories;
+
+    /**
+     * Constructor for use case interactor, which coalesces concurrent requests
      *
      * @param repo the repository from which the stories will be extracted
      */
     public GmlsInteractor(GmlsGatewayStory repo, ThreadRegister register) {
+        this(repo, register, true);
+    }
+
+    /**
+     * Constructor for use case interactor
+     *
+     * @param repo the repository from which the stories will be extracted
+     * @param coalesce if concurrent requests, whatever their range, should share one repository
+     *                 read and sort
+     */
+    public GmlsInteractor(GmlsGatewayStory repo, ThreadRegister register, boolean coalesce) {
         this.repo = repo;
         this.register = register;
+        this.sortedStories = coalesce ? new SingleFlight<>() : null;
     }
 
     /**
@@ -49,25 +70,40 @@ public class GmlsInteractor implements GmlsInputBoundary {
          * (no addition or deletion of stories)
          */
         @Override
-        public void threadLogic() {
-            RepoRes<StoryRepoData> res = repo.getAllStories();
+        public void threadLogic() throws InterruptedException {
+            StoryRepoData[] stories = sortedStories == null ? readSortedStories()
+                    : sortedStories.load(ALL_STORIES, this::readSortedStories);
 
             // DB Has failed to get the stories
-            if (!res.isSuccess()) {
+            if (stories == null) {
                 pres.putStories(new GmlsOutputData(null,
                         Response.getFailure("DB Failed to retrieve stories")));
             }
 
             // DB Has gotten the stories
             else {
-                StoryRepoData[] stories = res.getRows().toArray(new StoryRepoData[0]);
-
-                StoryRepoData[] outputStories = sortAndExtractStories(stories, this.data);
+                StoryRepoData[] outputStories = extractStories(stories, this.data);
                 pres.putStories(new GmlsOutputData(Arrays.asList(outputStories),
                         Response.getSuccessful("Stories successfully extracted")));
             }
         }
 
+        /**
+         * Reads all the stories and sorts them in descending order of likes
+         *
+         * @return the sorted stories, or null if the DB failed to retrieve them
+         */
+        @Nullable
+        private StoryRepoData[] readSortedStories() {
+            RepoRes<StoryRepoData> res = repo.getAllStories();
+            if (!res.isSuccess()) {
+                return null;
+            }
+            StoryRepoData[] stories = res.getRows().toArray(new StoryRepoData[0]);
+            sortStoriesByLikes(stories);
+            return stories;
+        }
+
         /**
          * Comparator class to sort Stories in descending order.
          */
@@ -101,15 +137,14 @@ public class GmlsInteractor implements GmlsInputBoundary {
         }
 
         /**
-         * Private Helper Method to sort the stories in descending order and extract the desired range.
-         * This is a mutating method and mutates stories by sorting them only (no addition or deletion of stories)
+         * Private Helper Method to extract the desired range of the sorted stories.
+         * Doesn't mutate stories, since they may be shared with other requests
          *
-         * @param stories the stories to be sorted and from which the desired range should be extracted
+         * @param stories the stories sorted in descending order, from which the desired range should be extracted
          * @param data    the input data specifying the lower and upper bounds for the range
-         * @return the range of stories sorted in descending
+         * @return a copy of the range of stories sorted in descending
          */
-        private StoryRepoData[] sortAndExtractStories(StoryRepoData[] stories, GmlsInputData data) {
-            sortStoriesByLikes(stories);
+        private StoryRepoData[] extractStories(StoryRepoData[] stories, GmlsInputData data) {
             int[] INDICES = getIndices(stories, data.getLowerInclusive(), data.getUpperExclusive());
             return Arrays.copyOfRange(stories, INDICES[0], INDICES[1]);
         }
@@ -142,7 +177,7 @@ public class GmlsInteractor implements GmlsInputBoundary {
         }
 
         /**
-         * Private helper method for helper method sortAndExtractStories. Returns an array containing the indices
+         * Private helper method for helper method extractStories. Returns an array containing the indices
          * that specify the desired range of stories in the StoryData[] object stories.
          * Precondition: stories is sorted in descending order of likes
          *
@@ -182,8 +217,11 @@ public class GmlsInteractor implements GmlsInputBoundary {
      */
     public void getMostLikedStories(GmlsInputData data, GmlsOutputBoundary pres) {
         InterruptibleThread thread = new GmlsThread(data, pres);
-        if (!register.registerThread(thread)) {
+        ThreadRegister.Admission admission = register.registerThread(thread);
+        if (admission == ThreadRegister.Admission.SHUTTING_DOWN) {
             pres.outputShutdownServer();
+        } else if (admission == ThreadRegister.Admission.OVERLOADED) {
+            pres.putStories(new GmlsOutputData(null, Response.getOverloaded()));
         }
     }
 
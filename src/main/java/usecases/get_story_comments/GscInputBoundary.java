@@ -1,5 +1,9 @@
 package usecases.get_story_comments;
 
+import usecases.Response;
+
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Input boundary for Get Story Comments use case
  */
@@ -11,4 +15,26 @@ public interface GscInputBoundary {
      * @param pres output boundary for this use case
      */
     void getStoryComments(GscInputData data, GscOutputBoundary pres);
+
+    /**
+     * Non-blocking variant, for callers which don't want a presenter: the returned future is
+     * completed with the comments of the story, or with a SHUTTING_DOWN response if the server shuts down
+     * @param data Input data for this use case
+     * @return Future of the output of this use case
+     */
+    default CompletableFuture<GscOutputData> getStoryComments(GscInputData data) {
+        CompletableFuture<GscOutputData> future = new CompletableFuture<>();
+        getStoryComments(data, new GscOutputBoundary() {
+            @Override
+            public void putStoryComments(GscOutputData output) {
+                future.complete(output);
+            }
+
+            @Override
+            public void outputShutdownServer() {
+                future.complete(new GscOutputData(null, Response.getShuttingDown()));
+            }
+        });
+        return future;
+    }
 }
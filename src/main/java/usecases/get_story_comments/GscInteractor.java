@@ -1,5 +1,6 @@
 package usecases.get_story_comments;
 
+import org.jetbrains.annotations.Nullable;
 import usecases.*;
 
 /**
@@ -11,14 +12,31 @@ public class GscInteractor implements GscInputBoundary {
     private final ThreadRegister register;
 
     /**
-     * Constructor for GscInteractor
+     * Concurrent requests for the same story share one read of its comments, null if they don't
+     */
+    @Nullable
+    private final SingleFlight<Integer, RepoRes<CommentRepoData>> comments;
+
+    /**
+     * Constructor for GscInteractor, which coalesces concurrent requests
      * @param repo a repository, or gateway
      * @param register register for the thread
      */
     public GscInteractor(GscGatewayComments repo, ThreadRegister register) {
+        this(repo, register, true);
+    }
+
+    /**
+     * Constructor for GscInteractor
+     * @param repo a repository, or gateway
+     * @param register register for the thread
+     * @param coalesce if concurrent requests for the same story should share one repository read
+     */
+    public GscInteractor(GscGatewayComments repo, ThreadRegister register, boolean coalesce) {
 
         this.repo = repo;
         this.register = register;
+        this.comments = coalesce ? new SingleFlight<>() : null;
     }
 
     /**
@@ -45,7 +63,10 @@ public class GscInteractor implements GscInputBoundary {
 
             GscOutputData output;
             // true if there were no database errors
-            RepoRes<CommentRepoData> res = repo.getAllComments(data.getStoryId());
+            // The comments may be shared with other requests for the same story
+            int storyId = data.getStoryId();
+            RepoRes<CommentRepoData> res = comments == null ? repo.getAllComments(storyId)
+                    : comments.load(storyId, () -> repo.getAllComments(storyId));
 
             if (res.isSuccess()) {
                 output = new GscOutputData(
@@ -68,9 +89,11 @@ public class GscInteractor implements GscInputBoundary {
      */
     public void getStoryComments(GscInputData data, GscOutputBoundary pres) {
         InterruptibleThread thread = new GscThread(data, pres);
-        boolean success = register.registerThread(thread);
-        if (!success) {
+        ThreadRegister.Admission admission = register.registerThread(thread);
+        if (admission == ThreadRegister.Admission.SHUTTING_DOWN) {
             pres.outputShutdownServer();
+        } else if (admission == ThreadRegister.Admission.OVERLOADED) {
+            pres.putStoryComments(new GscOutputData(null, Response.getOverloaded()));
         }
     }
 }
@@ -1,5 +1,9 @@
 package usecases.join_public_lobby;
 
+import usecases.Response;
+
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Defines the methods of the JplInteractor which are exposed
  * to the adapters layer (controller)
@@ -13,4 +17,42 @@ public interface JplInputBoundary {
      * @param pres output boundary for this use case
      */
     void joinPublicLobby(JplInputData data, JplOutputBoundary pres);
+
+    /**
+     * Non-blocking variant, for callers which don't want a presenter: the returned future is
+     * completed once the player is sorted into a game. If the player can't join the pool, or the
+     * server shuts down, it is completed with the failure response and no game data instead.
+     * If the player cancels their pool waiting, the future is cancelled
+     * @param data Describes player who wishes to join a public lobby
+     * @return Future of the game the player joined
+     */
+    default CompletableFuture<JplOutputDataJoinedGame> joinPublicLobby(JplInputData data) {
+        CompletableFuture<JplOutputDataJoinedGame> future = new CompletableFuture<>();
+        joinPublicLobby(data, new JplOutputBoundary() {
+            @Override
+            public void inPool(JplOutputDataResponse dataJoinedPool) {
+                // Joining the pool is only an intermediate step, unless it failed
+                if (dataJoinedPool.getRes().getCode() != Response.ResCode.SUCCESS) {
+                    future.complete(new JplOutputDataJoinedGame(dataJoinedPool.getRes(),
+                            dataJoinedPool.getPlayerId(), null));
+                }
+            }
+
+            @Override
+            public void inGame(JplOutputDataJoinedGame dataJoinedGame) {
+                future.complete(dataJoinedGame);
+            }
+
+            @Override
+            public void cancelled(JplOutputDataResponse dataCancelled) {
+                future.cancel(false);
+            }
+
+            @Override
+            public void outputShutdownServer() {
+                future.complete(new JplOutputDataJoinedGame(Response.getShuttingDown(), data.getId(), null));
+            }
+        });
+        return future;
+    }
 }
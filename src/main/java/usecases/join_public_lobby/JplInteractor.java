@@ -5,29 +5,32 @@ import entities.Player;
 import entities.PlayerPoolListener;
 import entities.games.Game;
 import exceptions.EntityException;
+import org.jetbrains.annotations.Nullable;
+import usecases.GameActors;
 import usecases.GameDTO;
+import usecases.GameSnapshots;
 import usecases.InterruptibleThread;
 import usecases.Response;
 import usecases.ThreadRegister;
 
-import java.util.concurrent.locks.Condition;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Core class of the Join Public Lobby use case
  * Given a player who would like to join a public lobby, adds this player
- * to the matchmaking waiting pool in the entities. The thread blocks until
- * the entity responds that the player was sorted into a game or that another
- * use case was triggered to cancel this player's waiting. In both cases, the thread
- * finishes execution and notifies the view model of the corresponding development
+ * to the matchmaking waiting pool in the entities. No thread waits while the player
+ * is in the pool: the entity completes the outcome of the player once it was sorted into
+ * a game or another use case was triggered to cancel this player's waiting. In both cases,
+ * a reply is registered which notifies the view model of the corresponding development.
+ * When the server shuts down, the waiting of every player in the pool is cancelled, and since
+ * the register refuses their replies, they are told about the shutdown instead
  */
 public class JplInteractor implements JplInputBoundary {
 
     private final LobbyManager lobbyManager;
 
-    private final Lock gameLock;
-
     /**
      * The ThreadRegister that keeps track of all the running use case threads
      * for the shutdown-server use case
@@ -35,18 +38,35 @@ public class JplInteractor implements JplInputBoundary {
     private final ThreadRegister register;
 
     /**
-     * Thread which executes the core logic of this use case
+     * Mailboxes of the games in actor mode, null if the game locks are engaged instead
+     */
+    @Nullable
+    private final GameActors actors;
+
+    private final GameSnapshots snapshots;
+
+    /**
+     * Thread which adds the player to the pool. It finishes once the player is in the pool,
+     * and stays in the pool as the listener of the player, which only costs a few small objects
+     * however long the player waits
      */
     public class JplThread extends InterruptibleThread implements PlayerPoolListener {
 
-        private volatile Game game;
-        private volatile boolean hasCancelled;
+        /**
+         * Completed with the game the player joined, or cancelled if the player cancelled waiting
+         */
+        private final CompletableFuture<Game> outcome;
+
+        /**
+         * The game the player joined as the lobby hosts it, set before the outcome is completed,
+         * null if the player wasn't sorted into a hosted game
+         */
+        @Nullable
+        private volatile LobbyManager.HostedGame hosted;
         private final JplInputData data;
         private final JplOutputBoundary pres;
         private final Lock lock;
 
-        private final Condition conditionVariable;
-
         /**
          * @param data Data passed into this use case
          * @param pres output boundary for this use case
@@ -55,32 +75,40 @@ public class JplInteractor implements JplInputBoundary {
             super(JplInteractor.this.register, pres);
             this.data = data;
             this.pres = pres;
-            hasCancelled = false;
-            lock = new ReentrantLock(true);
-            conditionVariable = lock.newCondition();
+            outcome = new CompletableFuture<>();
+            lock = new ReentrantLock();
         }
 
         /**
-         * Called from another thread, sets game attribute. The run method
-         * reaches a point where is waits for either hasCancelled or game to be set
+         * Called from another thread, completes the outcome with the game, which
+         * registers the reply to the player
          * @param game The game that the player has been sorted into
          */
         @Override
         public void onJoinGamePlayer(Game game) {
-            this.game = game;
-            // There is always only one thread waiting for this signal
-            conditionVariable.signal();
+            // Without a game the player keeps waiting
+            if (game != null) {
+                outcome.complete(game);
+            }
+        }
+
+        /**
+         * Called from another thread, completes the outcome with the game the lobby hosts, which
+         * registers the reply to the player
+         * @param hosted The game that the player has been sorted into, as the lobby hosts it
+         */
+        @Override
+        public void onJoinHostedGame(LobbyManager.HostedGame hosted) {
+            this.hosted = hosted;
+            outcome.complete(hosted.getGame());
         }
 
         /**
-         * Called from another thread, sets hasCancelled to true. The run method
-         * reaches a point where is waits for either hasCancelled or game to be set
+         * Called from another thread, cancels the outcome, which registers the reply to the player
          */
         @Override
         public void onCancelPlayer() {
-            hasCancelled = true;
-            // There is always only one thread waiting for this signal
-            conditionVariable.signal();
+            outcome.cancel(false);
         }
 
         @Override
@@ -94,7 +122,8 @@ public class JplInteractor implements JplInputBoundary {
         @Override
         public void threadLogic() {
             try {
-                // It is better to always lock the whole critical section (a useful rule of thumb)
+                // Held until the player heard they are in the pool, so that the callbacks,
+                // which engage the lock, can't reply before that
                 lock.lock();
 
                 // Throws IdInUseException, code after runs if this line succeeded
@@ -109,27 +138,14 @@ public class JplInteractor implements JplInputBoundary {
                         player.getPlayerId()
                 ));
 
-                // Block thread until an update is heard on the player in the pool
-                while (game == null && !hasCancelled) {
-                    // Makes this waiting loop less CPU expensive
-                    conditionVariable.await();
-                }
-
-                if (game != null) {
-                    JplInteractor.this.gameLock.lock();
-                    GameDTO gameState = GameDTO.fromGame(game);
-                    JplInteractor.this.gameLock.unlock();
-
-                    pres.inGame(new JplOutputDataJoinedGame(
-                            Response.getSuccessful("Player successfully joined a game"),
-                            player.getPlayerId(), gameState));
-                }
-
-                // Player has cancelled waiting
-                else {
-                    pres.cancelled(new JplOutputDataResponse(
-                            Response.getSuccessful("Player successfully cancelled their pool waiting"),
-                            player.getPlayerId()));
+                if (outcome.isCancelled() && register.isShuttingDown()) {
+                    // Cancelled by the shutdown before waiting at all
+                    pres.outputShutdownServer();
+                } else if (outcome.isDone()) {
+                    // Sorted or cancelled before waiting at all, this thread can reply itself
+                    present(player.getPlayerId(), outcome.isCancelled() ? null : outcome.join(), hosted, pres);
+                } else {
+                    outcome.whenComplete((game, cancelled) -> reply(player.getPlayerId(), game));
                 }
 
             } catch (EntityException e) {
@@ -139,27 +155,144 @@ public class JplInteractor implements JplInputBoundary {
                                 // Response object with IdInUseException response code
                                 Response.fromException(e, e.getMessage()),
                                 data.getId()));
-            } catch (InterruptedException e) {
-                EntityException emptyException = new EntityException("");
-                pres.inPool(
-                        new JplOutputDataResponse(
-                                // Response object with IdInUseException response code
-                                Response.fromException(emptyException, e.getMessage()),
-                                data.getId()));
             }
             finally {
                 lock.unlock();
             }
         }
+
+        /**
+         * Registers the reply to the player, so that the thread which completed the outcome
+         * (e.g. sort players, with the pool engaged) doesn't present it
+         * @param game The game the player joined, null if they cancelled waiting
+         */
+        private void reply(String playerId, @Nullable Game game) {
+            JplReplyThread reply = new JplReplyThread(playerId, game, hosted, pres);
+            if (register.registerThread(reply) == ThreadRegister.Admission.SHUTTING_DOWN) {
+                pres.outputShutdownServer();
+            }
+        }
+    }
+
+    /**
+     * Thread which tells the player that they joined a game or cancelled waiting
+     */
+    public class JplReplyThread extends InterruptibleThread {
+
+        private final String playerId;
+        @Nullable
+        private final Game game;
+        @Nullable
+        private final LobbyManager.HostedGame hosted;
+        private final JplOutputBoundary pres;
+
+        /**
+         * @param playerId ID of the player who was waiting
+         * @param game The game the player joined, null if they cancelled waiting
+         * @param hosted The game as the lobby hosts it, null if it isn't hosted
+         * @param pres output boundary for this use case
+         */
+        public JplReplyThread (String playerId, @Nullable Game game, @Nullable LobbyManager.HostedGame hosted,
+                               JplOutputBoundary pres) {
+            super(JplInteractor.this.register, pres);
+            this.playerId = playerId;
+            this.game = game;
+            this.hosted = hosted;
+            this.pres = pres;
+        }
+
+        @Override
+        public void threadLogic() {
+            present(playerId, game, hosted, pres);
+        }
+    }
+
+    /**
+     * Tells the player that they joined a game or cancelled waiting
+     * @param game The game the player joined, null if they cancelled waiting
+     * @param hosted The game as the lobby hosts it, null if it isn't hosted
+     */
+    private void present(String playerId, @Nullable Game game, @Nullable LobbyManager.HostedGame hosted,
+                         JplOutputBoundary pres) {
+        if (game != null) {
+            GameDTO gameState = snapshot(game, hosted);
+
+            pres.inGame(new JplOutputDataJoinedGame(
+                    Response.getSuccessful("Player successfully joined a game"),
+                    playerId, gameState, hosted == null ? null : hosted.getGameId()));
+        }
+
+        // Player has cancelled waiting
+        else {
+            pres.cancelled(new JplOutputDataResponse(
+                    Response.getSuccessful("Player successfully cancelled their pool waiting"),
+                    playerId));
+        }
+    }
+
+    /**
+     * @param hosted The game as the lobby hosts it, null if it isn't hosted
+     * @return The state of the game the player joined, taken under the lock of the game,
+     * or as a message to its mailbox in actor mode
+     */
+    private GameDTO snapshot(Game game, @Nullable LobbyManager.HostedGame hosted) {
+        if (hosted == null) {
+            // The lobby doesn't host the game, so nothing else changes it
+            return GameDTO.fromGame(game);
+        }
+        if (actors != null) {
+            return actors.ask(hosted, () -> snapshots.of(game));
+        }
+        Lock gameLock = hosted.getLock();
+        gameLock.lock();
+        try {
+            return snapshots.of(game);
+        } finally {
+            gameLock.unlock();
+        }
     }
 
     /**
      * @param lobbyManager Shared object representing game state
      */
     public JplInteractor (LobbyManager lobbyManager, ThreadRegister register) {
+        this(lobbyManager, register, null);
+    }
+
+    /**
+     * @param lobbyManager Shared object representing game state
+     * @param actors Mailboxes of the games to read the joined game from, or null to engage the game locks
+     */
+    public JplInteractor (LobbyManager lobbyManager, ThreadRegister register, @Nullable GameActors actors) {
+        this(lobbyManager, register, actors, null);
+    }
+
+    /**
+     * @param lobbyManager Shared object representing game state
+     * @param actors Mailboxes of the games to read the joined game from, or null to engage the game locks
+     * @param snapshots Latest snapshots of the games, shared with other use cases, or null to keep its own
+     */
+    public JplInteractor (LobbyManager lobbyManager, ThreadRegister register, @Nullable GameActors actors,
+                          @Nullable GameSnapshots snapshots) {
         this.lobbyManager = lobbyManager;
-        this.gameLock = lobbyManager.getGameLock();
         this.register = register;
+        this.actors = actors;
+        this.snapshots = snapshots == null ? new GameSnapshots() : snapshots;
+        register.addShutdownListener(this::cancelWaitingPlayers);
+    }
+
+    /**
+     * Cancels the waiting of every player in the pool as the server shuts down, so that their
+     * replies, which the register refuses, tell them about the shutdown
+     */
+    private void cancelWaitingPlayers() {
+        Lock poolLock = lobbyManager.getPlayerPoolLock();
+        poolLock.lock();
+        try {
+            lobbyManager.removeAllFromPoolCancel();
+        } finally {
+            poolLock.unlock();
+        }
     }
 
     /**
@@ -170,8 +303,11 @@ public class JplInteractor implements JplInputBoundary {
     @Override
     public void joinPublicLobby(JplInputData data, JplOutputBoundary pres) {
         InterruptibleThread thread = new JplThread(data, pres);
-        if (!register.registerThread(thread)) {
+        ThreadRegister.Admission admission = register.registerThread(thread);
+        if (admission == ThreadRegister.Admission.SHUTTING_DOWN) {
             pres.outputShutdownServer();
+        } else if (admission == ThreadRegister.Admission.OVERLOADED) {
+            pres.inPool(new JplOutputDataResponse(Response.getOverloaded(), data.getId()));
         }
     }
 }
@@ -1,5 +1,6 @@
 package usecases.join_public_lobby;
 
+import org.jetbrains.annotations.Nullable;
 import usecases.GameDTO;
 import usecases.Response;
 
@@ -12,15 +13,29 @@ public class JplOutputDataJoinedGame {
     private final String playerId;
     private final GameDTO gameData;
 
+    @Nullable
+    private final String gameId;
+
     /**
      * @param res Response object, should be success
      * @param playerId ID of player who joined the game
      * @param gameData Data of game that the player joined, or null if not a success
      */
     public JplOutputDataJoinedGame(Response res, String playerId, GameDTO gameData) {
+        this(res, playerId, gameData, null);
+    }
+
+    /**
+     * @param res Response object, should be success
+     * @param playerId ID of player who joined the game
+     * @param gameData Data of game that the player joined, or null if not a success
+     * @param gameId ID the lobby hosts the game under, null if it isn't hosted by a lobby
+     */
+    public JplOutputDataJoinedGame(Response res, String playerId, GameDTO gameData, @Nullable String gameId) {
         this.res = res;
         this.playerId = playerId;
         this.gameData = gameData;
+        this.gameId = gameId;
     }
 
     /**
@@ -38,4 +53,10 @@ public class JplOutputDataJoinedGame {
      * or null if an error occurred
      */
     public GameDTO getGameData() { return gameData; }
+
+    /**
+     * @return ID the lobby hosts the game under, null if it isn't hosted by a lobby
+     */
+    @Nullable
+    public String getGameId() { return gameId; }
 }
@@ -1,5 +1,9 @@
 package usecases.like_story;
 
+import usecases.Response;
+
+import java.util.concurrent.CompletableFuture;
+
 public interface LsInputBoundary {
 
     /**
@@ -7,4 +11,25 @@ public interface LsInputBoundary {
      * */
     void likeStory(LsInputData data, LsOutputBoundary pres);
 
+    /**
+     * Non-blocking variant, for callers which don't want a presenter: the returned future is
+     * completed with the outcome of the like, or with a SHUTTING_DOWN response if the server shuts down
+     * @param data Input data for this use case
+     * @return Future of the output of this use case
+     */
+    default CompletableFuture<LsOutputData> likeStory(LsInputData data) {
+        CompletableFuture<LsOutputData> future = new CompletableFuture<>();
+        likeStory(data, new LsOutputBoundary() {
+            @Override
+            public void likeOutput(LsOutputData output) {
+                future.complete(output);
+            }
+
+            @Override
+            public void outputShutdownServer() {
+                future.complete(new LsOutputData(Response.getShuttingDown()));
+            }
+        });
+        return future;
+    }
 }
@@ -55,8 +55,11 @@ public class LsInteractor implements LsInputBoundary {
     @Override
     public void likeStory(LsInputData data, LsOutputBoundary presenter) {
         InterruptibleThread thread = new LsRunnable(data, presenter);
-        if (!register.registerThread(thread)) {
+        ThreadRegister.Admission admission = register.registerThread(thread);
+        if (admission == ThreadRegister.Admission.SHUTTING_DOWN) {
             presenter.outputShutdownServer();
+        } else if (admission == ThreadRegister.Admission.OVERLOADED) {
+            presenter.likeOutput(new LsOutputData(Response.getOverloaded()));
         }
     }
 }
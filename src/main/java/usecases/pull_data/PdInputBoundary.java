@@ -12,4 +12,10 @@ public interface PdInputBoundary {
      */
     public void onTimerUpdate (PdInputData d);
 
+    /**
+     * Tells that the game ended, so that no more updates are sent about it
+     * @param d PdInputData corresponding to the final game state
+     */
+    public default void onGameEnded (PdInputData d) {}
+
 }
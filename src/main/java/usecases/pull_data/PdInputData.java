@@ -1,6 +1,7 @@
 package usecases.pull_data;
 
 import entities.games.Game;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Input data class of Pull Data use-case
@@ -9,11 +10,42 @@ public class PdInputData {
 
     private final Game game;
 
+    @Nullable
+    private final String gameId;
+
+    private final boolean snapshotRequested;
+
+    /**
+     * Constructor for PdInputData
+     * @param game Game to be stored
+     */
+    public PdInputData(Game game) { this(game, null); }
+
+    /**
+     * Constructor for PdInputData
+     * @param game Game to be stored
+     * @param gameId ID the lobby hosts the game under, null if it isn't hosted by a lobby
+     */
+    public PdInputData(Game game, @Nullable String gameId) { this(game, gameId, false); }
+
     /**
      * Constructor for PdInputData
      * @param game Game to be stored
+     * @param gameId ID the lobby hosts the game under, null if it isn't hosted by a lobby
+     * @param snapshotRequested Whether the update must be a full snapshot of the game, even when
+     *                          the interactor sends deltas
      */
-    public PdInputData(Game game) { this.game = game; }
+    public PdInputData(Game game, @Nullable String gameId, boolean snapshotRequested) {
+        this.game = game;
+        this.gameId = gameId;
+        this.snapshotRequested = snapshotRequested;
+    }
+
+    /**
+     * @return ID the lobby hosts the game under, null if it isn't hosted by a lobby
+     */
+    @Nullable
+    public String getGameId() { return this.gameId; }
 
     /**
      * Getter for PdInputData
@@ -21,4 +53,9 @@ public class PdInputData {
      */
     public Game getGame() { return this.game; }
 
+    /**
+     * @return Whether the update must be a full snapshot of the game
+     */
+    public boolean isSnapshotRequested() { return this.snapshotRequested; }
+
 }
@@ -1,28 +1,197 @@
 package usecases.pull_data;
 
+import entities.Player;
+import entities.games.Game;
+import org.jetbrains.annotations.Nullable;
 import usecases.GameDTO;
+import usecases.GameDeltaDTO;
+import usecases.GameSnapshots;
+import usecases.PlayerDTO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 /**
- * Interactor for Pull Data use-case
+ * Interactor for Pull Data use-case.
+ * <br><br>
+ * By default, every update is a full snapshot of the game, reused from the previous update while
+ * the game did not change. In delta mode, the first update about a game is a snapshot and the
+ * following ones only carry what changed since the previous one, under an increasing version, with
+ * a snapshot again on request or every so many updates so that a presenter which missed an update
+ * catches up. Updates about one game must not run concurrently,
+ * as is the case under the game lock or on the mailbox of the game.
  */
 public class PdInteractor implements PdInputBoundary {
 
+    /**
+     * Updates from a snapshot to the next snapshot, when updates are deltas
+     */
+    public static final int DEFAULT_SNAPSHOT_EVERY = 60;
+
+    /**
+     * What the presenter was last told about a game
+     */
+    private static class SentState {
+        private long version;
+        private int updatesSinceSnapshot;
+        private int storyWordCount;
+        private final Set<String> playerIds = new HashSet<>();
+        private String currentTurnPlayerId;
+    }
+
     private final PdOutputBoundary p;
 
+    private final int snapshotEvery;
+
+    private final GameSnapshots snapshots;
+
+    /**
+     * Weak, so that the state of a game is dropped along with the game once it ended
+     */
+    private final Map<Game, SentState> sent = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Constructor for PdInteractor, which sends a full snapshot with every update
+     * @param p PdOutputBoundary used by this interactor
+     */
+    public PdInteractor (PdOutputBoundary p) { this(p, 1); }
+
+    /**
+     * Constructor for PdInteractor
+     * @param p PdOutputBoundary used by this interactor
+     * @param snapshotEvery Updates from a snapshot to the next, 1 for snapshots only, 0 for snapshots
+     *                      only on the first update about a game and on request. Updates about a game
+     *                      not hosted by a lobby are always snapshots, as they can't be told apart
+     */
+    public PdInteractor (PdOutputBoundary p, int snapshotEvery) { this(p, snapshotEvery, null); }
+
     /**
      * Constructor for PdInteractor
      * @param p PdOutputBoundary used by this interactor
+     * @param snapshotEvery Updates from a snapshot to the next, see above
+     * @param snapshots Latest snapshots of the games, shared with other use cases, or null to keep its own
      */
-    public PdInteractor (PdOutputBoundary p) { this.p = p; }
+    public PdInteractor (PdOutputBoundary p, int snapshotEvery, @Nullable GameSnapshots snapshots) {
+        if (snapshotEvery < 0) {
+            throw new IllegalArgumentException("snapshotEvery must not be negative");
+        }
+        this.p = p;
+        this.snapshotEvery = snapshotEvery;
+        this.snapshots = snapshots == null ? new GameSnapshots() : snapshots;
+    }
 
     /**
      * Forward update from input data to the output boundary
      * @param d PdInputData storing the updated game state
      */
     public void onTimerUpdate (PdInputData d) {
-        GameDTO gameInfo = GameDTO.fromGame(d.getGame());
-        PdOutputData od = new PdOutputData(gameInfo);
-        p.updateGameInfo(od);
+        Game game = d.getGame();
+        if (snapshotEvery == 1 || d.getGameId() == null) {
+            GameDTO gameInfo = snapshots.of(game);
+            PdOutputData od = new PdOutputData(gameInfo, d.getGameId());
+            p.updateGameInfo(od);
+            return;
+        }
+
+        SentState state = sent.get(game);
+        if (state == null) {
+            state = new SentState();
+            sent.put(game, state);
+        }
+        state.version++;
+        if (state.version == 1 || d.isSnapshotRequested()
+                || (snapshotEvery > 0 && state.updatesSinceSnapshot + 1 >= snapshotEvery)) {
+            p.updateGameInfo(new PdOutputData(snapshot(game, state), d.getGameId(), state.version));
+        } else {
+            p.updateGameInfo(new PdOutputData(delta(game, state), d.getGameId(), state.version));
+        }
+    }
+
+    /**
+     * Forgets what the presenter was told about the game, and tells it the game ended
+     * @param d PdInputData storing the final game state
+     */
+    @Override
+    public void onGameEnded (PdInputData d) {
+        sent.remove(d.getGame());
+        p.gameEnded(new PdOutputData(snapshots.of(d.getGame()), d.getGameId()));
+    }
+
+    /**
+     * @return Full game state, which the sent state is reset to
+     */
+    private GameDTO snapshot (Game game, SentState state) {
+        GameDTO gameInfo = snapshots.of(game);
+        state.updatesSinceSnapshot = 0;
+        state.storyWordCount = game.getStoryWordCount();
+        state.playerIds.clear();
+        for (PlayerDTO player : gameInfo.getPlayers()) {
+            state.playerIds.add(player.getPlayerId());
+        }
+        state.currentTurnPlayerId = gameInfo.getCurrentTurnPlayerId();
+        return gameInfo;
+    }
+
+    /**
+     * @return Changes to the game since the sent state, which is updated to the game state. Allocates
+     * nothing but the delta when only the timer changed
+     */
+    private static GameDeltaDTO delta (Game game, SentState state) {
+        state.updatesSinceSnapshot++;
+
+        String appendedStory = "";
+        int storyWordCount = game.getStoryWordCount();
+        if (storyWordCount != state.storyWordCount) {
+            appendedStory = game.getStoryStringSince(state.storyWordCount);
+            state.storyWordCount = storyWordCount;
+        }
+
+        List<PlayerDTO> joined = Collections.emptyList();
+        int stayed = 0;
+        for (Player player : game.getPlayers()) {
+            if (state.playerIds.contains(player.getPlayerId())) {
+                stayed++;
+            } else {
+                if (joined.isEmpty()) {
+                    joined = new ArrayList<>();
+                }
+                joined.add(new PlayerDTO(player.getDisplayName(), player.getPlayerId()));
+            }
+        }
+        List<String> left = Collections.emptyList();
+        if (stayed < state.playerIds.size()) {
+            Set<String> current = new HashSet<>();
+            for (Player player : game.getPlayers()) {
+                current.add(player.getPlayerId());
+            }
+            left = new ArrayList<>();
+            for (Iterator<String> ids = state.playerIds.iterator(); ids.hasNext(); ) {
+                String id = ids.next();
+                if (!current.contains(id)) {
+                    left.add(id);
+                    ids.remove();
+                }
+            }
+        }
+        for (PlayerDTO player : joined) {
+            state.playerIds.add(player.getPlayerId());
+        }
+
+        String currentTurnPlayerId = game.getCurrentTurnPlayer().getPlayerId();
+        if (currentTurnPlayerId.equals(state.currentTurnPlayerId)) {
+            currentTurnPlayerId = null;
+        } else {
+            state.currentTurnPlayerId = currentTurnPlayerId;
+        }
+
+        return new GameDeltaDTO(appendedStory, joined, left, currentTurnPlayerId,
+                game.getSecondsLeftInCurrentTurn());
     }
 
 }
@@ -12,4 +12,10 @@ public interface PdOutputBoundary {
      */
     void updateGameInfo (PdOutputData d);
 
+    /**
+     * Drop what was kept to display the game, which has ended
+     * @param d PdOutputData with the final snapshot of the game
+     */
+    default void gameEnded (PdOutputData d) {}
+
 }
@@ -1,24 +1,93 @@
 package usecases.pull_data;
 
+import org.jetbrains.annotations.Nullable;
 import usecases.GameDTO;
+import usecases.GameDeltaDTO;
 
 /**
- * Output data class of Pull Data use-case
+ * Output data class of Pull Data use-case. Carries either a full snapshot of the game, or the
+ * changes to the game since the update with the previous version
  */
 public class PdOutputData {
 
+    @Nullable
     private final GameDTO gameInfo;
 
+    @Nullable
+    private final GameDeltaDTO gameDelta;
+
+    @Nullable
+    private final String gameId;
+
+    private final long version;
+
+    /**
+     * Constructor for PdOutputData
+     * @param gameInfo GameDTO representing information about the game state to be processed
+     */
+    public PdOutputData (GameDTO gameInfo) { this(gameInfo, null); }
+
     /**
      * Constructor for PdOutputData
      * @param gameInfo GameDTO representing information about the game state to be processed
+     * @param gameId ID the lobby hosts the game under, null if it isn't hosted by a lobby
      */
-    public PdOutputData (GameDTO gameInfo) { this.gameInfo = gameInfo; }
+    public PdOutputData (GameDTO gameInfo, @Nullable String gameId) { this(gameInfo, gameId, 0); }
+
+    /**
+     * Constructor for a snapshot
+     * @param gameInfo GameDTO representing information about the game state to be processed
+     * @param gameId ID the lobby hosts the game under, null if it isn't hosted by a lobby
+     * @param version Version of the game state, increasing with every update about the game
+     */
+    public PdOutputData (GameDTO gameInfo, @Nullable String gameId, long version) {
+        this.gameInfo = gameInfo;
+        this.gameDelta = null;
+        this.gameId = gameId;
+        this.version = version;
+    }
+
+    /**
+     * Constructor for a delta
+     * @param gameDelta Changes to the game since the update with the previous version
+     * @param gameId ID the lobby hosts the game under
+     * @param version Version of the game state, increasing with every update about the game
+     */
+    public PdOutputData (GameDeltaDTO gameDelta, String gameId, long version) {
+        this.gameInfo = null;
+        this.gameDelta = gameDelta;
+        this.gameId = gameId;
+        this.version = version;
+    }
+
+    /**
+     * @return ID the lobby hosts the game under, null if it isn't hosted by a lobby
+     */
+    @Nullable
+    public String getGameId() { return this.gameId; }
+
+    /**
+     * @return Version of the game state after this update, one more than the version of the
+     * previous update about the game. 0 if the updates are not versioned
+     */
+    public long getVersion() { return this.version; }
+
+    /**
+     * @return Whether this update is a full snapshot of the game, rather than a delta
+     */
+    public boolean isSnapshot() { return this.gameInfo != null; }
 
     /**
      * Getter for PdOutPutData
-     * @return GameDTO corresponding game information
+     * @return GameDTO corresponding game information, null if this update is a delta
      */
+    @Nullable
     public GameDTO getGameInfo() { return this.gameInfo; }
 
+    /**
+     * @return Changes to the game since the previous version, null if this update is a snapshot
+     */
+    @Nullable
+    public GameDeltaDTO getGameDelta() { return this.gameDelta; }
+
 }
@@ -0,0 +1,156 @@
+package usecases.recover_games;
+
+import org.jetbrains.annotations.Nullable;
+import usecases.PlayerDTO;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * State of a game as recorded in a journal: its players in turn order and its story. A journal
+ * reader starts from the recorded state of a game and applies the changes recorded after it
+ * <br><br>
+ * <h2>Thread Safety:</h2>
+ * <p> NOT Thread Safe, and must not change once handed to RecGatewayJournal.saveGame </p>
+ */
+public class RecGameData {
+
+    private final String gameId;
+    private final int maxPlayers;
+    private final ArrayDeque<PlayerDTO> players;
+
+    /**
+     * Display name of every player who was in the game, including those who left, by player ID
+     */
+    private final Map<String, String> displayNames;
+    private final List<String> words;
+    private final List<String> checkedWords;
+    private final List<String> authorIds;
+
+    /**
+     * @param gameId ID the lobby hosted the game under
+     * @param maxPlayers How many players the game seats at most
+     */
+    public RecGameData(String gameId, int maxPlayers) {
+        this.gameId = gameId;
+        this.maxPlayers = maxPlayers;
+        this.players = new ArrayDeque<>();
+        this.displayNames = new HashMap<>();
+        this.words = new ArrayList<>();
+        this.checkedWords = new ArrayList<>();
+        this.authorIds = new ArrayList<>();
+    }
+
+    /**
+     * Adds a player at the end of the turn order
+     * @param player The player
+     */
+    public void addPlayer(PlayerDTO player) {
+        players.addLast(player);
+        displayNames.put(player.getPlayerId(), player.getDisplayName());
+    }
+
+    /**
+     * Remembers the display name of a player who left the game, but wrote some of its story
+     * @param player The player
+     */
+    public void addFormerPlayer(PlayerDTO player) {
+        displayNames.putIfAbsent(player.getPlayerId(), player.getDisplayName());
+    }
+
+    /**
+     * Removes a player, keeping the others in turn order
+     * @param playerId ID of the player
+     */
+    public void removePlayer(String playerId) {
+        players.removeIf(p -> p.getPlayerId().equals(playerId));
+    }
+
+    /**
+     * Adds a word at the end of the story
+     * @param word The word as it was submitted
+     * @param checkedWord The word as it was added to the story
+     * @param authorId ID of the player who submitted it
+     */
+    public void addWord(String word, String checkedWord, String authorId) {
+        words.add(word);
+        checkedWords.add(checkedWord);
+        authorIds.add(authorId);
+    }
+
+    /**
+     * Moves the current player to the end of the turn order
+     */
+    public void switchTurn() {
+        if (!players.isEmpty()) {
+            players.addLast(players.pollFirst());
+        }
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public int getMaxPlayers() {
+        return maxPlayers;
+    }
+
+    /**
+     * @return The players in turn order, the one whose turn it is first
+     */
+    public Collection<PlayerDTO> getPlayers() {
+        return Collections.unmodifiableCollection(players);
+    }
+
+    /**
+     * @param playerId ID of a player who is or was in the game
+     * @return Their display name, null if they never were
+     */
+    @Nullable
+    public String getDisplayName(String playerId) {
+        return displayNames.get(playerId);
+    }
+
+    /**
+     * @return Display name of every player who is or was in the game, by player ID
+     */
+    public Map<String, String> getDisplayNames() {
+        return Collections.unmodifiableMap(displayNames);
+    }
+
+    /**
+     * @return How many words the story has
+     */
+    public int getWordCount() {
+        return words.size();
+    }
+
+    /**
+     * @param index Index of a word, from 0 to the word count
+     * @return The word as it was submitted
+     */
+    public String getWord(int index) {
+        return words.get(index);
+    }
+
+    /**
+     * @param index Index of a word, from 0 to the word count
+     * @return The word as it was added to the story
+     */
+    public String getCheckedWord(int index) {
+        return checkedWords.get(index);
+    }
+
+    /**
+     * @param index Index of a word, from 0 to the word count
+     * @return ID of the player who submitted it
+     */
+    public String getAuthorId(int index) {
+        return authorIds.get(index);
+    }
+}
@@ -0,0 +1,77 @@
+package usecases.recover_games;
+
+import java.util.List;
+
+/**
+ * Repo requirements for this use case, related to the journal of the hosted games
+ * <br><br>
+ * Every change is recorded in the order of the calls, but may be written later, so a change is
+ * only sure to survive the server stopping once flush returns. The changes to a game are called
+ * under its lock, or on its mailbox, so implementations must return quickly
+ */
+public interface RecGatewayJournal {
+
+    /**
+     * Reads back the games which were hosted when the server stopped. Call before anything
+     * is recorded
+     * @return The games, those saved by the last checkpoint first, in the order they were saved,
+     * and then those hosted since, in the order they were hosted
+     */
+    List<RecGameData> readGames();
+
+    /**
+     * Records the whole state of a game, which replaces everything recorded about it before
+     * @param game The game, which must not change afterwards
+     */
+    void saveGame(RecGameData game);
+
+    /**
+     * Records that a game is no longer hosted
+     * @param gameId ID of the game
+     */
+    void gameRemoved(String gameId);
+
+    /**
+     * @param gameId ID of the game
+     * @param playerId ID of the player who joined it
+     * @param displayName Display name of the player
+     */
+    void playerAdded(String gameId, String playerId, String displayName);
+
+    /**
+     * @param gameId ID of the game
+     * @param playerId ID of the player who left it
+     */
+    void playerRemoved(String gameId, String playerId);
+
+    /**
+     * @param gameId ID of the game
+     * @param word The word as it was submitted
+     * @param checkedWord The word as it was added to the story
+     * @param authorId ID of the player who submitted it
+     */
+    void wordAdded(String gameId, String word, String checkedWord, String authorId);
+
+    /**
+     * @param gameId ID of the game whose turn passed to the next player
+     */
+    void turnSwitched(String gameId);
+
+    /**
+     * Starts a checkpoint: the state of every hosted game is saved next, after which the changes
+     * recorded before the checkpoint are no longer needed
+     * @throws java.io.UncheckedIOException if the journal can't record anymore, e.g. since writing failed
+     */
+    void beginCheckpoint();
+
+    /**
+     * Ends a checkpoint, once every hosted game was saved since it began, and drops what was
+     * recorded before it
+     */
+    void endCheckpoint();
+
+    /**
+     * Writes every change recorded so far, and returns once they would survive the server stopping
+     */
+    void flush();
+}
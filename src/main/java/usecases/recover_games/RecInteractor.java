@@ -0,0 +1,251 @@
+package usecases.recover_games;
+
+import entities.LobbyJournal;
+import entities.LobbyManager;
+import entities.Player;
+import entities.games.Game;
+import entities.games.GameFactory;
+import entities.games.GameJournal;
+import exceptions.GameRunningException;
+import org.jetbrains.annotations.Nullable;
+import usecases.GameActors;
+import usecases.PlayerDTO;
+import usecases.TickWheel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Interactor for the Recover Games use case
+ * <br><br>
+ * Every game the lobby hosts is recorded in a journal, with every change to it, so that the games
+ * which were running when the server stopped are hosted again when it starts, under the same IDs
+ * and with the same players, turn order and story. The games then run again with a whole turn for
+ * the current player, see SpInteractor.resumeGame. Statistics which depend on time, e.g. how long
+ * the turns took, start over, while those which depend on the words are rebuilt with the story
+ * <br><br>
+ * Every so often the state of every game is saved again, so that the journal only keeps what was
+ * recorded since, and reading it back takes time in proportion to the games rather than to how
+ * long they ran. Players waiting in the pool are not recorded, they join again
+ * <br><br>
+ * <h2>Thread Safety:</h2>
+ * <p>
+ *     Games are recovered and checkpointed under the games lock, so no game is hosted or stops
+ *     being hosted meanwhile, and each game is saved under its own lock, or on its mailbox in actor
+ *     mode, where its changes are recorded too, so that it is saved between two of its changes. In
+ *     actor mode the saves are posted to every mailbox at once and waited on together, so the
+ *     checkpoint waits for the slowest mailbox rather than for every mailbox in turn
+ * </p>
+ */
+public class RecInteractor implements LobbyJournal {
+
+    /**
+     * How often the state of every game is saved again, in milliseconds
+     */
+    public static final long DEFAULT_CHECKPOINT_PERIOD_MILLIS = 60_000;
+
+    private final LobbyManager lobbyManager;
+    private final RecGatewayJournal journal;
+    private final Lock gamesLock;
+
+    /**
+     * Mailboxes of the games in actor mode, null if the game locks are engaged instead
+     */
+    @Nullable
+    private final GameActors actors;
+    private final AtomicLong checkpoints;
+
+    /**
+     * @param lobbyManager The lobby whose games are recorded and recovered
+     * @param journal Journal the games are recorded in
+     */
+    public RecInteractor(LobbyManager lobbyManager, RecGatewayJournal journal) {
+        this(lobbyManager, journal, null);
+    }
+
+    /**
+     * @param lobbyManager The lobby whose games are recorded and recovered
+     * @param journal Journal the games are recorded in
+     * @param actors Mailboxes of the games in actor mode, or null to engage the game locks
+     */
+    public RecInteractor(LobbyManager lobbyManager, RecGatewayJournal journal, @Nullable GameActors actors) {
+        this.lobbyManager = lobbyManager;
+        this.journal = journal;
+        this.actors = actors;
+        this.gamesLock = lobbyManager.getGamesLock();
+        this.checkpoints = new AtomicLong();
+    }
+
+    /**
+     * Hosts the games recorded in the journal again, and records the games hosted from now on.
+     * Call once, before any game is hosted. As many games as the lobby may host are recovered,
+     * the others are dropped
+     * @return The recovered games, none of which was started yet, see SpInteractor.resumeGame
+     */
+    public List<LobbyManager.HostedGame> recoverGames() {
+        List<RecGameData> recorded = journal.readGames();
+        List<LobbyManager.HostedGame> recovered = new ArrayList<>();
+        gamesLock.lock();
+        try {
+            lobbyManager.setJournal(this);
+            // Hosting a game saves it, so the recovered games are the first checkpoint
+            journal.beginCheckpoint();
+            for (RecGameData data : recorded) {
+                if (lobbyManager.getGameCount() >= lobbyManager.getMaxGames()) {
+                    break;
+                }
+                try {
+                    recovered.add(lobbyManager.restoreGame(data.getGameId(), rebuild(data)));
+                } catch (GameRunningException e) {
+                    // IMPOSSIBLE, the lobby has room for the game, and the journal records each game once
+                    throw new RuntimeException(e);
+                }
+            }
+            journal.endCheckpoint();
+        } finally {
+            gamesLock.unlock();
+        }
+        return recovered;
+    }
+
+    /**
+     * @param data A game as recorded in the journal
+     * @return The game, with its players in turn order and its story
+     */
+    private Game rebuild(RecGameData data) {
+        List<Player> players = new ArrayList<>();
+        Map<String, Player> authors = new HashMap<>();
+        for (PlayerDTO p : data.getPlayers()) {
+            Player player = new Player(p.getDisplayName(), p.getPlayerId());
+            players.add(player);
+            authors.put(p.getPlayerId(), player);
+        }
+        Game game = lobbyManager.newGame(Map.of(GameFactory.MAX_PLAYERS, data.getMaxPlayers()), players);
+        for (int i = 0; i < data.getWordCount(); i++) {
+            String authorId = data.getAuthorId(i);
+            // Authors who left are not in the game anymore, but their words stay theirs
+            Player author = authors.computeIfAbsent(authorId, id -> {
+                String displayName = data.getDisplayName(id);
+                return new Player(displayName == null ? id : displayName, id);
+            });
+            game.addCheckedWord(data.getWord(i), data.getCheckedWord(i), author);
+        }
+        return game;
+    }
+
+    /**
+     * Saves the state of every hosted game again, and drops what the journal recorded before
+     */
+    public void checkpoint() {
+        gamesLock.lock();
+        try {
+            journal.beginCheckpoint();
+            List<CompletableFuture<?>> saves = new ArrayList<>();
+            for (LobbyManager.HostedGame hosted : lobbyManager.getHostedGames()) {
+                if (actors != null) {
+                    saves.add(CompletableFuture.runAsync(
+                            () -> journal.saveGame(dataOf(hosted.getGameId(), hosted.getGame())), actors.of(hosted)));
+                    continue;
+                }
+                hosted.getLock().lock();
+                try {
+                    journal.saveGame(dataOf(hosted.getGameId(), hosted.getGame()));
+                } finally {
+                    hosted.getLock().unlock();
+                }
+            }
+            CompletableFuture.allOf(saves.toArray(new CompletableFuture<?>[0])).join();
+            journal.endCheckpoint();
+        } finally {
+            gamesLock.unlock();
+        }
+        checkpoints.incrementAndGet();
+    }
+
+    /**
+     * Checkpoints the games every period, on a wheel shared by the whole server
+     * @param wheel The shared wheel
+     * @param periodMillis How often the games are checkpointed
+     */
+    public void startCheckpoints(TickWheel wheel, long periodMillis) {
+        wheel.schedule(scheduled -> checkpoint(), periodMillis, periodMillis);
+    }
+
+    /**
+     * @return How many checkpoints were taken, not counting the recovery
+     */
+    public long getCheckpointCount() {
+        return checkpoints.get();
+    }
+
+    /**
+     * Copies the state of a game, under its lock or on its mailbox
+     * @param gameId ID the lobby hosts the game under
+     * @param game The game
+     * @return The state of the game, which doesn't follow its changes
+     */
+    private static RecGameData dataOf(String gameId, Game game) {
+        RecGameData data = new RecGameData(gameId, game.getMaxPlayers());
+        for (Player p : game.getPlayers()) {
+            data.addPlayer(new PlayerDTO(p.getDisplayName(), p.getPlayerId()));
+        }
+        int words = game.getStoryWordCount();
+        for (int i = 0; i < words; i++) {
+            Player author = game.getStoryWordAuthor(i);
+            data.addFormerPlayer(new PlayerDTO(author.getDisplayName(), author.getPlayerId()));
+            String word = game.getStoryWord(i);
+            // The story only keeps the checked word, so the statistics of a game recovered from a
+            // checkpoint count it rather than the word as it was submitted
+            data.addWord(word, word, author.getPlayerId());
+        }
+        return data;
+    }
+
+    @Override
+    public GameJournal gameHosted(String gameId, Game game) {
+        journal.saveGame(dataOf(gameId, game));
+        return new Journal(gameId);
+    }
+
+    @Override
+    public void gameRemoved(String gameId) {
+        journal.gameRemoved(gameId);
+    }
+
+    /**
+     * Records the changes to one game in the journal
+     */
+    private class Journal implements GameJournal {
+
+        private final String gameId;
+
+        private Journal(String gameId) {
+            this.gameId = gameId;
+        }
+
+        @Override
+        public void playerAdded(Player player) {
+            journal.playerAdded(gameId, player.getPlayerId(), player.getDisplayName());
+        }
+
+        @Override
+        public void playerRemoved(Player player) {
+            journal.playerRemoved(gameId, player.getPlayerId());
+        }
+
+        @Override
+        public void wordAdded(String word, String checkedWord, Player author) {
+            journal.wordAdded(gameId, word, checkedWord, author.getPlayerId());
+        }
+
+        @Override
+        public void turnSwitched() {
+            journal.turnSwitched(gameId);
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package usecases.run_game;
 
+import entities.LobbyManager;
 import entities.games.Game;
+import org.jetbrains.annotations.Nullable;
+import usecases.GameActors;
+import usecases.TickLagMonitor;
+import usecases.TickWheel;
 import usecases.pull_data.PdInputBoundary;
 import usecases.pull_data.PdInputData;
 import usecases.pull_game_ended.PgeInputBoundary;
@@ -9,6 +14,7 @@ import usecases.pull_game_ended.PgeInputData;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 
 /**
@@ -21,16 +27,96 @@ public class RgInteractor {
     private final PdInputBoundary pd;
     private final Lock gameLock;
 
+    /**
+     * ID the lobby hosts the game under, null if the game isn't hosted by a lobby
+     */
+    @Nullable
+    private final String gameId;
+
+    /**
+     * Monitor the lag of every tick is reported to, null if the lag isn't monitored
+     */
+    @Nullable
+    private final TickLagMonitor lagMonitor;
+
+    /**
+     * Mailbox of the game in actor mode, null if the game lock is engaged instead. Taken once while
+     * the game is hosted, so that a message posted after the mailbox was retired doesn't create it again
+     */
+    @Nullable
+    private final GameActors.Mailbox mailbox;
+
+    /**
+     * The ticks of the game on the shared wheel, null if the game ticks on its own timer
+     */
+    @Nullable
+    private volatile TickWheel.Handle tickHandle;
+
+    /**
+     * The expiry of the current turn on the shared wheel, null if the game runs on its own timer
+     */
+    @Nullable
+    private volatile TickWheel.Handle expiryHandle;
+
+    /**
+     * The shared wheel the game runs on, null if the game runs on its own timer
+     */
+    @Nullable
+    private volatile TickWheel wheel;
+
     /**
      * @param g Game that we interact with
      * @param pge "Pull Game Ended" use-case input boundary
      * @param pd "Pull Data" use-case input boundary
      */
     public RgInteractor (Game g, PgeInputBoundary pge, PdInputBoundary pd, Lock gameLock) {
+        this(g, pge, pd, gameLock, null);
+    }
+
+    /**
+     * @param g Game that we interact with
+     * @param pge "Pull Game Ended" use-case input boundary
+     * @param pd "Pull Data" use-case input boundary
+     * @param lagMonitor Monitor to report how late every tick got hold of the game, or null
+     */
+    public RgInteractor (Game g, PgeInputBoundary pge, PdInputBoundary pd, Lock gameLock,
+                         @Nullable TickLagMonitor lagMonitor) {
+        this(g, null, pge, pd, gameLock, lagMonitor, null);
+    }
+
+    /**
+     * @param hosted Game hosted by the lobby that we interact with, under its own lock
+     * @param pge "Pull Game Ended" use-case input boundary
+     * @param pd "Pull Data" use-case input boundary
+     * @param lagMonitor Monitor to report how late every tick got hold of the game, or null
+     */
+    public RgInteractor (LobbyManager.HostedGame hosted, PgeInputBoundary pge, PdInputBoundary pd,
+                         @Nullable TickLagMonitor lagMonitor) {
+        this(hosted, pge, pd, lagMonitor, null);
+    }
+
+    /**
+     * @param hosted Game hosted by the lobby that we interact with
+     * @param pge "Pull Game Ended" use-case input boundary
+     * @param pd "Pull Data" use-case input boundary
+     * @param lagMonitor Monitor to report how late every tick got hold of the game, or null
+     * @param actors Mailboxes to post the ticks to in actor mode, or null to engage the lock of the game
+     */
+    public RgInteractor (LobbyManager.HostedGame hosted, PgeInputBoundary pge, PdInputBoundary pd,
+                         @Nullable TickLagMonitor lagMonitor, @Nullable GameActors actors) {
+        this(hosted.getGame(), hosted, pge, pd, hosted.getLock(), lagMonitor, actors);
+    }
+
+    private RgInteractor (Game g, @Nullable LobbyManager.HostedGame hosted, PgeInputBoundary pge,
+                          PdInputBoundary pd, Lock gameLock, @Nullable TickLagMonitor lagMonitor,
+                          @Nullable GameActors actors) {
         this.g = g;
+        this.gameId = hosted == null ? null : hosted.getGameId();
+        this.mailbox = actors == null || hosted == null ? null : actors.of(hosted);
         this.pge = pge;
         this.pd = pd;
         this.gameLock = gameLock;
+        this.lagMonitor = lagMonitor;
     }
 
     /**
@@ -43,12 +129,36 @@ public class RgInteractor {
          */
         @Override
         public void run () {
-            gameLock.lock();
+            fire(scheduledExecutionTime());
+        }
+
+        /**
+         * Runs the tick, under the game lock or as a message to the game in actor mode
+         * @param scheduled When the tick was scheduled to run
+         */
+        private void fire (long scheduled) {
+            onGame(() -> tick(scheduled));
+        }
+
+        /**
+         * One second of the game. Once the turns are timed by deadline, the tick only updates the
+         * display, and the turn is switched at its deadline (see expireTurn). Engage the game lock, or run on the mailbox of the game, surrounding use
+         * @param scheduled When the tick was scheduled to run
+         */
+        private void tick (long scheduled) {
+            if (RgInteractor.this.g.isTimerStopped()) {
+                // A tick posted to the mailbox before the game ended has nothing left to do
+                return;
+            }
+            // The lag includes waiting for the game lock or mailbox, since that is where other use cases compete
+            if (lagMonitor != null) {
+                lagMonitor.recordTick(System.currentTimeMillis() - scheduled);
+            }
             if (RgInteractor.this.g.isGameOver()) {
                 // Game ending procedure:
 
                 // Cancel the game timer
-                RgInteractor.this.g.getGameTimer().cancel();
+                stopTicking();
 
                 // Perform "Game Ended" use-case via PgeInteractor
                 RgInteractor.this.pge.onGameEnded(
@@ -58,6 +168,7 @@ public class RgInteractor {
                                 g.getAuthorNamesStatistic()
                         )
                 );
+                RgInteractor.this.pd.onGameEnded(new PdInputData(RgInteractor.this.g, gameId));
 
                 // Notify the game, after timer cancellation, when the
                 // last execution of the run method has finished, meaning,
@@ -67,27 +178,117 @@ public class RgInteractor {
             } else {
                 // Regular game procedure:
 
-                // Decrement seconds counter and switch turn if needed
-                RgInteractor.this.g.setSecondsLeftInCurrentTurn(RgInteractor.this.g.getSecondsLeftInCurrentTurn() - 1);
-                if (RgInteractor.this.g.getSecondsLeftInCurrentTurn() == 0) { // Displaying 0 before, it is over
-                    RgInteractor.this.g.switchTurn();
+                if (RgInteractor.this.g.isTurnClockStarted()) {
+                    // Display the time left until the deadline, however late the tick is
+                    RgInteractor.this.g.updateSecondsLeft(System.nanoTime());
+                } else {
+                    // Decrement seconds counter and switch turn if needed
+                    RgInteractor.this.g.setSecondsLeftInCurrentTurn(RgInteractor.this.g.getSecondsLeftInCurrentTurn() - 1);
+                    if (RgInteractor.this.g.getSecondsLeftInCurrentTurn() == 0) { // Displaying 0 before, it is over
+                        RgInteractor.this.g.switchTurn();
+                    }
                 }
 
                 // Push corresponding updates to our game and PdInteractor
                 RgInteractor.this.g.onTimerUpdate(); // note: was empty at the time of implementation
-                RgInteractor.this.pd.onTimerUpdate(new PdInputData(RgInteractor.this.g));
+                RgInteractor.this.pd.onTimerUpdate(new PdInputData(RgInteractor.this.g, gameId));
 
             }
+        }
+    }
+
+    /**
+     * Runs work on the game, under the game lock or as a message to the game in actor mode
+     */
+    private void onGame (Runnable work) {
+        if (mailbox != null) {
+            // The work is a message to the game, processed in order with the other messages
+            mailbox.execute(work);
+            return;
+        }
+        gameLock.lock();
+        try {
+            work.run();
+        } finally {
             gameLock.unlock();
         }
     }
 
     /**
-     * Launch timer with the above-provided RgTask
+     * Switches the turn if the turn with the given deadline is still going and its deadline has passed.
+     * A turn switched early (e.g. by a submitted word) moved the deadline later, so the expiry is
+     * armed again for the new deadline. Engage the game lock, or run on the mailbox of the game,
+     * surrounding use
+     * @param deadline Deadline the expiry was armed for, in System.nanoTime
+     */
+    private void expireTurn (long deadline) {
+        if (g.isTimerStopped() || g.isGameOver()) {
+            // The next tick ends the game, no more turns
+            return;
+        }
+        if (g.getTurnDeadlineNanos() == deadline && System.nanoTime() - deadline >= 0) {
+            g.switchTurn();
+            pd.onTimerUpdate(new PdInputData(g, gameId));
+        }
+        armTurnExpiry(g.getTurnDeadlineNanos());
+    }
+
+    /**
+     * Schedules expireTurn at the deadline, on the timer the ticks of the game run on
+     * @param deadline Deadline of the current turn, in System.nanoTime
+     */
+    private void armTurnExpiry (long deadline) {
+        // Rounded up, so that the expiry is never early by a fraction of a millisecond
+        long delayMillis = Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime() + 999_999));
+        TickWheel shared = wheel;
+        if (shared != null) {
+            expiryHandle = shared.schedule(scheduled -> onGame(() -> expireTurn(deadline)), delayMillis);
+        } else {
+            g.getGameTimer().schedule(new TimerTask() {
+                @Override
+                public void run() {
+                    onGame(() -> expireTurn(deadline));
+                }
+            }, delayMillis);
+        }
+    }
+
+    /**
+     * Launch timer with the above-provided RgTask. The turns are timed by deadline from now on
      */
     public void startTimer () {
-        this.g.setSecondsLeftInCurrentTurn(g.getSecondsPerTurn());
+        this.g.startTurnClock(System.nanoTime());
         this.g.getGameTimer().schedule(new RgTask(), 1000, 1000);
+        armTurnExpiry(g.getTurnDeadlineNanos());
+    }
+
+    /**
+     * Launch the ticks of the game on a wheel shared with the other games, so the game needs no
+     * timer thread of its own. The turns are timed by deadline from now on
+     * @param wheel The shared wheel
+     */
+    public void startTimer (TickWheel wheel) {
+        this.wheel = wheel;
+        this.g.startTurnClock(System.nanoTime());
+        RgTask task = new RgTask();
+        this.tickHandle = wheel.schedule(task::fire, 1000, 1000);
+        armTurnExpiry(g.getTurnDeadlineNanos());
+    }
+
+    /**
+     * Cancels the ticks and the turn expiry of the game, on whichever timer they run
+     */
+    private void stopTicking () {
+        TickWheel.Handle handle = tickHandle;
+        if (handle != null) {
+            handle.cancel();
+            TickWheel.Handle expiry = expiryHandle;
+            if (expiry != null) {
+                expiry.cancel();
+            }
+        } else {
+            this.g.getGameTimer().cancel();
+        }
     }
 
 }
@@ -0,0 +1,15 @@
+package usecases.shutdown_server;
+
+/**
+ * Output boundary of the "shutdown-server" use case itself, as opposed to SsOutputBoundary
+ * which every non-daemon use case extends to hear about the shutdown
+ */
+public interface SsDrainOutputBoundary extends SsOutputBoundary {
+
+    /**
+     * Called before <code>outputShutdownServer</code> with the result of draining the running
+     * use cases
+     * @param data Which use cases were still blocking at the deadline, and how long the drain took
+     */
+    void outputDrainReport(SsOutputData data);
+}
@@ -10,6 +10,6 @@ public interface SsInputBoundary {
      * This method completely shuts down the server
      * @param pres output boundary for this use case
      */
-    void shutdownServer(SsOutputBoundary pres);
+    void shutdownServer(SsDrainOutputBoundary pres);
 
 }
@@ -2,16 +2,43 @@ package usecases.shutdown_server;
 
 import usecases.ThreadRegister;
 
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interactor for the "shutdown-server" use case. Stops admitting new use cases, gives the
+ * running ones until the drain deadline to leave their critical sections, and then
+ * interrupts all of them
+ */
 public class SsInteractor implements SsInputBoundary {
 
+    public static final long DEFAULT_DRAIN_DEADLINE_MILLIS = 10_000;
+
     private final ThreadRegister threadRegister;
+    private final long drainDeadlineMillis;
 
-    public SsInteractor(ThreadRegister threadRegister) {
+    /**
+     * @param threadRegister Register of all the running use case threads
+     * @param drainDeadlineMillis How long to wait for running use cases to leave their critical sections
+     */
+    public SsInteractor(ThreadRegister threadRegister, long drainDeadlineMillis) {
         this.threadRegister = threadRegister;
+        this.drainDeadlineMillis = drainDeadlineMillis;
     }
 
-    public void shutdownServer(SsOutputBoundary presenter) {
-        threadRegister.stopThreads();
+    /**
+     * @param threadRegister Register of all the running use case threads
+     */
+    public SsInteractor(ThreadRegister threadRegister) {
+        this(threadRegister, DEFAULT_DRAIN_DEADLINE_MILLIS);
+    }
+
+    public void shutdownServer(SsDrainOutputBoundary presenter) {
+        long start = System.nanoTime();
+        Map<String, Integer> stillBlocking = threadRegister.stopThreads(drainDeadlineMillis, TimeUnit.MILLISECONDS);
+        long drainMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        presenter.outputDrainReport(new SsOutputData(stillBlocking, drainMillis));
         presenter.outputShutdownServer();
     }
 
@@ -0,0 +1,39 @@
+package usecases.shutdown_server;
+
+import java.util.Map;
+
+/**
+ * Output data of the "shutdown-server" use case. Describes how the drain of the
+ * running use cases went
+ */
+public class SsOutputData {
+
+    private final Map<String, Integer> stillBlocking;
+    private final long drainMillis;
+
+    /**
+     * @param stillBlocking Number of threads of every use case which were still in a critical
+     *                      section at the deadline and were interrupted anyway
+     * @param drainMillis How long stopping the threads took, in milliseconds
+     */
+    public SsOutputData(Map<String, Integer> stillBlocking, long drainMillis) {
+        this.stillBlocking = stillBlocking;
+        this.drainMillis = drainMillis;
+    }
+
+    /**
+     * @return Number of threads of every use case, keyed by the use case thread name, which were
+     * forcefully interrupted in a critical section. Empty if every use case drained in time
+     */
+    public Map<String, Integer> getStillBlocking() { return stillBlocking; }
+
+    /**
+     * @return How long stopping the threads took, in milliseconds
+     */
+    public long getDrainMillis() { return drainMillis; }
+
+    /**
+     * @return If every use case left its critical section before the deadline
+     */
+    public boolean isDrainedInTime() { return stillBlocking.isEmpty(); }
+}
@@ -3,26 +3,86 @@ package usecases.sort_players;
 import entities.LobbyManager;
 import entities.Player;
 import entities.games.Game;
+import entities.games.GameFactory;
 import exceptions.GameDoesntExistException;
 import exceptions.GameRunningException;
 import exceptions.PlayerNotFoundException;
+import org.jetbrains.annotations.Nullable;
+import usecases.GameActors;
+import usecases.TickLagMonitor;
+import usecases.TickWheel;
 import usecases.pull_data.PdInputBoundary;
 import usecases.pull_game_ended.PgeInputBoundary;
 import usecases.run_game.RgInteractor;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 
 /**
  * Interactor for Sort Players use case
+ * <br><br>
+ * Players are sorted on a fixed cadence, and additionally as soon as the lobby manager reports
+ * that a joining player could be sorted (see LobbyManager.setPoolReadyListener). A burst of
+ * joins is coalesced into a single extra sort pass: a pass is only scheduled if none is pending
+ * <br><br>
+ * <h2>Thread Safety:</h2>
+ * <p>
+ *     Every sort pass runs on the sort players timer of the lobby manager, so passes never
+ *     overlap, or on a shared TickWheel, where passes that overlap wait for each other on the
+ *     pool lock. The pending flag is cleared when a pass starts, so joins which happen during
+ *     a pass schedule the next one
+ * </p>
  */
 public class SpInteractor {
+    /**
+     * How often players are sorted when nobody wakes the sorting up, in milliseconds
+     */
+    public static final long DEFAULT_SORT_PERIOD_MILLIS = 1000;
+
+    /**
+     * How long a woken up sort pass waits for more joins to coalesce, in milliseconds
+     */
+    public static final long DEFAULT_COALESCE_MILLIS = 10;
+
     private final LobbyManager lobbyManager;
     private final PgeInputBoundary pge;
     private final PdInputBoundary pd;
     private final Lock playerPoolLock;
-    private final Lock gameLock;
+    private final Lock gamesLock;
+    @Nullable
+    private final TickLagMonitor lagMonitor;
+
+    /**
+     * Mailboxes of the games in actor mode, null if the game locks are engaged instead
+     */
+    @Nullable
+    private final GameActors actors;
+    private final long sortPeriodMillis;
+
+    /**
+     * Shared wheel the sorting and the started games run on, null if they run on their own timers
+     */
+    @Nullable
+    private volatile TickWheel wheel;
+    private final long coalesceMillis;
+
+    /**
+     * Settings the games are created with, null for none
+     */
+    @Nullable
+    private volatile Map<String, Integer> gameSettings;
+    private final AtomicBoolean passPending;
+    private final AtomicLong wakeUps;
+    private final AtomicLong passes;
+    private final AtomicLong playersMatched;
+    private final AtomicLong gamesStarted;
+    private final AtomicLong totalJoinToGameNanos;
+    private final AtomicLong maxJoinToGameNanos;
 
     /**
      * Constructor for SpInteractor
@@ -32,92 +92,393 @@ public class SpInteractor {
      */
     public SpInteractor(LobbyManager lobbyManager, PgeInputBoundary pge,
                          PdInputBoundary pd) {
+        this(lobbyManager, pge, pd, null);
+    }
+
+    /**
+     * Constructor for SpInteractor
+     * @param lobbyManager the lobby manager players are being sorted from
+     * @param pge pull game ended use case input boundary
+     * @param pd pull data use case input boundary
+     * @param lagMonitor monitor the timers of the started games report their tick lag to, or null
+     */
+    public SpInteractor(LobbyManager lobbyManager, PgeInputBoundary pge,
+                        PdInputBoundary pd, @Nullable TickLagMonitor lagMonitor) {
+        this(lobbyManager, pge, pd, lagMonitor, DEFAULT_SORT_PERIOD_MILLIS, DEFAULT_COALESCE_MILLIS);
+    }
+
+    /**
+     * Constructor for SpInteractor
+     * @param lobbyManager the lobby manager players are being sorted from
+     * @param pge pull game ended use case input boundary
+     * @param pd pull data use case input boundary
+     * @param lagMonitor monitor the timers of the started games report their tick lag to, or null
+     * @param sortPeriodMillis how often the players are sorted when nobody wakes the sorting up
+     * @param coalesceMillis how long a woken up sort pass waits for more joins before it runs
+     */
+    public SpInteractor(LobbyManager lobbyManager, PgeInputBoundary pge,
+                        PdInputBoundary pd, @Nullable TickLagMonitor lagMonitor,
+                        long sortPeriodMillis, long coalesceMillis) {
+        this(lobbyManager, pge, pd, lagMonitor, sortPeriodMillis, coalesceMillis, null);
+    }
+
+    /**
+     * Constructor for SpInteractor
+     * @param lobbyManager the lobby manager players are being sorted from
+     * @param pge pull game ended use case input boundary
+     * @param pd pull data use case input boundary
+     * @param lagMonitor monitor the timers of the started games report their tick lag to, or null
+     * @param sortPeriodMillis how often the players are sorted when nobody wakes the sorting up
+     * @param coalesceMillis how long a woken up sort pass waits for more joins before it runs
+     * @param actors mailboxes of the games in actor mode, or null to engage the game locks
+     */
+    public SpInteractor(LobbyManager lobbyManager, PgeInputBoundary pge,
+                        PdInputBoundary pd, @Nullable TickLagMonitor lagMonitor,
+                        long sortPeriodMillis, long coalesceMillis, @Nullable GameActors actors) {
+        if (sortPeriodMillis <= 0 || coalesceMillis < 0) {
+            throw new IllegalArgumentException("Sort period must be positive and coalesce time not negative");
+        }
+        this.lagMonitor = lagMonitor;
+        this.actors = actors;
+        this.sortPeriodMillis = sortPeriodMillis;
+        this.coalesceMillis = coalesceMillis;
+        this.passPending = new AtomicBoolean(false);
+        this.wakeUps = new AtomicLong();
+        this.passes = new AtomicLong();
+        this.playersMatched = new AtomicLong();
+        this.gamesStarted = new AtomicLong();
+        this.totalJoinToGameNanos = new AtomicLong();
+        this.maxJoinToGameNanos = new AtomicLong();
         this.lobbyManager = lobbyManager;
         this.pge = pge;
         this.pd = pd;
         this.playerPoolLock = lobbyManager.getPlayerPoolLock();
-        this.gameLock = lobbyManager.getGameLock();
+        this.gamesLock = lobbyManager.getGamesLock();
     }
 
     /**
      * Sort players task for timer to perform.
-     * If the game exists;
-     * If the game is over sets the game to null.
-     * If the game is ongoing try to add players in the pool to the game.
-     * If the game doesn't exist and there are 2 or more players waiting;
-     * Creates a new game, adds waiting players in pool to game, and starts the run game timer.
+     * Stops hosting every game which is over.
+     * Adds the players in the pool to the running games with open seats, longest waiting first.
+     * While 2 or more players are still waiting and the lobby may host another game;
+     * Creates a new game with the next waiting players, up to the game size, and starts its run game timer.
      */
     public class SpTask extends TimerTask {
         @Override
         public void run() {
-            // We need to lock all the accesses to the pool and the game to avoid race conditions
-            playerPoolLock.lock();
-            gameLock.lock();
-
-            // If game has ended, set it to null.
-            if (!lobbyManager.isGameNull()) {
-                if (lobbyManager.isGameEnded()) {
+            // Joins from now on need another pass
+            passPending.set(false);
+            passes.incrementAndGet();
 
-                    // if isGameEnded() is true, GameRunningException cannot be thrown
-                    // No other thread currently changes isGameEnded() state so this error is IMPOSSIBLE
+            // We need to lock all the accesses to the pool and the hosted games to avoid race conditions
+            playerPoolLock.lock();
+            gamesLock.lock();
+            try {
+                List<LobbyManager.HostedGame> running = new ArrayList<>();
+                for (LobbyManager.HostedGame hosted : lobbyManager.getHostedGames()) {
+                    if (actors != null) {
+                        reapActor(hosted, running);
+                        continue;
+                    }
+                    hosted.getLock().lock();
                     try {
-                        lobbyManager.setGameNull();
+                        if (lobbyManager.isGameRunning(hosted)) {
+                            running.add(hosted);
+                        } else {
+                            // The game has ended, and no other thread changes that, so GameRunningException
+                            // is IMPOSSIBLE
+                            lobbyManager.removeGame(hosted);
+                        }
                     } catch (GameRunningException e) {
-                        gameLock.unlock();
-                        playerPoolLock.unlock();
                         throw new RuntimeException(e);
+                    } finally {
+                        hosted.getLock().unlock();
                     }
+                }
 
-                } else {
-                    for (LobbyManager.PlayerObserverLink playerObserverLink : lobbyManager.getPool()) {
-                        Player player = playerObserverLink.getPlayer();
-
-                        Lock lock = playerObserverLink.getPlayerPoolListener().getLock();
-                        lock.lock();
-                        try {
-                            lobbyManager.addPlayerToGameRemoveFromPool(player);
-                        } catch (PlayerNotFoundException | GameDoesntExistException e) {
-                            // GameDoesntExist is an IMPOSSIBLE Error. In this if block, game is not null and
-                            // only SortPlayers sets game to null.
-                            // PlayerNotFoundException occurs if player is removed from the pool from another
-                            // thread. Proper lock architecture will prevent this
-                            gameLock.unlock();
-                            playerPoolLock.unlock();
-                            throw new RuntimeException(e);
-                        } finally {
-                            lock.unlock();
-                        }
+                // The players who waited the longest take the open seats of the running games first
+                List<LobbyManager.PlayerObserverLink> waiting = lobbyManager.getPool();
+                int next = 0;
+                for (LobbyManager.HostedGame hosted : running) {
+                    while (next < waiting.size() && addToGame(hosted, waiting.get(next))) {
+                        next++;
                     }
                 }
+
+                // The others are split into as many new games as the lobby may host, in the order they joined
+                Map<String, Integer> settings = gameSettings;
+                int gameSize = settings != null && settings.containsKey(GameFactory.MAX_PLAYERS)
+                        ? settings.get(GameFactory.MAX_PLAYERS) : Integer.MAX_VALUE;
+                while (waiting.size() - next >= LobbyManager.PLAYERS_TO_START_GAME
+                        && lobbyManager.getGameCount() < lobbyManager.getMaxGames()) {
+                    int end = (int) Math.min(waiting.size(), (long) next + gameSize);
+                    startGame(settings, waiting.subList(next, end));
+                    next = end;
+                }
+            } finally {
+                gamesLock.unlock();
+                playerPoolLock.unlock();
             }
-            else if (lobbyManager.getPool().size() >= LobbyManager.PLAYERS_TO_START_GAME) {
-                Map<String, Integer> settings = null; // currently player settings isn't a feature, thus null
-                Game game = lobbyManager.newGameFromPool(settings);
-
-                // IMPOSSIBLE error. isGameNull is true in this block, and setGame is only
-                // called from this thread, so another thread couldn't have changed it
-                try {
-                    lobbyManager.setGame(game);
-                } catch (GameRunningException e) {
-                    gameLock.unlock();
-                    playerPoolLock.unlock();
-                    throw new RuntimeException(e);
+        }
+
+        /**
+         * Tries to add a waiting player to a running game
+         * @param hosted the running game
+         * @param playerObserverLink link of the waiting player
+         * @return if the game accepted the player
+         */
+        private boolean addToGame(LobbyManager.HostedGame hosted,
+                                  LobbyManager.PlayerObserverLink playerObserverLink) {
+            if (actors != null) {
+                return addToActor(hosted, playerObserverLink);
+            }
+            Lock lock = playerObserverLink.getPlayerPoolListener().getLock();
+            hosted.getLock().lock();
+            lock.lock();
+            try {
+                boolean added = lobbyManager.addPlayerToGame(hosted, playerObserverLink.getPlayer());
+                if (added) {
+                    // Recorded before the player hears about it
+                    recordMatched(playerObserverLink);
+                    lobbyManager.removeFromPoolJoin(hosted, playerObserverLink.getPlayer());
                 }
+                return added;
+            } catch (PlayerNotFoundException | GameDoesntExistException e) {
+                // GameDoesntExist is an IMPOSSIBLE Error. The game was running while the games lock
+                // has been engaged, and only the game timer ends it, which needs the game lock.
+                // PlayerNotFoundException occurs if player is removed from the pool from another
+                // thread. Proper lock architecture will prevent this
+                throw new RuntimeException(e);
+            } finally {
+                lock.unlock();
+                hosted.getLock().unlock();
+            }
+        }
 
-                // This method has built in thread safety which ensures that each
-                // PlayerPoolListener lock is engaged during callback execution
-                lobbyManager.removeAllFromPoolJoin();
-                new RgInteractor(game, pge, pd, gameLock).startTimer();
+        /**
+         * Actor mode: asks the game if it is still running, and stops hosting it if it isn't
+         * @param hosted a hosted game
+         * @param running the running games, the game is added to it if it is running
+         */
+        private void reapActor(LobbyManager.HostedGame hosted, List<LobbyManager.HostedGame> running) {
+            if (actors.ask(hosted, () -> lobbyManager.isGameRunning(hosted))) {
+                running.add(hosted);
+                return;
+            }
+            try {
+                // The game has ended, and nothing restarts it, so GameRunningException is IMPOSSIBLE
+                lobbyManager.removeGame(hosted);
+            } catch (GameRunningException e) {
+                throw new RuntimeException(e);
             }
-            gameLock.unlock();
-            playerPoolLock.unlock();
+            actors.retire(hosted.getGameId());
         }
+
+        /**
+         * Actor mode: asks a running game to accept a waiting player
+         * @param hosted the running game
+         * @param playerObserverLink link of the waiting player
+         * @return if the game accepted the player
+         */
+        private boolean addToActor(LobbyManager.HostedGame hosted,
+                                   LobbyManager.PlayerObserverLink playerObserverLink) {
+            Player player = playerObserverLink.getPlayer();
+            Lock lock = playerObserverLink.getPlayerPoolListener().getLock();
+            lock.lock();
+            try {
+                boolean added = actors.ask(hosted, () -> joinRunning(hosted, player));
+                if (added) {
+                    // Recorded before the player hears about it
+                    recordMatched(playerObserverLink);
+                    lobbyManager.removeFromPoolJoin(hosted, player);
+                }
+                return added;
+            } catch (GameDoesntExistException e) {
+                // Unlike in lock mode, the game may end between accepting the player and now, in which
+                // case the player leaves it again and keeps waiting for another game
+                actors.ask(hosted, () -> leave(player));
+                return false;
+            } catch (PlayerNotFoundException e) {
+                // The player is removed from the pool only under the pool lock, IMPOSSIBLE
+                throw new RuntimeException(e);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Message to the mailbox of a game, adds the player if the game is still running
+         */
+        private boolean joinRunning(LobbyManager.HostedGame hosted, Player player) {
+            try {
+                return lobbyManager.isGameRunning(hosted) && lobbyManager.addPlayerToGame(hosted, player);
+            } catch (GameDoesntExistException e) {
+                // IMPOSSIBLE, the game is not null
+                throw new RuntimeException(e);
+            }
+        }
+
+        /**
+         * Message to the mailbox of a game, removes a player who joined it as it ended
+         */
+        private boolean leave(Player player) {
+            try {
+                lobbyManager.removePlayerFromGame(player);
+                return true;
+            } catch (GameDoesntExistException | PlayerNotFoundException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Starts a new game with some of the players in the pool
+         * @param settings Settings of the game, may be null
+         * @param waiting Links of the players to start the game with
+         */
+        private void startGame(@Nullable Map<String, Integer> settings,
+                               List<LobbyManager.PlayerObserverLink> waiting) {
+            Game game = lobbyManager.newGameFromPool(settings, waiting);
+
+            // IMPOSSIBLE error. The lobby hosts fewer games than it may, and games are only
+            // added from this thread, so another thread couldn't have changed it
+            LobbyManager.HostedGame hosted;
+            try {
+                hosted = lobbyManager.addGame(game);
+            } catch (GameRunningException e) {
+                throw new RuntimeException(e);
+            }
+
+            // This method has built in thread safety which ensures that each
+            // PlayerPoolListener lock is engaged during callback execution
+            for (LobbyManager.PlayerObserverLink playerObserverLink : waiting) {
+                recordMatched(playerObserverLink);
+            }
+            gamesStarted.incrementAndGet();
+            // In actor mode, the game gets no messages before its players are told about it
+            hosted.getLock().lock();
+            try {
+                lobbyManager.removeFromPoolJoin(hosted, waiting);
+            } finally {
+                hosted.getLock().unlock();
+            }
+            resumeGame(hosted);
+        }
+    }
+
+    /**
+     * Starts the run game timer of a hosted game, on the shared wheel if the sorting runs on one,
+     * e.g. of a game rebuilt after the server stopped
+     * @param hosted the game, which has not been started since it was hosted
+     */
+    public void resumeGame(LobbyManager.HostedGame hosted) {
+        RgInteractor rg = new RgInteractor(hosted, pge, pd, lagMonitor, actors);
+        TickWheel shared = wheel;
+        if (shared != null) {
+            rg.startTimer(shared);
+        } else {
+            rg.startTimer();
+        }
+    }
+
+    /**
+     * Records how long a player waited in the pool before joining a game
+     * @param playerObserverLink link of the player who joined a game
+     */
+    private void recordMatched(LobbyManager.PlayerObserverLink playerObserverLink) {
+        long waited = System.nanoTime() - playerObserverLink.getJoinedPoolNanos();
+        playersMatched.incrementAndGet();
+        totalJoinToGameNanos.addAndGet(waited);
+        maxJoinToGameNanos.accumulateAndGet(waited, Math::max);
     }
 
     /**
-     * Starts the sort players timer with the sort players task
+     * Starts the sort players timer with the sort players task, running it every sort period,
+     * and wakes the sorting up whenever the lobby manager reports a player who could be sorted
      */
     public void startTimer() {
-        lobbyManager.getSortPlayersTimer().schedule(new SpTask(), 0);
+        lobbyManager.getSortPlayersTimer().schedule(new SpTask(), 0, sortPeriodMillis);
+        lobbyManager.setPoolReadyListener(this::wakeUp);
+    }
+
+    /**
+     * Like <code>startTimer()</code>, but sorts the players, and ticks the games it starts, on a
+     * wheel shared by the whole server instead of a timer thread each
+     * @param wheel The shared wheel
+     */
+    public void startTimer(TickWheel wheel) {
+        this.wheel = wheel;
+        SpTask task = new SpTask();
+        wheel.schedule(scheduled -> task.run(), 0, sortPeriodMillis);
+        lobbyManager.setPoolReadyListener(this::wakeUp);
+    }
+
+    /**
+     * Schedules a sort pass after the coalesce time, unless one is already pending
+     */
+    public void wakeUp() {
+        wakeUps.incrementAndGet();
+        if (passPending.compareAndSet(false, true)) {
+            TickWheel shared = wheel;
+            if (shared != null) {
+                SpTask task = new SpTask();
+                shared.schedule(scheduled -> task.run(), coalesceMillis);
+            } else {
+                lobbyManager.getSortPlayersTimer().schedule(new SpTask(), coalesceMillis);
+            }
+        }
+    }
+
+    /**
+     * Sets the settings the games are created with. With GameFactory.MAX_PLAYERS, the waiting
+     * players are split into games of that size, and join running games while they have open
+     * seats. Without it, every waiting player joins the first game with room for them
+     * @param gameSettings The settings, or null for none
+     */
+    public void setGameSettings(@Nullable Map<String, Integer> gameSettings) {
+        this.gameSettings = gameSettings;
+    }
+
+    /**
+     * @return How many times the sorting was woken up by joining players
+     */
+    public long getWakeUpCount() {
+        return wakeUps.get();
+    }
+
+    /**
+     * @return How many sort passes ran, periodic and woken up ones alike
+     */
+    public long getPassCount() {
+        return passes.get();
+    }
+
+    /**
+     * @return How many games the sorting started
+     */
+    public long getGamesStarted() {
+        return gamesStarted.get();
+    }
+
+    /**
+     * @return How many players were sorted into a game
+     */
+    public long getPlayersMatched() {
+        return playersMatched.get();
+    }
+
+    /**
+     * @return Average time from joining the pool to joining a game, in milliseconds, 0 if
+     * nobody joined a game yet
+     */
+    public double getAverageJoinToGameMillis() {
+        long matched = playersMatched.get();
+        return matched == 0 ? 0 : totalJoinToGameNanos.get() / 1e6 / matched;
+    }
+
+    /**
+     * @return Longest time from joining the pool to joining a game, in milliseconds
+     */
+    public double getMaxJoinToGameMillis() {
+        return maxJoinToGameNanos.get() / 1e6;
     }
 }
@@ -1,9 +1,41 @@
 package usecases.submit_word;
 
+import usecases.Response;
+
+import java.util.concurrent.CompletableFuture;
+
 /**
  * The boundary that passes the input data into the SwInteractor.
  */
 public interface SwInputBoundary {
 
     void submitWord(SwInputData inputData, SwOutputBoundary presenter);
+
+    /**
+     * Non-blocking variant, for callers which don't want a presenter: the returned future is
+     * completed with the valid word or the reason the word was rejected, or with a SHUTTING_DOWN
+     * response if the server shuts down
+     * @param inputData Input data for this use case
+     * @return Future of the output of this use case
+     */
+    default CompletableFuture<SwOutputData> submitWord(SwInputData inputData) {
+        CompletableFuture<SwOutputData> future = new CompletableFuture<>();
+        submitWord(inputData, new SwOutputBoundary() {
+            @Override
+            public void valid(SwOutputDataValidWord output) {
+                future.complete(output);
+            }
+
+            @Override
+            public void invalid(SwOutputDataFailure output) {
+                future.complete(output);
+            }
+
+            @Override
+            public void outputShutdownServer() {
+                future.complete(new SwOutputDataFailure(inputData.getPlayerId(), Response.getShuttingDown()));
+            }
+        });
+        return future;
+    }
 }
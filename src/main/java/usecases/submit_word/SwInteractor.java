@@ -1,10 +1,8 @@
 package usecases.submit_word;
 
 import entities.LobbyManager;
-import exceptions.GameDoesntExistException;
-import exceptions.InvalidWordException;
-import exceptions.OutOfTurnException;
-import exceptions.PlayerNotFoundException;
+import org.jetbrains.annotations.Nullable;
+import usecases.GameActors;
 import usecases.InterruptibleThread;
 import usecases.Response;
 import usecases.ThreadRegister;
@@ -18,6 +16,12 @@ import java.util.concurrent.locks.Lock;
  */
 public class SwInteractor implements SwInputBoundary {
 
+    /**
+     * Shared by every submission to a game which doesn't exist, since it doesn't depend on the submission
+     */
+    private static final Response GAME_DOESNT_EXIST = new Response(Response.ResCode.GAME_DOESNT_EXIST,
+            "The Game you are trying to submit a word to doesn't exist");
+
     /**
      * The LobbyManager from which we obtain the game.
      */
@@ -29,7 +33,11 @@ public class SwInteractor implements SwInputBoundary {
      */
     private final ThreadRegister register;
 
-    private final Lock gameLock;
+    /**
+     * Mailboxes of the games in actor mode, null if the game locks are engaged instead
+     */
+    @Nullable
+    private final GameActors actors;
 
     /**
      * The game in which we are changing the Story, and accessing Players and their information.
@@ -37,25 +45,48 @@ public class SwInteractor implements SwInputBoundary {
      * @param lobbyManager The LobbyManager, as described before.
      */
     public SwInteractor (LobbyManager lobbyManager, ThreadRegister register) {
+        this(lobbyManager, register, null);
+    }
+
+    /**
+     * @param lobbyManager The LobbyManager, as described before.
+     * @param actors Mailboxes of the games to post the words to, or null to engage the game locks
+     */
+    public SwInteractor (LobbyManager lobbyManager, ThreadRegister register, @Nullable GameActors actors) {
         this.lobbyManager = lobbyManager;
-        this.gameLock = lobbyManager.getGameLock();
         this.register = register;
+        this.actors = actors;
     }
 
     /**
-     * The method called by the SwInteractor. It initiates the actual thread, which calls the addWord method from the
-     * LobbyManager. addWord raises an exception in case of anything that goes awry. If not, then the word is valid.
-     * In any case, the submitWord method here transmits the response (i.e. exception response or "valid" response) to
-     * the presenter.
+     * The method called by the SwInteractor. It initiates the actual thread, which calls the tryAddCheckedWord method
+     * from the LobbyManager. It tells why the word was not added in case of anything that goes awry. If not, then the
+     * word is valid. In any case, the submitWord method here transmits the response (i.e. failure response or "valid"
+     * response) to the presenter.
      *
      * @param inputData the SwInputData object that includes the word to be added as well as the ID of the player.
      * @param presenter output boundary for this use case
      */
     @Override
     public void submitWord (SwInputData inputData, SwOutputBoundary presenter) {
+        if (actors != null) {
+            postWord(inputData, presenter);
+            return;
+        }
         InterruptibleThread swintThread = this.new SwThread(inputData, presenter);
-        if (!register.registerThread(swintThread)) {
+        admitted(register.registerThread(swintThread), inputData, presenter);
+    }
+
+    /**
+     * Tells the presenter if the thread of the submission was not admitted
+     * @param admission What the register decided for the thread
+     */
+    private static void admitted(ThreadRegister.Admission admission, SwInputData inputData,
+                                 SwOutputBoundary presenter) {
+        if (admission == ThreadRegister.Admission.SHUTTING_DOWN) {
             presenter.outputShutdownServer();
+        } else if (admission == ThreadRegister.Admission.OVERLOADED) {
+            presenter.invalid(new SwOutputDataFailure(inputData.getPlayerId(), Response.getOverloaded()));
         }
     }
 
@@ -76,56 +107,145 @@ public class SwInteractor implements SwInputBoundary {
 
         private final SwOutputBoundary presenter;
 
+        /**
+         * Actor mode: the game of the player, on whose mailbox the thread runs. null if the thread
+         * looks the game up and engages its lock
+         */
+        @Nullable
+        private final LobbyManager.HostedGame hosted;
+
+        /**
+         * Actor mode: what Game.checkWord returned for the word, null if it is not valid
+         */
+        @Nullable
+        private final String checkedWord;
+
         /**
          * Constructor.
          * @param inputData The SwInputData.
          */
         public SwThread(SwInputData inputData, SwOutputBoundary presenter) {
+            this(inputData, presenter, null, null);
+        }
+
+        /**
+         * Constructor for actor mode, where the thread runs on the mailbox of the game
+         * @param inputData The SwInputData.
+         * @param hosted The game of the player, null to look it up and engage its lock instead
+         * @param checkedWord What Game.checkWord returned for the word, null if it is not valid
+         */
+        public SwThread(SwInputData inputData, SwOutputBoundary presenter,
+                        @Nullable LobbyManager.HostedGame hosted, @Nullable String checkedWord) {
             super(SwInteractor.this.register, presenter);
             this.inputData = inputData;
             this.presenter = presenter;
             this.playerId = inputData.getPlayerId();
+            this.hosted = hosted;
+            this.checkedWord = checkedWord;
         }
 
         /**
          * This method includes all the processes that will happen in the thread.
+         * Only the game of the player is locked, so words submitted to other games don't wait,
+         * and the word is checked before the lock is engaged
          */
         @Override
         public void threadLogic() {
+            if (this.hosted != null) {
+                // On the mailbox of the game, which runs one message at a time
+                addWord(this.hosted, inputData, checkedWord, presenter);
+                return;
+            }
+            LobbyManager.HostedGame hosted = lobbyManager.findGameOfPlayer(this.playerId);
+            if (hosted == null) {
+                reject(notInGame(), inputData, presenter);
+                return;
+            }
+            String checkedWord = hosted.getGame().checkWord(inputData.getWord());
+            Lock gameLock = hosted.getLock();
             gameLock.lock();
-            boolean success = true;
-
-            try{
-                lobbyManager.addWord(inputData.getWord(), this.playerId);
-            } catch (GameDoesntExistException e) {
-                success = false;
-                String mess = "The Game you are trying to submit a word to doesn't exist";
-                Response resp = Response.fromException(e, mess);
-                presenter.invalid(new SwOutputDataFailure(this.playerId, resp));
-            } catch (InvalidWordException e) {
-                success = false;
-                String mess = String.format("The word '%1$s' is not valid, please try another word.", inputData.getWord());
-                Response resp = Response.fromException(e, mess);
-                presenter.invalid(new SwOutputDataFailure(this.playerId, resp));
-            } catch (OutOfTurnException e) {
-                success = false;
-                String mess = "It is not player " + inputData.getPlayerId() + "'s turn.";
-                Response resp = Response.fromException(e, mess);
-                presenter.invalid(new SwOutputDataFailure(this.playerId, resp));
-            } catch (PlayerNotFoundException e) {
-                success = false;
-                String mess = "Player with ID " + inputData.getPlayerId() + " does not exist or is not in the Game.";
-                Response resp = Response.fromException(e, mess);
-                presenter.invalid(new SwOutputDataFailure(this.playerId, resp));
+            try {
+                addWord(hosted, inputData, checkedWord, presenter);
+            } finally {
+                gameLock.unlock();
             }
+        }
+    }
 
-            if (success) {
-                lobbyManager.switchTurn(); // Switch the turn.
-                String mess = String.format("Word '%1$s' has been added!", inputData.getWord());
-                Response resp = Response.getSuccessful(mess);
-                presenter.valid(new SwOutputDataValidWord(inputData.getWord(), this.playerId, resp));
-            }
-            gameLock.unlock();
+    /**
+     * Actor mode: posts the word to the mailbox of the game of the player, as a use case thread which
+     * runs on the mailbox rather than on a thread of its own, so that it is admitted and drained on
+     * shutdown like the threads which engage the game lock. The reply reaches the presenter once the
+     * game processed the word
+     */
+    private void postWord(SwInputData inputData, SwOutputBoundary presenter) {
+        if (register.isShuttingDown()) {
+            presenter.outputShutdownServer();
+            return;
+        }
+        LobbyManager.HostedGame hosted = lobbyManager.findGameOfPlayer(inputData.getPlayerId());
+        if (hosted == null) {
+            reject(notInGame(), inputData, presenter);
+            return;
+        }
+        String checkedWord = hosted.getGame().checkWord(inputData.getWord());
+        InterruptibleThread message = this.new SwThread(inputData, presenter, hosted, checkedWord);
+        admitted(register.registerThread(message, actors.of(hosted)), inputData, presenter);
+    }
+
+    /**
+     * Adds the word, checked beforehand, to the hosted game and tells the presenter if it was valid.
+     * Engage the lock of the game, or run on its mailbox, surrounding use
+     * @param checkedWord What Game.checkWord returned for the word, null if it is not valid
+     */
+    private void addWord(LobbyManager.HostedGame hosted, SwInputData inputData, @Nullable String checkedWord,
+                         SwOutputBoundary presenter) {
+        String word = inputData.getWord();
+        LobbyManager.WordOutcome outcome = lobbyManager.tryAddCheckedWord(hosted, word, checkedWord,
+                inputData.getPlayerId());
+        if (outcome != LobbyManager.WordOutcome.ADDED) {
+            reject(outcome, inputData, presenter);
+            return;
+        }
+        lobbyManager.switchTurn(hosted); // Switch the turn.
+        Response resp = Response.lazy(Response.ResCode.SUCCESS, () -> "Word '" + word + "' has been added!");
+        presenter.valid(new SwOutputDataValidWord(word, inputData.getPlayerId(), resp));
+    }
+
+    /**
+     * @return Why a player whose game wasn't found can't submit a word
+     */
+    private LobbyManager.WordOutcome notInGame() {
+        return lobbyManager.getGameCount() == 0 ? LobbyManager.WordOutcome.GAME_DOESNT_EXIST
+                : LobbyManager.WordOutcome.PLAYER_NOT_FOUND;
+    }
+
+    /**
+     * Tells the presenter why the word was not added. Rejections are common, e.g. from clients which
+     * submit words out of turn, so no exception is thrown for them, and their description is only
+     * rendered if the presenter asks for it
+     * @param outcome Why the word was not added
+     */
+    private static void reject(LobbyManager.WordOutcome outcome, SwInputData inputData, SwOutputBoundary presenter) {
+        String playerId = inputData.getPlayerId();
+        Response resp;
+        switch (outcome) {
+            case GAME_DOESNT_EXIST:
+                resp = GAME_DOESNT_EXIST;
+                break;
+            case INVALID_WORD:
+                String word = inputData.getWord();
+                resp = Response.lazy(Response.ResCode.INVALID_WORD,
+                        () -> "The word '" + word + "' is not valid, please try another word.");
+                break;
+            case OUT_OF_TURN:
+                resp = Response.lazy(Response.ResCode.OUT_OF_TURN, () -> "It is not player " + playerId + "'s turn.");
+                break;
+            default:
+                resp = Response.lazy(Response.ResCode.PLAYER_NOT_FOUND,
+                        () -> "Player with ID " + playerId + " does not exist or is not in the Game.");
+                break;
         }
+        presenter.invalid(new SwOutputDataFailure(playerId, resp));
     }
 }
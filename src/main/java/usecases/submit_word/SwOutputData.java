@@ -0,0 +1,19 @@
+package usecases.submit_word;
+
+import usecases.Response;
+
+/**
+ * Output of the SwInteractor, whether the word was valid or not
+ */
+public interface SwOutputData {
+
+    /**
+     * @return ID of the player that attempted to submit
+     */
+    String getPlayerId();
+
+    /**
+     * @return Result Code
+     */
+    Response getResponse();
+}
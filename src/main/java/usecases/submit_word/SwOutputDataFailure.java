@@ -5,7 +5,7 @@ import usecases.Response;
 /**
  * The data that the ViewModel uses to update the GUI if the word is determined to be invalid.
  */
-public class SwOutputDataFailure {
+public class SwOutputDataFailure implements SwOutputData {
 
     /**
      * ID of the player that attempted to submit.
@@ -27,7 +27,9 @@ public class SwOutputDataFailure {
         this.response = response;
     }
 
+    @Override
     public Response getResponse() {return this.response;}
 
+    @Override
     public String getPlayerId() {return this.playerId;}
 }
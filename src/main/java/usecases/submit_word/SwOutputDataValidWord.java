@@ -4,7 +4,7 @@ import usecases.Response;
 /**
  * The data that the ViewModel uses to update the GUI if the word is determined to be valid.
  */
-public class SwOutputDataValidWord {
+public class SwOutputDataValidWord implements SwOutputData {
     /**
      * Word that was submitted, represented as a string.
      */
@@ -32,9 +32,11 @@ public class SwOutputDataValidWord {
         this.response = response;
     }
 
+    @Override
     public String getPlayerId() {return this.playerId;}
 
     public String getWord() {return this.word;}
 
+    @Override
     public Response getResponse() {return response;}
 }
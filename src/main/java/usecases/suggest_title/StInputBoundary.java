@@ -1,5 +1,9 @@
 package usecases.suggest_title;
 
+import usecases.Response;
+
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Defines the abstract method to begin the Suggest Title use case
  */
@@ -10,4 +14,26 @@ public interface StInputBoundary {
      * @param pres output boundary for this use case
      */
     void suggestTitle(StInputData data, StOutputBoundary pres);
+
+    /**
+     * Non-blocking variant, for callers which don't want a presenter: the returned future is
+     * completed with the outcome of the suggestion, or with a SHUTTING_DOWN response if the server shuts down
+     * @param data Input data for this use case
+     * @return Future of the output of this use case
+     */
+    default CompletableFuture<StOutputData> suggestTitle(StInputData data) {
+        CompletableFuture<StOutputData> future = new CompletableFuture<>();
+        suggestTitle(data, new StOutputBoundary() {
+            @Override
+            public void suggestTitleOutput(StOutputData output) {
+                future.complete(output);
+            }
+
+            @Override
+            public void outputShutdownServer() {
+                future.complete(new StOutputData(Response.getShuttingDown()));
+            }
+        });
+        return future;
+    }
 }
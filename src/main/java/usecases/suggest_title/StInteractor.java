@@ -143,9 +143,11 @@ public class StInteractor implements StInputBoundary {
     @Override
     public void suggestTitle(StInputData data, StOutputBoundary pres){
         InterruptibleThread thread = new StThread(data, pres);
-        boolean success = register.registerThread(thread);
-        if (!success){
+        ThreadRegister.Admission admission = register.registerThread(thread);
+        if (admission == ThreadRegister.Admission.SHUTTING_DOWN) {
             pres.outputShutdownServer();
+        } else if (admission == ThreadRegister.Admission.OVERLOADED) {
+            pres.suggestTitleOutput(new StOutputData(Response.getOverloaded()));
         }
     }
 }
@@ -1,5 +1,9 @@
 package usecases.upvote_title;
 
+import usecases.Response;
+
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Input boundary for upvote title use case.
  */
@@ -11,4 +15,26 @@ public interface UtInputBoundary {
      *              hose title is to be upvoted
      */
     void upvoteTitle(UtInputData data, UtOutputBoundary pres);
+
+    /**
+     * Non-blocking variant, for callers which don't want a presenter: the returned future is
+     * completed with the outcome of the upvote, or with a SHUTTING_DOWN response if the server shuts down
+     * @param data Input data for this use case
+     * @return Future of the output of this use case
+     */
+    default CompletableFuture<UtOutputData> upvoteTitle(UtInputData data) {
+        CompletableFuture<UtOutputData> future = new CompletableFuture<>();
+        upvoteTitle(data, new UtOutputBoundary() {
+            @Override
+            public void upvoteOutput(UtOutputData output) {
+                future.complete(output);
+            }
+
+            @Override
+            public void outputShutdownServer() {
+                future.complete(new UtOutputData(Response.getShuttingDown()));
+            }
+        });
+        return future;
+    }
 }
@@ -57,7 +57,11 @@ public class UtInteractor implements UtInputBoundary{
     @Override
     public void upvoteTitle(UtInputData data, UtOutputBoundary pres){
         InterruptibleThread thread = new UtThread(data, pres);
-        boolean success = register.registerThread(thread);
-        if (!success){pres.outputShutdownServer();}
+        ThreadRegister.Admission admission = register.registerThread(thread);
+        if (admission == ThreadRegister.Admission.SHUTTING_DOWN) {
+            pres.outputShutdownServer();
+        } else if (admission == ThreadRegister.Admission.OVERLOADED) {
+            pres.upvoteOutput(new UtOutputData(Response.getOverloaded()));
+        }
     }
 }
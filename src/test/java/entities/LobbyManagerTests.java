@@ -697,6 +697,40 @@ public class LobbyManagerTests {
         assertThrows(InvalidWordException.class, () -> lobman.addWord("bloop", "1"));
     }
 
+    /**
+     * Test that tryAddCheckedWord tells why a word was not added, the way addWord throws it, and
+     * that findGameOfPlayer finds no game for a player who is in none
+     */
+    @Test
+    @Timeout(1)
+    public void tryAddCheckedWordOutcomes() throws IdInUseException, InvalidDisplayNameException,
+            GameDoesntExistException, GameRunningException {
+        PlayerFactory playerfac = new PlayerFactory(displayName -> true);
+        GameFactory gamefac = new CustomizableTestGameFactory();
+        LobbyManager lobman = new LobbyManager(playerfac, gamefac);
+
+        Player player1 = lobman.createNewPlayer("player1", "1");
+        Player player2 = lobman.createNewPlayer("player2", "2");
+        CustomizableTestGame testGame = new CustomizableTestGame(new LinkedList<>());
+        lobman.setGame(testGame);
+        lobman.addPlayerToGame(player1);
+        lobman.addPlayerToGame(player2);
+        LobbyManager.HostedGame hosted = lobman.findGameOfPlayer("1");
+        assertNotNull(hosted);
+        assertNull(lobman.findGameOfPlayer("3"));
+
+        assertEquals(LobbyManager.WordOutcome.PLAYER_NOT_FOUND, lobman.tryAddCheckedWord(hosted, "bloop", "bloop", "3"));
+        assertEquals(LobbyManager.WordOutcome.OUT_OF_TURN, lobman.tryAddCheckedWord(hosted, "bloop", "bloop", "2"));
+        assertEquals(LobbyManager.WordOutcome.INVALID_WORD, lobman.tryAddCheckedWord(hosted, "bloop", null, "1"));
+        assertEquals("", testGame.getStoryString());
+        assertEquals(LobbyManager.WordOutcome.ADDED, lobman.tryAddCheckedWord(hosted, "bloop", "bloop", "1"));
+        assertEquals("bloop ", testGame.getStoryString());
+
+        testGame.setTimerStopped();
+        assertEquals(LobbyManager.WordOutcome.GAME_DOESNT_EXIST,
+                lobman.tryAddCheckedWord(hosted, "bloop", "bloop", "1"));
+    }
+
     /**
      * Test that newGameFromPool works as intended.
      */
@@ -859,4 +893,88 @@ public class LobbyManagerTests {
         // Assertions:
         assertTrue(lobman.getPlayersFromPool().contains(player1), "Player 1 should be in the pool, but it isn't.");
     }
+
+    /**
+     * Test that a lobby hosts several games at once, each under its own lock, and routes
+     * words and disconnections to the game of the player
+     */
+    @Test
+    @Timeout(1)
+    public void multipleGamesRoutedByPlayer() throws GameRunningException, GameDoesntExistException,
+            PlayerNotFoundException, OutOfTurnException, InvalidWordException {
+        LobbyManager lobman = new LobbyManager(new PlayerFactory(displayName -> true),
+                new CustomizableTestGameFactory(), 2);
+        CustomizableTestGame first = new CustomizableTestGame(new LinkedList<>(List.of(
+                new Player("a", "1"), new Player("b", "2"))));
+        CustomizableTestGame second = new CustomizableTestGame(new LinkedList<>(List.of(
+                new Player("c", "3"), new Player("d", "4"))));
+
+        LobbyManager.HostedGame firstHosted = lobman.addGame(first);
+        LobbyManager.HostedGame secondHosted = lobman.addGame(second);
+        assertThrows(GameRunningException.class,
+                () -> lobman.addGame(new CustomizableTestGame(new LinkedList<>())));
+        assertEquals(2, lobman.getGameCount());
+        assertNotEquals(firstHosted.getGameId(), secondHosted.getGameId());
+        assertNotSame(firstHosted.getLock(), secondHosted.getLock());
+        assertSame(secondHosted, lobman.getHostedGame(secondHosted.getGameId()));
+
+        lobman.addWord("hello", "1");
+        lobman.addWord("world", "3");
+        assertEquals("hello ", first.getStoryString());
+        assertEquals("world ", second.getStoryString());
+        assertThrows(PlayerNotFoundException.class, () -> lobman.addWord("nope", "5"));
+
+        lobman.removePlayerFromGame(new Player("", "4"));
+        assertEquals(1, second.getPlayers().size());
+        assertThrows(PlayerNotFoundException.class, () -> lobman.getGameOfPlayer("4"));
+
+        // Only games which ended can be removed, and their players aren't routed anymore
+        assertThrows(GameRunningException.class, () -> lobman.removeGame(firstHosted));
+        first.setTimerStopped();
+        lobman.removeGame(firstHosted);
+        assertEquals(1, lobman.getGameCount());
+        assertThrows(PlayerNotFoundException.class, () -> lobman.getGameOfPlayer("1"));
+        assertSame(secondHosted, lobman.getGameOfPlayer("3"));
+    }
+
+    /**
+     * Test that the pool keeps the order players joined in, finds players by ID, and that
+     * draining it empties it
+     */
+    @Test
+    @Timeout(1)
+    public void poolOrderLookupAndDrain() throws PlayerNotFoundException {
+        LobbyManager lobman = new LobbyManager(new PlayerFactory(displayName -> true),
+                new CustomizableTestGameFactory());
+        PlayerPoolListener ppl = new PlayerPoolListener() {
+
+            private final Lock lock = new ReentrantLock();
+
+            @Override
+            public void onJoinGamePlayer(Game game) {}
+
+            @Override
+            public void onCancelPlayer() {}
+
+            @Override
+            public Lock getLock() {
+                return this.lock;
+            }
+        };
+
+        for (int i = 0; i < 5; i++) {
+            lobman.addPlayerToPool(new Player("player" + i, String.valueOf(i)), ppl);
+        }
+        lobman.removeFromPoolCancel(new Player("", "2"));
+        assertNull(lobman.getLinkFromPlayer(new Player("", "2")));
+        assertEquals("player3", lobman.getLinkFromPlayer(new Player("", "3")).getPlayer().getDisplayName());
+        assertEquals(4, lobman.getPoolSize());
+
+        List<String> drained = new ArrayList<>();
+        for (LobbyManager.PlayerObserverLink link : lobman.drainPool()) {
+            drained.add(link.getPlayer().getPlayerId());
+        }
+        assertEquals(List.of("0", "1", "3", "4"), drained);
+        assertEquals(0, lobman.getPoolSize());
+    }
 }
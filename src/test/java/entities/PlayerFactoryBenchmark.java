@@ -0,0 +1,42 @@
+package entities;
+
+import exceptions.IdInUseException;
+import exceptions.InvalidDisplayNameException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * Measures players created per second as the number of players the server has ever seen
+ * grows, with players leaving again so that only a bounded number is online at once.
+ * Run with <code>gradle benchmark</code>
+ */
+@Tag("benchmark")
+public class PlayerFactoryBenchmark {
+
+    private static final int LIFETIME_PLAYERS = 2_000_000;
+    private static final int CHECKPOINT = 250_000;
+    private static final int ONLINE_PLAYERS = 10_000;
+
+    @Test
+    public void benchmarkJoinThroughput() throws IdInUseException, InvalidDisplayNameException {
+        PlayerFactory factory = new PlayerFactory(displayName -> true);
+        Queue<Player> online = new ArrayDeque<>();
+
+        long start = System.nanoTime();
+        for (int i = 1; i <= LIFETIME_PLAYERS; i++) {
+            online.add(factory.createPlayer("player", String.valueOf(i)));
+            if (online.size() > ONLINE_PLAYERS) {
+                factory.releasePlayerId(online.remove().getPlayerId());
+            }
+            if (i % CHECKPOINT == 0) {
+                double perSecond = CHECKPOINT / ((System.nanoTime() - start) / 1e9);
+                System.out.printf("%,10d lifetime players %,12.0f joins/s, %,d IDs in use%n",
+                        i, perSecond, factory.getIdsInUseCount());
+                start = System.nanoTime();
+            }
+        }
+    }
+}
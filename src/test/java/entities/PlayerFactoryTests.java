@@ -53,4 +53,23 @@ public class PlayerFactoryTests {
         PlayerFactory playerfac = new PlayerFactory(displayName -> false);
         assertThrows(InvalidDisplayNameException.class, () -> playerfac.createPlayer("player1", "1"));
     }
+
+    /**
+     * Test that a released ID may be used again, and that a rejected display name doesn't
+     * keep the ID reserved
+     */
+    @Test
+    @Timeout(1)
+    public void testReleasedIdReused() throws IdInUseException, InvalidDisplayNameException {
+        PlayerFactory playerfac = new PlayerFactory(displayName -> displayName.length() > 2);
+        playerfac.createPlayer("player1", "1");
+        assertTrue(playerfac.isIdInUse("1"));
+        assertTrue(playerfac.releasePlayerId("1"));
+        assertFalse(playerfac.releasePlayerId("1"));
+        assertEquals("player2", playerfac.createPlayer("player2", "1").getDisplayName());
+
+        assertThrows(InvalidDisplayNameException.class, () -> playerfac.createPlayer("p", "2"));
+        assertFalse(playerfac.isIdInUse("2"));
+        assertEquals(1, playerfac.getIdsInUseCount());
+    }
 }
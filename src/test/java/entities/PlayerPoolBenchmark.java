@@ -0,0 +1,88 @@
+package entities;
+
+import entities.games.Game;
+import entities.games.GameFactoryRegular;
+import exceptions.PlayerNotFoundException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Measures joins, lookups and cancellations per second on the matchmaking pool of the
+ * lobby with many waiting players. Run with <code>gradle benchmark</code>
+ */
+@Tag("benchmark")
+public class PlayerPoolBenchmark {
+
+    private static final int WAITING_PLAYERS = 100_000;
+
+    /**
+     * Listener which ignores every update
+     */
+    private static class BlankPoolListener implements PlayerPoolListener {
+        private final Lock lock = new ReentrantLock();
+
+        @Override
+        public void onJoinGamePlayer(Game game) {}
+
+        @Override
+        public void onCancelPlayer() {}
+
+        @Override
+        public Lock getLock() {
+            return lock;
+        }
+    }
+
+    private static double perSecond(int operations, long startNanos) {
+        return operations / ((System.nanoTime() - startNanos) / 1e9);
+    }
+
+    @Test
+    public void benchmarkJoinLookupCancel() throws PlayerNotFoundException {
+        LobbyManager manager = new LobbyManager(new PlayerFactory(displayName -> true), new GameFactoryRegular());
+        PlayerPoolListener listener = new BlankPoolListener();
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < WAITING_PLAYERS; i++) {
+            players.add(new Player("player", String.valueOf(i)));
+        }
+
+        long start = System.nanoTime();
+        for (Player p : players) {
+            manager.addPlayerToPool(p, listener);
+        }
+        double joins = perSecond(WAITING_PLAYERS, start);
+
+        // Players cancel in no particular order
+        Collections.shuffle(players, new Random(42));
+        Lock poolLock = manager.getPlayerPoolLock();
+
+        start = System.nanoTime();
+        for (Player p : players) {
+            poolLock.lock();
+            manager.getLinkFromPlayer(p);
+            poolLock.unlock();
+        }
+        double lookups = perSecond(WAITING_PLAYERS, start);
+
+        start = System.nanoTime();
+        for (Player p : players) {
+            poolLock.lock();
+            try {
+                manager.removeFromPoolCancel(p);
+            } finally {
+                poolLock.unlock();
+            }
+        }
+        double cancels = perSecond(WAITING_PLAYERS, start);
+
+        System.out.printf("pool of %,d: joins %,12.0f/s lookups %,12.0f/s cancels %,12.0f/s%n",
+                WAITING_PLAYERS, joins, lookups, cancels);
+    }
+}
@@ -0,0 +1,84 @@
+package entities;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Heap taken by a story of 100k words, with the words kept as a list of Word objects beside the
+ * rendered text as Story used to, and in the columns of a Story as it does now.
+ * Run with <code>gradle benchmark</code>
+ */
+@Tag("benchmark")
+public class StoryFootprintBenchmark {
+
+    private static final int WORDS = 100_000;
+    private static final int AUTHORS = 8;
+    private static final String[] SAMPLE = {"Once", "upon", "a", "time,", "there", "lived", "a", "quick",
+            "brown", "fox."};
+
+    /**
+     * Keeps the measured story reachable until the heap is measured
+     */
+    private static Object kept;
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * A new string for every word, as the validity checkers return
+     */
+    private static String word(int i) {
+        return new String(SAMPLE[i % SAMPLE.length].toCharArray());
+    }
+
+    private static double bytesPerWord(boolean columns, Player[] authors) {
+        kept = null;
+        long before = usedHeap();
+        if (columns) {
+            Story story = new Story(new WordFactory(null));
+            for (int i = 0; i < WORDS; i++) {
+                story.addCheckedWord(word(i), authors[i % AUTHORS]);
+            }
+            story.toString();
+            kept = story;
+        } else {
+            // The words, along with the rendered text and word starts Story kept besides them
+            List<Word> words = new ArrayList<>();
+            StringBuilder text = new StringBuilder();
+            int[] wordStarts = new int[WORDS];
+            for (int i = 0; i < WORDS; i++) {
+                Word word = new Word(word(i), authors[i % AUTHORS]);
+                wordStarts[i] = text.length();
+                words.add(word);
+                text.append(word.getWord()).append(' ');
+            }
+            kept = new Object[] {words, text, wordStarts, text.toString()};
+        }
+        return (double) (usedHeap() - before) / WORDS;
+    }
+
+    @Test
+    public void benchmarkFootprint() {
+        Player[] authors = new Player[AUTHORS];
+        for (int i = 0; i < AUTHORS; i++) {
+            authors[i] = new Player("player" + i, String.valueOf(i));
+        }
+        // The last round is reported
+        double list = 0;
+        double columns = 0;
+        for (int round = 0; round < 3; round++) {
+            list = bytesPerWord(false, authors);
+            columns = bytesPerWord(true, authors);
+        }
+        System.out.printf("%,d words by %d authors, rendered text included: list of Word %.1f bytes/word, " +
+                "Story columns %.1f bytes/word%n", WORDS, AUTHORS, list, columns);
+    }
+}
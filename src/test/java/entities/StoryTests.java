@@ -7,6 +7,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class StoryTests {
@@ -109,4 +112,66 @@ public class StoryTests {
         assertEquals("Once upon a time ", story.toString(),
                 "The Story.toString() should just be Once upon a time, with a space at the end.");
     }
+
+    /**
+     * Tests that the text keeps up with the words added after it was rendered, and the suffixes
+     */
+    @Test
+    @Timeout(1)
+    public void testTextSince() throws InvalidWordException {
+        Player player1 = new Player("player1", "1");
+
+        WordFactory wordfac = new WordFactory(new TestValidityCheckerTrue());
+        Story story = new Story(wordfac, new Word[] {new Word("Once", player1), new Word(" upon ", player1)});
+        assertEquals("Once upon ", story.toString());
+        assertSame(story.toString(), story.toString(), "The text should be rendered once until a word is added");
+
+        story.addWord("a", player1);
+        story.addCheckedWord("time", player1);
+
+        assertEquals(4, story.getWordCount());
+        assertEquals("Once upon a time ", story.toString());
+        assertEquals("Once upon a time ", story.textSince(0));
+        assertEquals("a time ", story.textSince(2));
+        assertEquals("time ", story.textSince(3));
+        assertEquals("", story.textSince(4));
+    }
+
+    /**
+     * Tests getting the words back by index, and going through the words of one author
+     */
+    @Test
+    @Timeout(1)
+    public void testWordsByAuthor() throws InvalidWordException {
+        Player player1 = new Player("player1", "1");
+        Player player2 = new Player("player2", "2");
+        Player player3 = new Player("player3", "3");
+
+        WordFactory wordfac = new WordFactory(new TestValidityCheckerTrue());
+        Story story = new Story(wordfac);
+        String[] words = {"Once", "upon", "a", "time", "there", "lived", "a", "fox"};
+        for (int i = 0; i < words.length; i++) {
+            // Authors take turns, except the first one writes every other word
+            story.addWord(words[i], i % 2 == 0 ? player1 : (i % 4 == 1 ? player2 : player3));
+        }
+
+        assertEquals("time", story.getWord(3));
+        assertEquals(player3, story.getAuthor(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> story.getWord(words.length));
+
+        assertEquals(4, story.getWordCountBy(player1));
+        assertEquals(List.of("Once", "a", "there", "a"), toList(story.getWordsBy(player1)));
+        assertEquals(List.of("upon", "lived"), toList(story.getWordsBy(player2)));
+        assertEquals(List.of("time", "fox"), toList(story.getWordsBy(player3)));
+
+        Player player4 = new Player("player4", "4");
+        assertEquals(0, story.getWordCountBy(player4));
+        assertFalse(story.getWordsBy(player4).iterator().hasNext());
+    }
+
+    private static List<String> toList(Iterable<String> words) {
+        List<String> out = new ArrayList<>();
+        words.forEach(out::add);
+        return out;
+    }
 }
@@ -0,0 +1,148 @@
+package entities.games;
+
+import entities.Player;
+import entities.statistics.PerPlayerIntStatistic;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+
+/**
+ * Nanoseconds per operation on the players of a game, kept in a LinkedList queue as GameRegular
+ * used to and in a PlayerRing as it does now, with 2 to 1000 players.
+ * Run with <code>gradle benchmark</code>
+ */
+@Tag("benchmark")
+public class PlayerRingBenchmark {
+
+    private static final int[] PLAYER_COUNTS = {2, 10, 100, 1000};
+    private static final int OPERATIONS = 200_000;
+    private static final int ROUNDS = 3;
+    private static final int[] LEAVING = new Random(42).ints(OPERATIONS, 0, Integer.MAX_VALUE).toArray();
+
+    /**
+     * Keeps the results alive, so the measured operations are not optimized away
+     */
+    private static long sink;
+
+    private static List<Player> players(int count) {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            players.add(new Player("player" + i, String.valueOf(i)));
+        }
+        return players;
+    }
+
+    /**
+     * Index of the i-th player to leave and join again, at random, so the leaving players are
+     * anywhere in the queue
+     */
+    private static int scattered(int i, int count) {
+        return LEAVING[i] % count;
+    }
+
+    private static double nanosPerOperation(long startNanos) {
+        return (System.nanoTime() - startNanos) / (double) OPERATIONS;
+    }
+
+    /**
+     * Rotate and get the current player, look up by ID, remove and add back, and get the players
+     * as a Pull Data tick does, the way GameRegular used to with a LinkedList
+     */
+    private static double[] measureQueue(List<Player> players) {
+        Queue<Player> queue = new LinkedList<>(players);
+        double[] results = new double[4];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            queue.add(queue.remove());
+            sink += queue.peek().hashCode();
+        }
+        results[0] = nanosPerOperation(start);
+
+        start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            String id = players.get(i % players.size()).getPlayerId();
+            sink += queue.stream().filter(p -> p.getPlayerId().equals(id)).findAny().orElse(null).hashCode();
+        }
+        results[1] = nanosPerOperation(start);
+
+        start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            Player p = players.get(scattered(i, players.size()));
+            queue.remove(p);
+            queue.add(p);
+        }
+        results[2] = nanosPerOperation(start);
+
+        start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            Collection<Player> copy = new ArrayList<>(queue);
+            sink += copy.size();
+        }
+        results[3] = nanosPerOperation(start);
+        return results;
+    }
+
+    /**
+     * The same operations, on a GameRegular
+     */
+    private static double[] measureRing(List<Player> players) {
+        GameRegular game = new GameRegular(new LinkedList<>(players), new PerPlayerIntStatistic[0]);
+        double[] results = new double[4];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            game.switchTurnLogic();
+            sink += game.getCurrentTurnPlayer().hashCode();
+        }
+        results[0] = nanosPerOperation(start);
+
+        start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            sink += game.getPlayerById(players.get(i % players.size()).getPlayerId()).hashCode();
+        }
+        results[1] = nanosPerOperation(start);
+
+        start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            Player p = players.get(scattered(i, players.size()));
+            game.removePlayer(p);
+            game.addPlayer(p);
+        }
+        results[2] = nanosPerOperation(start);
+
+        start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            sink += game.getPlayers().size();
+        }
+        results[3] = nanosPerOperation(start);
+        return results;
+    }
+
+    @Test
+    public void benchmarkQueueVersusRing() {
+        double[][] queue = new double[PLAYER_COUNTS.length][];
+        double[][] ring = new double[PLAYER_COUNTS.length][];
+        // The last round is reported, the ones before warm up the JIT
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int c = 0; c < PLAYER_COUNTS.length; c++) {
+                List<Player> players = players(PLAYER_COUNTS[c]);
+                queue[c] = measureQueue(players);
+                ring[c] = measureRing(players);
+            }
+        }
+        System.out.println("ns/op           players  rotate   lookup   remove+add   getPlayers");
+        for (int c = 0; c < PLAYER_COUNTS.length; c++) {
+            System.out.printf("linked list    %6d %8.1f %8.1f %12.1f %12.1f%n", PLAYER_COUNTS[c],
+                    queue[c][0], queue[c][1], queue[c][2], queue[c][3]);
+            System.out.printf("player ring    %6d %8.1f %8.1f %12.1f %12.1f%n", PLAYER_COUNTS[c],
+                    ring[c][0], ring[c][1], ring[c][2], ring[c][3]);
+        }
+    }
+}
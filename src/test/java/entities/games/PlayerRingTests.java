@@ -0,0 +1,110 @@
+package entities.games;
+
+import entities.Player;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlayerRingTests {
+
+    private static List<Player> players(int count) {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            players.add(new Player("player" + i, String.valueOf(i)));
+        }
+        return players;
+    }
+
+    /**
+     * Test that the ring keeps the same turn order as rotating a queue would, through removals
+     * and through growing past its initial capacity
+     */
+    @Test
+    @Timeout(1)
+    public void testTurnOrderMatchesQueue() {
+        List<Player> players = players(20);
+        PlayerRing ring = new PlayerRing(players.subList(0, 3));
+        LinkedList<Player> queue = new LinkedList<>(players.subList(0, 3));
+
+        for (int i = 3; i < players.size(); i++) {
+            ring.rotate();
+            queue.add(queue.remove());
+            assertTrue(ring.add(players.get(i)));
+            queue.add(players.get(i));
+            if (i % 4 == 0) {
+                Player leaving = queue.get(i % queue.size());
+                assertTrue(ring.remove(leaving));
+                queue.remove(leaving);
+            }
+            assertEquals(queue.peek(), ring.current());
+            assertEquals(queue, new ArrayList<>(ring.view()));
+        }
+        for (int i = 0; i < 50; i++) {
+            ring.rotate();
+            queue.add(queue.remove());
+            assertEquals(queue.peek(), ring.current());
+        }
+        assertEquals(queue, new ArrayList<>(ring.view()));
+    }
+
+    /**
+     * Test looking up, adding again and removing players by ID
+     */
+    @Test
+    @Timeout(1)
+    public void testLookupAndRemove() {
+        List<Player> players = players(3);
+        PlayerRing ring = new PlayerRing(players);
+
+        assertSame(players.get(1), ring.get("1"));
+        assertNull(ring.get("3"));
+        assertFalse(ring.add(new Player("other name", "1")), "Added a player with an ID already in the ring");
+
+        // Removing the current player passes the turn to the next one
+        assertTrue(ring.remove(players.get(0)));
+        assertFalse(ring.remove(players.get(0)));
+        assertNull(ring.get("0"));
+        assertEquals(players.get(1), ring.current());
+
+        assertTrue(ring.remove(players.get(1)));
+        assertTrue(ring.remove(players.get(2)));
+        assertEquals(0, ring.size());
+        assertNull(ring.current());
+        assertFalse(ring.rotate());
+
+        assertTrue(ring.add(players.get(0)));
+        assertEquals(players.get(0), ring.current());
+    }
+
+    /**
+     * Test that the view is read-only and follows the ring
+     */
+    @Test
+    @Timeout(1)
+    public void testView() {
+        List<Player> players = players(3);
+        PlayerRing ring = new PlayerRing(players);
+        Collection<Player> view = ring.view();
+
+        assertThrows(UnsupportedOperationException.class, () -> view.remove(players.get(0)));
+        assertThrows(UnsupportedOperationException.class, () -> view.add(new Player("new", "new")));
+
+        ring.remove(players.get(1));
+        assertEquals(2, view.size());
+        assertFalse(view.contains(players.get(1)));
+        assertTrue(view.contains(players.get(2)));
+
+        Iterator<Player> iterator = view.iterator();
+        iterator.next();
+        ring.rotate();
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+}
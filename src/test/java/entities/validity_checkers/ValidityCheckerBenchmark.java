@@ -0,0 +1,82 @@
+package entities.validity_checkers;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.ToIntFunction;
+
+/**
+ * Nanoseconds and bytes allocated per check, of the regex validity checkers and of the scanners,
+ * over a mix of submissions like the ones players make: mostly plain words, some after punctuation,
+ * some invalid and some too long. Run with <code>gradle benchmark</code>
+ */
+@Tag("benchmark")
+public class ValidityCheckerBenchmark {
+
+    private static final int CHECKS = 2_000_000;
+    private static final int ROUNDS = 3;
+
+    private static final String[] EXPRESSIONS = {"Once", "upon", "a", "time", ", there", "lived", "a", "quick",
+            "brown", ". The", "fox", "jumped", "h3llo", "!?! wow", "verylongwordthatgetscutshortbythechecker",
+            "  over ", "the", "lazy", "dog", "... and"};
+    private static final String[] WORDS = {"Once", "upon", "a", "time", "there", "lived", "a", "quick", "brown",
+            "The", "fox", "jumped", "h3llo", "wow", "verylongwordthatgetscutshortbythechecker"};
+    private static final String[] PUNCTUATION = {",", ".", "...", "!?!", "!?!?", ";", ",,", "-", "?", ".\""};
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * Keeps the results alive, so the measured checks are not optimized away
+     */
+    private static long sink;
+
+    /**
+     * @return Nanoseconds and bytes allocated per check
+     */
+    private static double[] measure(String[] inputs, ToIntFunction<String> check) {
+        long bytesBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < CHECKS; i++) {
+            sink += check.applyAsInt(inputs[i % inputs.length]);
+        }
+        long nanos = System.nanoTime() - start;
+        long bytes = THREADS.getCurrentThreadAllocatedBytes() - bytesBefore;
+        return new double[] {(double) nanos / CHECKS, (double) bytes / CHECKS};
+    }
+
+    private static int length(String checked) {
+        return checked == null ? -1 : checked.length();
+    }
+
+    @Test
+    public void benchmarkCheckers() {
+        WordValidityChecker wordRegular = new WordValidityCheckerRegular();
+        WordValidityChecker wordScanner = new WordValidityCheckerScanner();
+        PunctuationValidityChecker puncRegular = new PunctuationValidityCheckerRegular();
+        PunctuationValidityChecker puncRegular2 = new PunctuationValidityCheckerRegular2();
+        PunctuationValidityChecker puncScanner = new PunctuationValidityCheckerScanner();
+        ValidityCheckerFacade facadeRegular = new ValidityCheckerFacade(puncRegular, wordRegular);
+        ValidityCheckerFacade facadeScanner = new ValidityCheckerFacadeScanner();
+
+        String[] names = {"word: Regular", "word: Scanner", "punctuation: Regular", "punctuation: Regular2",
+                "punctuation: Scanner", "facade: Regular", "facade: Scanner"};
+        double[][] results = new double[names.length][];
+        // The last round is reported, the ones before warm up the JIT
+        for (int round = 0; round < ROUNDS; round++) {
+            results[0] = measure(WORDS, w -> length(wordRegular.isWordValid(w)));
+            results[1] = measure(WORDS, w -> length(wordScanner.isWordValid(w)));
+            results[2] = measure(PUNCTUATION, p -> length(puncRegular.isPunctuationValid(p)));
+            results[3] = measure(PUNCTUATION, p -> length(puncRegular2.isPunctuationValid(p)));
+            results[4] = measure(PUNCTUATION, p -> length(puncScanner.isPunctuationValid(p)));
+            results[5] = measure(EXPRESSIONS, e -> length(facadeRegular.isValid(e)));
+            results[6] = measure(EXPRESSIONS, e -> length(facadeScanner.isValid(e)));
+        }
+        System.out.printf("%,d checks each%n", CHECKS);
+        System.out.println("                          ns/check   bytes/check");
+        for (int i = 0; i < names.length; i++) {
+            System.out.printf("%-24s %9.1f %13.1f%n", names[i], results[i][0], results[i][1]);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package entities.validity_checkers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests that the scanners accept and change exactly what the regular validity checkers do
+ */
+public class ValidityCheckerScannerTests {
+
+    private static final String ALPHABET = "aZq3 \t.!?,;:-\"";
+
+    /**
+     * Edge cases, and random expressions of the characters the checkers care about
+     */
+    private static List<String> inputs() {
+        List<String> inputs = new ArrayList<>(List.of("", " ", "\t", "H", "hello", "h3llo", ".", "...", "....",
+                "!?!?", "?", ",", ",,", "-", "- a", ", hello", "... hello", "!?!? hello", ",\t hello",
+                "  .  hello  ", "\tfox\t", "a b", "verylongwordthatgetscutshortbythechecker",
+                "verylongwordthatgetscu tshort", ". verylongwordthatgetscutshort h3", "\"", ".\"", "! ?"));
+        Random random = new Random(207);
+        for (int i = 0; i < 50_000; i++) {
+            StringBuilder s = new StringBuilder();
+            int length = random.nextInt(30);
+            for (int j = 0; j < length; j++) {
+                s.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            inputs.add(s.toString());
+        }
+        return inputs;
+    }
+
+    /**
+     * Test that the word scanner accepts, and cuts short, the same words as the regular checker
+     */
+    @Test
+    @Timeout(10)
+    public void testWordScannerMatchesRegular() {
+        WordValidityChecker regular = new WordValidityCheckerRegular();
+        WordValidityChecker scanner = new WordValidityCheckerScanner();
+        for (String input : inputs()) {
+            assertEquals(regular.isWordValid(input), scanner.isWordValid(input), "Word '" + input + "'");
+        }
+    }
+
+    /**
+     * Test that the punctuation scanner accepts, and cuts short, the same punctuation as the regular checker
+     */
+    @Test
+    @Timeout(10)
+    public void testPunctuationScannerMatchesRegular() {
+        PunctuationValidityChecker regular = new PunctuationValidityCheckerRegular();
+        PunctuationValidityChecker scanner = new PunctuationValidityCheckerScanner();
+        for (String input : inputs()) {
+            assertEquals(regular.isPunctuationValid(input), scanner.isPunctuationValid(input),
+                    "Punctuation '" + input + "'");
+        }
+    }
+
+    /**
+     * Test that the facade scanner gives the same word as the facade of the regular checkers, and
+     * gives back the expression itself when it is valid as it is
+     */
+    @Test
+    @Timeout(10)
+    public void testFacadeScannerMatchesRegular() {
+        ValidityCheckerFacade regular = new ValidityCheckerFacade(new PunctuationValidityCheckerRegular(),
+                new WordValidityCheckerRegular());
+        ValidityCheckerFacade scanner = new ValidityCheckerFacadeScanner();
+        for (String input : inputs()) {
+            assertEquals(regular.isValid(input), scanner.isValid(input), "Expression '" + input + "'");
+        }
+        String word = "hello";
+        assertSame(word, scanner.isValid(word));
+    }
+}
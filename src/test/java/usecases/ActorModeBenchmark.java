@@ -0,0 +1,123 @@
+package usecases;
+
+import entities.LobbyManager;
+import entities.Player;
+import entities.PlayerFactory;
+import entities.display_name_checkers.DisplayNameCheckerBasic;
+import entities.games.GameFactoryRegular;
+import entities.games.GameRegular;
+import entities.statistics.PerPlayerIntStatistic;
+import exceptions.GameRunningException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import usecases.submit_word.*;
+
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Contention benchmark of the submit-word use case, with the games guarded by their locks and with
+ * the games in actor mode (see GameActors). Every submitter is a client thread sending words to one
+ * of a few games; in lock mode each submitter has a use case thread of its own contending for the
+ * game lock, in actor mode the words are messages processed on a pool sized to the cores.
+ * Run with <code>gradle benchmark</code>
+ */
+@Tag("benchmark")
+public class ActorModeBenchmark {
+
+    private static final int REQUESTS = 40_000;
+    private static final int WARMUP_REQUESTS = 4_000;
+    private static final int GAMES = 4;
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+    private static final int[] SUBMITTERS = {10, 100, 1000};
+
+    /**
+     * Presenter which counts down a latch on every response
+     */
+    private static class CountingPresenter implements SwOutputBoundary {
+        private final CountDownLatch latch;
+
+        public CountingPresenter(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void valid(SwOutputDataValidWord outputDataValidWord) { latch.countDown(); }
+
+        @Override
+        public void invalid(SwOutputDataFailure outputDataFailure) { latch.countDown(); }
+
+        @Override
+        public void outputShutdownServer() { latch.countDown(); }
+    }
+
+    private static LobbyManager hostGames() throws GameRunningException {
+        LobbyManager manager = new LobbyManager(new PlayerFactory(new DisplayNameCheckerBasic()),
+                new GameFactoryRegular(), GAMES);
+        for (int g = 0; g < GAMES; g++) {
+            Queue<Player> players = new LinkedList<>();
+            players.add(new Player("first", g + "-0"));
+            players.add(new Player("second", g + "-1"));
+            manager.addGame(new GameRegular(players, new PerPlayerIntStatistic[0]));
+        }
+        return manager;
+    }
+
+    /**
+     * Every submitter sends its share of the words to its game, then waits for all the responses
+     * @return requests per second
+     */
+    private double run(SwInteractor sw, int submitters, int requests) throws InterruptedException {
+        int perSubmitter = requests / submitters;
+        CountDownLatch responses = new CountDownLatch(perSubmitter * submitters);
+        CountingPresenter pres = new CountingPresenter(responses);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[submitters];
+        for (int s = 0; s < submitters; s++) {
+            int game = s % GAMES;
+            int player = (s / GAMES) % 2;
+            threads[s] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perSubmitter; i++) {
+                    sw.submitWord(new SwInputData("word", game + "-" + player), pres);
+                }
+            });
+            threads[s].start();
+        }
+        long startNanos = System.nanoTime();
+        start.countDown();
+        responses.await();
+        double perSecond = perSubmitter * submitters / ((System.nanoTime() - startNanos) / 1e9);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return perSecond;
+    }
+
+    @Test
+    public void benchmarkLockVersusActor() throws GameRunningException, InterruptedException {
+        System.out.printf("submit-word contention over %d games, %d cores%n", GAMES, CORES);
+        for (int submitters : SUBMITTERS) {
+            ExecutionEngine lockEngine = ExecutionEngine.pooled(submitters);
+            SwInteractor lockSw = new SwInteractor(hostGames(), new ThreadRegister(lockEngine));
+            run(lockSw, submitters, WARMUP_REQUESTS);
+            double lockMode = run(lockSw, submitters, REQUESTS);
+            lockEngine.shutdown();
+
+            ExecutionEngine actorEngine = ExecutionEngine.pooled(CORES);
+            SwInteractor actorSw = new SwInteractor(hostGames(), new ThreadRegister(),
+                    new GameActors(actorEngine));
+            run(actorSw, submitters, WARMUP_REQUESTS);
+            double actorMode = run(actorSw, submitters, REQUESTS);
+            actorEngine.shutdown();
+
+            System.out.printf("%5d submitters: lock mode %,10.0f requests/s, actor mode %,10.0f requests/s%n",
+                    submitters, lockMode, actorMode);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package usecases;
+
+import frameworks_drivers.repository.in_memory.InMemoryStoryRepo;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import usecases.get_latest_stories.GlsGatewayStory;
+import usecases.get_latest_stories.GlsInputData;
+import usecases.get_latest_stories.GlsInteractor;
+import usecases.get_latest_stories.GlsOutputData;
+import usecases.get_most_liked_stories.GmlsGatewayStory;
+import usecases.get_most_liked_stories.GmlsInputData;
+import usecases.get_most_liked_stories.GmlsInteractor;
+import usecases.get_most_liked_stories.GmlsOutputData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Measures how many times 1k concurrent latest stories and most liked stories readers read the
+ * story repository, and the total time those reads spent waiting for and holding the repository
+ * lock, with and without request coalescing. Run with <code>gradle benchmark</code>
+ */
+@Tag("benchmark")
+public class CoalescingBenchmark {
+
+    private static final int READERS = 1_000;
+    private static final int STORIES = 5_000;
+
+    /**
+     * Story repository which measures the time spent reading all the stories, which the in memory
+     * repository does while holding its lock, so the time includes waiting for the lock
+     */
+    private static class TimedRepo implements GlsGatewayStory, GmlsGatewayStory {
+        private final InMemoryStoryRepo repo;
+        private final AtomicLong readNanos = new AtomicLong();
+        private final AtomicInteger reads = new AtomicInteger();
+
+        public TimedRepo(InMemoryStoryRepo repo) {
+            this.repo = repo;
+        }
+
+        @Override
+        public @NotNull RepoRes<StoryRepoData> getAllStories() {
+            long start = System.nanoTime();
+            RepoRes<StoryRepoData> res = repo.getAllStories();
+            readNanos.addAndGet(System.nanoTime() - start);
+            reads.incrementAndGet();
+            return res;
+        }
+    }
+
+    private static InMemoryStoryRepo storyRepo() {
+        InMemoryStoryRepo repo = new InMemoryStoryRepo();
+        for (int i = 0; i < STORIES; i++) {
+            repo.saveStory("Story number " + i, i, null);
+        }
+        return repo;
+    }
+
+    /**
+     * Sends 1k concurrent requests, each on its own thread, and waits for all the responses
+     */
+    private <T> void run(String name, boolean coalesce, Function<TimedRepo, Function<Integer, CompletableFuture<T>>> requests) {
+        TimedRepo repo = new TimedRepo(storyRepo());
+        Function<Integer, CompletableFuture<T>> request = requests.apply(repo);
+
+        long start = System.nanoTime();
+        List<CompletableFuture<T>> futures = new ArrayList<>();
+        for (int i = 0; i < READERS; i++) {
+            futures.add(request.apply(i));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        long wallMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("%-18s coalesce=%-5b repo reads %5d, time in repo %9.1f ms, wall %6d ms%n",
+                name, coalesce, repo.reads.get(), repo.readNanos.get() / 1e6, wallMillis);
+    }
+
+    @Test
+    public void benchmarkLatestStories() {
+        for (boolean coalesce : new boolean[] {false, true}) {
+            run("latest stories", coalesce, repo -> {
+                GlsInteractor gls = new GlsInteractor(repo, new ThreadRegister(), coalesce);
+                return i -> gls.getLatestStories(new GlsInputData(10 + i % 20));
+            });
+        }
+    }
+
+    @Test
+    public void benchmarkMostLikedStories() {
+        for (boolean coalesce : new boolean[] {false, true}) {
+            run("most liked stories", coalesce, repo -> {
+                GmlsInteractor gmls = new GmlsInteractor(repo, new ThreadRegister(), coalesce);
+                return i -> gmls.getMostLikedStories(new GmlsInputData(0, 10 + i % 20));
+            });
+        }
+    }
+}
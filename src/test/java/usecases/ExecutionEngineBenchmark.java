@@ -0,0 +1,122 @@
+package usecases;
+
+import entities.LobbyManager;
+import entities.Player;
+import entities.PlayerFactory;
+import entities.display_name_checkers.DisplayNameCheckerBasic;
+import entities.games.GameFactoryRegular;
+import entities.games.GameRegular;
+import entities.statistics.PerPlayerIntStatistic;
+import exceptions.GameRunningException;
+import frameworks_drivers.repository.in_memory.InMemoryStoryRepo;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import usecases.like_story.LsInputData;
+import usecases.like_story.LsInteractor;
+import usecases.like_story.LsOutputBoundary;
+import usecases.like_story.LsOutputData;
+import usecases.submit_word.*;
+
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BiConsumer;
+
+/**
+ * Measures requests per second of the submit-word and like-story use cases under
+ * each execution engine mode. Run with <code>gradle benchmark</code>
+ */
+@Tag("benchmark")
+public class ExecutionEngineBenchmark {
+
+    private static final int REQUESTS = 20_000;
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final int POOL_SIZE = 4 * Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Presenter for both use cases which counts down a latch on every response
+     */
+    private static class CountingPresenter implements SwOutputBoundary, LsOutputBoundary {
+        private final CountDownLatch latch;
+
+        public CountingPresenter(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void valid(SwOutputDataValidWord outputDataValidWord) { latch.countDown(); }
+
+        @Override
+        public void invalid(SwOutputDataFailure outputDataFailure) { latch.countDown(); }
+
+        @Override
+        public void likeOutput(LsOutputData data) { latch.countDown(); }
+
+        @Override
+        public void outputShutdownServer() { latch.countDown(); }
+    }
+
+    /**
+     * Sends the given amount of requests and waits for all the responses
+     * @return requests per second
+     */
+    private double run(int requests, BiConsumer<Integer, CountingPresenter> request) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(requests);
+        CountingPresenter pres = new CountingPresenter(latch);
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            request.accept(i, pres);
+        }
+        latch.await();
+        return requests / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private ExecutionEngine[] engines() {
+        if (ExecutionEngine.isVirtualSupported()) {
+            return new ExecutionEngine[] {ExecutionEngine.threadPerTask(),
+                    ExecutionEngine.pooled(POOL_SIZE), ExecutionEngine.virtualThreadPerTask()};
+        }
+        System.out.println("VIRTUAL mode skipped: virtual threads require Java 21 or newer");
+        return new ExecutionEngine[] {ExecutionEngine.threadPerTask(), ExecutionEngine.pooled(POOL_SIZE)};
+    }
+
+    @Test
+    public void benchmarkSubmitWord() throws GameRunningException, InterruptedException {
+        for (ExecutionEngine engine : engines()) {
+            LobbyManager manager = new LobbyManager(new PlayerFactory(new DisplayNameCheckerBasic()),
+                    new GameFactoryRegular());
+            Queue<Player> players = new LinkedList<>();
+            players.add(new Player("first", "1"));
+            players.add(new Player("second", "2"));
+            manager.setGame(new GameRegular(players, new PerPlayerIntStatistic[0]));
+
+            SwInteractor sw = new SwInteractor(manager, new ThreadRegister(engine));
+            BiConsumer<Integer, CountingPresenter> request = (i, pres) ->
+                    sw.submitWord(new SwInputData("word", String.valueOf(i % 2 + 1)), pres);
+
+            run(WARMUP_REQUESTS, request);
+            double perSecond = run(REQUESTS, request);
+            System.out.printf("submit-word %-16s %,12.0f requests/s%n", engine.getMode(), perSecond);
+            engine.shutdown();
+        }
+    }
+
+    @Test
+    public void benchmarkLikeStory() throws InterruptedException {
+        for (ExecutionEngine engine : engines()) {
+            InMemoryStoryRepo repo = new InMemoryStoryRepo();
+            repo.saveStory("Once upon a time", 0, null);
+            RepoRes<StoryRepoData> stories = repo.getAllStories();
+            int storyId = stories.getRows().get(0).getStoryId();
+
+            LsInteractor ls = new LsInteractor(repo, new ThreadRegister(engine));
+            BiConsumer<Integer, CountingPresenter> request = (i, pres) ->
+                    ls.likeStory(new LsInputData(storyId), pres);
+
+            run(WARMUP_REQUESTS, request);
+            double perSecond = run(REQUESTS, request);
+            System.out.printf("like-story  %-16s %,12.0f requests/s%n", engine.getMode(), perSecond);
+            engine.shutdown();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package usecases;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import usecases.shutdown_server.SsOutputBoundary;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExecutionEngineTests {
+
+    /**
+     * Counts how many times the use case was shut down
+     */
+    private static class CountingShutdownBoundary implements SsOutputBoundary {
+        private final AtomicInteger shutdowns = new AtomicInteger();
+
+        @Override
+        public void outputShutdownServer() {
+            shutdowns.incrementAndGet();
+        }
+    }
+
+    /**
+     * Use case which counts down a latch once it finishes
+     */
+    private static class LatchThread extends InterruptibleThread {
+        private final CountDownLatch done;
+
+        public LatchThread(ThreadRegister register, SsOutputBoundary pres, CountDownLatch done) {
+            super(register, pres);
+            this.done = done;
+        }
+
+        @Override
+        protected void threadLogic() {
+            done.countDown();
+        }
+    }
+
+    /**
+     * Use case which blocks until it is interrupted
+     */
+    private static class BlockingThread extends InterruptibleThread {
+        private final CountDownLatch started;
+
+        public BlockingThread(ThreadRegister register, SsOutputBoundary pres, CountDownLatch started) {
+            super(register, pres);
+            this.started = started;
+            setBlockInterrupt(false);
+        }
+
+        @Override
+        protected void threadLogic() throws InterruptedException {
+            started.countDown();
+            new CountDownLatch(1).await();
+        }
+    }
+
+    private void runsAllTasks(ExecutionEngine engine) throws InterruptedException {
+        ThreadRegister register = new ThreadRegister(engine);
+        CountingShutdownBoundary pres = new CountingShutdownBoundary();
+        int numTasks = 200;
+        CountDownLatch done = new CountDownLatch(numTasks);
+
+        for (int i = 0; i < numTasks; i++) {
+            assertEquals(ThreadRegister.Admission.ADMITTED, register.registerThread(new LatchThread(register, pres, done)));
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(0, pres.shutdowns.get());
+        engine.shutdown();
+    }
+
+    /**
+     * Test that every registered use case is run in thread per task mode
+     */
+    @Test
+    @Timeout(10)
+    public void testThreadPerTaskRunsAllTasks() throws InterruptedException {
+        runsAllTasks(ExecutionEngine.threadPerTask());
+    }
+
+    /**
+     * Test that every registered use case is run by a pool smaller than the amount of tasks
+     */
+    @Test
+    @Timeout(10)
+    public void testPooledRunsAllTasks() throws InterruptedException {
+        runsAllTasks(ExecutionEngine.pooled(4));
+    }
+
+    /**
+     * Test that every registered use case is run on virtual threads, if the JVM supports them
+     */
+    @Test
+    @Timeout(10)
+    public void testVirtualRunsAllTasks() throws InterruptedException {
+        Assumptions.assumeTrue(ExecutionEngine.isVirtualSupported());
+        runsAllTasks(ExecutionEngine.virtualThreadPerTask());
+    }
+
+    /**
+     * Test that the virtual mode is rejected on JVMs without virtual threads
+     */
+    @Test
+    public void testVirtualUnsupported() {
+        Assumptions.assumeFalse(ExecutionEngine.isVirtualSupported());
+        assertThrows(UnsupportedOperationException.class, ExecutionEngine::virtualThreadPerTask);
+    }
+
+    /**
+     * Test that stopping the register interrupts use cases running on the pool, and that
+     * use cases which were still queued are told about the shutdown instead of running
+     */
+    @Test
+    @Timeout(10)
+    public void testPooledStopThreadsInterruptsRunningAndQueued() throws InterruptedException {
+        ExecutionEngine engine = ExecutionEngine.pooled(1);
+        ThreadRegister register = new ThreadRegister(engine);
+        CountingShutdownBoundary pres = new CountingShutdownBoundary();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch queuedDone = new CountDownLatch(1);
+
+        BlockingThread blocking = new BlockingThread(register, pres, started);
+        LatchThread queued = new LatchThread(register, pres, queuedDone);
+        queued.setBlockInterrupt(false);
+
+        register.registerThread(blocking);
+        register.registerThread(queued);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        register.stopThreads();
+
+        while (pres.shutdowns.get() < 2) {
+            Thread.onSpinWait();
+        }
+        // The queued use case never got to run its logic
+        assertEquals(1, queuedDone.getCount());
+        assertEquals(ThreadRegister.Admission.SHUTTING_DOWN, register.registerThread(new LatchThread(register, pres, new CountDownLatch(1))));
+    }
+
+    /**
+     * Test that an interrupt delivered to a finished use case doesn't leak into the
+     * next use case run by the same pool thread
+     */
+    @Test
+    @Timeout(10)
+    public void testInterruptDoesNotLeakIntoNextTask() throws InterruptedException {
+        ExecutionEngine engine = ExecutionEngine.pooled(1);
+        ThreadRegister register = new ThreadRegister(engine);
+        CountingShutdownBoundary pres = new CountingShutdownBoundary();
+
+        CountDownLatch firstDone = new CountDownLatch(1);
+        LatchThread first = new LatchThread(register, pres, firstDone);
+        register.registerThread(first);
+        assertTrue(firstDone.await(5, TimeUnit.SECONDS));
+        first.interrupt();
+
+        AtomicInteger interruptedSeen = new AtomicInteger();
+        CountDownLatch secondDone = new CountDownLatch(1);
+        register.registerThread(new InterruptibleThread(register, pres) {
+            @Override
+            protected void threadLogic() {
+                if (Thread.currentThread().isInterrupted()) {
+                    interruptedSeen.incrementAndGet();
+                }
+                secondDone.countDown();
+            }
+        });
+
+        assertTrue(secondDone.await(5, TimeUnit.SECONDS));
+        assertEquals(0, interruptedSeen.get());
+        engine.shutdown();
+    }
+}
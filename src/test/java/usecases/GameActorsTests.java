@@ -0,0 +1,231 @@
+package usecases;
+
+import entities.LobbyManager;
+import entities.Player;
+import entities.PlayerFactory;
+import entities.games.GameFactoryRegular;
+import entities.games.GameRegular;
+import entities.statistics.PerPlayerIntStatistic;
+import exceptions.GameRunningException;
+import usecases.run_game.RgInteractor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import usecases.submit_word.*;
+
+import java.time.Duration;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameActorsTests {
+
+    private static LobbyManager.HostedGame hostTwoPlayerGame(LobbyManager manager) throws GameRunningException {
+        Queue<Player> players = new LinkedList<>();
+        players.add(new Player("first", "1"));
+        players.add(new Player("second", "2"));
+        return manager.addGame(new GameRegular(players, new PerPlayerIntStatistic[0]));
+    }
+
+    /**
+     * Test that the messages of a game are processed one at a time, in the order each poster posted them
+     */
+    @Test
+    @Timeout(10)
+    public void testMessagesProcessedInOrderOneAtATime() throws GameRunningException, InterruptedException {
+        ExecutionEngine engine = ExecutionEngine.pooled(4);
+        GameActors actors = new GameActors(engine);
+        LobbyManager manager = new LobbyManager(new PlayerFactory(displayName -> true), new GameFactoryRegular());
+        LobbyManager.HostedGame hosted = hostTwoPlayerGame(manager);
+
+        int posters = 8;
+        int messagesEach = 1000;
+        AtomicBoolean inside = new AtomicBoolean(false);
+        AtomicBoolean overlapped = new AtomicBoolean(false);
+        // Only ever touched by the messages, so it needs no synchronization of its own
+        int[] lastSeen = new int[posters];
+        List<String> outOfOrder = new CopyOnWriteArrayList<>();
+        CountDownLatch processed = new CountDownLatch(posters * messagesEach);
+
+        Thread[] threads = new Thread[posters];
+        for (int p = 0; p < posters; p++) {
+            int poster = p;
+            threads[p] = new Thread(() -> {
+                for (int i = 1; i <= messagesEach; i++) {
+                    int seq = i;
+                    actors.of(hosted).execute(() -> {
+                        if (!inside.compareAndSet(false, true)) {
+                            overlapped.set(true);
+                        }
+                        if (lastSeen[poster] != seq - 1) {
+                            outOfOrder.add(poster + ":" + seq);
+                        }
+                        lastSeen[poster] = seq;
+                        inside.set(false);
+                        processed.countDown();
+                    });
+                }
+            });
+            threads[p].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(processed.await(5, TimeUnit.SECONDS));
+        assertFalse(overlapped.get(), "Two messages of the game were processed at once");
+        assertTrue(outOfOrder.isEmpty(), "Messages processed out of order: " + outOfOrder);
+        assertEquals(posters * messagesEach, actors.getMessageCount());
+        assertEquals(1, actors.getActorCount());
+        assertEquals(42, actors.ask(hosted, () -> 42));
+
+        actors.retire(hosted.getGameId());
+        assertEquals(0, actors.getActorCount());
+        engine.shutdown();
+    }
+
+    /**
+     * Test that words submitted in actor mode are added in turn, and the replies reach the presenter
+     */
+    @Test
+    @Timeout(10)
+    public void testSubmitWordInActorMode() throws GameRunningException, InterruptedException {
+        ExecutionEngine engine = ExecutionEngine.pooled(2);
+        GameActors actors = new GameActors(engine);
+        LobbyManager manager = new LobbyManager(new PlayerFactory(displayName -> true), new GameFactoryRegular());
+        LobbyManager.HostedGame hosted = hostTwoPlayerGame(manager);
+        SwInteractor sw = new SwInteractor(manager, new ThreadRegister(), actors);
+
+        int words = 100;
+        CountDownLatch replies = new CountDownLatch(words + 1);
+        List<String> valid = new CopyOnWriteArrayList<>();
+        List<String> invalid = new CopyOnWriteArrayList<>();
+        SwOutputBoundary pres = new SwOutputBoundary() {
+            @Override
+            public void valid(SwOutputDataValidWord outputDataValidWord) {
+                valid.add(outputDataValidWord.getPlayerId());
+                replies.countDown();
+            }
+
+            @Override
+            public void invalid(SwOutputDataFailure outputDataFailure) {
+                invalid.add(outputDataFailure.getPlayerId());
+                replies.countDown();
+            }
+
+            @Override
+            public void outputShutdownServer() {
+                fail("The server is not shutting down");
+            }
+        };
+
+        for (int i = 0; i < words; i++) {
+            sw.submitWord(new SwInputData("word", String.valueOf(i % 2 + 1)), pres);
+        }
+        // Out of turn, the first player just had their turn
+        sw.submitWord(new SwInputData("word", "2"), pres);
+
+        assertTrue(replies.await(5, TimeUnit.SECONDS));
+        assertEquals(words, valid.size());
+        assertEquals(List.of("2"), invalid);
+        assertEquals(words, actors.ask(hosted, () -> hosted.getGame().getStoryString().split(" ").length));
+        engine.shutdown();
+    }
+
+    /**
+     * Test that once a game ended in actor mode and its mailbox was retired, neither its ticks nor
+     * the expiry of its last turn give it a mailbox again
+     */
+    @Test
+    @Timeout(10)
+    public void testEndedGameStaysRetired() throws GameRunningException, InterruptedException {
+        ExecutionEngine engine = ExecutionEngine.pooled(2);
+        GameActors actors = new GameActors(engine);
+        TickWheel wheel = new TickWheel(engine);
+        LobbyManager manager = new LobbyManager(new PlayerFactory(displayName -> true), new GameFactoryRegular());
+        Player first = new Player("first", "1");
+        Queue<Player> players = new LinkedList<>(List.of(first, new Player("second", "2")));
+        // The turn expires after the first tick, which ends the game
+        LobbyManager.HostedGame hosted = manager.addGame(
+                new GameRegular(players, new PerPlayerIntStatistic[0], Duration.ofMillis(1200)));
+        hosted.getGame().removePlayer(first);
+
+        CountDownLatch ended = new CountDownLatch(1);
+        new RgInteractor(hosted, data -> ended.countDown(), d -> {}, null, actors).startTimer(wheel);
+        assertTrue(ended.await(5, TimeUnit.SECONDS));
+        assertFalse(actors.ask(hosted, () -> manager.isGameRunning(hosted)));
+        manager.removeGame(hosted);
+        actors.retire(hosted.getGameId());
+        assertEquals(0, actors.getActorCount());
+
+        // Past the deadline of the turn and the next tick
+        Thread.sleep(1000);
+        assertEquals(0, actors.getActorCount());
+        wheel.shutdown();
+        engine.shutdown();
+    }
+
+    /**
+     * Test that words posted to a mailbox are admitted within the limit of the use case, and that
+     * a word still waiting in the mailbox when the server shuts down is told about the shutdown
+     * instead of being added
+     */
+    @Test
+    @Timeout(10)
+    public void testMailboxWordsAdmittedAndDrained() throws GameRunningException, InterruptedException {
+        ExecutionEngine engine = ExecutionEngine.pooled(2);
+        GameActors actors = new GameActors(engine);
+        LobbyManager manager = new LobbyManager(new PlayerFactory(displayName -> true), new GameFactoryRegular());
+        LobbyManager.HostedGame hosted = hostTwoPlayerGame(manager);
+        ThreadRegister register = new ThreadRegister();
+        register.setAdmissionLimit(SwInteractor.SwThread.class, 1, 0);
+        SwInteractor sw = new SwInteractor(manager, register, actors);
+
+        List<Response.ResCode> invalid = new CopyOnWriteArrayList<>();
+        CountDownLatch shutdowns = new CountDownLatch(2);
+        SwOutputBoundary pres = new SwOutputBoundary() {
+            @Override
+            public void valid(SwOutputDataValidWord outputDataValidWord) {
+                fail("The word was added after the server shut down");
+            }
+
+            @Override
+            public void invalid(SwOutputDataFailure outputDataFailure) {
+                invalid.add(outputDataFailure.getResponse().getCode());
+            }
+
+            @Override
+            public void outputShutdownServer() {
+                shutdowns.countDown();
+            }
+        };
+
+        // Holds the mailbox, so that the word waits in it
+        CountDownLatch gate = new CountDownLatch(1);
+        actors.of(hosted).execute(() -> {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        sw.submitWord(new SwInputData("word", "1"), pres);
+        sw.submitWord(new SwInputData("word", "1"), pres);
+        assertEquals(List.of(Response.ResCode.OVERLOADED), invalid);
+
+        register.stopThreads(100, TimeUnit.MILLISECONDS);
+        sw.submitWord(new SwInputData("word", "1"), pres);
+        gate.countDown();
+        assertTrue(shutdowns.await(5, TimeUnit.SECONDS));
+        assertEquals(0, actors.ask(hosted, () -> hosted.getGame().getStoryWordCount()));
+        while (register.getRunningCount() != 0) {
+            Thread.onSpinWait();
+        }
+        engine.shutdown();
+    }
+}
@@ -0,0 +1,140 @@
+package usecases;
+
+import adapters.display_data.not_ended_display_data.GameDisplayDataBuilder;
+import adapters.display_data.not_ended_display_data.GameDisplayDataCache;
+import adapters.presenters.JplPresenter;
+import adapters.presenters.PdPresenter;
+import adapters.view_models.JplViewModel;
+import adapters.view_models.PdViewModel;
+import entities.Player;
+import entities.games.Game;
+import entities.games.GameRegular;
+import entities.statistics.PerPlayerIntStatistic;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import usecases.join_public_lobby.JplOutputDataJoinedGame;
+import usecases.pull_data.PdInputData;
+import usecases.pull_data.PdInteractor;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Bytes allocated per tick of one game, by its Pull Data update and the players joining it during the
+ * tick, with the game state converted by every use case and presenter as before, and snapshot once
+ * per change and shared as it is now. Run with <code>gradle benchmark</code>
+ */
+@Tag("benchmark")
+public class GameSnapshotsBenchmark {
+
+    private static final int PLAYERS = 8;
+    private static final int JOINS_PER_TICK = 2;
+    private static final int STORY_WORDS = 10_000;
+    private static final int TICKS = 50_000;
+    private static final int ROUNDS = 3;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static Game newGame() {
+        Queue<Player> players = new LinkedList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            players.add(new Player("player" + i, String.valueOf(i)));
+        }
+        Game game = new GameRegular(players, new PerPlayerIntStatistic[0]);
+        for (int i = 0; i < STORY_WORDS; i++) {
+            game.addCheckedWord("word", "word", game.getCurrentTurnPlayer());
+            game.switchTurn();
+        }
+        return game;
+    }
+
+    /**
+     * Advances the game by a tick: the timer counts down, and a word is added every few ticks
+     */
+    private static void advance(Game game, int tick, int ticksPerWord) {
+        game.setSecondsLeftInCurrentTurn(1 + tick % 15);
+        if (tick % ticksPerWord == 0) {
+            game.addCheckedWord("word", "word", game.getCurrentTurnPlayer());
+            game.switchTurn();
+        }
+    }
+
+    /**
+     * How PdPresenter and JplPresenter displayed a game before, from their own GameDTO
+     */
+    private static void presentCopy(Game game, PdViewModel pdViewM, JplViewModel jplViewM, boolean joined) {
+        GameDTO g = GameDTO.fromGame(game);
+        GameDisplayDataBuilder builder = new GameDisplayDataBuilder();
+        List<String> playerIds = new ArrayList<>();
+        for (PlayerDTO p : g.getPlayers()) {
+            builder.addPlayer(p.getPlayerId(), p.getDisplayName(),
+                    p.getPlayerId().equals(g.getCurrentTurnPlayerId()));
+            playerIds.add(p.getPlayerId());
+        }
+        builder.setSecondsLeftInTurn(g.getSecondsLeftCurrentTurn()).setStoryString(g.getStory());
+        if (joined) {
+            jplViewM.setGameDisplay(builder.build());
+        } else {
+            pdViewM.setGameState(playerIds, builder.build());
+        }
+    }
+
+    /**
+     * @param shared Whether the snapshots and display data are shared, rather than copied each time
+     * @return Bytes allocated per tick
+     */
+    private static double measure(boolean shared, int ticksPerWord) {
+        Game game = newGame();
+        PdViewModel pdViewM = new PdViewModel();
+        JplViewModel jplViewM = new JplViewModel();
+        GameSnapshots snapshots = new GameSnapshots();
+        GameDisplayDataCache displays = new GameDisplayDataCache();
+        PdInteractor pd = new PdInteractor(new PdPresenter(pdViewM, displays), 1, snapshots);
+        JplPresenter jplPresenter = new JplPresenter(jplViewM, displays);
+        Response joinedResponse = Response.getSuccessful("Player successfully joined a game");
+
+        long bytes = 0;
+        for (int tick = 0; tick < TICKS; tick++) {
+            advance(game, tick, ticksPerWord);
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            if (shared) {
+                pd.onTimerUpdate(new PdInputData(game, "game-1"));
+                for (int j = 0; j < JOINS_PER_TICK; j++) {
+                    jplPresenter.inGame(new JplOutputDataJoinedGame(joinedResponse, "joining",
+                            snapshots.of(game), "game-1"));
+                }
+            } else {
+                presentCopy(game, pdViewM, jplViewM, false);
+                for (int j = 0; j < JOINS_PER_TICK; j++) {
+                    presentCopy(game, pdViewM, jplViewM, true);
+                }
+            }
+            bytes += THREADS.getCurrentThreadAllocatedBytes() - before;
+        }
+        return (double) bytes / TICKS;
+    }
+
+    @Test
+    public void benchmarkAllocationPerTick() {
+        int[] ticksPerWord = {Integer.MAX_VALUE, 10, 1};
+        String[] modes = {"timer only", "a word every 10 ticks", "a word every tick"};
+        double[][] results = new double[ticksPerWord.length][2];
+        // The last round is reported, the ones before warm up the JIT
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < ticksPerWord.length; i++) {
+                results[i][0] = measure(false, ticksPerWord[i]);
+                results[i][1] = measure(true, ticksPerWord[i]);
+            }
+        }
+        System.out.printf("%d players, %d joins per tick, %,d words in the story%n", PLAYERS, JOINS_PER_TICK,
+                STORY_WORDS);
+        System.out.println("bytes allocated per tick      copied per use      shared snapshot");
+        for (int i = 0; i < modes.length; i++) {
+            System.out.printf("%-24s %19.0f %20.0f%n", modes[i], results[i][0], results[i][1]);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package usecases;
+
+import entities.Player;
+import entities.games.Game;
+import entities.games.GameRegular;
+import entities.statistics.PerPlayerIntStatistic;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameSnapshotsTests {
+
+    /**
+     * Test that a game which did not change gives the same snapshot, and that a newer snapshot shares
+     * every part which did not change with the snapshot before it
+     */
+    @Test
+    @Timeout(1)
+    public void testSnapshotsShareUnchangedParts() {
+        Player p1 = new Player("p1", "1");
+        Player p2 = new Player("p2", "2");
+        Game game = new GameRegular(new LinkedList<>(List.of(p1, p2)), new PerPlayerIntStatistic[0]);
+        GameSnapshots snapshots = new GameSnapshots();
+
+        GameDTO first = snapshots.of(game);
+        assertEquals(1, first.getVersion());
+        assertSame(first, snapshots.of(game), "Unchanged game was snapshot again");
+
+        game.setSecondsLeftInCurrentTurn(game.getSecondsLeftInCurrentTurn() - 1);
+        GameDTO timer = snapshots.of(game);
+        assertEquals(2, timer.getVersion());
+        assertEquals(first.getSecondsLeftCurrentTurn() - 1, timer.getSecondsLeftCurrentTurn());
+        assertSame(first.getStory(), timer.getStory());
+        assertSame(first.getPlayers(), timer.getPlayers());
+
+        game.addCheckedWord("Once", "Once", p1);
+        game.addPlayer(new Player("p3", "3"));
+        GameDTO changed = snapshots.of(game);
+        assertEquals(3, changed.getVersion());
+        assertEquals("Once ", changed.getStory());
+        assertEquals(3, changed.getPlayers().size());
+        for (int i = 0; i < 2; i++) {
+            assertSame(first.getPlayers().get(i), changed.getPlayers().get(i), "Player was copied again");
+        }
+        assertThrows(UnsupportedOperationException.class, () -> changed.getPlayers().remove(0));
+
+        // The previous snapshots are left as they were
+        assertEquals("", first.getStory());
+        assertEquals(2, timer.getPlayers().size());
+    }
+}
@@ -0,0 +1,174 @@
+package usecases;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import usecases.shutdown_server.SsOutputBoundary;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LaneTests {
+
+    private static final long BUDGET = 100;
+
+    /**
+     * Use case which remembers the thread it ran on
+     */
+    private static class RecordingThread extends InterruptibleThread {
+        private final AtomicReference<Thread> ranOn;
+        private final CountDownLatch done;
+
+        public RecordingThread(ThreadRegister register, SsOutputBoundary pres,
+                               AtomicReference<Thread> ranOn, CountDownLatch done) {
+            super(register, pres);
+            this.ranOn = ranOn;
+            this.done = done;
+        }
+
+        @Override
+        protected void threadLogic() {
+            ranOn.set(Thread.currentThread());
+            done.countDown();
+        }
+    }
+
+    /**
+     * Test that the monitor lags only while ticks are over budget, and counts every lag once
+     */
+    @Test
+    public void testLagMonitorState() {
+        TickLagMonitor monitor = new TickLagMonitor(BUDGET);
+        Semaphore recoveries = new Semaphore(0);
+        monitor.addRecoveryListener(recoveries::release);
+
+        monitor.recordTick(BUDGET);
+        assertFalse(monitor.isLagging());
+        monitor.recordTick(BUDGET + 1);
+        monitor.recordTick(BUDGET * 3);
+        assertTrue(monitor.isLagging());
+        assertEquals(BUDGET * 3, monitor.getLastLagMillis());
+        assertEquals(1, monitor.getLagEvents());
+        assertEquals(0, recoveries.availablePermits());
+
+        monitor.recordTick(0);
+        assertFalse(monitor.isLagging());
+        assertEquals(1, recoveries.availablePermits());
+    }
+
+    /**
+     * Test that a deferring lane runs tasks right away while there is no lag, holds them back
+     * while there is, and runs them in order once the lag is gone
+     */
+    @Test
+    @Timeout(10)
+    public void testDefersWhileLagging() throws InterruptedException {
+        TickLagMonitor monitor = new TickLagMonitor(BUDGET);
+        ExecutionEngine engine = ExecutionEngine.pooled(1);
+        Lane lane = new Lane("browsing", engine, monitor, 60_000);
+        StringBuffer order = new StringBuffer();
+        CountDownLatch ran = new CountDownLatch(1);
+
+        lane.execute(() -> {
+            order.append('a');
+            ran.countDown();
+        });
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+
+        monitor.recordTick(BUDGET + 1);
+        CountDownLatch released = new CountDownLatch(2);
+        lane.execute(() -> {
+            order.append('b');
+            released.countDown();
+        });
+        lane.execute(() -> {
+            order.append('c');
+            released.countDown();
+        });
+        assertFalse(released.await(200, TimeUnit.MILLISECONDS));
+        assertEquals(2, lane.getDeferredCount());
+        assertEquals(2, lane.getDeferredTotal());
+
+        monitor.recordTick(0);
+        assertTrue(released.await(5, TimeUnit.SECONDS));
+        assertEquals("abc", order.toString());
+        assertEquals(0, lane.getDeferredCount());
+        lane.shutdown();
+    }
+
+    /**
+     * Test that tasks are not deferred for longer than the maximum, even if the lag persists
+     */
+    @Test
+    @Timeout(10)
+    public void testMaxDefer() throws InterruptedException {
+        TickLagMonitor monitor = new TickLagMonitor(BUDGET);
+        Lane lane = new Lane("browsing", ExecutionEngine.pooled(1), monitor, 100);
+        monitor.recordTick(BUDGET + 1);
+
+        CountDownLatch ran = new CountDownLatch(1);
+        lane.execute(ran::countDown);
+        assertEquals(1, lane.getDeferredCount());
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertTrue(monitor.isLagging());
+        lane.shutdown();
+    }
+
+    /**
+     * Test that a lane which doesn't defer ignores lag
+     */
+    @Test
+    @Timeout(10)
+    public void testNonDeferringLane() throws InterruptedException {
+        Lane lane = new Lane("gameplay", ExecutionEngine.pooled(1));
+        CountDownLatch ran = new CountDownLatch(1);
+        lane.execute(ran::countDown);
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertEquals(0, lane.getDeferredTotal());
+        lane.shutdown();
+    }
+
+    /**
+     * Test that the register runs use cases assigned to a lane on the lane, the others on its
+     * own engine, and that stopping the register tells deferred use cases about the shutdown
+     */
+    @Test
+    @Timeout(10)
+    public void testRegisterRunsUseCasesOnTheirLane() throws InterruptedException {
+        ThreadRegister register = new ThreadRegister(ExecutionEngine.pooled(1, Thread.MAX_PRIORITY));
+        TickLagMonitor monitor = new TickLagMonitor(BUDGET);
+        Lane lane = new Lane("browsing", ExecutionEngine.pooled(1, Thread.MIN_PRIORITY), monitor, 60_000);
+        register.setLane(RecordingThread.class, lane);
+        Semaphore shutdowns = new Semaphore(0);
+
+        AtomicReference<Thread> laneThread = new AtomicReference<>();
+        CountDownLatch laneDone = new CountDownLatch(1);
+        register.registerThread(new RecordingThread(register, shutdowns::release, laneThread, laneDone));
+        assertTrue(laneDone.await(5, TimeUnit.SECONDS));
+        assertEquals(Thread.MIN_PRIORITY, laneThread.get().getPriority());
+
+        AtomicReference<Thread> engineThread = new AtomicReference<>();
+        CountDownLatch engineDone = new CountDownLatch(1);
+        register.registerThread(new InterruptibleThread(register, shutdowns::release) {
+            @Override
+            protected void threadLogic() {
+                engineThread.set(Thread.currentThread());
+                engineDone.countDown();
+            }
+        });
+        assertTrue(engineDone.await(5, TimeUnit.SECONDS));
+        assertEquals(Thread.MAX_PRIORITY, engineThread.get().getPriority());
+
+        monitor.recordTick(BUDGET + 1);
+        CountDownLatch deferredDone = new CountDownLatch(1);
+        register.registerThread(new RecordingThread(register, shutdowns::release, new AtomicReference<>(), deferredDone));
+        assertEquals(1, lane.getDeferredCount());
+
+        register.stopThreads();
+        assertTrue(shutdowns.tryAcquire(1, 5, TimeUnit.SECONDS));
+        assertEquals(1, deferredDone.getCount());
+    }
+}
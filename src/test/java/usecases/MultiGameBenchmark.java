@@ -0,0 +1,91 @@
+package usecases;
+
+import entities.LobbyManager;
+import entities.Player;
+import entities.PlayerFactory;
+import entities.display_name_checkers.DisplayNameCheckerBasic;
+import entities.games.GameFactoryRegular;
+import entities.games.GameRegular;
+import entities.statistics.PerPlayerIntStatistic;
+import exceptions.GameRunningException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import usecases.submit_word.*;
+
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Load test of the submit-word use case with several games hosted by one lobby. Each game has
+ * its own lock, so the throughput should grow with the number of games up to the number of
+ * cores. Run with <code>gradle benchmark</code>
+ */
+@Tag("benchmark")
+public class MultiGameBenchmark {
+
+    private static final int REQUESTS = 40_000;
+    private static final int WARMUP_REQUESTS = 4_000;
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+    private static final int[] GAME_COUNTS = {1, 2, 4, 8, 16};
+
+    /**
+     * Presenter which counts down a latch on every response
+     */
+    private static class CountingPresenter implements SwOutputBoundary {
+        private final CountDownLatch latch;
+
+        public CountingPresenter(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void valid(SwOutputDataValidWord outputDataValidWord) { latch.countDown(); }
+
+        @Override
+        public void invalid(SwOutputDataFailure outputDataFailure) { latch.countDown(); }
+
+        @Override
+        public void outputShutdownServer() { latch.countDown(); }
+    }
+
+    /**
+     * Sends the given amount of words, spread evenly over the games, and waits for all the responses
+     * @return requests per second
+     */
+    private double run(SwInteractor sw, int games, int requests) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(requests);
+        CountingPresenter pres = new CountingPresenter(latch);
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            int game = i % games;
+            int player = (i / games) % 2;
+            sw.submitWord(new SwInputData("word", game + "-" + player), pres);
+        }
+        latch.await();
+        return requests / ((System.nanoTime() - start) / 1e9);
+    }
+
+    @Test
+    public void benchmarkConcurrentGames() throws GameRunningException, InterruptedException {
+        System.out.printf("submit-word over concurrent games, %d cores%n", CORES);
+        for (int games : GAME_COUNTS) {
+            LobbyManager manager = new LobbyManager(new PlayerFactory(new DisplayNameCheckerBasic()),
+                    new GameFactoryRegular(), games);
+            for (int g = 0; g < games; g++) {
+                Queue<Player> players = new LinkedList<>();
+                players.add(new Player("first", g + "-0"));
+                players.add(new Player("second", g + "-1"));
+                manager.addGame(new GameRegular(players, new PerPlayerIntStatistic[0]));
+            }
+
+            ExecutionEngine engine = ExecutionEngine.pooled(2 * CORES);
+            SwInteractor sw = new SwInteractor(manager, new ThreadRegister(engine));
+
+            run(sw, games, WARMUP_REQUESTS);
+            double perSecond = run(sw, games, REQUESTS);
+            System.out.printf("%3d games %,12.0f requests/s%n", games, perSecond);
+            engine.shutdown();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package usecases;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTests {
+
+    /**
+     * Test that concurrent loads of the same key share a single load
+     */
+    @Test
+    @Timeout(10)
+    public void testConcurrentLoadsShareOneLoad() throws InterruptedException {
+        SingleFlight<Integer, String> flight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> results = new CopyOnWriteArrayList<>();
+        int waiters = 20;
+
+        Thread leader = new Thread(() -> {
+            try {
+                results.add(flight.load(1, () -> {
+                    loads.incrementAndGet();
+                    loading.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ignored) {}
+                    return "value";
+                }));
+            } catch (InterruptedException ignored) {}
+        });
+        leader.start();
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        Thread[] followers = new Thread[waiters];
+        for (int i = 0; i < waiters; i++) {
+            followers[i] = new Thread(() -> {
+                try {
+                    results.add(flight.load(1, () -> {
+                        loads.incrementAndGet();
+                        return "other";
+                    }));
+                } catch (InterruptedException ignored) {}
+            });
+            followers[i].start();
+        }
+        while (flight.getSharedCount() < waiters) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        leader.join();
+        for (Thread follower : followers) {
+            follower.join();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(1, flight.getLoadCount());
+        assertEquals(waiters + 1, results.size());
+        assertTrue(results.stream().allMatch("value"::equals));
+    }
+
+    /**
+     * Test that loads which don't overlap, or use different keys, are not shared
+     */
+    @Test
+    public void testSequentialLoadsAreFresh() throws InterruptedException {
+        SingleFlight<Integer, Integer> flight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(1, flight.load(1, loads::incrementAndGet));
+        assertEquals(2, flight.load(1, loads::incrementAndGet));
+        assertEquals(3, flight.load(2, loads::incrementAndGet));
+        assertEquals(0, flight.getSharedCount());
+    }
+
+    /**
+     * Test that a failed load fails its caller and doesn't stick to the key
+     */
+    @Test
+    public void testFailedLoad() throws InterruptedException {
+        SingleFlight<Integer, String> flight = new SingleFlight<>();
+        assertThrows(IllegalStateException.class, () -> flight.load(1, () -> {
+            throw new IllegalStateException();
+        }));
+        assertEquals("ok", flight.load(1, () -> "ok"));
+    }
+}
@@ -0,0 +1,359 @@
+package usecases;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import usecases.shutdown_server.SsOutputBoundary;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ThreadRegisterTests {
+
+    private static final SsOutputBoundary IGNORE_SHUTDOWN = () -> {};
+
+    /**
+     * Use case which finishes immediately, after releasing a permit
+     */
+    private static class ShortThread extends InterruptibleThread {
+        private final Semaphore finished;
+
+        public ShortThread(ThreadRegister register, Semaphore finished) {
+            super(register, IGNORE_SHUTDOWN);
+            this.finished = finished;
+        }
+
+        @Override
+        protected void threadLogic() {
+            finished.release();
+        }
+    }
+
+    /**
+     * Use case which blocks until released
+     */
+    private static class GatedThread extends InterruptibleThread {
+        private final CountDownLatch gate;
+
+        public GatedThread(ThreadRegister register, CountDownLatch gate) {
+            this(register, gate, IGNORE_SHUTDOWN);
+        }
+
+        public GatedThread(ThreadRegister register, CountDownLatch gate, SsOutputBoundary pres) {
+            super(register, pres);
+            this.gate = gate;
+        }
+
+        @Override
+        protected void threadLogic() throws InterruptedException {
+            gate.await();
+        }
+    }
+
+    private static void awaitRunningCount(ThreadRegister register, int count) {
+        while (register.getRunningCount() != count) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Test that threads which finish normally are removed from the register
+     */
+    @Test
+    @Timeout(10)
+    public void testThreadsDeregisterOnCompletion() throws InterruptedException {
+        ThreadRegister register = new ThreadRegister();
+        Semaphore finished = new Semaphore(0);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(ThreadRegister.Admission.ADMITTED, register.registerThread(new ShortThread(register, finished)));
+        }
+        assertTrue(finished.tryAcquire(100, 5, TimeUnit.SECONDS));
+
+        awaitRunningCount(register, 0);
+        assertEquals(0, register.getInFlightCount(ShortThread.class));
+    }
+
+    /**
+     * Test that in flight counts are kept separately for every use case
+     */
+    @Test
+    @Timeout(10)
+    public void testInFlightCountsPerUseCase() {
+        ThreadRegister register = new ThreadRegister();
+        CountDownLatch gate = new CountDownLatch(1);
+
+        for (int i = 0; i < 3; i++) {
+            register.registerThread(new GatedThread(register, gate));
+        }
+        register.registerThread(new ShortThread(register, new Semaphore(0)));
+
+        while (register.getInFlightCount(ShortThread.class) != 0) {
+            Thread.onSpinWait();
+        }
+        assertEquals(3, register.getInFlightCount(GatedThread.class));
+        assertEquals(3, register.getInFlightCounts().get("GatedThread"));
+        assertEquals(0, register.getInFlightCounts().get("ShortThread"));
+
+        gate.countDown();
+        awaitRunningCount(register, 0);
+        assertEquals(0, register.getInFlightCount(GatedThread.class));
+    }
+
+    /**
+     * Test that removing a thread twice, or a thread that was never registered,
+     * doesn't corrupt the counts
+     */
+    @Test
+    public void testRemoveUnregisteredThread() {
+        ThreadRegister register = new ThreadRegister();
+        ShortThread thread = new ShortThread(register, new Semaphore(0));
+
+        // Running it directly, without the register, removes nothing
+        thread.run();
+        assertFalse(register.removeThread(thread));
+        assertEquals(0, register.getInFlightCount(ShortThread.class));
+        assertEquals(0, register.getRunningCount());
+    }
+
+    /**
+     * Test that shutdown returns once finished threads are done, even though they never
+     * lowered their blockInterrupt flag
+     */
+    @Test
+    @Timeout(10)
+    public void testStopThreadsAfterCompletedThreads() throws InterruptedException {
+        ThreadRegister register = new ThreadRegister();
+        Semaphore finished = new Semaphore(0);
+        for (int i = 0; i < 10; i++) {
+            register.registerThread(new ShortThread(register, finished));
+        }
+        assertTrue(finished.tryAcquire(10, 5, TimeUnit.SECONDS));
+        // The permits are released just before the threads deregister
+        awaitRunningCount(register, 0);
+
+        register.stopThreads();
+        assertEquals(ThreadRegister.Admission.SHUTTING_DOWN, register.registerThread(new ShortThread(register, finished)));
+        assertEquals(0, register.getInFlightCount(ShortThread.class));
+    }
+
+    /**
+     * Test that a use case with an admission limit runs at most so many threads at once, queues
+     * the next ones and rejects the rest as OVERLOADED
+     */
+    @Test
+    @Timeout(10)
+    public void testAdmissionLimitQueuesAndRejects() throws InterruptedException {
+        ThreadRegister register = new ThreadRegister();
+        register.setAdmissionLimit(GatedThread.class, 2, 1);
+        CountDownLatch gate = new CountDownLatch(1);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(ThreadRegister.Admission.ADMITTED, register.registerThread(new GatedThread(register, gate)));
+        }
+        assertEquals(ThreadRegister.Admission.OVERLOADED, register.registerThread(new GatedThread(register, gate)));
+        assertEquals(ThreadRegister.Admission.OVERLOADED, register.registerThread(new GatedThread(register, gate)));
+
+        assertEquals(1, register.getQueueDepth(GatedThread.class));
+        assertEquals(2, register.getRejectedCount(GatedThread.class));
+        assertEquals(1, register.getQueueDepths().get("GatedThread"));
+        assertEquals(2L, register.getRejectedCounts().get("GatedThread"));
+        // Queued threads count as in flight, rejected ones don't
+        assertEquals(3, register.getInFlightCount(GatedThread.class));
+
+        // Use cases without a limit are unaffected
+        assertEquals(ThreadRegister.Admission.ADMITTED, register.registerThread(new ShortThread(register, new Semaphore(0))));
+        assertEquals(0, register.getRejectedCount(ShortThread.class));
+
+        gate.countDown();
+        awaitRunningCount(register, 0);
+        assertEquals(0, register.getQueueDepth(GatedThread.class));
+    }
+
+    /**
+     * Test that a queued thread is started once a running thread of its use case finishes
+     */
+    @Test
+    @Timeout(10)
+    public void testQueuedThreadStartsWhenSlotFrees() throws InterruptedException {
+        ThreadRegister register = new ThreadRegister();
+        register.setAdmissionLimit(GatedThread.class, 1, 1);
+        CountDownLatch firstGate = new CountDownLatch(1);
+        CountDownLatch secondGate = new CountDownLatch(0);
+
+        register.registerThread(new GatedThread(register, firstGate));
+        register.registerThread(new GatedThread(register, secondGate));
+        assertEquals(1, register.getQueueDepth(GatedThread.class));
+        assertEquals(2, register.getInFlightCount(GatedThread.class));
+
+        firstGate.countDown();
+        awaitRunningCount(register, 0);
+        assertEquals(0, register.getQueueDepth(GatedThread.class));
+
+        // Both slots are free again
+        CountDownLatch thirdGate = new CountDownLatch(1);
+        assertEquals(ThreadRegister.Admission.ADMITTED, register.registerThread(new GatedThread(register, thirdGate)));
+        assertEquals(0, register.getQueueDepth(GatedThread.class));
+        thirdGate.countDown();
+        awaitRunningCount(register, 0);
+    }
+
+    /**
+     * Stress test: queued threads which finish right away, possibly before their registration
+     * returned, must still leave the register and free their slot
+     */
+    @Test
+    @Timeout(60)
+    public void testQueuedThreadsFinishingImmediatelyFreeTheirSlots() throws InterruptedException {
+        final int registrars = 8;
+        final int threadsPerRegistrar = 20_000;
+
+        ExecutionEngine engine = ExecutionEngine.pooled(Runtime.getRuntime().availableProcessors());
+        ThreadRegister register = new ThreadRegister(engine);
+        register.setAdmissionLimit(ShortThread.class, 1, 64);
+        Semaphore finished = new Semaphore(0);
+        AtomicInteger admitted = new AtomicInteger();
+
+        Thread[] workers = new Thread[registrars];
+        for (int i = 0; i < registrars; i++) {
+            workers[i] = new Thread(() -> {
+                for (int j = 0; j < threadsPerRegistrar; j++) {
+                    // Retried when overloaded, so that most threads go through the queue
+                    while (register.registerThread(new ShortThread(register, finished)) != ThreadRegister.Admission.ADMITTED) {
+                        Thread.onSpinWait();
+                    }
+                    admitted.incrementAndGet();
+                }
+            });
+            workers[i].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertTrue(finished.tryAcquire(admitted.get(), 30, TimeUnit.SECONDS));
+
+        awaitRunningCount(register, 0);
+        assertEquals(0, register.getInFlightCount(ShortThread.class));
+        assertEquals(0, register.getQueueDepth(ShortThread.class));
+        // The slot is free again, so a new thread runs instead of waiting in the queue forever
+        assertEquals(ThreadRegister.Admission.ADMITTED, register.registerThread(new ShortThread(register, finished)));
+        assertTrue(finished.tryAcquire(5, TimeUnit.SECONDS));
+        awaitRunningCount(register, 0);
+        assertEquals(0, register.getQueueDepth(ShortThread.class));
+        engine.shutdown();
+    }
+
+    /**
+     * Test that shutdown tells queued threads about the shutdown instead of leaving them waiting
+     */
+    @Test
+    @Timeout(10)
+    public void testStopThreadsFlushesAdmissionQueue() throws InterruptedException {
+        ThreadRegister register = new ThreadRegister();
+        register.setAdmissionLimit(GatedThread.class, 1, 2);
+        Semaphore shutdowns = new Semaphore(0);
+
+        for (int i = 0; i < 3; i++) {
+            register.registerThread(new GatedThread(register, new CountDownLatch(1), shutdowns::release));
+        }
+        assertEquals(2, register.getQueueDepth(GatedThread.class));
+
+        // The running thread never leaves its critical section, so it is interrupted at the deadline
+        register.stopThreads(100, TimeUnit.MILLISECONDS);
+        assertTrue(shutdowns.tryAcquire(3, 5, TimeUnit.SECONDS));
+        awaitRunningCount(register, 0);
+    }
+
+    /**
+     * Test that a thread registered as the engine is shut down, after the register checked that the
+     * server isn't shutting down, is rejected and removed from the register instead of throwing
+     */
+    @Test
+    @Timeout(10)
+    public void testEngineShutDownRejectsRegisteredThread() {
+        ExecutionEngine engine = ExecutionEngine.pooled(1);
+        ThreadRegister register = new ThreadRegister(engine);
+        // As if stopThreads shut the engine down right after the register checked the flag
+        engine.shutdown();
+
+        Semaphore finished = new Semaphore(0);
+        assertEquals(ThreadRegister.Admission.SHUTTING_DOWN, register.registerThread(new ShortThread(register, finished)));
+        assertEquals(0, register.getRunningCount());
+        assertEquals(0, finished.availablePermits());
+    }
+
+    /**
+     * Test that a queued thread whose turn comes after the engine was shut down reports the
+     * shutdown and leaves the register
+     */
+    @Test
+    @Timeout(10)
+    public void testEngineShutDownRejectsQueuedThread() throws InterruptedException {
+        ExecutionEngine engine = ExecutionEngine.pooled(1);
+        ThreadRegister register = new ThreadRegister(engine);
+        register.setAdmissionLimit(GatedThread.class, 1, 1);
+        Semaphore shutdowns = new Semaphore(0);
+        CountDownLatch gate = new CountDownLatch(1);
+
+        register.registerThread(new GatedThread(register, gate));
+        register.registerThread(new GatedThread(register, new CountDownLatch(1), shutdowns::release));
+        assertEquals(1, register.getQueueDepth(GatedThread.class));
+
+        engine.shutdown();
+        gate.countDown();
+        assertTrue(shutdowns.tryAcquire(5, TimeUnit.SECONDS));
+        awaitRunningCount(register, 0);
+    }
+
+    /**
+     * Soak test: pushes millions of short use cases through a pooled register and checks that
+     * the register never holds more than the use cases actually in flight, and that the heap
+     * doesn't grow with the number of use cases run
+     */
+    @Test
+    @Timeout(120)
+    public void testSoakRegisterSizeAndHeapBounded() throws InterruptedException {
+        final int totalUseCases = 2_000_000;
+        final int maxInFlight = 10_000;
+        final long maxHeapGrowth = 64L * 1024 * 1024;
+
+        ExecutionEngine engine = ExecutionEngine.pooled(Runtime.getRuntime().availableProcessors());
+        ThreadRegister register = new ThreadRegister(engine);
+        // Permits represent use cases which may be in flight at once
+        Semaphore finished = new Semaphore(maxInFlight);
+        long heapBefore = usedHeap();
+        int maxRegisterSize = 0;
+
+        for (int i = 0; i < totalUseCases; i++) {
+            finished.acquire();
+            register.registerThread(new ShortThread(register, finished));
+            if (i % 1000 == 0) {
+                maxRegisterSize = Math.max(maxRegisterSize, register.getRunningCount());
+            }
+        }
+        finished.acquire(maxInFlight);
+        awaitRunningCount(register, 0);
+        engine.shutdown();
+
+        // A thread releases its permit right before removing itself, so the register can briefly
+        // hold a few more threads than there are permits, but never more than the pool size more
+        assertTrue(maxRegisterSize <= maxInFlight + Runtime.getRuntime().availableProcessors(),
+                "Register grew to " + maxRegisterSize);
+        assertEquals(0, register.getInFlightCount(ShortThread.class));
+
+        long heapGrowth = usedHeap() - heapBefore;
+        assertTrue(heapGrowth < maxHeapGrowth, "Heap grew by " + heapGrowth + " bytes");
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,107 @@
+package usecases;
+
+import entities.Player;
+import entities.games.Game;
+import entities.games.GameRegular;
+import entities.statistics.PerPlayerIntStatistic;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import usecases.run_game.RgInteractor;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread count and tick jitter with 10k concurrent games ticking, each on its own timer and all
+ * on one shared TickWheel. Run with <code>gradle benchmark</code>
+ */
+@Tag("benchmark")
+public class TickWheelBenchmark {
+
+    private static final int GAMES = 10_000;
+    private static final long MEASURE_MILLIS = 5_000;
+
+    /**
+     * Lag monitor which keeps every tick lag
+     */
+    private static class RecordingLagMonitor extends TickLagMonitor {
+        private final List<Long> lags = Collections.synchronizedList(new ArrayList<>());
+
+        public RecordingLagMonitor() {
+            super(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void recordTick(long lagMillis) {
+            lags.add(lagMillis);
+        }
+    }
+
+    private static List<Game> newGames() {
+        List<Game> games = new ArrayList<>();
+        for (int g = 0; g < GAMES; g++) {
+            Queue<Player> players = new LinkedList<>();
+            players.add(new Player("first", g + "-0"));
+            players.add(new Player("second", g + "-1"));
+            games.add(new GameRegular(players, new PerPlayerIntStatistic[0]));
+        }
+        return games;
+    }
+
+    private static List<RgInteractor> runGames(List<Game> games, TickLagMonitor monitor) {
+        List<RgInteractor> interactors = new ArrayList<>();
+        for (Game game : games) {
+            interactors.add(new RgInteractor(game, data -> {}, data -> {}, new ReentrantLock(), monitor));
+        }
+        return interactors;
+    }
+
+    private static void report(String mode, int threads, RecordingLagMonitor monitor) {
+        List<Long> lags;
+        synchronized (monitor.lags) {
+            lags = new ArrayList<>(monitor.lags);
+        }
+        Collections.sort(lags);
+        System.out.printf("%-16s %,6d threads, %,7d ticks/s, lag p50 %4d ms p99 %4d ms max %4d ms%n",
+                mode, threads, lags.size() * 1000 / MEASURE_MILLIS, lags.get(lags.size() / 2),
+                lags.get((int) (lags.size() * 0.99)), lags.get(lags.size() - 1));
+    }
+
+    @Test
+    public void benchmarkTimerPerGameVersusWheel() throws InterruptedException {
+        System.out.printf("%,d games ticking, %d cores%n", GAMES, Runtime.getRuntime().availableProcessors());
+
+        List<Game> games = newGames();
+        RecordingLagMonitor timerLags = new RecordingLagMonitor();
+        for (RgInteractor rg : runGames(games, timerLags)) {
+            rg.startTimer();
+        }
+        // Starting thousands of timer threads takes a while, only the ticks after that count
+        timerLags.lags.clear();
+        Thread.sleep(MEASURE_MILLIS);
+        int timerThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+        for (Game game : games) {
+            game.getGameTimer().cancel();
+        }
+        report("timer per game", timerThreads, timerLags);
+
+        games = newGames();
+        ExecutionEngine engine = ExecutionEngine.pooled(2);
+        TickWheel wheel = new TickWheel(engine);
+        RecordingLagMonitor wheelLags = new RecordingLagMonitor();
+        for (RgInteractor rg : runGames(games, wheelLags)) {
+            rg.startTimer(wheel);
+        }
+        wheelLags.lags.clear();
+        Thread.sleep(MEASURE_MILLIS);
+        int wheelThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+        wheel.shutdown();
+        engine.shutdown();
+        report("shared wheel", wheelThreads, wheelLags);
+    }
+}
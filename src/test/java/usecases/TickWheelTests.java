@@ -0,0 +1,103 @@
+package usecases;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TickWheelTests {
+
+    /**
+     * Test that a task scheduled once runs once, no earlier than its delay, and is given its scheduled time
+     */
+    @Test
+    @Timeout(10)
+    public void testOneOffTask() throws InterruptedException {
+        ExecutionEngine engine = ExecutionEngine.pooled(1);
+        TickWheel wheel = new TickWheel(5, engine);
+        List<Long> scheduledTimes = new CopyOnWriteArrayList<>();
+        CountDownLatch ran = new CountDownLatch(1);
+
+        long before = System.currentTimeMillis();
+        long start = System.nanoTime();
+        wheel.schedule(scheduled -> {
+            scheduledTimes.add(scheduled);
+            ran.countDown();
+        }, 100);
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100), "Ran before its delay");
+        Thread.sleep(100);
+        assertEquals(1, scheduledTimes.size());
+        assertEquals(before + 100, scheduledTimes.get(0), 20);
+        assertEquals(0, wheel.getScheduledCount());
+        assertEquals(1, wheel.getFiredCount());
+
+        wheel.shutdown();
+        engine.shutdown();
+    }
+
+    /**
+     * Test that a periodic task runs at a fixed rate, beyond a full turn of the wheel, until it is cancelled
+     */
+    @Test
+    @Timeout(10)
+    public void testPeriodicTaskCancelled() throws InterruptedException {
+        ExecutionEngine engine = ExecutionEngine.pooled(1);
+        // 512 buckets of 1ms, so the 20ms period wraps around the wheel many times
+        TickWheel wheel = new TickWheel(1, engine);
+        List<Long> scheduledTimes = new CopyOnWriteArrayList<>();
+        CountDownLatch fiveRuns = new CountDownLatch(5);
+
+        TickWheel.Handle handle = wheel.schedule(scheduled -> {
+            scheduledTimes.add(scheduled);
+            fiveRuns.countDown();
+        }, 0, 20);
+
+        assertTrue(fiveRuns.await(5, TimeUnit.SECONDS));
+        assertTrue(handle.cancel());
+        assertFalse(handle.cancel());
+        Thread.sleep(50);
+        int runs = scheduledTimes.size();
+        Thread.sleep(100);
+        assertEquals(runs, scheduledTimes.size(), "The task ran after it was cancelled");
+        for (int i = 1; i < runs; i++) {
+            assertEquals(20, scheduledTimes.get(i) - scheduledTimes.get(i - 1), 1);
+        }
+
+        wheel.shutdown();
+        engine.shutdown();
+    }
+
+    /**
+     * Test that a task longer than a turn of the wheel waits for the right turn
+     */
+    @Test
+    @Timeout(10)
+    public void testTaskBeyondOneTurn() throws InterruptedException {
+        ExecutionEngine engine = ExecutionEngine.pooled(1);
+        TickWheel wheel = new TickWheel(1, engine);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch ran = new CountDownLatch(1);
+
+        long start = System.nanoTime();
+        // About 3 turns of the 512ms wheel
+        wheel.schedule(scheduled -> {
+            runs.incrementAndGet();
+            ran.countDown();
+        }, 1500);
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(1500), "Ran a turn too early");
+        assertEquals(1, runs.get());
+
+        wheel.shutdown();
+        engine.shutdown();
+    }
+}
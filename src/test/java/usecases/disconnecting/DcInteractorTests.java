@@ -143,6 +143,9 @@ public class DcInteractorTests {
 
         assertFalse(lm.getPlayersFromPool().contains(player4));
         assertTrue(lm.getPlayersFromPool().contains(player3));
+        // Only the ID of the player who left is released
+        assertFalse(playerFactory.isIdInUse(player4.getPlayerId()));
+        assertTrue(playerFactory.isIdInUse(player3.getPlayerId()));
     }
 
     /**
@@ -12,8 +12,13 @@ import usecases.ThreadRegister;
 
 import java.time.LocalDateTime;
 import java.time.Month;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -201,5 +206,41 @@ public class GlsInteractorTests {
         assertEquals("text 1", stories.get(2).getStory(), "Returned incorrect story");
     }
 
+    /**
+     * Testing concurrent requests asking for different numbers of stories.
+     * Expect them to share one repository read, while each gets its own slice
+     */
+    @Test
+    @Timeout(10)
+    public void testConcurrentRequestsCoalesce() throws InterruptedException {
+        AtomicInteger reads = new AtomicInteger();
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        GlsGatewayStory slowRepo = () -> {
+            reads.incrementAndGet();
+            reading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {}
+            return repo.getAllStories();
+        };
+        GlsInteractor gls = new GlsInteractor(slowRepo, new ThreadRegister());
+
+        CompletableFuture<GlsOutputData> first = gls.getLatestStories(new GlsInputData(1));
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+        List<CompletableFuture<GlsOutputData>> others = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            others.add(gls.getLatestStories(new GlsInputData(i % 2 == 0 ? 2 : null)));
+        }
+        // Give the other requests time to join the read in flight
+        Thread.sleep(200);
+        release.countDown();
+
+        assertEquals(1, first.join().getStories().size());
+        assertEquals("text 3", first.join().getStories().get(0).getStory());
+        for (int i = 0; i < others.size(); i++) {
+            assertEquals(i % 2 == 0 ? 2 : 3, others.get(i).join().getStories().size());
+        }
+        assertEquals(1, reads.get());
+    }
 }
-
@@ -14,6 +14,8 @@ import java.time.LocalDateTime;
 import java.time.Month;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -261,4 +263,41 @@ public class GmlsInteractorTests {
         assertEquals( "text 2", stories[1].getStory(), "Returned incorrect story");
         assertEquals( "text 1", stories[2].getStory(), "Returned incorrect story");
     }
+
+    /**
+     * Testing the case where the use case is at its admission limit.
+     * Expect the request to be shed with an OVERLOADED response
+     */
+    @Test
+    @Timeout(1000)
+    public void testOverloaded() throws InterruptedException {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        GmlsGatewayStory slowRepo = () -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {}
+            return repo.getAllStories();
+        };
+
+        ThreadRegister limitedRegister = new ThreadRegister();
+        limitedRegister.setAdmissionLimit(GmlsInteractor.GmlsThread.class, 1, 0);
+        GmlsInteractor gmls = new GmlsInteractor(slowRepo, limitedRegister);
+
+        CustomizableGmlsOutputBoundary first = new CustomizableGmlsOutputBoundary();
+        gmls.getMostLikedStories(new GmlsInputData(null, null), first);
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        CustomizableGmlsOutputBoundary second = new CustomizableGmlsOutputBoundary();
+        gmls.getMostLikedStories(new GmlsInputData(null, null), second);
+
+        GmlsOutputData receivedData = second.getReceivedData();
+        assertNotNull(receivedData, "Presenter was not accessed");
+        assertEquals(Response.ResCode.OVERLOADED, receivedData.getRes().getCode());
+        assertNull(receivedData.getStories());
+        assertEquals(1, limitedRegister.getRejectedCount(GmlsInteractor.GmlsThread.class));
+
+        release.countDown();
+    }
 }
@@ -13,11 +13,15 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
+import usecases.ExecutionEngine;
+import usecases.GameDTO;
 import usecases.Response;
 import usecases.ThreadRegister;
 
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
@@ -127,14 +131,11 @@ public class JoinPublicLobbyTest {
         initialPlayers.add(secondPlayer);
         Game game = new GameRegular(initialPlayers, new PerPlayerIntStatistic[0]);
 
-        // onJoinGamePlayer signals a condition variable. the signal requires the lock to be engaged, which it is not
-        // The call will set the JplThread's game instance to the passed in game and the subsequent signal call will
-        // throw IllegalMonitor. We expect this to happen so to allow the test to continue, we assert the throw
-        Assertions.assertThrows(IllegalMonitorStateException.class, () -> threadFirst.onJoinGamePlayer(game));
-        Assertions.assertThrows(IllegalMonitorStateException.class, () -> threadSecond.onJoinGamePlayer(game));
-        
-        // threadFirst.game and threadSecond.game are not null so the while loop will be ignored so .await() won't execute
-        // Everything else works as normal
+        // onJoinGamePlayer completes the outcome of each thread before it runs
+        threadFirst.onJoinGamePlayer(game);
+        threadSecond.onJoinGamePlayer(game);
+
+        // The outcomes are already known, so the threads reply themselves as soon as the players are in the pool
         threadFirst.run();
         threadSecond.run();
         assertEquals(2, this.testOutputBoundary.joinedPoolResponses.size());
@@ -158,7 +159,7 @@ public class JoinPublicLobbyTest {
         JplInteractor.JplThread threadSecond = this.interactor.new JplThread(inputDataSecond, testOutputBoundary);
         JplInteractor.JplThread threadThird = this.interactor.new JplThread(inputDataThird, testOutputBoundary);
 
-        Assertions.assertThrows(IllegalMonitorStateException.class, threadThird::onCancelPlayer);
+        threadThird.onCancelPlayer();
         threadThird.run();
 
         Queue<Player> initialPlayers = new LinkedList<>();
@@ -166,8 +167,8 @@ public class JoinPublicLobbyTest {
         initialPlayers.add(secondPlayer);
         Game game = new GameRegular(initialPlayers, new PerPlayerIntStatistic[0]);
 
-        Assertions.assertThrows(IllegalMonitorStateException.class, () -> threadFirst.onJoinGamePlayer(game));
-        Assertions.assertThrows(IllegalMonitorStateException.class, () -> threadSecond.onJoinGamePlayer(game));
+        threadFirst.onJoinGamePlayer(game);
+        threadSecond.onJoinGamePlayer(game);
         threadFirst.run();
         threadSecond.run();
         assertEquals(3, this.testOutputBoundary.joinedPoolResponses.size());
@@ -192,8 +193,8 @@ public class JoinPublicLobbyTest {
         initialPlayers.add(secondPlayer);
         Game game = new GameRegular(initialPlayers, new PerPlayerIntStatistic[0]);
 
-        Assertions.assertThrows(IllegalMonitorStateException.class, () -> threadFirst.onJoinGamePlayer(game));
-        Assertions.assertThrows(IllegalMonitorStateException.class, () -> threadSecond.onJoinGamePlayer(game));
+        threadFirst.onJoinGamePlayer(game);
+        threadSecond.onJoinGamePlayer(game);
         threadFirst.run();
         threadSecond.run();
         assertEquals(2, this.testOutputBoundary.joinedPoolResponses.size());
@@ -209,4 +210,162 @@ public class JoinPublicLobbyTest {
         assertEquals(expectedFailNumber, actualFailNumber);
     }
 
+    /**
+     * Checks that the asynchronous join waits past the pool response for the game, completes
+     * early with a failed pool response, and is cancelled when the player cancels
+     */
+    @Test
+    @Timeout(1000)
+    public void testAsyncJoinOutcomes() {
+        Game game = new GameRegular(new LinkedList<>(List.of(new Player("first", "1"),
+                new Player("second", "2"))), new PerPlayerIntStatistic[0]);
+        JplInputBoundary joinsGame = (data, pres) -> {
+            pres.inPool(new JplOutputDataResponse(Response.getSuccessful(""), data.getId()));
+            pres.inGame(new JplOutputDataJoinedGame(Response.getSuccessful(""), data.getId(),
+                    GameDTO.fromGame(game)));
+        };
+        JplOutputDataJoinedGame joined = joinsGame.joinPublicLobby(new JplInputData("first", "1")).join();
+        assertEquals(Response.ResCode.SUCCESS, joined.getRes().getCode());
+        assertEquals(2, joined.getGameData().getPlayers().size());
+
+        JplInputBoundary idInUse = (data, pres) -> pres.inPool(new JplOutputDataResponse(
+                new Response(Response.ResCode.ID_IN_USE, ""), data.getId()));
+        JplOutputDataJoinedGame failed = idInUse.joinPublicLobby(new JplInputData("first", "1")).join();
+        assertEquals(Response.ResCode.ID_IN_USE, failed.getRes().getCode());
+        Assertions.assertNull(failed.getGameData());
+
+        JplInputBoundary cancels = (data, pres) -> {
+            pres.inPool(new JplOutputDataResponse(Response.getSuccessful(""), data.getId()));
+            pres.cancelled(new JplOutputDataResponse(Response.getSuccessful(""), data.getId()));
+        };
+        Assertions.assertTrue(cancels.joinPublicLobby(new JplInputData("first", "1")).isCancelled());
+    }
+
+    /**
+     * Presenter which counts the responses of many players
+     */
+    private static class CountingOutputBoundary implements JplOutputBoundary {
+        private final CountDownLatch inPool;
+        private final CountDownLatch cancelled;
+
+        public CountingOutputBoundary(int players) {
+            inPool = new CountDownLatch(players);
+            cancelled = new CountDownLatch(players);
+        }
+
+        @Override
+        public void inPool(JplOutputDataResponse dataJoinedPool) {
+            assertEquals(Response.ResCode.SUCCESS, dataJoinedPool.getRes().getCode());
+            inPool.countDown();
+        }
+
+        @Override
+        public void inGame(JplOutputDataJoinedGame dataJoinedGame) {
+            Assertions.fail("No game was started");
+        }
+
+        @Override
+        public void cancelled(JplOutputDataResponse dataCancelled) {
+            cancelled.countDown();
+        }
+
+        @Override
+        public void outputShutdownServer() {
+            Assertions.fail("The server is not shutting down");
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Test that 100k players wait in the pool without a thread each and within a bounded heap,
+     * and all hear about it when their waiting is cancelled
+     */
+    @Test
+    @Timeout(60)
+    public void testManyWaitingPlayersHoldNoThreads() throws InterruptedException {
+        int players = 100_000;
+        ExecutionEngine engine = ExecutionEngine.pooled(4);
+        ThreadRegister pooledRegister = new ThreadRegister(engine);
+        LobbyManager lobbyManager = new LobbyManager(new PlayerFactory(displayName -> true), gameFactory);
+        JplInteractor jpl = new JplInteractor(lobbyManager, pooledRegister);
+        CountingOutputBoundary pres = new CountingOutputBoundary(players);
+
+        long heapBefore = usedHeap();
+        for (int i = 0; i < players; i++) {
+            jpl.joinPublicLobby(new JplInputData("player", String.valueOf(i)), pres);
+        }
+        Assertions.assertTrue(pres.inPool.await(30, TimeUnit.SECONDS));
+        while (pooledRegister.getRunningCount() != 0) {
+            Thread.onSpinWait();
+        }
+        long bytesPerPlayer = (usedHeap() - heapBefore) / players;
+        System.out.printf("%,d waiting players, %d bytes each, %d threads%n",
+                players, bytesPerPlayer, Thread.activeCount());
+
+        assertEquals(players, lobbyManager.getPoolSize());
+        Assertions.assertTrue(bytesPerPlayer < 1024, "Waiting players take " + bytesPerPlayer + " bytes each");
+        Assertions.assertTrue(Thread.activeCount() < 100, "Waiting players hold threads");
+
+        lobbyManager.getPlayerPoolLock().lock();
+        try {
+            lobbyManager.removeAllFromPoolCancel();
+        } finally {
+            lobbyManager.getPlayerPoolLock().unlock();
+        }
+        Assertions.assertTrue(pres.cancelled.await(30, TimeUnit.SECONDS));
+        assertEquals(0, lobbyManager.getPoolSize());
+        engine.shutdown();
+    }
+
+    /**
+     * Test that a player waiting in the pool when the server shuts down is told about the shutdown
+     */
+    @Test
+    @Timeout(10)
+    public void testShutdownTellsWaitingPlayers() throws InterruptedException {
+        ThreadRegister shutdownRegister = new ThreadRegister();
+        LobbyManager lobbyManager = new LobbyManager(new PlayerFactory(displayName -> true), gameFactory);
+        JplInteractor jpl = new JplInteractor(lobbyManager, shutdownRegister);
+        CountDownLatch inPool = new CountDownLatch(1);
+        CountDownLatch shutdown = new CountDownLatch(1);
+        JplOutputBoundary pres = new JplOutputBoundary() {
+            @Override
+            public void inPool(JplOutputDataResponse dataJoinedPool) {
+                inPool.countDown();
+            }
+
+            @Override
+            public void inGame(JplOutputDataJoinedGame dataJoinedGame) {
+                Assertions.fail("No game was hosted");
+            }
+
+            @Override
+            public void cancelled(JplOutputDataResponse dataCancelled) {
+                Assertions.fail("The player didn't cancel waiting");
+            }
+
+            @Override
+            public void outputShutdownServer() {
+                shutdown.countDown();
+            }
+        };
+
+        jpl.joinPublicLobby(new JplInputData("player", "1"), pres);
+        Assertions.assertTrue(inPool.await(5, TimeUnit.SECONDS));
+        while (shutdownRegister.getRunningCount() != 0) {
+            Thread.onSpinWait();
+        }
+        assertEquals(1, lobbyManager.getPoolSize());
+
+        shutdownRegister.stopThreads();
+        Assertions.assertTrue(shutdown.await(5, TimeUnit.SECONDS));
+        assertEquals(0, lobbyManager.getPoolSize());
+    }
 }
@@ -5,13 +5,16 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
+import usecases.ExecutionEngine;
 import usecases.Response;
 import usecases.ThreadRegister;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -84,6 +87,43 @@ public class LsTests {
         }
     }
 
+    /**
+     * This test checks that thousands of outstanding asynchronous likes are all completed by a
+     * pool with far fewer threads, without a thread waiting for any of them
+     * */
+    @Test
+    @Timeout(10000)
+    public void testAsyncLikesComplete() {
+        int numberOfLikes = 10_000;
+        ExecutionEngine engine = ExecutionEngine.pooled(2);
+        LsInputBoundary pooled = new LsInteractor(repository, new ThreadRegister(engine));
+        repository.addStoryId(0);
+
+        List<CompletableFuture<LsOutputData>> futures = new ArrayList<>();
+        for (int i = 0; i < numberOfLikes; i++) {
+            futures.add(pooled.likeStory(new LsInputData(i % 2)));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+        Assertions.assertEquals(numberOfLikes / 2, repository.getNumberOfLikesForStory(0));
+        for (int i = 0; i < numberOfLikes; i++) {
+            Response.ResCode expected = i % 2 == 0 ? Response.ResCode.SUCCESS : Response.ResCode.FAIL;
+            Assertions.assertEquals(expected, futures.get(i).join().getResponse().getCode());
+        }
+        engine.shutdown();
+    }
+
+    /**
+     * This test checks that an asynchronous like during shutdown completes with a SHUTTING_DOWN response
+     * */
+    @Test
+    @Timeout(10000)
+    public void testAsyncLikeDuringShutdown() {
+        register.stopThreads();
+        LsOutputData data = interactor.likeStory(new LsInputData(0)).join();
+        Assertions.assertEquals(Response.ResCode.SHUTTING_DOWN, data.getResponse().getCode());
+    }
+
     /**
      * The test presenter that just stores the responses
      * */
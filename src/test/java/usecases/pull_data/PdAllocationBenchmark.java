@@ -0,0 +1,138 @@
+package usecases.pull_data;
+
+import entities.Player;
+import entities.games.Game;
+import entities.games.GameRegular;
+import entities.statistics.PerPlayerIntStatistic;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import usecases.GameDTO;
+import usecases.GameDeltaDTO;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedList;
+import java.util.Queue;
+
+/**
+ * Bytes and objects allocated per Pull Data tick of a game with a long story, with every update
+ * a full snapshot as before and with updates carrying only what changed. Ticks where only the timer
+ * changed and ticks with a new word and turn are measured apart.
+ * Run with <code>gradle benchmark</code>
+ */
+@Tag("benchmark")
+public class PdAllocationBenchmark {
+
+    private static final int PLAYERS = 8;
+    private static final int STORY_WORDS = 10_000;
+    private static final int TICKS = 100_000;
+    private static final int ROUNDS = 3;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * Output boundary which keeps the last update, and counts the objects allocated for the updates
+     * and the characters of story text they carried
+     */
+    private static class PayloadCounter implements PdOutputBoundary {
+        private PdOutputData last;
+        private String lastStory;
+        private long objects;
+        private long storyChars;
+
+        @Override
+        public void updateGameInfo(PdOutputData d) {
+            // The output data, and a GameDTO or GameDeltaDTO
+            objects += 2;
+            if (d.isSnapshot()) {
+                GameDTO g = d.getGameInfo();
+                // The list of players, its array, and a PlayerDTO per player
+                objects += 2 + g.getPlayers().size();
+                if (g.getStory() != lastStory) {
+                    // A String and its array
+                    objects += 2;
+                    storyChars += g.getStory().length();
+                }
+                lastStory = g.getStory();
+            } else {
+                GameDeltaDTO delta = d.getGameDelta();
+                if (!delta.getAppendedStory().isEmpty()) {
+                    objects += 2;
+                    storyChars += delta.getAppendedStory().length();
+                }
+                if (!delta.getJoinedPlayers().isEmpty()) {
+                    objects += 2 + delta.getJoinedPlayers().size();
+                }
+                if (!delta.getLeftPlayerIds().isEmpty()) {
+                    objects += 2;
+                }
+            }
+            last = d;
+        }
+    }
+
+    private static Game newGame() {
+        Queue<Player> players = new LinkedList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            players.add(new Player("player" + i, String.valueOf(i)));
+        }
+        Game game = new GameRegular(players, new PerPlayerIntStatistic[0]);
+        for (int i = 0; i < STORY_WORDS; i++) {
+            addWord(game);
+        }
+        return game;
+    }
+
+    private static void addWord(Game game) {
+        game.addCheckedWord("word", "word", game.getCurrentTurnPlayer());
+        game.switchTurn();
+    }
+
+    /**
+     * @param snapshotEvery Passed to the interactor, 1 for every update a snapshot
+     * @param wordPerTick Whether a word is added and the turn switched before every tick
+     * @return Bytes allocated, objects allocated and story characters sent, per tick
+     */
+    private static double[] measure(int snapshotEvery, boolean wordPerTick) {
+        Game game = newGame();
+        PayloadCounter counter = new PayloadCounter();
+        PdInteractor pd = new PdInteractor(counter, snapshotEvery);
+        pd.onTimerUpdate(new PdInputData(game, "game-1"));
+        counter.objects = 0;
+        counter.storyChars = 0;
+
+        long bytes = 0;
+        for (int i = 0; i < TICKS; i++) {
+            if (wordPerTick) {
+                addWord(game);
+            }
+            PdInputData input = new PdInputData(game, "game-1");
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            pd.onTimerUpdate(input);
+            bytes += THREADS.getCurrentThreadAllocatedBytes() - before;
+        }
+        return new double[] {(double) bytes / TICKS, (double) counter.objects / TICKS,
+                (double) counter.storyChars / TICKS};
+    }
+
+    @Test
+    public void benchmarkAllocationPerTick() {
+        double[][] results = new double[4][];
+        // The last round is reported, the ones before warm up the JIT
+        for (int round = 0; round < ROUNDS; round++) {
+            results[0] = measure(1, false);
+            results[1] = measure(PdInteractor.DEFAULT_SNAPSHOT_EVERY, false);
+            results[2] = measure(1, true);
+            results[3] = measure(PdInteractor.DEFAULT_SNAPSHOT_EVERY, true);
+        }
+        String[] modes = {"snapshots, timer only", "deltas, timer only", "snapshots, word per tick",
+                "deltas, word per tick"};
+        System.out.printf("%d players, %,d words in the story, deltas with a snapshot every %d updates%n",
+                PLAYERS, STORY_WORDS, PdInteractor.DEFAULT_SNAPSHOT_EVERY);
+        System.out.println("per tick                   bytes allocated   payload objects   story chars");
+        for (int i = 0; i < modes.length; i++) {
+            System.out.printf("%-26s %15.0f %17.1f %13.0f%n", modes[i], results[i][0], results[i][1],
+                    results[i][2]);
+        }
+    }
+}
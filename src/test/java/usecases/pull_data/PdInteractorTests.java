@@ -2,6 +2,8 @@ package usecases.pull_data;
 
 import entities.Player;
 import entities.games.Game;
+import entities.games.GameRegular;
+import entities.statistics.PerPlayerIntStatistic;
 import entities.validity_checkers.ValidityCheckerFacade;
 import exceptions.InvalidWordException;
 import org.jetbrains.annotations.NotNull;
@@ -10,12 +12,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import usecases.GameDTO;
+import usecases.GameDeltaDTO;
 import usecases.PlayerDTO;
 
 import java.util.*;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 
 /**
@@ -150,4 +152,94 @@ public class PdInteractorTests {
 
     }
 
+    /**
+     * Tests that in delta mode, the first update is a snapshot and the following ones carry only
+     * what changed under increasing versions, until a snapshot is requested
+     */
+    @Test
+    @Timeout(1)
+    public void testDeltasFollowSnapshot() {
+        Player p1 = new Player("p1", "1");
+        Player p2 = new Player("p2", "2");
+        Player p3 = new Player("p3", "3");
+        Game game = new GameRegular(new LinkedList<>(List.of(p1, p2)), new PerPlayerIntStatistic[0]);
+        List<PdOutputData> updates = new ArrayList<>();
+        PdInteractor interactor = new PdInteractor(updates::add, 0);
+
+        interactor.onTimerUpdate(new PdInputData(game, "game-1"));
+        interactor.onTimerUpdate(new PdInputData(game, "game-1"));
+        game.addCheckedWord("Once", "Once", p1);
+        game.switchTurn();
+        interactor.onTimerUpdate(new PdInputData(game, "game-1"));
+        game.addPlayer(p3);
+        game.removePlayer(p1);
+        interactor.onTimerUpdate(new PdInputData(game, "game-1"));
+        interactor.onTimerUpdate(new PdInputData(game, "game-1", true));
+
+        for (int i = 0; i < updates.size(); i++) {
+            assertEquals(i + 1, updates.get(i).getVersion(), "Versions don't increase by one");
+        }
+        assertTrue(updates.get(0).isSnapshot());
+        assertEquals("", updates.get(0).getGameInfo().getStory());
+
+        GameDeltaDTO quiet = updates.get(1).getGameDelta();
+        assertFalse(updates.get(1).isSnapshot());
+        assertTrue(quiet.isTimerOnly(), "Nothing but the timer changed");
+
+        GameDeltaDTO word = updates.get(2).getGameDelta();
+        assertEquals("Once ", word.getAppendedStory());
+        assertEquals("2", word.getCurrentTurnPlayerId());
+        assertTrue(word.getJoinedPlayers().isEmpty());
+
+        GameDeltaDTO players = updates.get(3).getGameDelta();
+        assertEquals("", players.getAppendedStory());
+        assertNull(players.getCurrentTurnPlayerId(), "The turn didn't change");
+        assertEquals("3", players.getJoinedPlayers().get(0).getPlayerId());
+        assertEquals(List.of("1"), players.getLeftPlayerIds());
+
+        assertTrue(updates.get(4).isSnapshot(), "Requested snapshot was a delta");
+        assertEquals(game.getStoryString(), updates.get(4).getGameInfo().getStory());
+
+        // Games not hosted by a lobby can't be told apart, so their updates are snapshots
+        interactor.onTimerUpdate(new PdInputData(game));
+        assertTrue(updates.get(5).isSnapshot());
+        assertEquals(0, updates.get(5).getVersion());
+    }
+
+    /**
+     * Tests that once the game ended the presenter is told so, and that the next update about a
+     * game under the same ID starts over from a snapshot
+     */
+    @Test
+    @Timeout(1)
+    public void testGameEndedForgetsGame() {
+        Player p1 = new Player("p1", "1");
+        Player p2 = new Player("p2", "2");
+        Game game = new GameRegular(new LinkedList<>(List.of(p1, p2)), new PerPlayerIntStatistic[0]);
+        List<PdOutputData> updates = new ArrayList<>();
+        List<PdOutputData> ended = new ArrayList<>();
+        PdInteractor interactor = new PdInteractor(new PdOutputBoundary() {
+            @Override
+            public void updateGameInfo(PdOutputData d) {
+                updates.add(d);
+            }
+
+            @Override
+            public void gameEnded(PdOutputData d) {
+                ended.add(d);
+            }
+        }, 0);
+
+        interactor.onTimerUpdate(new PdInputData(game, "game-1"));
+        interactor.onTimerUpdate(new PdInputData(game, "game-1"));
+        interactor.onGameEnded(new PdInputData(game, "game-1"));
+        assertEquals(1, ended.size());
+        assertEquals("game-1", ended.get(0).getGameId());
+        assertEquals(2, ended.get(0).getGameInfo().getPlayers().size());
+
+        interactor.onTimerUpdate(new PdInputData(game, "game-1"));
+        assertTrue(updates.get(2).isSnapshot(), "The state of the ended game was kept");
+        assertEquals(1, updates.get(2).getVersion());
+    }
+
 }
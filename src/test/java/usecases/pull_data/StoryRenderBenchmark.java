@@ -0,0 +1,98 @@
+package usecases.pull_data;
+
+import entities.Player;
+import entities.games.Game;
+import entities.games.GameRegular;
+import entities.statistics.PerPlayerIntStatistic;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import usecases.GameDTO;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Pull Data ticks per second of one game with a long story, with the story text rebuilt from
+ * every word on each tick as it was before, and kept rendered by the story as it is now.
+ * Run with <code>gradle benchmark</code>
+ */
+@Tag("benchmark")
+public class StoryRenderBenchmark {
+
+    private static final int[] STORY_WORDS = {10_000, 50_000};
+    private static final long MEASURE_NANOS = 1_000_000_000L;
+
+    /**
+     * Keeps the results alive, so the measured ticks are not optimized away
+     */
+    private static long sink;
+
+    private static Game newGame(int words, List<String> mirror) {
+        Queue<Player> players = new LinkedList<>();
+        players.add(new Player("first", "1"));
+        players.add(new Player("second", "2"));
+        Game game = new GameRegular(players, new PerPlayerIntStatistic[0]);
+        for (int i = 0; i < words; i++) {
+            addWord(game, mirror);
+        }
+        return game;
+    }
+
+    private static void addWord(Game game, List<String> mirror) {
+        Player author = game.getCurrentTurnPlayer();
+        game.addCheckedWord("word", "word", author);
+        mirror.add("word");
+    }
+
+    /**
+     * How Story.toString rendered the text before
+     */
+    private static String rebuild(List<String> words) {
+        StringBuilder builder = new StringBuilder();
+        for (String word : words) {
+            builder.append(word);
+            builder.append(" ");
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @param rebuild Whether the text is rebuilt on every tick
+     * @param wordPerTick Whether a word is added before every tick, so that the text changed
+     * @return Ticks per second
+     */
+    private static double ticks(int words, boolean rebuild, boolean wordPerTick) {
+        List<String> mirror = new ArrayList<>();
+        Game game = newGame(words, mirror);
+        long start = System.nanoTime();
+        long ticks = 0;
+        while (System.nanoTime() - start < MEASURE_NANOS) {
+            if (wordPerTick) {
+                addWord(game, mirror);
+            }
+            GameDTO dto = rebuild
+                    ? new GameDTO(rebuild(mirror), game.getPlayers(), game.getCurrentTurnPlayer().getPlayerId(),
+                            game.getSecondsLeftInCurrentTurn())
+                    : GameDTO.fromGame(game);
+            sink += dto.getStory().length();
+            ticks++;
+        }
+        return ticks / ((System.nanoTime() - start) / 1e9);
+    }
+
+    @Test
+    public void benchmarkTicks() {
+        // Warm up the JIT
+        ticks(STORY_WORDS[0], true, true);
+        ticks(STORY_WORDS[0], false, true);
+
+        for (int words : STORY_WORDS) {
+            System.out.printf("%,6d words: rebuilt %,10.0f ticks/s, incremental %,12.0f ticks/s unchanged, " +
+                            "rebuilt %,10.0f ticks/s, incremental %,10.0f ticks/s with a word per tick%n", words,
+                    ticks(words, true, false), ticks(words, false, false),
+                    ticks(words, true, true), ticks(words, false, true));
+        }
+    }
+}
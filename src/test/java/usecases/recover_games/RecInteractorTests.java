@@ -0,0 +1,219 @@
+package usecases.recover_games;
+
+import entities.LobbyManager;
+import entities.Player;
+import entities.PlayerFactory;
+import entities.display_name_checkers.DisplayNameCheckerBasic;
+import entities.games.Game;
+import entities.games.GameFactory;
+import entities.games.GameFactoryRegular;
+import exceptions.IdInUseException;
+import frameworks_drivers.journal.MappedGameJournal;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+import usecases.ExecutionEngine;
+import usecases.GameActors;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RecInteractorTests {
+
+    private static LobbyManager newLobby() {
+        return new LobbyManager(new PlayerFactory(new DisplayNameCheckerBasic()), new GameFactoryRegular(), 4);
+    }
+
+    private static List<String> playerIds(Game game) {
+        List<String> ids = new ArrayList<>();
+        for (Player p : game.getPlayers()) {
+            ids.add(p.getPlayerId());
+        }
+        return ids;
+    }
+
+    private static List<Path> segments(Path dir) throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().toList();
+        }
+    }
+
+    /**
+     * Test that a game is hosted again after the server stopped, under the same ID, with its players
+     * in turn order and its story, including the words of the players who left it
+     */
+    @Test
+    @Timeout(5)
+    public void testRecoversGames(@TempDir Path dir) throws Exception {
+        LobbyManager lobby = newLobby();
+        MappedGameJournal journal = new MappedGameJournal(dir);
+        assertTrue(new RecInteractor(lobby, journal).recoverGames().isEmpty());
+
+        Player alice = lobby.createNewPlayer("alice", "1");
+        Player bob = lobby.createNewPlayer("bob", "2");
+        Player carol = lobby.createNewPlayer("carol", "3");
+        Game game = lobby.newGame(Map.of(GameFactory.MAX_PLAYERS, 3), List.of(alice, bob));
+        LobbyManager.HostedGame hosted = lobby.addGame(game);
+        game.addWord("Once", alice);
+        game.switchTurn();
+        game.addWord("upon", bob);
+        game.switchTurn();
+        lobby.addPlayerToGame(hosted, carol);
+        lobby.removePlayerFromGame(alice);
+        game.addWord("a", bob);
+        game.switchTurn();
+        journal.close();
+
+        LobbyManager restarted = newLobby();
+        MappedGameJournal reopened = new MappedGameJournal(dir);
+        List<LobbyManager.HostedGame> recovered = new RecInteractor(restarted, reopened).recoverGames();
+        assertEquals(1, recovered.size());
+        Game back = recovered.get(0).getGame();
+        assertEquals(hosted.getGameId(), recovered.get(0).getGameId());
+        assertEquals(game.getStoryString(), back.getStoryString());
+        assertEquals(playerIds(game), playerIds(back));
+        assertEquals(game.getCurrentTurnPlayer().getPlayerId(), back.getCurrentTurnPlayer().getPlayerId());
+        assertEquals(3, back.getMaxPlayers());
+        assertEquals("alice", back.getStoryWordAuthor(0).getDisplayName());
+
+        // The players of the recovered game keep their IDs, and new games don't take its ID
+        assertThrows(IdInUseException.class, () -> restarted.createNewPlayer("bobby", "2"));
+        Player dave = restarted.createNewPlayer("dave", "4");
+        Player erin = restarted.createNewPlayer("erin", "5");
+        assertNotEquals(hosted.getGameId(),
+                restarted.addGame(restarted.newGame(null, List.of(dave, erin))).getGameId());
+        reopened.close();
+    }
+
+    /**
+     * Test that a checkpoint drops the segments before it, and that a record which was only partly
+     * written as the server stopped is ignored
+     */
+    @Test
+    @Timeout(5)
+    public void testCheckpointAndTornRecord(@TempDir Path dir) throws Exception {
+        LobbyManager lobby = newLobby();
+        MappedGameJournal journal = new MappedGameJournal(dir, MappedGameJournal.DEFAULT_FLUSH_MILLIS, 4096);
+        RecInteractor rec = new RecInteractor(lobby, journal);
+        rec.recoverGames();
+
+        Player alice = lobby.createNewPlayer("alice", "1");
+        Player bob = lobby.createNewPlayer("bob", "2");
+        Game game = lobby.newGame(null, List.of(alice, bob));
+        lobby.addGame(game);
+        for (int i = 0; i < 100; i++) {
+            game.addWord("word", game.getCurrentTurnPlayer());
+            game.switchTurn();
+            // Small segments, so that the words take several of them
+            journal.flush();
+        }
+        assertTrue(segments(dir).size() > 1);
+        rec.checkpoint();
+        journal.close();
+        assertEquals(1, segments(dir).size());
+        assertEquals(1, rec.getCheckpointCount());
+
+        // A record cut short after the last one, as if the server stopped while writing it
+        Path last = segments(dir).get(0);
+        try (FileChannel channel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            while (segment.getInt(segment.position()) > 0) {
+                segment.position(segment.position() + 8 + segment.getInt(segment.position()));
+            }
+            ByteBuffer torn = ByteBuffer.allocate(12).putInt(20).putInt(12345).put(new byte[] {6, 0, 0, 0});
+            torn.flip();
+            channel.write(torn, segment.position());
+        }
+
+        MappedGameJournal reopened = new MappedGameJournal(dir);
+        List<LobbyManager.HostedGame> recovered = new RecInteractor(newLobby(), reopened).recoverGames();
+        assertEquals(1, recovered.size());
+        Game back = recovered.get(0).getGame();
+        assertEquals(game.getStoryString(), back.getStoryString());
+        assertEquals(game.getCurrentTurnPlayer().getPlayerId(), back.getCurrentTurnPlayer().getPlayerId());
+        reopened.close();
+    }
+
+    /**
+     * Test that once writing failed, the next checkpoint fails rather than the journal quietly
+     * recording nothing
+     */
+    @Test
+    @Timeout(5)
+    public void testWriteFailureFailsCheckpoint(@TempDir Path dir) throws Exception {
+        Path journalDir = dir.resolve("journal");
+        LobbyManager lobby = newLobby();
+        MappedGameJournal journal = new MappedGameJournal(journalDir, 10, 4096);
+        RecInteractor rec = new RecInteractor(lobby, journal);
+        rec.recoverGames();
+        journal.flush();
+
+        // The segments can't be written anymore
+        for (Path segment : segments(journalDir)) {
+            Files.delete(segment);
+        }
+        Files.delete(journalDir);
+        Player alice = lobby.createNewPlayer("alice", "1");
+        Player bob = lobby.createNewPlayer("bob", "2");
+        lobby.addGame(lobby.newGame(null, List.of(alice, bob)));
+        while (journal.getFailure() == null) {
+            Thread.sleep(10);
+        }
+
+        assertThrows(UncheckedIOException.class, rec::checkpoint);
+        assertEquals(0, rec.getCheckpointCount());
+        journal.close();
+    }
+
+    /**
+     * Test that in actor mode a checkpoint saves every game on its mailbox, so they are all recovered
+     * from it
+     */
+    @Test
+    @Timeout(5)
+    public void testCheckpointInActorMode(@TempDir Path dir) throws Exception {
+        ExecutionEngine engine = ExecutionEngine.pooled(2);
+        GameActors actors = new GameActors(engine);
+        LobbyManager lobby = newLobby();
+        MappedGameJournal journal = new MappedGameJournal(dir);
+        RecInteractor rec = new RecInteractor(lobby, journal, actors);
+        rec.recoverGames();
+
+        List<String> stories = new ArrayList<>();
+        for (int g = 0; g < 3; g++) {
+            Player first = lobby.createNewPlayer("first", g + "-1");
+            Player second = lobby.createNewPlayer("second", g + "-2");
+            Game game = lobby.newGame(null, List.of(first, second));
+            LobbyManager.HostedGame hosted = lobby.addGame(game);
+            stories.add(actors.ask(hosted, () -> {
+                game.addCheckedWord("word" + hosted.getGameId(), "word" + hosted.getGameId(), first);
+                return game.getStoryString();
+            }));
+        }
+        rec.checkpoint();
+        journal.close();
+        assertEquals(1, segments(dir).size());
+
+        MappedGameJournal reopened = new MappedGameJournal(dir);
+        List<String> recovered = new ArrayList<>();
+        for (LobbyManager.HostedGame hosted : new RecInteractor(newLobby(), reopened).recoverGames()) {
+            recovered.add(hosted.getGame().getStoryString());
+        }
+        // The mailboxes save their games in parallel, in no particular order
+        Collections.sort(recovered);
+        assertEquals(stories, recovered);
+        reopened.close();
+        engine.shutdown();
+    }
+}
@@ -0,0 +1,114 @@
+package usecases.recover_games;
+
+import entities.LobbyManager;
+import entities.Player;
+import entities.PlayerFactory;
+import entities.display_name_checkers.DisplayNameCheckerBasic;
+import entities.games.Game;
+import entities.games.GameFactoryRegular;
+import frameworks_drivers.journal.MappedGameJournal;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Time to recover 1k games from the journal, reading it back and rebuilding the games apart, with
+ * every change since the games were hosted replayed and from a checkpoint, and the time the games
+ * take to add a word, with and without the journal. Run with <code>gradle benchmark</code>
+ */
+@Tag("benchmark")
+public class RecoveryBenchmark {
+
+    private static final int GAMES = 1000;
+    private static final int PLAYERS = 4;
+    private static final int WORDS_PER_GAME = 200;
+    private static final int ROUNDS = 3;
+
+    /**
+     * Hosts the games and plays their words, in the journal if there is one
+     * @return Nanoseconds per word, turn switch included
+     */
+    private static double play(LobbyManager lobby) throws Exception {
+        List<Game> games = new ArrayList<>();
+        for (int g = 0; g < GAMES; g++) {
+            List<Player> players = new ArrayList<>();
+            for (int p = 0; p < PLAYERS; p++) {
+                players.add(lobby.createNewPlayer("player" + p, g + "-" + p));
+            }
+            Game game = lobby.newGame(null, players);
+            lobby.addGame(game);
+            games.add(game);
+        }
+        long start = System.nanoTime();
+        for (int w = 0; w < WORDS_PER_GAME; w++) {
+            for (Game game : games) {
+                game.addCheckedWord("word", "word", game.getCurrentTurnPlayer());
+                game.switchTurn();
+            }
+        }
+        return (double) (System.nanoTime() - start) / ((long) GAMES * WORDS_PER_GAME);
+    }
+
+    private static LobbyManager newLobby() {
+        return new LobbyManager(new PlayerFactory(new DisplayNameCheckerBasic()), new GameFactoryRegular(), GAMES);
+    }
+
+    /**
+     * @return Milliseconds to read the journal, and to recover the games from it
+     */
+    private static double[] recover(Path dir, boolean checkpointed) throws Exception {
+        LobbyManager lobby = newLobby();
+        MappedGameJournal journal = new MappedGameJournal(dir);
+        RecInteractor rec = new RecInteractor(lobby, journal);
+        rec.recoverGames();
+        play(lobby);
+        if (checkpointed) {
+            rec.checkpoint();
+        }
+        journal.close();
+
+        MappedGameJournal reading = new MappedGameJournal(dir);
+        long start = System.nanoTime();
+        List<RecGameData> games = reading.readGames();
+        double readMillis = (System.nanoTime() - start) / 1e6;
+        reading.close();
+        if (games.size() != GAMES) {
+            throw new AssertionError("Recovered " + games.size() + " games");
+        }
+
+        MappedGameJournal reopened = new MappedGameJournal(dir);
+        start = System.nanoTime();
+        new RecInteractor(newLobby(), reopened).recoverGames();
+        double recoverMillis = (System.nanoTime() - start) / 1e6;
+        reopened.close();
+        return new double[] {readMillis, recoverMillis};
+    }
+
+    @Test
+    public void benchmarkRecovery(@TempDir Path dir) throws Exception {
+        double[] replayed = null;
+        double[] checkpointed = null;
+        double plain = 0;
+        double journaled = 0;
+        // The last round is reported, the ones before warm up the JIT
+        for (int round = 0; round < ROUNDS; round++) {
+            replayed = recover(dir.resolve("replayed-" + round), false);
+            checkpointed = recover(dir.resolve("checkpointed-" + round), true);
+            plain = play(newLobby());
+            LobbyManager lobby = newLobby();
+            MappedGameJournal journal = new MappedGameJournal(dir.resolve("words-" + round));
+            new RecInteractor(lobby, journal).recoverGames();
+            journaled = play(lobby);
+            journal.close();
+        }
+        System.out.printf("%,d games of %d players and %d words%n", GAMES, PLAYERS, WORDS_PER_GAME);
+        System.out.println("recovery                read ms   read + rebuild ms");
+        System.out.printf("every change replayed %9.1f %19.1f%n", replayed[0], replayed[1]);
+        System.out.printf("from a checkpoint     %9.1f %19.1f%n", checkpointed[0], checkpointed[1]);
+        System.out.printf("adding a word: %.0f ns without the journal, %.0f ns with it%n", plain, journaled);
+    }
+}
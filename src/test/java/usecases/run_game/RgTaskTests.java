@@ -2,6 +2,8 @@ package usecases.run_game;
 
 import entities.Player;
 import entities.games.Game;
+import entities.games.GameRegular;
+import entities.statistics.PerPlayerIntStatistic;
 import entities.validity_checkers.ValidityCheckerFacade;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.AfterEach;
@@ -11,7 +13,9 @@ import org.junit.jupiter.api.Timeout;
 import usecases.pull_data.*;
 import usecases.pull_game_ended.*;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -304,4 +308,48 @@ public class RgTaskTests {
 
     }
 
+    /**
+     * Test that with the turn clock started, turns shorter than a second are switched at their deadline,
+     * and that a turn switched early gets a whole turn length from the switch
+     */
+    @Test
+    @Timeout(10)
+    public void testDeadlineSwitchesTurnAtExpiry() throws InterruptedException {
+        List<Long> switches = Collections.synchronizedList(new ArrayList<>());
+        Queue<Player> players = new LinkedList<>(List.of(
+                new Player("p1", "1"), new Player("p2", "2"), new Player("p3", "3")));
+        Game rapid = new GameRegular(players, new PerPlayerIntStatistic[0], Duration.ofMillis(200)) {
+            @Override
+            protected boolean switchTurnLogic() {
+                switches.add(System.nanoTime());
+                return super.switchTurnLogic();
+            }
+        };
+
+        RgInteractor rg = new RgInteractor(rapid, new CustomizablePgeInputBoundary(),
+                new CustomizablePdInputBoundary(), gameLock);
+        long start = System.nanoTime();
+        rg.startTimer();
+        assertTrue(rapid.isTurnClockStarted());
+        assertEquals(1, rapid.getSecondsLeftInCurrentTurn(), "A partial second is displayed as a whole one");
+
+        // A word switches the turn early
+        Thread.sleep(100);
+        gameLock.lock();
+        rapid.switchTurn();
+        gameLock.unlock();
+
+        Thread.sleep(500);
+        gameLock.lock();
+        rapid.getGameTimer().cancel();
+        List<Long> seen = new ArrayList<>(switches);
+        gameLock.unlock();
+
+        assertTrue(seen.size() >= 3, "Expected the turns to expire, saw " + seen.size() + " switches");
+        assertEquals(100, TimeUnit.NANOSECONDS.toMillis(seen.get(0) - start), 50, "The early switch");
+        for (int i = 1; i < seen.size(); i++) {
+            long turnMillis = TimeUnit.NANOSECONDS.toMillis(seen.get(i) - seen.get(i - 1));
+            assertTrue(turnMillis >= 200 && turnMillis < 260, "Turn lasted " + turnMillis + "ms instead of 200ms");
+        }
+    }
 }
@@ -0,0 +1,147 @@
+package usecases.run_game;
+
+import entities.Player;
+import entities.games.Game;
+import entities.games.GameRegular;
+import entities.statistics.PerPlayerIntStatistic;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Timer;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Measures how far the turns stray from their length while other threads keep the game lock busy,
+ * with the turns counted down one tick at a time and with the turns timed by deadline.
+ * Run with <code>gradle benchmark</code>
+ */
+@Tag("benchmark")
+public class TurnTimingBenchmark {
+
+    private static final long MEASURE_MILLIS = 15_000;
+    private static final int CONTENDERS = 8;
+    private static final long HOLD_MILLIS = 10;
+
+    /**
+     * Game which remembers when every turn ended
+     */
+    private static class TimedGame extends GameRegular {
+        private final List<Long> switches = Collections.synchronizedList(new ArrayList<>());
+
+        public TimedGame(Duration turnLength) {
+            super(players(), new PerPlayerIntStatistic[0], turnLength);
+        }
+
+        private static Queue<Player> players() {
+            Queue<Player> players = new LinkedList<>();
+            players.add(new Player("first", "1"));
+            players.add(new Player("second", "2"));
+            return players;
+        }
+
+        @Override
+        protected boolean switchTurnLogic() {
+            switches.add(System.nanoTime());
+            return super.switchTurnLogic();
+        }
+    }
+
+    /**
+     * Threads which keep engaging the game lock, like use cases of a busy game would
+     */
+    private static List<Thread> contend(Lock gameLock, AtomicBoolean running) {
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < CONTENDERS; i++) {
+            Thread thread = new Thread(() -> {
+                while (running.get()) {
+                    gameLock.lock();
+                    try {
+                        Thread.sleep(HOLD_MILLIS);
+                    } catch (InterruptedException e) {
+                        return;
+                    } finally {
+                        gameLock.unlock();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        return threads;
+    }
+
+    /**
+     * Prints how much longer or shorter than the turn length the turns lasted
+     */
+    private static void report(String mode, Duration turnLength, long startNanos, List<Long> switches) {
+        long nominal = turnLength.toNanos();
+        long total = 0;
+        long worst = 0;
+        long previous = startNanos;
+        for (long switched : switches) {
+            long error = Math.abs(switched - previous - nominal);
+            total += error;
+            worst = Math.max(worst, error);
+            previous = switched;
+        }
+        System.out.printf("%-10s turn %5d ms: %3d turns, error avg %6.1f ms max %6.1f ms%n",
+                mode, turnLength.toMillis(), switches.size(),
+                switches.isEmpty() ? 0 : total / 1e6 / switches.size(), worst / 1e6);
+    }
+
+    private static void measure(String mode, Duration turnLength, boolean deadline) throws InterruptedException {
+        TimedGame game = new TimedGame(turnLength);
+        Lock gameLock = new ReentrantLock();
+        RgInteractor rg = new RgInteractor(game, data -> {}, data -> {}, gameLock);
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> contenders = contend(gameLock, running);
+
+        long start = System.nanoTime();
+        Timer countdown = null;
+        if (deadline) {
+            rg.startTimer();
+        } else {
+            // How the turns were timed before: a fixed delay tick counting down whole seconds
+            game.setSecondsLeftInCurrentTurn(game.getSecondsPerTurn());
+            countdown = new Timer(true);
+            countdown.schedule(rg.new RgTask(), 1000, 1000);
+        }
+        Thread.sleep(MEASURE_MILLIS);
+
+        gameLock.lock();
+        try {
+            game.getGameTimer().cancel();
+            if (countdown != null) {
+                countdown.cancel();
+            }
+        } finally {
+            gameLock.unlock();
+        }
+        running.set(false);
+        for (Thread thread : contenders) {
+            thread.join();
+        }
+        List<Long> switches;
+        synchronized (game.switches) {
+            switches = new ArrayList<>(game.switches);
+        }
+        report(mode, turnLength, start, switches);
+    }
+
+    @Test
+    public void benchmarkTurnLengthUnderContention() throws InterruptedException {
+        System.out.printf("%d threads holding the game lock for %d ms at a time, %d cores%n",
+                CONTENDERS, HOLD_MILLIS, Runtime.getRuntime().availableProcessors());
+        measure("countdown", Duration.ofSeconds(3), false);
+        measure("deadline", Duration.ofSeconds(3), true);
+        measure("deadline", Duration.ofMillis(250), true);
+    }
+}
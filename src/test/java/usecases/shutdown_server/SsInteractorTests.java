@@ -0,0 +1,192 @@
+package usecases.shutdown_server;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import usecases.ExecutionEngine;
+import usecases.InterruptibleThread;
+import usecases.ThreadRegister;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SsInteractorTests {
+
+    /**
+     * Presenter which remembers the drain report and counts shutdown notifications
+     */
+    private static class TestSsPresenter implements SsDrainOutputBoundary {
+        private volatile SsOutputData report;
+        private final AtomicInteger shutdowns = new AtomicInteger();
+
+        @Override
+        public void outputDrainReport(SsOutputData data) {
+            report = data;
+        }
+
+        @Override
+        public void outputShutdownServer() {
+            shutdowns.incrementAndGet();
+        }
+    }
+
+    /**
+     * Use case which spends some time in a critical section, and then waits
+     * interruptibly until the server shuts down
+     */
+    private static class WaitingThread extends InterruptibleThread {
+        private final long criticalMillis;
+        private final CountDownLatch started;
+
+        public WaitingThread(ThreadRegister register, SsOutputBoundary pres,
+                             long criticalMillis, CountDownLatch started) {
+            super(register, pres);
+            this.criticalMillis = criticalMillis;
+            this.started = started;
+        }
+
+        @Override
+        protected void threadLogic() throws InterruptedException {
+            started.countDown();
+            // Simulates a DB write which must not be interrupted
+            Thread.sleep(criticalMillis);
+            setBlockInterrupt(false);
+            new CountDownLatch(1).await();
+        }
+    }
+
+    /**
+     * Use case which never leaves its critical section until interrupted
+     */
+    private static class StuckThread extends InterruptibleThread {
+        private final CountDownLatch started;
+
+        public StuckThread(ThreadRegister register, SsOutputBoundary pres, CountDownLatch started) {
+            super(register, pres);
+            this.started = started;
+        }
+
+        @Override
+        protected void threadLogic() throws InterruptedException {
+            started.countDown();
+            new CountDownLatch(1).await();
+        }
+    }
+
+    /**
+     * Test that use cases leaving their critical sections before the deadline are all
+     * reported as drained and told about the shutdown
+     */
+    @Test
+    @Timeout(10)
+    public void testDrainInTime() throws InterruptedException {
+        ThreadRegister register = new ThreadRegister();
+        TestSsPresenter useCasePres = new TestSsPresenter();
+        CountDownLatch started = new CountDownLatch(5);
+        for (int i = 0; i < 5; i++) {
+            register.registerThread(new WaitingThread(register, useCasePres, 50, started));
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        TestSsPresenter pres = new TestSsPresenter();
+        new SsInteractor(register, 5000).shutdownServer(pres);
+
+        assertTrue(pres.report.isDrainedInTime());
+        assertEquals(1, pres.shutdowns.get());
+        while (useCasePres.shutdowns.get() < 5) {
+            Thread.onSpinWait();
+        }
+        assertEquals(0, register.getRunningCount());
+    }
+
+    /**
+     * Test that a use case stuck in its critical section delays the shutdown only until the
+     * deadline, is reported, and is then interrupted anyway
+     */
+    @Test
+    @Timeout(10)
+    public void testDeadlineReportsBlockingUseCases() throws InterruptedException {
+        ThreadRegister register = new ThreadRegister();
+        TestSsPresenter useCasePres = new TestSsPresenter();
+        CountDownLatch started = new CountDownLatch(3);
+        register.registerThread(new StuckThread(register, useCasePres, started));
+        register.registerThread(new WaitingThread(register, useCasePres, 0, started));
+        register.registerThread(new WaitingThread(register, useCasePres, 0, started));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        TestSsPresenter pres = new TestSsPresenter();
+        new SsInteractor(register, 300).shutdownServer(pres);
+
+        assertFalse(pres.report.isDrainedInTime());
+        assertEquals(1, pres.report.getStillBlocking().get("StuckThread"));
+        assertNull(pres.report.getStillBlocking().get("WaitingThread"));
+        assertTrue(pres.report.getDrainMillis() >= 300);
+        assertTrue(pres.report.getDrainMillis() < 3000);
+
+        // The stuck thread was interrupted regardless
+        while (useCasePres.shutdowns.get() < 3) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Measures the shutdown time with 10k in flight use cases, most of them queued behind a
+     * small pool and some of them inside short critical sections
+     */
+    @Test
+    @Timeout(30)
+    public void testShutdownTimeTenThousandInFlightPooled() throws InterruptedException {
+        final int inFlight = 10_000;
+        final int poolSize = 32;
+        ThreadRegister register = new ThreadRegister(ExecutionEngine.pooled(poolSize));
+        TestSsPresenter useCasePres = new TestSsPresenter();
+        CountDownLatch started = new CountDownLatch(poolSize);
+
+        for (int i = 0; i < inFlight; i++) {
+            register.registerThread(new WaitingThread(register, useCasePres, i % 20, started));
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        TestSsPresenter pres = new TestSsPresenter();
+        new SsInteractor(register, 5000).shutdownServer(pres);
+
+        System.out.printf("Shutdown with %d in flight use cases (pool of %d) took %d ms%n",
+                inFlight, poolSize, pres.report.getDrainMillis());
+        assertTrue(pres.report.isDrainedInTime());
+        while (register.getRunningCount() > 0) {
+            Thread.onSpinWait();
+        }
+        assertEquals(inFlight, useCasePres.shutdowns.get());
+    }
+
+    /**
+     * Measures the shutdown time with 10k in flight use cases, all of them running on their
+     * own thread and waiting after short critical sections
+     */
+    @Test
+    @Timeout(60)
+    public void testShutdownTimeTenThousandInFlightThreadPerTask() throws InterruptedException {
+        final int inFlight = 10_000;
+        ThreadRegister register = new ThreadRegister();
+        TestSsPresenter useCasePres = new TestSsPresenter();
+        CountDownLatch started = new CountDownLatch(inFlight);
+
+        for (int i = 0; i < inFlight; i++) {
+            register.registerThread(new WaitingThread(register, useCasePres, i % 20, started));
+        }
+        assertTrue(started.await(30, TimeUnit.SECONDS));
+
+        TestSsPresenter pres = new TestSsPresenter();
+        new SsInteractor(register, 5000).shutdownServer(pres);
+
+        System.out.printf("Shutdown with %d in flight use cases (thread per task) took %d ms%n",
+                inFlight, pres.report.getDrainMillis());
+        assertTrue(pres.report.isDrainedInTime());
+        while (register.getRunningCount() > 0) {
+            Thread.onSpinWait();
+        }
+        assertEquals(inFlight, useCasePres.shutdowns.get());
+    }
+}
@@ -0,0 +1,114 @@
+package usecases.sort_players;
+
+import entities.LobbyManager;
+import entities.Player;
+import entities.PlayerFactory;
+import entities.PlayerPoolListener;
+import entities.games.Game;
+import entities.games.GameFactory;
+import entities.games.GameFactoryRegular;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import usecases.ExecutionEngine;
+import usecases.TickWheel;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Simulates players joining the lobby at a high rate, and reports how long they waited in the
+ * pool and how many games were started per second, with every waiting player joining one game
+ * as before and with the pool split into games of a target size.
+ * Run with <code>gradle benchmark</code>
+ */
+@Tag("benchmark")
+public class MatchmakingSimulation {
+
+    private static final int JOINS_PER_SECOND = 20_000;
+    private static final long JOIN_MILLIS = 5_000;
+    private static final int PLAYERS = (int) (JOINS_PER_SECOND * JOIN_MILLIS / 1000);
+    private static final int BATCH = 100;
+    private static final long SORT_PERIOD_MILLIS = 100;
+
+    /**
+     * Listener which records how long its player waited in the pool
+     */
+    private static class WaitingPlayer implements PlayerPoolListener {
+        private final Lock lock = new ReentrantLock();
+        private final long[] waits;
+        private final int index;
+        private final long joinedNanos;
+
+        public WaitingPlayer(long[] waits, int index) {
+            this.waits = waits;
+            this.index = index;
+            this.joinedNanos = System.nanoTime();
+        }
+
+        @Override
+        public void onJoinGamePlayer(Game game) {
+            waits[index] = System.nanoTime() - joinedNanos;
+        }
+
+        @Override
+        public void onCancelPlayer() {}
+
+        @Override
+        public Lock getLock() {
+            return lock;
+        }
+    }
+
+    private static void simulate(String mode, Map<String, Integer> settings) throws InterruptedException {
+        ExecutionEngine engine = ExecutionEngine.pooled(2);
+        TickWheel wheel = new TickWheel(engine);
+        LobbyManager lobby = new LobbyManager(new PlayerFactory(displayName -> true), new GameFactoryRegular(),
+                PLAYERS);
+        SpInteractor sp = new SpInteractor(lobby, data -> {}, data -> {}, null,
+                SORT_PERIOD_MILLIS, SpInteractor.DEFAULT_COALESCE_MILLIS);
+        sp.setGameSettings(settings);
+        sp.startTimer(wheel);
+
+        long[] waits = new long[PLAYERS];
+        Arrays.fill(waits, -1);
+        long start = System.nanoTime();
+        long batchNanos = TimeUnit.SECONDS.toNanos(1) * BATCH / JOINS_PER_SECOND;
+        for (int i = 0; i < PLAYERS; i++) {
+            if (i % BATCH == 0) {
+                // Joins arrive at a steady rate, in small bursts
+                LockSupport.parkNanos(start + (i / BATCH) * batchNanos - System.nanoTime());
+            }
+            lobby.addPlayerToPool(new Player("player", String.valueOf(i)), new WaitingPlayer(waits, i));
+        }
+        Thread.sleep(2 * SORT_PERIOD_MILLIS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        wheel.shutdown();
+        engine.shutdown();
+        for (LobbyManager.HostedGame hosted : lobby.getHostedGames()) {
+            hosted.getGame().setTimerStopped();
+        }
+
+        long[] matched = Arrays.stream(waits).filter(wait -> wait >= 0).sorted().toArray();
+        System.out.printf("%-14s %,7d matched, %,6d games, %,8.1f games/s, wait p50 %6.1f ms p99 %6.1f ms " +
+                        "max %6.1f ms, largest game %,6d%n",
+                mode, matched.length, sp.getGamesStarted(), sp.getGamesStarted() / seconds,
+                matched[matched.length / 2] / 1e6, matched[(int) (matched.length * 0.99)] / 1e6,
+                matched[matched.length - 1] / 1e6, lobby.getHostedGames().stream()
+                        .mapToInt(hosted -> hosted.getGame().getPlayers().size()).max().orElse(0));
+    }
+
+    @Test
+    public void simulateHighJoinRate() throws InterruptedException {
+        System.out.printf("%,d joins/s for %d s, sort pass every %d ms, %d cores%n", JOINS_PER_SECOND,
+                TimeUnit.MILLISECONDS.toSeconds(JOIN_MILLIS), SORT_PERIOD_MILLIS,
+                Runtime.getRuntime().availableProcessors());
+        simulate("one game", null);
+        simulate("games of 8", Map.of(GameFactory.MAX_PLAYERS, 8));
+        simulate("games of 32", Map.of(GameFactory.MAX_PLAYERS, 32));
+    }
+}
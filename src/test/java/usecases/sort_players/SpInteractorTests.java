@@ -4,6 +4,7 @@ import entities.*;
 import entities.display_name_checkers.DisplayNameChecker;
 import entities.games.Game;
 import entities.games.GameFactory;
+import entities.games.GameFactoryRegular;
 import entities.validity_checkers.ValidityCheckerFacade;
 import exceptions.GameRunningException;
 import org.jetbrains.annotations.NotNull;
@@ -18,8 +19,11 @@ import usecases.pull_game_ended.PgeInteractor;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -138,6 +142,28 @@ public class SpInteractorTests {
 
     }
 
+    private static class LatchPlayerPoolListener implements PlayerPoolListener {
+
+        private final CountDownLatch joined;
+        private final Lock lock = new ReentrantLock();
+
+        public LatchPlayerPoolListener (CountDownLatch joined) {
+            this.joined = joined;
+        }
+
+        @Override
+        public void onJoinGamePlayer(Game game) { joined.countDown(); }
+
+        @Override
+        public void onCancelPlayer() {}
+
+        @Override
+        public Lock getLock() {
+            return lock;
+        }
+
+    }
+
     private static class NaiveDisplayNameChecker implements DisplayNameChecker {
         @Override
         public boolean checkValid(String displayName) {
@@ -350,4 +376,196 @@ public class SpInteractorTests {
         assertEquals(0, g.getPlayers().size());
         assertEquals(2, m.getPool().size());
     }
+
+    /**
+     * Test that players who join after the timer started are sorted into a new game as soon as
+     * there are enough of them, without waiting for the next periodic pass
+     */
+    @Test
+    @Timeout(5)
+    public void testJoinWakesSorting () throws InterruptedException {
+        CustomizableTestGame g = new CustomizableTestGame(false, true);
+        LobbyManager m = new LobbyManager(new PlayerFactory(new NaiveDisplayNameChecker()),
+                new GameFactory() {
+                    @Override
+                    public Game createGame(Map<String, Integer> settings, Collection<Player> initialPlayers) {
+                        for (Player p : initialPlayers) {
+                            g.addPlayer(p);
+                        }
+                        return g;
+                    }
+                });
+
+        // The periodic pass only runs once within the test
+        SpInteractor sp = new SpInteractor(m, new BlankOutputPgeInteractor(),
+                new BlankOutputPdInteractor(), null, 60_000, 0);
+        sp.startTimer();
+
+        CountDownLatch joined = new CountDownLatch(2);
+        m.addPlayerToPool(new Player("Bob", "1"), new LatchPlayerPoolListener(joined));
+        m.addPlayerToPool(new Player("Billy", "2"), new LatchPlayerPoolListener(joined));
+
+        assertTrue(joined.await(4, TimeUnit.SECONDS));
+        assertEquals(2, g.getPlayers().size());
+        assertEquals(2, sp.getPlayersMatched());
+        assertTrue(sp.getMaxJoinToGameMillis() >= sp.getAverageJoinToGameMillis());
+        assertTrue(sp.getAverageJoinToGameMillis() > 0);
+
+        m.getSortPlayersTimer().cancel();
+        g.getGameTimer().cancel();
+    }
+
+    /**
+     * Test that a burst of players joining a running game is sorted in a single pass
+     */
+    @Test
+    @Timeout(5)
+    public void testBurstOfJoinsCoalesced () throws InterruptedException {
+        CustomizableTestGame g = new CustomizableTestGame(false, true);
+        LobbyManager m = new LobbyManager(new PlayerFactory(new NaiveDisplayNameChecker()),
+                new GameFactory() {
+                    @Override
+                    public Game createGame(Map<String, Integer> settings, Collection<Player> initialPlayers) {
+                        return null;
+                    }
+                });
+        try {
+            m.setGame(g);
+        } catch (GameRunningException ignored) {}
+
+        SpInteractor sp = new SpInteractor(m, new BlankOutputPgeInteractor(),
+                new BlankOutputPdInteractor(), null, 60_000, 200);
+        sp.startTimer();
+
+        // Wait for the initial periodic pass, so that it doesn't split the burst
+        while (sp.getPassCount() < 1) {
+            Thread.sleep(1);
+        }
+
+        int burst = 50;
+        CountDownLatch joined = new CountDownLatch(burst);
+        for (int i = 0; i < burst; i++) {
+            m.addPlayerToPool(new Player("Player" + i, String.valueOf(i)), new LatchPlayerPoolListener(joined));
+        }
+
+        assertTrue(joined.await(4, TimeUnit.SECONDS));
+        assertEquals(burst, g.getPlayers().size());
+        assertEquals(burst, sp.getWakeUpCount());
+        assertEquals(2, sp.getPassCount());
+        assertEquals(burst, sp.getPlayersMatched());
+
+        m.getSortPlayersTimer().cancel();
+    }
+
+    /**
+     * Test that a lobby which may host several games starts another game for waiting players
+     * rather than holding them back, while running games keep their players
+     */
+    @Test
+    @Timeout(1)
+    public void testSecondGameStarted () {
+        CustomizableTestGame refusing = new CustomizableTestGame(false, false);
+        CustomizableTestGame started = new CustomizableTestGame(false, true);
+        LobbyManager m = new LobbyManager(new PlayerFactory(new NaiveDisplayNameChecker()),
+                new GameFactory() {
+                    @Override
+                    public Game createGame(Map<String, Integer> settings, Collection<Player> initialPlayers) {
+                        for (Player p : initialPlayers) {
+                            started.addPlayer(p);
+                        }
+                        return started;
+                    }
+                }, 2);
+        try {
+            m.addGame(refusing);
+        } catch (GameRunningException ignored) {}
+
+        TestPlayerPoolListener bobsListener = new TestPlayerPoolListener();
+        TestPlayerPoolListener billysListener = new TestPlayerPoolListener();
+        m.addPlayerToPool(new Player("Bob", "1"), bobsListener);
+        m.addPlayerToPool(new Player("Billy", "2"), billysListener);
+
+        SpInteractor sp = new SpInteractor(m, new BlankOutputPgeInteractor(),
+                new BlankOutputPdInteractor());
+        sp.new SpTask().run();
+
+        assertTrue(bobsListener.joinedGameFlag);
+        assertTrue(billysListener.joinedGameFlag);
+        assertEquals(2, m.getGameCount());
+        assertEquals(0, m.getPool().size());
+        assertEquals(2, started.getPlayers().size());
+        assertEquals(0, refusing.getPlayers().size());
+
+        started.getGameTimer().cancel();
+    }
+
+    /**
+     * Listener which remembers the game its player joined
+     */
+    private static class GameRecordingListener implements PlayerPoolListener {
+
+        private volatile Game joined;
+        private final Lock lock = new ReentrantLock();
+
+        @Override
+        public void onJoinGamePlayer(Game game) { joined = game; }
+
+        @Override
+        public void onCancelPlayer() {}
+
+        @Override
+        public Lock getLock() {
+            return lock;
+        }
+    }
+
+    /**
+     * Test that one pass splits the pool into games of the target size in the order the players
+     * joined, and that the next pass fills the open seats before anything else
+     */
+    @Test
+    @Timeout(1)
+    public void testPoolSplitIntoGamesOfTargetSize () {
+        LobbyManager m = new LobbyManager(new PlayerFactory(new NaiveDisplayNameChecker()),
+                new GameFactoryRegular(), 10);
+        List<GameRecordingListener> listeners = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            GameRecordingListener listener = new GameRecordingListener();
+            listeners.add(listener);
+            m.addPlayerToPool(new Player("player" + i, String.valueOf(i)), listener);
+        }
+        SpInteractor sp = new SpInteractor(m, new BlankOutputPgeInteractor(),
+                new BlankOutputPdInteractor());
+        sp.setGameSettings(Map.of(GameFactory.MAX_PLAYERS, 4));
+        sp.new SpTask().run();
+
+        assertEquals(3, m.getGameCount());
+        assertEquals(3, sp.getGamesStarted());
+        assertEquals(0, m.getPoolSize());
+        for (int i = 0; i < 10; i++) {
+            assertSame(listeners.get(i / 4 * 4).joined, listeners.get(i).joined, "Player " + i + " is out of order");
+        }
+        Game last = listeners.get(8).joined;
+        assertEquals(4, listeners.get(0).joined.getPlayers().size());
+        assertEquals(4, listeners.get(4).joined.getPlayers().size());
+        assertEquals(2, last.getPlayers().size());
+        assertEquals(2, last.getOpenSeats());
+
+        for (int i = 10; i < 13; i++) {
+            GameRecordingListener listener = new GameRecordingListener();
+            listeners.add(listener);
+            m.addPlayerToPool(new Player("player" + i, String.valueOf(i)), listener);
+        }
+        sp.new SpTask().run();
+
+        assertSame(last, listeners.get(10).joined);
+        assertSame(last, listeners.get(11).joined);
+        assertNull(listeners.get(12).joined, "A single player can't start a game");
+        assertEquals(3, m.getGameCount());
+        assertEquals(1, m.getPoolSize());
+
+        for (LobbyManager.HostedGame hosted : m.getHostedGames()) {
+            hosted.getGame().getGameTimer().cancel();
+        }
+    }
 }
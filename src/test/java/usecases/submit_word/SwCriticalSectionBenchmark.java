@@ -0,0 +1,148 @@
+package usecases.submit_word;
+
+import entities.LobbyManager;
+import entities.Player;
+import entities.games.GameRegular;
+import entities.statistics.PerPlayerIntStatistic;
+import exceptions.EntityException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Measures how long the game lock is held per submitted word, with the word checked under the
+ * lock as before and checked before the lock is engaged as SwInteractor does now. The lock is
+ * instrumented to time every critical section. Run with <code>gradle benchmark</code>
+ */
+@Tag("benchmark")
+public class SwCriticalSectionBenchmark {
+
+    private static final int WORDS = 200_000;
+    private static final int ROUNDS = 3;
+    private static final String[] SUBMITTED = {"Once", ". upon", "a", "time", ", there", "lived", "a",
+            "verylongwordthatgetscutshortbythechecker", "h3llo", "fox"};
+
+    /**
+     * Lock which records how long each critical section lasted
+     */
+    private static class TimedLock implements Lock {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long[] heldNanos = new long[WORDS];
+        private int sections;
+        private long lockedAt;
+
+        @Override
+        public void lock() {
+            lock.lock();
+            lockedAt = System.nanoTime();
+        }
+
+        @Override
+        public void unlock() {
+            heldNanos[sections++] = System.nanoTime() - lockedAt;
+            lock.unlock();
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            lock.lockInterruptibly();
+            lockedAt = System.nanoTime();
+        }
+
+        @Override
+        public boolean tryLock() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+
+        private void report(String mode) {
+            long[] sorted = Arrays.copyOf(heldNanos, sections);
+            Arrays.sort(sorted);
+            System.out.printf("%-22s lock held avg %6.0f ns p50 %6d ns p99 %6d ns%n", mode,
+                    Arrays.stream(sorted).average().orElse(0), sorted[sorted.length / 2],
+                    sorted[(int) (sorted.length * 0.99)]);
+        }
+    }
+
+    private static LobbyManager.HostedGame newGame(Lock lock) {
+        Queue<Player> players = new LinkedList<>();
+        players.add(new Player("first", "1"));
+        players.add(new Player("second", "2"));
+        return new LobbyManager.HostedGame("game-1", new GameRegular(players, new PerPlayerIntStatistic[0]), lock);
+    }
+
+    /**
+     * Submits the words the way SwThread did before: checked and added under the game lock
+     */
+    private static TimedLock checkUnderLock(LobbyManager lm) {
+        TimedLock lock = new TimedLock();
+        LobbyManager.HostedGame hosted = newGame(lock);
+        for (int i = 0; i < WORDS; i++) {
+            String playerId = hosted.getGame().getCurrentTurnPlayer().getPlayerId();
+            lock.lock();
+            try {
+                lm.addWord(hosted, SUBMITTED[i % SUBMITTED.length], playerId);
+                lm.switchTurn(hosted);
+            } catch (EntityException ignored) {
+                // Invalid words are part of the mix
+            } finally {
+                lock.unlock();
+            }
+        }
+        return lock;
+    }
+
+    /**
+     * Submits the words the way SwThread does now: checked first, only added under the game lock
+     */
+    private static TimedLock checkBeforeLock(LobbyManager lm) {
+        TimedLock lock = new TimedLock();
+        LobbyManager.HostedGame hosted = newGame(lock);
+        for (int i = 0; i < WORDS; i++) {
+            String playerId = hosted.getGame().getCurrentTurnPlayer().getPlayerId();
+            String word = SUBMITTED[i % SUBMITTED.length];
+            String checkedWord = hosted.getGame().checkWord(word);
+            lock.lock();
+            try {
+                lm.addCheckedWord(hosted, word, checkedWord, playerId);
+                lm.switchTurn(hosted);
+            } catch (EntityException ignored) {
+                // Invalid words are part of the mix
+            } finally {
+                lock.unlock();
+            }
+        }
+        return lock;
+    }
+
+    @Test
+    public void benchmarkCriticalSection() {
+        LobbyManager lm = new LobbyManager(null, null);
+        TimedLock before = null;
+        TimedLock after = null;
+        // The last round is reported, the ones before warm up the JIT
+        for (int round = 0; round < ROUNDS; round++) {
+            before = checkUnderLock(lm);
+            after = checkBeforeLock(lm);
+        }
+        System.out.printf("%,d words submitted%n", WORDS);
+        before.report("checked under the lock");
+        after.report("checked before the lock");
+    }
+}
@@ -16,9 +16,13 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
+import usecases.ExecutionEngine;
+import usecases.GameActors;
 import usecases.ThreadRegister;
 
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -575,4 +579,114 @@ public class SwInteractorTests {
 
         System.out.println("Test ran to end successfully! :)");
     }
+
+    /**
+     * Tests that the word is checked before the game lock is engaged, and only added under it
+     */
+    @Test
+    @Timeout(10)
+    public void testWordCheckedOutsideLock() throws IdInUseException, GameRunningException,
+            InvalidDisplayNameException, InterruptedException {
+        List<Boolean> lockHeldWhileChecking = Collections.synchronizedList(new ArrayList<>());
+        LobbyManager[] lobmanHolder = new LobbyManager[1];
+        ValidityCheckerFacade recordingChecker = new ValidityCheckerFacade((p) -> p, (w) -> w) {
+            @Override
+            public String isValid(String word) {
+                ReentrantLock gameLock = (ReentrantLock) lobmanHolder[0].getGameLock();
+                lockHeldWhileChecking.add(gameLock.isHeldByCurrentThread());
+                return word;
+            }
+        };
+        GameFactory gameFac = new GameFactory() {
+            @Override
+            public Game createGame(Map<String, Integer> settings, Collection<Player> initialPlayers) {
+                return new GameTest(new LinkedList<>(initialPlayers), recordingChecker);
+            }
+        };
+        LobbyManager lobman = new LobbyManager(new PlayerFactory(displayName -> true), gameFac);
+        lobmanHolder[0] = lobman;
+        Player player1 = lobman.createNewPlayer("player1", "1");
+        Player player2 = lobman.createNewPlayer("player2", "2");
+        Game currGame = gameFac.createGame(new HashMap<>(), List.of(player1, player2));
+        lobman.setGame(currGame);
+
+        CountDownLatch responded = new CountDownLatch(1);
+        SwOutputBoundary pres = new SwOutputBoundary() {
+            @Override
+            public void valid(SwOutputDataValidWord outputDataValidWord) {
+                responded.countDown();
+            }
+
+            @Override
+            public void invalid(SwOutputDataFailure outputDataFailure) {
+                fail("The word should have been added: " + outputDataFailure.getResponse().getMessage());
+            }
+
+            @Override
+            public void outputShutdownServer() {
+                fail("The server is not shutting down");
+            }
+        };
+
+        new SwInteractor(lobman, register).submitWord(new SwInputData("bloop", "1"), pres);
+
+        assertTrue(responded.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(false), lockHeldWhileChecking, "The word should be checked once, outside the lock");
+        assertEquals("bloop ", currGame.getStoryString());
+        assertEquals(player2, currGame.getCurrentTurnPlayer());
+    }
+
+    /**
+     * Tests that a word from a player who is in no game is rejected without engaging the lock of
+     * any game, or posting to the mailbox of any game in actor mode
+     */
+    @Test
+    @Timeout(10)
+    public void testUnknownPlayerTakesNoGameLock() throws IdInUseException, GameRunningException,
+            InvalidDisplayNameException, InterruptedException {
+        GameFactory gameFac = new GameFactory() {
+            @Override
+            public Game createGame(Map<String, Integer> settings, Collection<Player> initialPlayers) {
+                return new GameTest(new LinkedList<>(initialPlayers), new TestValidityCheckerTrue());
+            }
+        };
+        LobbyManager lobman = new LobbyManager(new PlayerFactory(displayName -> true), gameFac, 2);
+        Player player1 = lobman.createNewPlayer("player1", "1");
+        Player player2 = lobman.createNewPlayer("player2", "2");
+        LobbyManager.HostedGame hosted = lobman.addGame(gameFac.createGame(new HashMap<>(), List.of(player1, player2)));
+
+        ExecutionEngine engine = ExecutionEngine.pooled(1);
+        GameActors actors = new GameActors(engine);
+        CountDownLatch rejected = new CountDownLatch(2);
+        SwOutputBoundary pres = new SwOutputBoundary() {
+            @Override
+            public void valid(SwOutputDataValidWord outputDataValidWord) {
+                fail("The player is in no game");
+            }
+
+            @Override
+            public void invalid(SwOutputDataFailure outputDataFailure) {
+                assertEquals(PLAYER_NOT_FOUND, outputDataFailure.getResponse().getCode());
+                rejected.countDown();
+            }
+
+            @Override
+            public void outputShutdownServer() {
+                fail("The server is not shutting down");
+            }
+        };
+
+        // Held for the whole test, so a rejection which engaged it would never arrive
+        hosted.getLock().lock();
+        try {
+            new SwInteractor(lobman, register).submitWord(new SwInputData("bloop", "3"), pres);
+            new SwInteractor(lobman, register, actors).submitWord(new SwInputData("bloop", "3"), pres);
+            assertTrue(rejected.await(5, TimeUnit.SECONDS));
+        } finally {
+            hosted.getLock().unlock();
+        }
+        assertEquals(0, actors.getActorCount());
+        assertEquals("", hosted.getGame().getStoryString());
+        engine.shutdown();
+    }
 }
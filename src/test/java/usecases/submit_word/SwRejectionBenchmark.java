@@ -0,0 +1,141 @@
+package usecases.submit_word;
+
+import entities.LobbyManager;
+import entities.Player;
+import entities.PlayerFactory;
+import entities.games.GameFactoryRegular;
+import exceptions.EntityException;
+import exceptions.GameDoesntExistException;
+import exceptions.InvalidWordException;
+import exceptions.OutOfTurnException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import usecases.Response;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Rejected submissions per second, and bytes allocated per rejection, with the rejection thrown as
+ * an exception and its description formatted right away as SwInteractor did before, and returned as
+ * an outcome with a description rendered only if it is read as it does now. The submissions are out
+ * of turn, invalid, or from a player in no game, in turn. Run with <code>gradle benchmark</code>
+ */
+@Tag("benchmark")
+public class SwRejectionBenchmark {
+
+    private static final int SUBMISSIONS = 1_000_000;
+    private static final int ROUNDS = 3;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * Keeps the results alive, so the measured rejections are not optimized away
+     */
+    private static long sink;
+
+    /**
+     * How SwInteractor rejected a word before
+     */
+    private static Response rejectThrowing(LobbyManager lobby, String word, String playerId) {
+        try {
+            LobbyManager.HostedGame hosted = lobby.getGameOfPlayer(playerId);
+            String checkedWord = hosted.getGame().checkWord(word);
+            hosted.getLock().lock();
+            try {
+                lobby.addCheckedWord(hosted, word, checkedWord, playerId);
+            } finally {
+                hosted.getLock().unlock();
+            }
+            return Response.getSuccessful(String.format("Word '%1$s' has been added!", word));
+        } catch (EntityException e) {
+            String mess;
+            if (e instanceof GameDoesntExistException) {
+                mess = "The Game you are trying to submit a word to doesn't exist";
+            } else if (e instanceof InvalidWordException) {
+                mess = String.format("The word '%1$s' is not valid, please try another word.", word);
+            } else if (e instanceof OutOfTurnException) {
+                mess = "It is not player " + playerId + "'s turn.";
+            } else {
+                mess = "Player with ID " + playerId + " does not exist or is not in the Game.";
+            }
+            return Response.fromException(e, mess);
+        }
+    }
+
+    /**
+     * How SwInteractor rejects a word now
+     */
+    private static Response rejectWithOutcome(LobbyManager lobby, String word, String playerId) {
+        LobbyManager.HostedGame hosted = lobby.findGameOfPlayer(playerId);
+        LobbyManager.WordOutcome outcome;
+        if (hosted == null) {
+            outcome = LobbyManager.WordOutcome.PLAYER_NOT_FOUND;
+        } else {
+            String checkedWord = hosted.getGame().checkWord(word);
+            hosted.getLock().lock();
+            try {
+                outcome = lobby.tryAddCheckedWord(hosted, word, checkedWord, playerId);
+            } finally {
+                hosted.getLock().unlock();
+            }
+        }
+        switch (outcome) {
+            case INVALID_WORD:
+                return Response.lazy(Response.ResCode.INVALID_WORD,
+                        () -> "The word '" + word + "' is not valid, please try another word.");
+            case OUT_OF_TURN:
+                return Response.lazy(Response.ResCode.OUT_OF_TURN, () -> "It is not player " + playerId + "'s turn.");
+            default:
+                return Response.lazy(Response.ResCode.PLAYER_NOT_FOUND,
+                        () -> "Player with ID " + playerId + " does not exist or is not in the Game.");
+        }
+    }
+
+    /**
+     * @return Rejections per second, and bytes allocated per rejection
+     */
+    private static double[] measure(LobbyManager lobby, boolean outcomes, boolean readMessage) {
+        // Out of turn, invalid while in turn, and from a player in no game
+        String[] words = {"fox", "h3llo", "fox"};
+        String[] playerIds = {"2", "1", "nobody"};
+        long bytesBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            int k = i % words.length;
+            Response r = outcomes ? rejectWithOutcome(lobby, words[k], playerIds[k])
+                    : rejectThrowing(lobby, words[k], playerIds[k]);
+            sink += r.getCode().ordinal();
+            if (readMessage) {
+                sink += r.getMessage().length();
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        long bytes = THREADS.getCurrentThreadAllocatedBytes() - bytesBefore;
+        return new double[] {SUBMISSIONS * 1e9 / nanos, (double) bytes / SUBMISSIONS};
+    }
+
+    @Test
+    public void benchmarkRejections() throws Exception {
+        LobbyManager lobby = new LobbyManager(new PlayerFactory(displayName -> true), new GameFactoryRegular());
+        Player first = lobby.createNewPlayer("first", "1");
+        Player second = lobby.createNewPlayer("second", "2");
+        lobby.addGame(lobby.newGame(null, List.of(first, second)));
+
+        double[][] results = new double[4][];
+        // The last round is reported, the ones before warm up the JIT
+        for (int round = 0; round < ROUNDS; round++) {
+            results[0] = measure(lobby, false, false);
+            results[1] = measure(lobby, true, false);
+            results[2] = measure(lobby, false, true);
+            results[3] = measure(lobby, true, true);
+        }
+        String[] modes = {"exceptions", "outcomes", "exceptions, message read", "outcomes, message read"};
+        System.out.printf("%,d rejected submissions%n", SUBMISSIONS);
+        System.out.println("                          rejections/s   bytes/rejection");
+        for (int i = 0; i < modes.length; i++) {
+            System.out.printf("%-25s %13.0f %17.0f%n", modes[i], results[i][0], results[i][1]);
+        }
+    }
+}